@@ -30,8 +30,40 @@ public interface Codec<T> {
 
     T read(InputStreamWrapper wrapper) throws IOException;
 
+    /**
+     * Reads the next value reusing the target when possible, mutable non empty containers are cleared and refilled,
+     * arrays are reused when they have the same length.
+     *
+     * @param wrapper the input to read from
+     * @param target  the instance to reuse, may be null
+     * @return the value read, the target if it was reused
+     */
+    default T readInto(InputStreamWrapper wrapper, T target) throws IOException {
+        return read(wrapper);
+    }
+
     void write(OutputStreamWrapper wrapper, T value) throws IOException;
 
+    /**
+     * Moves past the next encoded value without materializing it,
+     * codecs override it to jump over size headers and fixed widths.
+     *
+     * @param wrapper the input to skip from
+     */
+    default void skip(InputStreamWrapper wrapper) throws IOException {
+        read(wrapper);
+    }
+
+    /**
+     * Optional, used to size the output buffer before writing large values.
+     *
+     * @param value the value to write
+     * @return the exact number of bytes {@link #write(OutputStreamWrapper, Object)} would use, or -1 if unknown
+     */
+    default int sizeOf(T value) throws IOException {
+        return -1;
+    }
+
     byte[] reservedBytes();
 
     boolean writes(Class clazz);
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec;
+
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+
+import java.io.IOException;
+
+/**
+ * Codec able to write only the changes between two versions of a value,
+ * the reader applies them onto its copy of the previous version.
+ * Deltas are not self describing, they must be read with the codec which wrote them.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public interface DeltaCodec<T> extends Codec<T> {
+
+    /**
+     * @param wrapper  the output to write
+     * @param previous the version known by the reader, null to write the full value
+     * @param current  the new version, may be null
+     * @throws IOException
+     */
+    void writeDelta(
+            OutputStreamWrapper wrapper,
+            T previous,
+            T current) throws IOException;
+
+    /**
+     * @param wrapper  the input to read from
+     * @param previous the version the delta was computed from, updated in place when possible
+     * @return the new version, previous if it was updated in place
+     * @throws IOException if the data is not a delta or previous is required and missing
+     */
+    T readDelta(
+            InputStreamWrapper wrapper,
+            T previous) throws IOException;
+
+    /**
+     * @param wrapper the input where to skip the delta
+     * @throws IOException
+     */
+    void skipDelta(InputStreamWrapper wrapper) throws IOException;
+}
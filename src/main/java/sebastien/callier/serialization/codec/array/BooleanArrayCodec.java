@@ -37,11 +37,16 @@ public final class BooleanArrayCodec implements Codec<boolean[]> {
 
     @Override
     public boolean[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public boolean[] readInto(InputStreamWrapper wrapper, boolean[] target) throws IOException {
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        boolean[] array = new boolean[size];
+        boolean[] array = target != null && target.length == size ? target : new boolean[size];
         int i = 0;
         byte value = 0;
         int read = 8;
@@ -57,6 +62,15 @@ public final class BooleanArrayCodec implements Codec<boolean[]> {
         return array;
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        wrapper.skip((size + 7) >>> 3);
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -83,6 +97,14 @@ public final class BooleanArrayCodec implements Codec<boolean[]> {
         }
     }
 
+    @Override
+    public int sizeOf(boolean[] array) {
+        if (array == null) {
+            return 1;
+        }
+        return CodecUtils.sizeOfSize(array.length) + ((array.length + 7) >>> 3);
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
@@ -37,13 +37,31 @@ public final class ByteArrayCodec implements Codec<byte[]> {
 
     @Override
     public byte[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public byte[] readInto(InputStreamWrapper wrapper, byte[] target) throws IOException {
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
+        if (target != null && target.length == size) {
+            wrapper.readBytes(target);
+            return target;
+        }
         return size == 0 ? new byte[0] : wrapper.readBytes(size);
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        wrapper.skip(size);
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -56,6 +74,14 @@ public final class ByteArrayCodec implements Codec<byte[]> {
         wrapper.writeBytes(array);
     }
 
+    @Override
+    public int sizeOf(byte[] array) {
+        if (array == null) {
+            return 1;
+        }
+        return CodecUtils.sizeOfSize(array.length) + array.length;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
@@ -33,25 +33,76 @@ import java.util.Arrays;
  */
 public final class CharArrayCodec implements Codec<char[]> {
     private final byte size1;
+    private final byte fixed1;
+    private final boolean fixedWidth;
 
     public CharArrayCodec(byte reservedByte) {
+        this(reservedByte, false);
+    }
+
+    /**
+     * In fixed width mode every char is written on 2 bytes and copied in bulk instead of being UTF-8 encoded.
+     * It is much faster for large arrays and non ASCII content.
+     * A fixed width codec reserves 4 extra bytes and is still able to read the UTF-8 encoding.
+     *
+     * @param fixedWidth true to write the arrays in fixed width mode
+     */
+    public CharArrayCodec(
+            byte reservedByte,
+            boolean fixedWidth) {
         super();
         size1 = reservedByte;
+        fixed1 = (byte) (reservedByte + 4);
+        this.fixedWidth = fixedWidth;
     }
 
     @Override
     public char[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public char[] readInto(InputStreamWrapper wrapper, char[] target) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                int size = CodecUtils.readSize(wrapper, fixed1);
+                char[] array = target != null && target.length == size ? target : new char[size];
+                wrapper.readChars(array);
+                return array;
+            }
+        }
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
         if (size == 0) {
-            return new char[0];
+            return target != null && target.length == 0 ? target : new char[0];
         }
         CharBuffer buffer = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(wrapper.readBytes(size)));
+        if (target != null && target.length == buffer.limit()) {
+            buffer.get(target);
+            return target;
+        }
         return Arrays.copyOfRange(buffer.array(), 0, buffer.limit());
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                wrapper.skip(CodecUtils.readSize(wrapper, fixed1) * Character.BYTES);
+                return;
+            }
+        }
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        wrapper.skip(size);
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -60,14 +111,35 @@ public final class CharArrayCodec implements Codec<char[]> {
             wrapper.writeByte(NULL);
             return;
         }
+        if (fixedWidth) {
+            CodecUtils.writeSize(wrapper, array.length, fixed1);
+            wrapper.writeChars(array);
+            return;
+        }
         //Not very fast, but not using String at least?
         ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(array));
         CodecUtils.writeSize(wrapper, buffer.limit(), size1);
         wrapper.writeBytes(buffer.array(), buffer.limit());
     }
 
+    @Override
+    public int sizeOf(char[] array) {
+        if (array == null) {
+            return 1;
+        }
+        if (fixedWidth) {
+            return CodecUtils.sizeOfSize(array.length) + array.length * Character.BYTES;
+        }
+        int length = CodecUtils.utf8Length(CharBuffer.wrap(array));
+        return CodecUtils.sizeOfSize(length) + length;
+    }
+
     @Override
     public byte[] reservedBytes() {
+        if (fixedWidth) {
+            return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3),
+                              fixed1, (byte) (fixed1 + 1), (byte) (fixed1 + 2), (byte) (fixed1 + 3)};
+        }
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
     }
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.array;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Writes each element as the zig-zag variable length difference with the previous one.
+ * Sorted or slowly changing arrays (timestamps, ids...) usually need 1 or 2 bytes per element,
+ * random data is still supported but can be slightly larger than with {@link LongArrayCodec}.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class DeltaLongArrayCodec implements Codec<long[]> {
+    private final byte size1;
+
+    public DeltaLongArrayCodec(byte reservedByte) {
+        super();
+        size1 = reservedByte;
+    }
+
+    @Override
+    public long[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public long[] readInto(InputStreamWrapper wrapper, long[] target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        long[] array = target != null && target.length == size ? target : new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += wrapper.readVarLong();
+            array[i] = previous;
+        }
+        return array;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            wrapper.skipVar();
+        }
+    }
+
+    @Override
+    public void write(
+            OutputStreamWrapper wrapper,
+            long[] array) throws IOException {
+        if (array == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, array.length, size1);
+        long previous = 0;
+        for (long element : array) {
+            //overflows are fine, the reader wraps around the same way
+            wrapper.writeVarLong(element - previous);
+            previous = element;
+        }
+    }
+
+    @Override
+    public int sizeOf(long[] array) {
+        if (array == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(array.length);
+        long previous = 0;
+        for (long element : array) {
+            size += CodecUtils.varLongLength(element - previous);
+            previous = element;
+        }
+        return size;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return long[].class.equals(clazz);
+    }
+}
@@ -31,25 +31,74 @@ import java.io.IOException;
 public final class FloatArrayCodec implements Codec<float[]> {
     private final static FloatCodec floatCodec = new FloatCodec((byte) 0);
     private final byte size1;
+    private final byte fixed1;
+    private final boolean fixedWidth;
 
     public FloatArrayCodec(byte reservedByte) {
+        this(reservedByte, false);
+    }
+
+    /**
+     * In fixed width mode every element is written on 4 bytes and copied in bulk.
+     * It is much faster for large arrays but gives up the compact encoding of small values.
+     * A fixed width codec reserves 4 extra bytes and is still able to read the compact encoding.
+     *
+     * @param fixedWidth true to write the arrays in fixed width mode
+     */
+    public FloatArrayCodec(
+            byte reservedByte,
+            boolean fixedWidth) {
         super();
         size1 = reservedByte;
+        fixed1 = (byte) (reservedByte + 4);
+        this.fixedWidth = fixedWidth;
     }
 
     @Override
     public float[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public float[] readInto(InputStreamWrapper wrapper, float[] target) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                int size = CodecUtils.readSize(wrapper, fixed1);
+                float[] array = target != null && target.length == size ? target : new float[size];
+                wrapper.readFloats(array);
+                return array;
+            }
+        }
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        float[] array = new float[size];
+        float[] array = target != null && target.length == size ? target : new float[size];
         for (int i = 0; i < size; i++) {
             array[i] = floatCodec.read(wrapper);
         }
         return array;
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                wrapper.skip(CodecUtils.readSize(wrapper, fixed1) * Float.BYTES);
+                return;
+            }
+        }
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            floatCodec.skip(wrapper);
+        }
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -58,14 +107,38 @@ public final class FloatArrayCodec implements Codec<float[]> {
             wrapper.writeByte(NULL);
             return;
         }
+        if (fixedWidth) {
+            CodecUtils.writeSize(wrapper, array.length, fixed1);
+            wrapper.writeFloats(array);
+            return;
+        }
         CodecUtils.writeSize(wrapper, array.length, size1);
         for (float element : array) {
             floatCodec.write(wrapper, element);
         }
     }
 
+    @Override
+    public int sizeOf(float[] array) {
+        if (array == null) {
+            return 1;
+        }
+        if (fixedWidth) {
+            return CodecUtils.sizeOfSize(array.length) + array.length * Float.BYTES;
+        }
+        int size = CodecUtils.sizeOfSize(array.length);
+        for (float element : array) {
+            size += floatCodec.sizeOf(element);
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
+        if (fixedWidth) {
+            return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3),
+                              fixed1, (byte) (fixed1 + 1), (byte) (fixed1 + 2), (byte) (fixed1 + 3)};
+        }
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
     }
 
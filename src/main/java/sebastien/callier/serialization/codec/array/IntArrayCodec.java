@@ -31,25 +31,74 @@ import java.io.IOException;
 public final class IntArrayCodec implements Codec<int[]> {
     private final static IntCodec intCodec = new IntCodec((byte) 0);
     private final byte size1;
+    private final byte fixed1;
+    private final boolean fixedWidth;
 
     public IntArrayCodec(byte reservedByte) {
+        this(reservedByte, false);
+    }
+
+    /**
+     * In fixed width mode every element is written on 4 bytes and copied in bulk.
+     * It is much faster for large arrays but gives up the compact encoding of small values.
+     * A fixed width codec reserves 4 extra bytes and is still able to read the compact encoding.
+     *
+     * @param fixedWidth true to write the arrays in fixed width mode
+     */
+    public IntArrayCodec(
+            byte reservedByte,
+            boolean fixedWidth) {
         super();
         size1 = reservedByte;
+        fixed1 = (byte) (reservedByte + 4);
+        this.fixedWidth = fixedWidth;
     }
 
     @Override
     public int[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public int[] readInto(InputStreamWrapper wrapper, int[] target) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                int size = CodecUtils.readSize(wrapper, fixed1);
+                int[] array = target != null && target.length == size ? target : new int[size];
+                wrapper.readInts(array);
+                return array;
+            }
+        }
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        int[] array = new int[size];
+        int[] array = target != null && target.length == size ? target : new int[size];
         for (int i = 0; i < size; i++) {
             array[i] = intCodec.read(wrapper);
         }
         return array;
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                wrapper.skip(CodecUtils.readSize(wrapper, fixed1) * Integer.BYTES);
+                return;
+            }
+        }
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            intCodec.skip(wrapper);
+        }
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -58,14 +107,38 @@ public final class IntArrayCodec implements Codec<int[]> {
             wrapper.writeByte(NULL);
             return;
         }
+        if (fixedWidth) {
+            CodecUtils.writeSize(wrapper, array.length, fixed1);
+            wrapper.writeInts(array);
+            return;
+        }
         CodecUtils.writeSize(wrapper, array.length, size1);
         for (int element : array) {
             intCodec.write(wrapper, element);
         }
     }
 
+    @Override
+    public int sizeOf(int[] array) {
+        if (array == null) {
+            return 1;
+        }
+        if (fixedWidth) {
+            return CodecUtils.sizeOfSize(array.length) + array.length * Integer.BYTES;
+        }
+        int size = CodecUtils.sizeOfSize(array.length);
+        for (int element : array) {
+            size += intCodec.sizeOf(element);
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
+        if (fixedWidth) {
+            return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3),
+                              fixed1, (byte) (fixed1 + 1), (byte) (fixed1 + 2), (byte) (fixed1 + 3)};
+        }
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
     }
 
@@ -31,25 +31,74 @@ import java.io.IOException;
 public final class LongArrayCodec implements Codec<long[]> {
     private final static LongCodec longCodec = new LongCodec((byte) 0);
     private final byte size1;
+    private final byte fixed1;
+    private final boolean fixedWidth;
 
     public LongArrayCodec(byte reservedByte) {
+        this(reservedByte, false);
+    }
+
+    /**
+     * In fixed width mode every element is written on 8 bytes and copied in bulk.
+     * It is much faster for large arrays but gives up the compact encoding of small values.
+     * A fixed width codec reserves 4 extra bytes and is still able to read the compact encoding.
+     *
+     * @param fixedWidth true to write the arrays in fixed width mode
+     */
+    public LongArrayCodec(
+            byte reservedByte,
+            boolean fixedWidth) {
         super();
         size1 = reservedByte;
+        fixed1 = (byte) (reservedByte + 4);
+        this.fixedWidth = fixedWidth;
     }
 
     @Override
     public long[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public long[] readInto(InputStreamWrapper wrapper, long[] target) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                int size = CodecUtils.readSize(wrapper, fixed1);
+                long[] array = target != null && target.length == size ? target : new long[size];
+                wrapper.readLongs(array);
+                return array;
+            }
+        }
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        long[] array = new long[size];
+        long[] array = target != null && target.length == size ? target : new long[size];
         for (int i = 0; i < size; i++) {
             array[i] = longCodec.read(wrapper);
         }
         return array;
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        if (fixedWidth) {
+            int marker = wrapper.peek() - fixed1;
+            if (marker >= 0 && marker < 4) {
+                wrapper.skip(CodecUtils.readSize(wrapper, fixed1) * Long.BYTES);
+                return;
+            }
+        }
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            longCodec.skip(wrapper);
+        }
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -58,14 +107,38 @@ public final class LongArrayCodec implements Codec<long[]> {
             wrapper.writeByte(NULL);
             return;
         }
+        if (fixedWidth) {
+            CodecUtils.writeSize(wrapper, array.length, fixed1);
+            wrapper.writeLongs(array);
+            return;
+        }
         CodecUtils.writeSize(wrapper, array.length, size1);
         for (long element : array) {
             longCodec.write(wrapper, element);
         }
     }
 
+    @Override
+    public int sizeOf(long[] array) {
+        if (array == null) {
+            return 1;
+        }
+        if (fixedWidth) {
+            return CodecUtils.sizeOfSize(array.length) + array.length * Long.BYTES;
+        }
+        int size = CodecUtils.sizeOfSize(array.length);
+        for (long element : array) {
+            size += longCodec.sizeOf(element);
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
+        if (fixedWidth) {
+            return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3),
+                              fixed1, (byte) (fixed1 + 1), (byte) (fixed1 + 2), (byte) (fixed1 + 3)};
+        }
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
     }
 
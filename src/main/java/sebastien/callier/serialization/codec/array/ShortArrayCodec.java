@@ -37,17 +37,29 @@ public final class ShortArrayCodec implements Codec<short[]> {
 
     @Override
     public short[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public short[] readInto(InputStreamWrapper wrapper, short[] target) throws IOException {
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        short[] array = new short[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = wrapper.read2();
-        }
+        short[] array = target != null && target.length == size ? target : new short[size];
+        wrapper.readShorts(array);
         return array;
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        wrapper.skip(size * Short.BYTES);
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -57,10 +69,15 @@ public final class ShortArrayCodec implements Codec<short[]> {
             return;
         }
         CodecUtils.writeSize(wrapper, array.length, size1);
-        for (short element : array) {
-            wrapper.writeByteAnd1((byte) ((element >>> 8) & 0xFF),
-                                  (byte) (element & 0xFF));
+        wrapper.writeShorts(array);
+    }
+
+    @Override
+    public int sizeOf(short[] array) {
+        if (array == null) {
+            return 1;
         }
+        return CodecUtils.sizeOfSize(array.length) + array.length * Short.BYTES;
     }
 
     @Override
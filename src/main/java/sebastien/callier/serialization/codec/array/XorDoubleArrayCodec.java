@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.array;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.BitReader;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.BitWriter;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+import sebastien.callier.serialization.utils.XorDoubleDecoder;
+import sebastien.callier.serialization.utils.XorDoubleEncoder;
+
+import java.io.IOException;
+
+/**
+ * Compresses each element with the XOR of the previous one, see {@link XorDoubleEncoder}.
+ * Well suited for slowly changing series (metrics, prices...), random data will be slightly larger than
+ * with {@link DoubleArrayCodec}.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class XorDoubleArrayCodec implements Codec<double[]> {
+    private final byte size1;
+
+    public XorDoubleArrayCodec(byte reservedByte) {
+        super();
+        size1 = reservedByte;
+    }
+
+    @Override
+    public double[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public double[] readInto(InputStreamWrapper wrapper, double[] target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        double[] array = target != null && target.length == size ? target : new double[size];
+        XorDoubleDecoder decoder = new XorDoubleDecoder(new BitReader(wrapper));
+        for (int i = 0; i < size; i++) {
+            array[i] = decoder.read();
+        }
+        return array;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        XorDoubleDecoder decoder = new XorDoubleDecoder(new BitReader(wrapper));
+        for (int i = 0; i < size; i++) {
+            decoder.read();
+        }
+    }
+
+    @Override
+    public void write(
+            OutputStreamWrapper wrapper,
+            double[] array) throws IOException {
+        if (array == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, array.length, size1);
+        BitWriter writer = new BitWriter(wrapper);
+        XorDoubleEncoder encoder = new XorDoubleEncoder(writer);
+        for (double element : array) {
+            encoder.write(element);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public int sizeOf(double[] array) throws IOException {
+        if (array == null) {
+            return 1;
+        }
+        XorDoubleEncoder encoder = new XorDoubleEncoder();
+        for (double element : array) {
+            encoder.write(element);
+        }
+        return CodecUtils.sizeOfSize(array.length) + (int) ((encoder.bitCount() + 7) >>> 3);
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return double[].class.equals(clazz);
+    }
+}
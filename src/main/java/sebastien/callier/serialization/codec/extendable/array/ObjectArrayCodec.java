@@ -52,13 +52,27 @@ public abstract class ObjectArrayCodec<T> implements Codec<T[]> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public T[] read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    /**
+     * Reuses the target array if it has the same length, and its elements through {@link Codec#readInto}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T[] readInto(InputStreamWrapper wrapper, T[] target) throws IOException {
         byte marker = wrapper.read1();
         if (marker == NULL) {
             return null;
         } else if (marker == reservedByte) {
             int size = wrapper.read4();
+            if (target != null && target.length == size) {
+                for (int i = 0; i < size; i++) {
+                    target[i] = elementCodec.readInto(wrapper, target[i]);
+                }
+                return target;
+            }
             T[] result = (T[]) Array.newInstance(tClass, size);
             for (int i = 0; i < size; i++) {
                 result[i] = elementCodec.read(wrapper);
@@ -68,6 +82,21 @@ public abstract class ObjectArrayCodec<T> implements Codec<T[]> {
         throw new IOException("Unable to deserialize.");
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        } else if (marker == reservedByte) {
+            int size = wrapper.read4();
+            for (int i = 0; i < size; i++) {
+                elementCodec.skip(wrapper);
+            }
+            return;
+        }
+        throw new IOException("Unable to deserialize.");
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, T[] array) throws IOException {
         if (array == null) {
@@ -80,6 +109,22 @@ public abstract class ObjectArrayCodec<T> implements Codec<T[]> {
         }
     }
 
+    @Override
+    public int sizeOf(T[] array) throws IOException {
+        if (array == null) {
+            return 1;
+        }
+        int size = 5;
+        for (T value : array) {
+            int elementSize = elementCodec.sizeOf(value);
+            if (elementSize < 0) {
+                return -1;
+            }
+            size += elementSize;
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{reservedByte};
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.enumerator;
+
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Packed bitset of enum ordinals, one bit per constant
+ * with the lowest ordinals in the first byte, preceded by its length in bytes.
+ * Shorter bitsets are accepted when reading, so the data stays readable when the enumerator grows.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+final class EnumBitSet {
+    private EnumBitSet() {
+    }
+
+    static int byteLength(int constants) {
+        return (constants + 7) >>> 3;
+    }
+
+    /**
+     * @return the size of a bitset of byteLength bytes, including its length
+     */
+    static int sizeOf(int byteLength) {
+        return CodecUtils.varIntLength(byteLength) + byteLength;
+    }
+
+    /**
+     * @param ordered the values, in increasing ordinal order
+     */
+    static <E extends Enum<E>> void write(
+            OutputStreamWrapper wrapper,
+            Iterable<E> ordered,
+            int byteLength) throws IOException {
+        wrapper.writeVarInt(byteLength);
+        int index = 0;
+        int current = 0;
+        for (E value : ordered) {
+            int ordinal = value.ordinal();
+            while (index < ordinal >>> 3) {
+                wrapper.writeByte((byte) current);
+                current = 0;
+                index++;
+            }
+            current |= 1 << (ordinal & 7);
+        }
+        while (index < byteLength) {
+            wrapper.writeByte((byte) current);
+            current = 0;
+            index++;
+        }
+    }
+
+    /**
+     * @param constants the number of constants of the enumerator
+     * @return the bits, ordinal i being the bit i % 64 of the word i / 64
+     * @throws IOException if the length is invalid or an ordinal does not exist
+     */
+    static long[] read(
+            InputStreamWrapper wrapper,
+            int constants) throws IOException {
+        int length = readLength(wrapper);
+        int stored = Math.min(length, byteLength(constants));
+        long[] words = new long[(stored + 7) >>> 3];
+        for (int i = 0; i < stored; i++) {
+            words[i >>> 3] |= (wrapper.read1() & 0xFFL) << ((i & 7) << 3);
+        }
+        for (int i = stored; i < length; i++) {
+            if (wrapper.read1() != 0) {
+                throw new IOException("Invalid ordinal in enum bitset.");
+            }
+        }
+        int last = constants >>> 6;
+        if (last < words.length && words[last] >>> (constants & 63) != 0) {
+            throw new IOException("Invalid ordinal in enum bitset.");
+        }
+        return words;
+    }
+
+    static void skip(InputStreamWrapper wrapper) throws IOException {
+        wrapper.skip(readLength(wrapper));
+    }
+
+    private static int readLength(InputStreamWrapper wrapper) throws IOException {
+        int length = wrapper.readVarInt();
+        if (length < 0) {
+            throw new IOException("Invalid enum bitset length " + length);
+        }
+        return length;
+    }
+}
@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.extendable.enumerator;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 
@@ -27,8 +28,13 @@ import java.io.IOException;
  * @since 2017
  */
 public class EnumCodec<E extends Enum<E>> implements Codec<E> {
+    private static final int BYTE_ORDINALS = 256;
+
     private final byte reservedByte;
+    private final byte varOrdinal;
+    private final boolean varOrdinals;
     private final Class<E> eClass;
+    private final E[] constants;
 
     /**
      * The enumerator should have up to 256 different values for this codec.
@@ -40,11 +46,29 @@ public class EnumCodec<E extends Enum<E>> implements Codec<E> {
     public EnumCodec(
             byte reservedByte,
             Class<E> eClass) {
+        this(reservedByte, eClass, false);
+    }
+
+    /**
+     * With variable ordinals, the ordinals from 256 are written as variable length ints under an extra
+     * reserved byte, the others still use a single byte. Such a codec supports any number of values
+     * and reads the data of a default codec, so the enumerator may grow past 256 values.
+     *
+     * @param eClass      the class of the enumerator
+     * @param varOrdinals true to reserve the extra byte of the large ordinals
+     */
+    public EnumCodec(
+            byte reservedByte,
+            Class<E> eClass,
+            boolean varOrdinals) {
         this.reservedByte = reservedByte;
+        this.varOrdinal = (byte) (reservedByte + 1);
+        this.varOrdinals = varOrdinals;
         this.eClass = eClass;
-        if (eClass.getEnumConstants().length > 256) {
-            throw new IllegalArgumentException(eClass + " has " + eClass.getEnumConstants().length +
-                                               " values. Only up to 256 are supported by this codec.");
+        this.constants = eClass.getEnumConstants();
+        if (!varOrdinals && constants.length > BYTE_ORDINALS) {
+            throw new IllegalArgumentException(eClass + " has " + constants.length +
+                                               " values. Only up to 256 are supported without variable ordinals.");
         }
     }
 
@@ -54,11 +78,32 @@ public class EnumCodec<E extends Enum<E>> implements Codec<E> {
         if (marker == NULL) {
             return null;
         }
-        switch (marker - reservedByte) {
-            case 0:
-                return eClass.getEnumConstants()[wrapper.read1() + 128];
-            default:
-                throw new IOException("Could not deserialize as an Enum.");
+        int ordinal;
+        if (marker == reservedByte) {
+            ordinal = wrapper.read1() + 128;
+        } else if (varOrdinals && marker == varOrdinal) {
+            ordinal = wrapper.readVarInt();
+        } else {
+            throw new IOException("Could not deserialize as an Enum.");
+        }
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new IOException("Invalid ordinal " + ordinal + " for " + eClass);
+        }
+        return constants[ordinal];
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        if (marker == reservedByte) {
+            wrapper.skip(1);
+        } else if (varOrdinals && marker == varOrdinal) {
+            wrapper.skipVar();
+        } else {
+            throw new IOException("Could not deserialize as an Enum.");
         }
     }
 
@@ -68,12 +113,27 @@ public class EnumCodec<E extends Enum<E>> implements Codec<E> {
             wrapper.writeByte(NULL);
             return;
         }
-        wrapper.writeByteAnd1(reservedByte, (byte) (value.ordinal() - 128));
+        int ordinal = value.ordinal();
+        if (ordinal < BYTE_ORDINALS) {
+            wrapper.writeByteAnd1(reservedByte, (byte) (ordinal - 128));
+        } else {
+            wrapper.writeByte(varOrdinal);
+            wrapper.writeVarInt(ordinal);
+        }
+    }
+
+    @Override
+    public int sizeOf(E value) {
+        if (value == null) {
+            return 1;
+        }
+        int ordinal = value.ordinal();
+        return ordinal < BYTE_ORDINALS ? 2 : 1 + CodecUtils.varIntLength(ordinal);
     }
 
     @Override
     public byte[] reservedBytes() {
-        return new byte[]{reservedByte};
+        return varOrdinals ? new byte[]{reservedByte, varOrdinal} : new byte[]{reservedByte};
     }
 
     @Override
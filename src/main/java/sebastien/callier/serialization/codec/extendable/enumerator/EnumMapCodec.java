@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.enumerator;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+
+import java.io.IOException;
+import java.util.EnumMap;
+
+/**
+ * Writes an {@link EnumMap} as a packed bitset of its keys ordinals
+ * followed by the values in ordinal order, keys never have their own marker.
+ * <p>
+ * The element type of an EnumMap is not known from its class, so this codec does not claim any class
+ * in {@link #writes(Class)}: it has to be referenced explicitly when writing.
+ * Once registered, the data is read back using the marker as usual.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class EnumMapCodec<E extends Enum<E>, V> implements Codec<EnumMap<E, V>> {
+    private final byte reservedByte;
+    private final Class<E> eClass;
+    private final Codec<V> valueCodec;
+    private final E[] constants;
+    private final int byteLength;
+
+    /**
+     * @param valueCodec the codec of the values, the any codec of the cache can be used for mixed values
+     */
+    public EnumMapCodec(
+            byte reservedByte,
+            Class<E> eClass,
+            Codec<V> valueCodec) {
+        this.reservedByte = reservedByte;
+        this.eClass = eClass;
+        this.valueCodec = valueCodec;
+        this.constants = eClass.getEnumConstants();
+        this.byteLength = EnumBitSet.byteLength(constants.length);
+    }
+
+    @Override
+    public EnumMap<E, V> read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public EnumMap<E, V> readInto(InputStreamWrapper wrapper, EnumMap<E, V> target) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return null;
+        }
+        if (marker != reservedByte) {
+            throw new IOException("Could not deserialize as an EnumMap.");
+        }
+        long[] keys = EnumBitSet.read(wrapper, constants.length);
+        //enum maps are always mutable
+        EnumMap<E, V> result = target == null ? new EnumMap<>(eClass) : target;
+        result.clear();
+        for (int i = 0; i < keys.length; i++) {
+            long bits = keys[i];
+            while (bits != 0) {
+                E key = constants[(i << 6) + Long.numberOfTrailingZeros(bits)];
+                result.put(key, valueCodec.read(wrapper));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        if (marker != reservedByte) {
+            throw new IOException("Could not deserialize as an EnumMap.");
+        }
+        long[] keys = EnumBitSet.read(wrapper, constants.length);
+        for (long bits : keys) {
+            for (int i = Long.bitCount(bits); i > 0; i--) {
+                valueCodec.skip(wrapper);
+            }
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, EnumMap<E, V> value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        wrapper.writeByte(reservedByte);
+        EnumBitSet.write(wrapper, value.keySet(), byteLength);
+        for (V element : value.values()) {
+            valueCodec.write(wrapper, element);
+        }
+    }
+
+    @Override
+    public int sizeOf(EnumMap<E, V> value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = 1 + EnumBitSet.sizeOf(byteLength);
+        for (V element : value.values()) {
+            int elementSize = valueCodec.sizeOf(element);
+            if (elementSize < 0) {
+                return -1;
+            }
+            size += elementSize;
+        }
+        return size;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[]{reservedByte};
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.enumerator;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+/**
+ * Writes an {@link EnumSet} as a packed bitset of its ordinals,
+ * a set of up to 8 constants only uses 3 bytes including the marker and the bitset length.
+ * <p>
+ * The EnumSet classes do not carry their element type, so this codec does not claim any class
+ * in {@link #writes(Class)}: it has to be referenced explicitly when writing.
+ * Once registered, the data is read back using the marker as usual.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class EnumSetCodec<E extends Enum<E>> implements Codec<EnumSet<E>> {
+    private final byte reservedByte;
+    private final Class<E> eClass;
+    private final E[] constants;
+    private final int byteLength;
+
+    public EnumSetCodec(
+            byte reservedByte,
+            Class<E> eClass) {
+        this.reservedByte = reservedByte;
+        this.eClass = eClass;
+        this.constants = eClass.getEnumConstants();
+        this.byteLength = EnumBitSet.byteLength(constants.length);
+    }
+
+    @Override
+    public EnumSet<E> read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public EnumSet<E> readInto(InputStreamWrapper wrapper, EnumSet<E> target) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return null;
+        }
+        if (marker != reservedByte) {
+            throw new IOException("Could not deserialize as an EnumSet.");
+        }
+        long[] ordinals = EnumBitSet.read(wrapper, constants.length);
+        //enum sets are always mutable
+        EnumSet<E> result = target == null ? EnumSet.noneOf(eClass) : target;
+        result.clear();
+        for (int i = 0; i < ordinals.length; i++) {
+            long bits = ordinals[i];
+            while (bits != 0) {
+                result.add(constants[(i << 6) + Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        if (marker != reservedByte) {
+            throw new IOException("Could not deserialize as an EnumSet.");
+        }
+        EnumBitSet.skip(wrapper);
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, EnumSet<E> value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        wrapper.writeByte(reservedByte);
+        EnumBitSet.write(wrapper, value, byteLength);
+    }
+
+    @Override
+    public int sizeOf(EnumSet<E> value) {
+        return value == null ? 1 : 1 + EnumBitSet.sizeOf(byteLength);
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[]{reservedByte};
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columns decoded by a {@link ColumnarCodec}, objects are only created on demand.
+ * Integral and char fields are exposed as longs, float fields as doubles.
+ * The arrays returned are not copied, values of null fields are left to zero or false.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ColumnBatch<T> {
+    private final ColumnarCodec<T> codec;
+    private final int size;
+    private final Object[] columns;
+    private final boolean[][] nulls;
+
+    ColumnBatch(
+            ColumnarCodec<T> codec,
+            int size,
+            Object[] columns,
+            boolean[][] nulls) {
+        this.codec = codec;
+        this.size = size;
+        this.columns = columns;
+        this.nulls = nulls;
+    }
+
+    /**
+     * @return the number of objects in the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param name the name of an integral or char field
+     * @return the values of the field
+     * @throws IllegalArgumentException if there is no such field or it is not stored as longs
+     */
+    public long[] longs(String name) {
+        return column(name, long[].class);
+    }
+
+    /**
+     * @param name the name of a float or double field
+     * @return the values of the field
+     * @throws IllegalArgumentException if there is no such field or it is not stored as doubles
+     */
+    public double[] doubles(String name) {
+        return column(name, double[].class);
+    }
+
+    /**
+     * @param name the name of a boolean field
+     * @return the values of the field
+     * @throws IllegalArgumentException if there is no such field or it is not stored as booleans
+     */
+    public boolean[] booleans(String name) {
+        return column(name, boolean[].class);
+    }
+
+    /**
+     * @param name the name of a non primitive field
+     * @return the values of the field
+     * @throws IllegalArgumentException if there is no such field or it is not stored as objects
+     */
+    public Object[] objects(String name) {
+        return column(name, Object[].class);
+    }
+
+    /**
+     * @param name the name of a field
+     * @param row  the index of the object in the batch
+     * @return true if the field is null for this object
+     * @throws IllegalArgumentException if there is no such field
+     */
+    public boolean isNull(String name, int row) {
+        int column = codec.column(name);
+        return codec.value(column, columns[column], nulls[column], row) == null;
+    }
+
+    /**
+     * @param row the index of the object in the batch
+     * @return a new object with the fields of this row
+     * @throws IOException if the object could not be created
+     */
+    public T get(int row) throws IOException {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+        }
+        return codec.row(columns, nulls, row);
+    }
+
+    /**
+     * @return a new list with all the objects of the batch
+     * @throws IOException if the objects could not be created
+     */
+    public List<T> toList() throws IOException {
+        List<T> result = new ArrayList<>(size);
+        addTo(result);
+        return result;
+    }
+
+    void addTo(List<T> result) throws IOException {
+        result.addAll(Arrays.asList(codec.rows(columns, nulls, null, size)));
+    }
+
+    private <A> A column(String name, Class<A> arrayClass) {
+        Object column = columns[codec.column(name)];
+        if (!arrayClass.isInstance(column)) {
+            throw new IllegalArgumentException("The field " + name + " is not stored as " + arrayClass.getSimpleName());
+        }
+        return arrayClass.cast(column);
+    }
+}
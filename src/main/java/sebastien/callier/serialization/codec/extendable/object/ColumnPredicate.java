@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import sebastien.callier.serialization.collection.LongSet;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Condition on a single primitive, boxed primitive or string field, evaluated on the decoded columns
+ * of a {@link ColumnarCodec}.
+ * For equality and IN conditions, integral and char fields are compared to integral values or chars
+ * and floating point fields to any number.
+ * Range conditions apply to numeric and char fields, bounds are inclusive and never match null values.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ColumnPredicate {
+    private final String field;
+    private final boolean range;
+    private final Set<Object> values;
+    private final LongSet longs;
+    private final LongSet doubles;
+    private final long minLong;
+    private final long maxLong;
+    private final double minDouble;
+    private final double maxDouble;
+
+    private ColumnPredicate(String field, Object[] values) {
+        this.field = field;
+        this.range = false;
+        this.values = new HashSet<>(Arrays.asList(values));
+        longs = new LongSet();
+        doubles = new LongSet();
+        for (Object value : values) {
+            if (value instanceof Character) {
+                longs.add((Character) value);
+            } else if (value instanceof Long || value instanceof Integer ||
+                    value instanceof Short || value instanceof Byte) {
+                longs.add(((Number) value).longValue());
+            }
+            if (value instanceof Number) {
+                doubles.add(Double.doubleToLongBits(((Number) value).doubleValue()));
+            }
+        }
+        minLong = 0L;
+        maxLong = 0L;
+        minDouble = 0D;
+        maxDouble = 0D;
+    }
+
+    private ColumnPredicate(
+            String field,
+            long minLong,
+            long maxLong,
+            double minDouble,
+            double maxDouble) {
+        this.field = field;
+        this.range = true;
+        this.values = null;
+        this.longs = null;
+        this.doubles = null;
+        this.minLong = minLong;
+        this.maxLong = maxLong;
+        this.minDouble = minDouble;
+        this.maxDouble = maxDouble;
+    }
+
+    /**
+     * @param field the name of the field
+     * @param value the expected value, may be null
+     */
+    public static ColumnPredicate equalTo(String field, Object value) {
+        return new ColumnPredicate(field, new Object[]{value});
+    }
+
+    /**
+     * @param field  the name of the field
+     * @param values the accepted values, may contain null
+     */
+    public static ColumnPredicate in(String field, Object... values) {
+        return new ColumnPredicate(field, values);
+    }
+
+    /**
+     * @param field the name of a numeric or char field
+     * @param min   the minimum value, inclusive
+     * @param max   the maximum value, inclusive
+     */
+    public static ColumnPredicate between(String field, long min, long max) {
+        return new ColumnPredicate(field, min, max, (double) min, (double) max);
+    }
+
+    /**
+     * Integral fields are compared as doubles
+     *
+     * @param field the name of a numeric or char field
+     * @param min   the minimum value, inclusive
+     * @param max   the maximum value, inclusive
+     */
+    public static ColumnPredicate between(String field, double min, double max) {
+        return new ColumnPredicate(
+                field,
+                min <= Long.MIN_VALUE ? Long.MIN_VALUE : (long) Math.ceil(min),
+                max >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.floor(max),
+                min,
+                max);
+    }
+
+    /**
+     * Floating point fields keep the exclusive bound, a price of 5.5 is greater than 5
+     *
+     * @param field the name of a numeric or char field
+     * @param value the minimum value, exclusive
+     */
+    public static ColumnPredicate greaterThan(String field, long value) {
+        return new ColumnPredicate(
+                field,
+                value == Long.MAX_VALUE ? 1L : value + 1,
+                value == Long.MAX_VALUE ? 0L : Long.MAX_VALUE,
+                Math.nextUp((double) value),
+                Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Floating point fields keep the exclusive bound, a price of 4.5 is less than 5
+     *
+     * @param field the name of a numeric or char field
+     * @param value the maximum value, exclusive
+     */
+    public static ColumnPredicate lessThan(String field, long value) {
+        return new ColumnPredicate(
+                field,
+                value == Long.MIN_VALUE ? 1L : Long.MIN_VALUE,
+                value == Long.MIN_VALUE ? 0L : value - 1,
+                Double.NEGATIVE_INFINITY,
+                Math.nextDown((double) value));
+    }
+
+    public static ColumnPredicate greaterThan(String field, double value) {
+        return between(field, Math.nextUp(value), Double.POSITIVE_INFINITY);
+    }
+
+    public static ColumnPredicate lessThan(String field, double value) {
+        return between(field, Double.NEGATIVE_INFINITY, Math.nextDown(value));
+    }
+
+    String field() {
+        return field;
+    }
+
+    boolean isRange() {
+        return range;
+    }
+
+    boolean matchesNull() {
+        return !range && values.contains(null);
+    }
+
+    boolean matches(long value) {
+        return range ? value >= minLong && value <= maxLong : longs.contains(value);
+    }
+
+    boolean matches(double value) {
+        return range ? value >= minDouble && value <= maxDouble : doubles.contains(Double.doubleToLongBits(value));
+    }
+
+    boolean matches(Object value) {
+        return values.contains(value);
+    }
+}
@@ -0,0 +1,719 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.extendable.object.field.FieldCodec;
+import sebastien.callier.serialization.deserializer.BitReader;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.exceptions.CodecGenerationException;
+import sebastien.callier.serialization.serializer.BitWriter;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.stream.FastInputStream;
+import sebastien.callier.serialization.stream.FastOutputStream;
+import sebastien.callier.serialization.utils.CodecUtils;
+import sebastien.callier.serialization.utils.XorDoubleDecoder;
+import sebastien.callier.serialization.utils.XorDoubleEncoder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a list of objects handled by an {@link ObjectCodec} column by column instead of object by object.
+ * Each column is prefixed with its length in bytes and its encoding depends on the field type:
+ * <ul>
+ * <li>integral and char fields: zig-zag varint deltas between consecutive values,</li>
+ * <li>floating point fields: the XOR encoding of {@link XorDoubleEncoder},</li>
+ * <li>boolean fields: a bitset,</li>
+ * <li>strings: a dictionary and an index per object when there are few distinct values, the field codec otherwise,</li>
+ * <li>other fields: the field codec for each object.</li>
+ * </ul>
+ * Boxed primitive columns start with a null bitmap, only written when the column contains null values.
+ * The lists can not contain null elements.
+ * Since it can not tell a list of these objects from any other list, it will never be picked automatically
+ * for writing but can be registered to be found when reading.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ColumnarCodec<T> implements Codec<List<T>> {
+    private static final byte NO_NULLS = 0;
+    private static final byte NULL_BITMAP = 1;
+    private static final byte DICTIONARY = 0;
+    private static final byte PLAIN = 1;
+
+    private enum Kind {BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, OTHER}
+
+    private final byte size1;
+    private final ObjectCodec<T> owner;
+    private final FieldCodec[] fields;
+    private final Codec[] codecs;
+    private final String[] names;
+    private final Class<?>[] types;
+    private final Kind[] kinds;
+
+    ColumnarCodec(
+            byte reservedByte,
+            ObjectCodec<T> owner,
+            FieldCodec[] fields,
+            Codec[] codecs,
+            String[] names,
+            Class<?>[] types) {
+        super();
+        this.size1 = reservedByte;
+        this.owner = owner;
+        this.fields = fields;
+        this.codecs = codecs;
+        this.names = names;
+        this.types = types;
+        kinds = new Kind[types.length];
+        for (int i = 0; i < types.length; i++) {
+            kinds[i] = kindOf(types[i]);
+        }
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+            return Kind.BOOLEAN;
+        } else if (byte.class.equals(type) || Byte.class.equals(type)) {
+            return Kind.BYTE;
+        } else if (char.class.equals(type) || Character.class.equals(type)) {
+            return Kind.CHAR;
+        } else if (short.class.equals(type) || Short.class.equals(type)) {
+            return Kind.SHORT;
+        } else if (int.class.equals(type) || Integer.class.equals(type)) {
+            return Kind.INT;
+        } else if (long.class.equals(type) || Long.class.equals(type)) {
+            return Kind.LONG;
+        } else if (float.class.equals(type) || Float.class.equals(type)) {
+            return Kind.FLOAT;
+        } else if (double.class.equals(type) || Double.class.equals(type)) {
+            return Kind.DOUBLE;
+        } else if (String.class.equals(type)) {
+            return Kind.STRING;
+        }
+        return Kind.OTHER;
+    }
+
+    @Override
+    public List<T> read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public List<T> readInto(InputStreamWrapper wrapper, List<T> target) throws IOException {
+        ColumnBatch<T> batch = readColumns(wrapper);
+        if (batch == null) {
+            return null;
+        }
+        List<T> result = CodecUtils.reusable(target) ? target : new ArrayList<>(batch.size());
+        batch.addTo(result);
+        return result;
+    }
+
+    /**
+     * Creates a codec decoding the columns without creating the objects.
+     * It writes the same data as this codec.
+     *
+     * @return the column codec
+     */
+    public Codec<ColumnBatch<T>> columns() {
+        return new Columns();
+    }
+
+    /**
+     * Creates a codec decoding only the objects matching all the predicates.
+     * The columns of the predicates are decoded and evaluated first, the other columns are only decoded
+     * when at least one object matches and only the matching objects are created.
+     * It writes the same data as this codec.
+     *
+     * @param predicates the conditions the objects must match
+     * @return the filtering codec
+     * @throws CodecGenerationException if a predicate uses an unknown field, a field which is neither
+     *                                  a primitive, a boxed primitive nor a string, or a range on a non numeric field
+     */
+    public Codec<List<T>> filtered(ColumnPredicate... predicates) throws CodecGenerationException {
+        ColumnPredicate[][] byColumn = new ColumnPredicate[fields.length][];
+        for (ColumnPredicate predicate : predicates) {
+            int column = Arrays.asList(names).indexOf(predicate.field());
+            if (column < 0) {
+                throw new CodecGenerationException("No serialized field called " + predicate.field(), null);
+            }
+            if (kinds[column] == Kind.OTHER) {
+                throw new CodecGenerationException("Predicate on the non primitive field " + predicate.field(), null);
+            }
+            if (predicate.isRange() && (kinds[column] == Kind.BOOLEAN || kinds[column] == Kind.STRING)) {
+                throw new CodecGenerationException("Range on the non numeric field " + predicate.field(), null);
+            }
+            ColumnPredicate[] previous = byColumn[column];
+            byColumn[column] = previous == null ?
+                    new ColumnPredicate[]{predicate} :
+                    append(previous, predicate);
+        }
+        return new Filtered(byColumn);
+    }
+
+    private static ColumnPredicate[] append(ColumnPredicate[] predicates, ColumnPredicate predicate) {
+        ColumnPredicate[] result = Arrays.copyOf(predicates, predicates.length + 1);
+        result[predicates.length] = predicate;
+        return result;
+    }
+
+    private ColumnBatch<T> readColumns(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        Object[] columns = new Object[fields.length];
+        boolean[][] nulls = new boolean[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            readLength(wrapper);
+            nulls[i] = readNulls(wrapper, i, size);
+            columns[i] = readColumn(wrapper, i, size, nulls[i]);
+        }
+        return new ColumnBatch<>(this, size, columns, nulls);
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            wrapper.skip(readLength(wrapper));
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, List<T> value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        Object[] rows = value.toArray();
+        for (Object row : rows) {
+            if (row == null) {
+                throw new IOException("Null elements are not supported by " + getClass().getSimpleName());
+            }
+        }
+        CodecUtils.writeSize(wrapper, rows.length, size1);
+        Object[] values = new Object[rows.length];
+        for (int i = 0; i < fields.length; i++) {
+            for (int row = 0; row < rows.length; row++) {
+                values[row] = fields[i].get(rows[row]);
+            }
+            FastOutputStream column = new FastOutputStream();
+            writeColumn(new OutputStreamWrapper(column), i, values);
+            wrapper.writeVarInt(column.getSize());
+            wrapper.writeBytes(column.getByteArray(), column.getSize());
+        }
+    }
+
+    @Override
+    public int sizeOf(List<T> value) {
+        return value == null ? 1 : -1;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+
+    /**
+     * @param name the name of a serialized field
+     * @return the index of its column
+     * @throws IllegalArgumentException if there is no such field
+     */
+    int column(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No serialized field called " + name);
+    }
+
+    /**
+     * @return the value of the field for this row, boxed to the field type
+     */
+    Object value(int column, Object data, boolean[] nulls, int row) {
+        if (nulls != null && nulls[row]) {
+            return null;
+        }
+        switch (kinds[column]) {
+            case BOOLEAN:
+                return ((boolean[]) data)[row];
+            case BYTE:
+                return (byte) ((long[]) data)[row];
+            case CHAR:
+                return (char) ((long[]) data)[row];
+            case SHORT:
+                return (short) ((long[]) data)[row];
+            case INT:
+                return (int) ((long[]) data)[row];
+            case LONG:
+                return ((long[]) data)[row];
+            case FLOAT:
+                return (float) ((double[]) data)[row];
+            case DOUBLE:
+                return ((double[]) data)[row];
+            default:
+                return ((Object[]) data)[row];
+        }
+    }
+
+    /**
+     * Creates the object stored at this row
+     */
+    T row(Object[] columns, boolean[][] nulls, int row) throws IOException {
+        T instance = owner.newInstance();
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].set(instance, value(i, columns[i], nulls[i], row));
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the objects of these rows, filling them column by column
+     */
+    @SuppressWarnings("unchecked")
+    T[] rows(Object[] columns, boolean[][] nulls, int[] rows, int count) throws IOException {
+        T[] instances = (T[]) new Object[count];
+        for (int i = 0; i < count; i++) {
+            instances[i] = owner.newInstance();
+        }
+        for (int column = 0; column < fields.length; column++) {
+            FieldCodec field = fields[column];
+            for (int i = 0; i < count; i++) {
+                field.set(instances[i], value(column, columns[column], nulls[column], rows == null ? i : rows[i]));
+            }
+        }
+        return instances;
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Character) {
+            return (Character) value;
+        }
+        return ((Number) value).longValue();
+    }
+
+    private static int readLength(InputStreamWrapper wrapper) throws IOException {
+        int length = wrapper.readVarInt();
+        if (length < 0) {
+            throw new IOException("Invalid column length " + length);
+        }
+        return length;
+    }
+
+    private boolean hasNullBitmap(int column) {
+        return kinds[column] != Kind.STRING && kinds[column] != Kind.OTHER && !types[column].isPrimitive();
+    }
+
+    /**
+     * Clears the matches of the rows not matching the predicate
+     *
+     * @return the number of matches cleared
+     */
+    private int filter(
+            ColumnPredicate predicate,
+            int column,
+            Object data,
+            boolean[] nulls,
+            boolean[] matches) {
+        int cleared = 0;
+        boolean matchesNull = predicate.matchesNull();
+        for (int row = 0; row < matches.length; row++) {
+            if (!matches[row]) {
+                continue;
+            }
+            boolean match;
+            if (nulls != null && nulls[row]) {
+                match = matchesNull;
+            } else {
+                switch (kinds[column]) {
+                    case BOOLEAN:
+                        match = predicate.matches((Object) ((boolean[]) data)[row]);
+                        break;
+                    case BYTE:
+                    case CHAR:
+                    case SHORT:
+                    case INT:
+                    case LONG:
+                        match = predicate.matches(((long[]) data)[row]);
+                        break;
+                    case FLOAT:
+                    case DOUBLE:
+                        match = predicate.matches(((double[]) data)[row]);
+                        break;
+                    default:
+                        String value = (String) ((Object[]) data)[row];
+                        match = value == null ? matchesNull : predicate.matches(value);
+                }
+            }
+            if (!match) {
+                matches[row] = false;
+                cleared++;
+            }
+        }
+        return cleared;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeColumn(OutputStreamWrapper wrapper, int column, Object[] values) throws IOException {
+        if (hasNullBitmap(column)) {
+            writeNulls(wrapper, values);
+        }
+        switch (kinds[column]) {
+            case BOOLEAN:
+                writeBooleans(wrapper, values);
+                return;
+            case BYTE:
+            case CHAR:
+            case SHORT:
+            case INT:
+            case LONG:
+                long previous = 0L;
+                for (Object value : values) {
+                    if (value != null) {
+                        long current = toLong(value);
+                        wrapper.writeVarLong(current - previous);
+                        previous = current;
+                    }
+                }
+                return;
+            case FLOAT:
+            case DOUBLE:
+                BitWriter writer = new BitWriter(wrapper);
+                XorDoubleEncoder encoder = new XorDoubleEncoder(writer);
+                for (Object value : values) {
+                    if (value != null) {
+                        encoder.write(((Number) value).doubleValue());
+                    }
+                }
+                writer.flush();
+                return;
+            case STRING:
+                writeStrings(wrapper, codecs[column], values);
+                return;
+            default:
+                for (Object value : values) {
+                    codecs[column].write(wrapper, value);
+                }
+        }
+    }
+
+    private static void writeNulls(OutputStreamWrapper wrapper, Object[] values) throws IOException {
+        byte[] bitmap = null;
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                if (bitmap == null) {
+                    bitmap = new byte[(values.length + 7) >>> 3];
+                }
+                bitmap[row >>> 3] |= 0x80 >>> (row & 7);
+            }
+        }
+        if (bitmap == null) {
+            wrapper.writeByte(NO_NULLS);
+        } else {
+            wrapper.writeByte(NULL_BITMAP);
+            wrapper.writeBytes(bitmap);
+        }
+    }
+
+    private static void writeBooleans(OutputStreamWrapper wrapper, Object[] values) throws IOException {
+        int count = 0;
+        for (Object value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        byte[] bits = new byte[(count + 7) >>> 3];
+        int bit = 0;
+        for (Object value : values) {
+            if (value != null) {
+                if ((Boolean) value) {
+                    bits[bit >>> 3] |= 0x80 >>> (bit & 7);
+                }
+                bit++;
+            }
+        }
+        wrapper.writeBytes(bits);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeStrings(OutputStreamWrapper wrapper, Codec codec, Object[] values) throws IOException {
+        Map<Object, Integer> indexes = new HashMap<>();
+        List<Object> dictionary = new ArrayList<>();
+        for (Object value : values) {
+            if (value != null && indexes.putIfAbsent(value, dictionary.size()) == null) {
+                dictionary.add(value);
+            }
+        }
+        if (dictionary.size() * 2 > values.length) {
+            wrapper.writeByte(PLAIN);
+            for (Object value : values) {
+                codec.write(wrapper, value);
+            }
+            return;
+        }
+        wrapper.writeByte(DICTIONARY);
+        wrapper.writeVarInt(dictionary.size());
+        for (Object entry : dictionary) {
+            codec.write(wrapper, entry);
+        }
+        for (Object value : values) {
+            wrapper.writeVarInt(value == null ? 0 : indexes.get(value) + 1);
+        }
+    }
+
+    private boolean[] readNulls(InputStreamWrapper wrapper, int column, int size) throws IOException {
+        if (!hasNullBitmap(column)) {
+            return null;
+        }
+        byte flag = wrapper.read1();
+        if (flag == NO_NULLS) {
+            return null;
+        }
+        if (flag != NULL_BITMAP) {
+            throw new IOException("Invalid null bitmap for the column " + names[column]);
+        }
+        byte[] bitmap = wrapper.readBytes((size + 7) >>> 3);
+        boolean[] nulls = new boolean[size];
+        for (int row = 0; row < size; row++) {
+            nulls[row] = (bitmap[row >>> 3] & (0x80 >>> (row & 7))) != 0;
+        }
+        return nulls;
+    }
+
+    private Object readColumn(
+            InputStreamWrapper wrapper,
+            int column,
+            int size,
+            boolean[] nulls) throws IOException {
+        switch (kinds[column]) {
+            case BOOLEAN:
+                return readBooleans(wrapper, size, nulls);
+            case BYTE:
+            case CHAR:
+            case SHORT:
+            case INT:
+            case LONG:
+                long[] longs = new long[size];
+                long previous = 0L;
+                for (int row = 0; row < size; row++) {
+                    if (nulls == null || !nulls[row]) {
+                        previous += wrapper.readVarLong();
+                        longs[row] = previous;
+                    }
+                }
+                return longs;
+            case FLOAT:
+            case DOUBLE:
+                double[] doubles = new double[size];
+                XorDoubleDecoder decoder = new XorDoubleDecoder(new BitReader(wrapper));
+                for (int row = 0; row < size; row++) {
+                    if (nulls == null || !nulls[row]) {
+                        doubles[row] = decoder.read();
+                    }
+                }
+                return doubles;
+            case STRING:
+                return readStrings(wrapper, codecs[column], size);
+            default:
+                Object[] objects = new Object[size];
+                for (int row = 0; row < size; row++) {
+                    objects[row] = codecs[column].read(wrapper);
+                }
+                return objects;
+        }
+    }
+
+    private static boolean[] readBooleans(InputStreamWrapper wrapper, int size, boolean[] nulls) throws IOException {
+        int count = size;
+        if (nulls != null) {
+            for (boolean isNull : nulls) {
+                if (isNull) {
+                    count--;
+                }
+            }
+        }
+        byte[] bits = wrapper.readBytes((count + 7) >>> 3);
+        boolean[] booleans = new boolean[size];
+        int bit = 0;
+        for (int row = 0; row < size; row++) {
+            if (nulls == null || !nulls[row]) {
+                booleans[row] = (bits[bit >>> 3] & (0x80 >>> (bit & 7))) != 0;
+                bit++;
+            }
+        }
+        return booleans;
+    }
+
+    private static Object[] readStrings(InputStreamWrapper wrapper, Codec codec, int size) throws IOException {
+        Object[] strings = new Object[size];
+        byte encoding = wrapper.read1();
+        if (encoding == PLAIN) {
+            for (int row = 0; row < size; row++) {
+                strings[row] = codec.read(wrapper);
+            }
+            return strings;
+        }
+        if (encoding != DICTIONARY) {
+            throw new IOException("Invalid string column encoding " + encoding);
+        }
+        int count = wrapper.readVarInt();
+        if (count < 0 || count > size) {
+            throw new IOException("Invalid dictionary size " + count);
+        }
+        Object[] dictionary = new Object[count];
+        for (int i = 0; i < count; i++) {
+            dictionary[i] = codec.read(wrapper);
+        }
+        for (int row = 0; row < size; row++) {
+            int index = wrapper.readVarInt();
+            if (index < 0 || index > count) {
+                throw new IOException("Invalid dictionary index " + index);
+            }
+            strings[row] = index == 0 ? null : dictionary[index - 1];
+        }
+        return strings;
+    }
+
+    private final class Columns implements Codec<ColumnBatch<T>> {
+        @Override
+        public ColumnBatch<T> read(InputStreamWrapper wrapper) throws IOException {
+            return readColumns(wrapper);
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            ColumnarCodec.this.skip(wrapper);
+        }
+
+        @Override
+        public void write(OutputStreamWrapper wrapper, ColumnBatch<T> value) throws IOException {
+            ColumnarCodec.this.write(wrapper, value == null ? null : value.toList());
+        }
+
+        @Override
+        public int sizeOf(ColumnBatch<T> value) {
+            return value == null ? 1 : -1;
+        }
+
+        @Override
+        public byte[] reservedBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public boolean writes(Class clazz) {
+            return false;
+        }
+    }
+
+    private final class Filtered implements Codec<List<T>> {
+        private final ColumnPredicate[][] predicates;
+
+        private Filtered(ColumnPredicate[][] predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        public List<T> read(InputStreamWrapper wrapper) throws IOException {
+            Integer size = CodecUtils.readSize(wrapper, size1);
+            if (size == null) {
+                return null;
+            }
+            boolean[] matches = new boolean[size];
+            Arrays.fill(matches, true);
+            int remaining = size;
+            Object[] columns = new Object[fields.length];
+            boolean[][] nulls = new boolean[fields.length][];
+            byte[][] pending = new byte[fields.length][];
+            for (int i = 0; i < fields.length; i++) {
+                int length = readLength(wrapper);
+                if (remaining == 0) {
+                    wrapper.skip(length);
+                } else if (predicates[i] == null) {
+                    pending[i] = wrapper.readBytes(length);
+                } else {
+                    nulls[i] = readNulls(wrapper, i, size);
+                    columns[i] = readColumn(wrapper, i, size, nulls[i]);
+                    for (ColumnPredicate predicate : predicates[i]) {
+                        remaining -= filter(predicate, i, columns[i], nulls[i], matches);
+                    }
+                }
+            }
+            List<T> result = new ArrayList<>(remaining);
+            if (remaining == 0) {
+                return result;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                if (pending[i] != null) {
+                    InputStreamWrapper column = new InputStreamWrapper(new FastInputStream(pending[i]));
+                    nulls[i] = readNulls(column, i, size);
+                    columns[i] = readColumn(column, i, size, nulls[i]);
+                }
+            }
+            int[] rows = new int[remaining];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (matches[row]) {
+                    rows[count++] = row;
+                }
+            }
+            result.addAll(Arrays.asList(rows(columns, nulls, rows, count)));
+            return result;
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            ColumnarCodec.this.skip(wrapper);
+        }
+
+        @Override
+        public void write(OutputStreamWrapper wrapper, List<T> value) throws IOException {
+            ColumnarCodec.this.write(wrapper, value);
+        }
+
+        @Override
+        public int sizeOf(List<T> value) {
+            return ColumnarCodec.this.sizeOf(value);
+        }
+
+        @Override
+        public byte[] reservedBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public boolean writes(Class clazz) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Writes primitives and their boxed types without marker, used by the compact {@link ObjectCodec} layout.
+ * Integral values are zig-zag varints, floating point values use their fixed width.
+ * Null values are not supported, the object null bitmap takes care of them.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+final class MarkerFreeCodec implements Codec<Object> {
+    private enum Kind {BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE}
+
+    private final Kind kind;
+
+    private MarkerFreeCodec(Kind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * @param type the declared type of a field
+     * @return the marker free codec for this type, or null if it is not a primitive or a boxed primitive
+     */
+    static MarkerFreeCodec forType(Class<?> type) {
+        if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.BOOLEAN);
+        } else if (byte.class.equals(type) || Byte.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.BYTE);
+        } else if (char.class.equals(type) || Character.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.CHAR);
+        } else if (short.class.equals(type) || Short.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.SHORT);
+        } else if (int.class.equals(type) || Integer.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.INT);
+        } else if (long.class.equals(type) || Long.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.LONG);
+        } else if (float.class.equals(type) || Float.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.FLOAT);
+        } else if (double.class.equals(type) || Double.class.equals(type)) {
+            return new MarkerFreeCodec(Kind.DOUBLE);
+        }
+        return null;
+    }
+
+    @Override
+    public Object read(InputStreamWrapper wrapper) throws IOException {
+        switch (kind) {
+            case BOOLEAN:
+                return wrapper.read1() != 0;
+            case BYTE:
+                return wrapper.read1();
+            case CHAR:
+                return (char) wrapper.readVarInt();
+            case SHORT:
+                return (short) wrapper.readVarInt();
+            case INT:
+                return wrapper.readVarInt();
+            case LONG:
+                return wrapper.readVarLong();
+            case FLOAT:
+                return Float.intBitsToFloat(wrapper.read4());
+            default:
+                return Double.longBitsToDouble(wrapper.read8());
+        }
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                wrapper.skip(1);
+                return;
+            case FLOAT:
+                wrapper.skip(Float.BYTES);
+                return;
+            case DOUBLE:
+                wrapper.skip(Double.BYTES);
+                return;
+            default:
+                wrapper.skipVar();
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, Object value) throws IOException {
+        switch (kind) {
+            case BOOLEAN:
+                wrapper.writeByte((Boolean) value ? (byte) 1 : (byte) 0);
+                return;
+            case BYTE:
+                wrapper.writeByte((Byte) value);
+                return;
+            case CHAR:
+                wrapper.writeVarInt((Character) value);
+                return;
+            case SHORT:
+                wrapper.writeVarInt((Short) value);
+                return;
+            case INT:
+                wrapper.writeVarInt((Integer) value);
+                return;
+            case LONG:
+                wrapper.writeVarLong((Long) value);
+                return;
+            case FLOAT:
+                wrapper.write4(Float.floatToRawIntBits((Float) value));
+                return;
+            default:
+                wrapper.write8(Double.doubleToRawLongBits((Double) value));
+        }
+    }
+
+    @Override
+    public int sizeOf(Object value) {
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                return 1;
+            case CHAR:
+                return CodecUtils.varIntLength((Character) value);
+            case SHORT:
+                return CodecUtils.varIntLength((Short) value);
+            case INT:
+                return CodecUtils.varIntLength((Integer) value);
+            case LONG:
+                return CodecUtils.varLongLength((Long) value);
+            case FLOAT:
+                return Float.BYTES;
+            default:
+                return Double.BYTES;
+        }
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+}
@@ -18,11 +18,13 @@ package sebastien.callier.serialization.codec.extendable.object;
 
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.DeltaCodec;
 import sebastien.callier.serialization.codec.extendable.object.field.AccessingFieldCodec;
 import sebastien.callier.serialization.codec.extendable.object.field.DirectFieldCodec;
 import sebastien.callier.serialization.codec.extendable.object.field.FieldCodec;
 import sebastien.callier.serialization.codec.extendable.object.field.LambdaMetaFactoryUtils;
 import sebastien.callier.serialization.codec.extendable.object.field.primitives.*;
+import sebastien.callier.serialization.codec.ordered.OrderedCodec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.exceptions.CodecGenerationException;
 import sebastien.callier.serialization.exceptions.MissingCodecException;
@@ -39,11 +41,51 @@ import java.util.*;
  * @author Sebastien Callier
  * @since 2017
  */
-public class ObjectCodec<T> implements Codec<T> {
+public class ObjectCodec<T> implements DeltaCodec<T> {
+    private static final byte FULL = 0;
+    private static final byte CHANGES = 1;
+
     private final byte reservedByte;
+    private final byte layoutByte;
+    private final Layout layout;
     private final Class<T> tClass;
     private final FieldCodec[] fields;
+    private final Codec[] codecs;
+    private final String[] names;
+    private final Class<?>[] types;
     private final Creator creator;
+    private final boolean[] allFields;
+    private final boolean[] noField;
+    /**
+     * Offset table of the indexed layout read by projections
+     */
+    private final ThreadLocal<int[]> indexedEnds;
+
+    /**
+     * Only used by the compact layout
+     */
+    private final FieldCodec[] compactFields;
+    private final boolean[] nullable;
+    private final int bitmapLength;
+
+    public enum Layout {
+        /**
+         * Every field is written by its codec, with its marker
+         */
+        DEFAULT,
+        /**
+         * The fields are written after a table with the end offset of each field,
+         * {@link #view()} can then access a single field without decoding the others.
+         * All the field codecs must support {@link Codec#sizeOf(Object)}.
+         */
+        INDEXED,
+        /**
+         * The fields are written after a bitmap flagging the null reference fields.
+         * Primitives and boxed primitives are written without marker, as varints or with their fixed width,
+         * fields of a final class handled by an {@link ObjectCodec} are written without their marker.
+         */
+        COMPACT
+    }
 
     @FunctionalInterface
     public interface Creator {
@@ -79,7 +121,21 @@ public class ObjectCodec<T> implements Codec<T> {
             byte reservedByte,
             Class<T> tClass,
             CodecCache cache) throws CodecGenerationException, MissingCodecException {
+        this(reservedByte, tClass, cache, Layout.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #ObjectCodec(byte, Class, CodecCache)}, with an alternative layout.
+     * A codec with a layout other than {@link Layout#DEFAULT} reserves two bytes and still reads the default layout.
+     */
+    public ObjectCodec(
+            byte reservedByte,
+            Class<T> tClass,
+            CodecCache cache,
+            Layout layout) throws CodecGenerationException, MissingCodecException {
         this.reservedByte = reservedByte;
+        this.layoutByte = (byte) (reservedByte + 1);
+        this.layout = layout;
         this.tClass = tClass;
 
         creator = generateConstructor(tClass);
@@ -95,18 +151,49 @@ public class ObjectCodec<T> implements Codec<T> {
         List<Method> possibleSetters = setterLikeMethods(tClass);
 
         fields = new FieldCodec[toExtract.size()];
+        codecs = new Codec[toExtract.size()];
+        names = new String[toExtract.size()];
+        types = new Class<?>[toExtract.size()];
+        allFields = new boolean[toExtract.size()];
+        Arrays.fill(allFields, true);
+        noField = new boolean[toExtract.size()];
+        indexedEnds = ThreadLocal.withInitial(() -> new int[toExtract.size()]);
+        compactFields = layout == Layout.COMPACT ? new FieldCodec[toExtract.size()] : null;
+        nullable = new boolean[toExtract.size()];
 
+        int nullableCount = 0;
         for (int i = 0; i < toExtract.size(); i++) {
             Field field = toExtract.get(i);
-            if (Modifier.isPublic(field.getModifiers())) {
-                fields[i] = new DirectFieldCodec(field, codecForField(field, cache));
-            } else {
-                Method getter = findGetter(field, possibleGetters);
-                Method setter = findSetter(field, possibleSetters);
-                Codec codec = codecForField(field, cache);
-                fields[i] = createCodec(field, getter, setter, codec);
+            names[i] = field.getName();
+            types[i] = field.getType();
+            codecs[i] = codecForField(field, cache);
+            nullable[i] = !field.getType().isPrimitive();
+            if (nullable[i]) {
+                nullableCount++;
+            }
+            Method getter = null;
+            Method setter = null;
+            if (!Modifier.isPublic(field.getModifiers())) {
+                getter = findGetter(field, possibleGetters);
+                setter = findSetter(field, possibleSetters);
             }
+            fields[i] = createCodec(field, getter, setter, codecs[i]);
+            if (compactFields != null) {
+                compactFields[i] = createCodec(field, getter, setter, compactCodec(field.getType(), codecs[i]));
+            }
+        }
+        bitmapLength = (nullableCount + 7) >>> 3;
+    }
+
+    private Codec compactCodec(Class<?> type, Codec codec) {
+        Codec markerFree = MarkerFreeCodec.forType(type);
+        if (markerFree != null) {
+            return markerFree;
         }
+        if (Modifier.isFinal(type.getModifiers()) && codec instanceof ObjectCodec) {
+            return ((ObjectCodec) codec).body();
+        }
+        return codec;
     }
 
     private FieldCodec createCodec(
@@ -114,7 +201,9 @@ public class ObjectCodec<T> implements Codec<T> {
             Method getter,
             Method setter,
             Codec codec) throws CodecGenerationException {
-        if (boolean.class.equals(field.getType())) {
+        if (getter == null) {
+            return new DirectFieldCodec(field, codec);
+        } else if (boolean.class.equals(field.getType())) {
             return new BooleanFieldCodec(getter, setter, codec);
         } else if (byte.class.equals(field.getType())) {
             return new ByteFieldCodec(getter, setter, codec);
@@ -251,48 +340,635 @@ public class ObjectCodec<T> implements Codec<T> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public final T read(InputStreamWrapper wrapper) throws IOException {
-        Byte marker;
-        if ((marker = wrapper.read1()) != reservedByte) {
-            if (marker == NULL) {
-                return null;
-            }
-            throw new IOException("Could not deserialize using " + this.getClass().getSimpleName());
-        }
-        T instance;
-        try {
-            instance = (T) creator.build();
-        } catch (Exception e) {
-            //Really should not be possible
-            throw new IOException("Could not create a new instance of " + tClass.getSimpleName(), e);
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return null;
         }
-        for (FieldCodec writer : fields) {
-            writer.read(wrapper, instance);
+        Layout encoding = layoutOf(marker);
+        T instance = newInstance();
+        readFields(wrapper, instance, encoding, allFields, false);
+        return instance;
+    }
+
+    /**
+     * Populates the target instead of creating a new instance,
+     * the current field values are reused through {@link Codec#readInto}.
+     */
+    @Override
+    public final T readInto(InputStreamWrapper wrapper, T target) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return null;
         }
+        Layout encoding = layoutOf(marker);
+        T instance = target == null ? newInstance() : target;
+        readFields(wrapper, instance, encoding, allFields, target != null);
         return instance;
     }
 
+    @Override
+    public final void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        Layout encoding = layoutOf(marker);
+        if (encoding == Layout.INDEXED) {
+            if (fields.length > 0) {
+                //the last end offset is the size of all the fields
+                wrapper.skip((fields.length - 1) * Integer.BYTES);
+                wrapper.skip(wrapper.read4());
+            }
+            return;
+        }
+        readFields(wrapper, null, encoding, noField, false);
+    }
+
     @Override
     public final void write(OutputStreamWrapper wrapper, T value) throws IOException {
         if (value == null) {
             wrapper.writeByte(NULL);
             return;
         }
-        wrapper.writeByte(reservedByte);
-        for (FieldCodec writer : fields) {
-            writer.write(wrapper, value);
+        switch (layout) {
+            case INDEXED:
+                wrapper.writeByte(layoutByte);
+                wrapper.writeInts(endOffsets(value));
+                writeDefault(wrapper, value);
+                return;
+            case COMPACT:
+                wrapper.writeByte(layoutByte);
+                writeCompact(wrapper, value);
+                return;
+            default:
+                wrapper.writeByte(reservedByte);
+                writeDefault(wrapper, value);
+        }
+    }
+
+    @Override
+    public final int sizeOf(T value) throws IOException {
+        if (value == null) {
+            return 1;
         }
+        int size;
+        switch (layout) {
+            case INDEXED:
+                size = sizeOfDefault(value);
+                return size < 0 ? -1 : 1 + fields.length * Integer.BYTES + size;
+            case COMPACT:
+                size = sizeOfCompact(value);
+                break;
+            default:
+                size = sizeOfDefault(value);
+        }
+        return size < 0 ? -1 : 1 + size;
+    }
+
+    /**
+     * Writes a bitmap of the fields which are not equal between the two versions followed by their values.
+     * Fields are compared with {@link FieldCodec#hasSameValue}, previous must not share mutable fields with current.
+     */
+    @Override
+    public final void writeDelta(OutputStreamWrapper wrapper, T previous, T current) throws IOException {
+        if (current == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        if (previous == null) {
+            wrapper.writeByte(FULL);
+            write(wrapper, current);
+            return;
+        }
+        byte[] changed = new byte[(fields.length + 7) >>> 3];
+        for (int i = 0; i < fields.length; i++) {
+            if (!fields[i].hasSameValue(previous, current)) {
+                changed[i >>> 3] |= 0x80 >>> (i & 7);
+            }
+        }
+        wrapper.writeByte(CHANGES);
+        wrapper.writeBytes(changed);
+        for (int i = 0; i < fields.length; i++) {
+            if (isSet(changed, i)) {
+                fields[i].write(wrapper, current);
+            }
+        }
+    }
+
+    /**
+     * The changed fields are set on previous, which must be the version the delta was computed from.
+     */
+    @Override
+    public final T readDelta(InputStreamWrapper wrapper, T previous) throws IOException {
+        byte header = wrapper.read1();
+        switch (header) {
+            case NULL:
+                return null;
+            case FULL:
+                return readInto(wrapper, previous);
+            case CHANGES:
+                if (previous == null) {
+                    throw new IOException("Missing previous version to apply the delta of " + tClass.getSimpleName());
+                }
+                byte[] changed = readChanged(wrapper);
+                for (int i = 0; i < fields.length; i++) {
+                    if (isSet(changed, i)) {
+                        fields[i].read(wrapper, previous);
+                    }
+                }
+                return previous;
+            default:
+                throw new IOException("Invalid delta header " + header + " for " + tClass.getSimpleName());
+        }
+    }
+
+    @Override
+    public final void skipDelta(InputStreamWrapper wrapper) throws IOException {
+        byte header = wrapper.read1();
+        switch (header) {
+            case NULL:
+                return;
+            case FULL:
+                skip(wrapper);
+                return;
+            case CHANGES:
+                byte[] changed = readChanged(wrapper);
+                for (int i = 0; i < fields.length; i++) {
+                    if (isSet(changed, i)) {
+                        fields[i].skip(wrapper);
+                    }
+                }
+                return;
+            default:
+                throw new IOException("Invalid delta header " + header + " for " + tClass.getSimpleName());
+        }
+    }
+
+    private byte[] readChanged(InputStreamWrapper wrapper) throws IOException {
+        byte[] changed = wrapper.readBytes((fields.length + 7) >>> 3);
+        for (int i = fields.length; i < changed.length << 3; i++) {
+            if (isSet(changed, i)) {
+                throw new IOException("Invalid changed field bitmap for " + tClass.getSimpleName());
+            }
+        }
+        return changed;
     }
 
     @Override
     public byte[] reservedBytes() {
-        return new byte[]{reservedByte};
+        return layout == Layout.DEFAULT ? new byte[]{reservedByte} : new byte[]{reservedByte, layoutByte};
+    }
+
+    /**
+     * Creates a codec reading only the given fields, the others are skipped and left to their default value.
+     * It writes the same data as this codec.
+     *
+     * @param fieldNames the names of the fields to decode
+     * @return the projection codec
+     * @throws CodecGenerationException if one of the names is not a serialized field
+     */
+    public Codec<T> projection(String... fieldNames) throws CodecGenerationException {
+        boolean[] selected = new boolean[fields.length];
+        for (String fieldName : fieldNames) {
+            int index = Arrays.asList(names).indexOf(fieldName);
+            if (index < 0) {
+                throw new CodecGenerationException("No serialized field called " + fieldName, null);
+            }
+            selected[index] = true;
+        }
+        return new Projection(selected);
+    }
+
+    /**
+     * Creates a reusable view over objects written with the indexed layout.
+     *
+     * @return a new view, not pointing to any data yet
+     * @throws CodecGenerationException if this codec does not use the indexed layout
+     */
+    public ObjectView view() throws CodecGenerationException {
+        if (layout != Layout.INDEXED) {
+            throw new CodecGenerationException("Views require the indexed layout for " + tClass.getSimpleName(), null);
+        }
+        return new ObjectView(layoutByte, codecs, names);
+    }
+
+    /**
+     * Creates a codec writing lists of objects column by column, see {@link ColumnarCodec}.
+     *
+     * @param reservedByte the first of the four bytes reserved by the columnar codec
+     * @return the columnar codec
+     */
+    public ColumnarCodec<T> columnar(byte reservedByte) {
+        return new ColumnarCodec<>(reservedByte, this, fields, codecs, names, types);
+    }
+
+    /**
+     * Creates a codec writing objects as binary comparable keys, see {@link OrderedCodec}:
+     * the encoded keys compare with {@link Arrays#compareUnsigned(byte[], byte[])} as the key fields,
+     * the first field being the most significant. A null object sorts first.
+     * Reading sets only the key fields, the others are left to their default value.
+     *
+     * @param fieldNames the key fields by decreasing significance, all the fields in name order if empty
+     * @return the key codec
+     * @throws CodecGenerationException if a name is not a serialized field or a key field has no ordered encoding
+     */
+    public Codec<T> orderedKey(String... fieldNames) throws CodecGenerationException {
+        List<String> selected = fieldNames.length == 0 ? Arrays.asList(names) : Arrays.asList(fieldNames);
+        int[] indexes = new int[selected.size()];
+        @SuppressWarnings("unchecked")
+        OrderedCodec<Object>[] keyCodecs = new OrderedCodec[selected.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            String fieldName = selected.get(i);
+            indexes[i] = Arrays.asList(names).indexOf(fieldName);
+            if (indexes[i] < 0) {
+                throw new CodecGenerationException("No serialized field called " + fieldName, null);
+            }
+            keyCodecs[i] = OrderedCodec.forType(types[indexes[i]]);
+            if (keyCodecs[i] == null) {
+                throw new CodecGenerationException(
+                        "No ordered encoding for " + fieldName + " of type " + types[indexes[i]].getSimpleName(), null);
+            }
+        }
+        return new OrderedKey(indexes, keyCodecs);
     }
 
     @Override
     public final boolean writes(Class clazz) {
         return tClass.equals(clazz);
     }
-}
 
+    /**
+     * @return a codec writing the fields of non null objects without marker, used by the compact layout
+     */
+    Codec<T> body() {
+        return new Body();
+    }
+
+    /**
+     * @param marker the first byte of a non null object
+     * @return the layout used to write the object
+     * @throws IOException if the marker is not one of this codec
+     */
+    private Layout layoutOf(byte marker) throws IOException {
+        if (marker == reservedByte) {
+            return Layout.DEFAULT;
+        }
+        if (layout != Layout.DEFAULT && marker == layoutByte) {
+            return layout;
+        }
+        throw new IOException("Could not deserialize using " + this.getClass().getSimpleName());
+    }
+
+    /**
+     * @param wrapper  the input to read from
+     * @param instance where to set the fields, only used for the selected fields
+     * @param encoding the layout used to write the fields
+     * @param selected the fields to read, the others are skipped
+     * @param reuse    true to reuse the current field values, see {@link FieldCodec#readInto}
+     */
+    private void readFields(
+            InputStreamWrapper wrapper,
+            T instance,
+            Layout encoding,
+            boolean[] selected,
+            boolean reuse) throws IOException {
+        switch (encoding) {
+            case INDEXED:
+                readIndexed(wrapper, instance, selected, reuse);
+                return;
+            case COMPACT:
+                readCompact(wrapper, instance, selected, reuse);
+                return;
+            default:
+                for (int i = 0; i < fields.length; i++) {
+                    if (selected[i]) {
+                        readField(fields[i], wrapper, instance, reuse);
+                    } else {
+                        fields[i].skip(wrapper);
+                    }
+                }
+        }
+    }
+
+    /**
+     * Jumps over the fields which are not selected using the offset table.
+     * Only projections need to keep the offsets, in a buffer per thread as codecs are shared.
+     */
+    private void readIndexed(
+            InputStreamWrapper wrapper,
+            T instance,
+            boolean[] selected,
+            boolean reuse) throws IOException {
+        if (fields.length == 0) {
+            return;
+        }
+        if (selected == allFields) {
+            wrapper.skip(fields.length * Integer.BYTES);
+            for (FieldCodec field : fields) {
+                readField(field, wrapper, instance, reuse);
+            }
+            return;
+        }
+        if (selected == noField) {
+            wrapper.skip((fields.length - 1) * Integer.BYTES);
+            wrapper.skip(wrapper.read4());
+            return;
+        }
+        int[] ends = indexedEnds.get();
+        wrapper.readInts(ends);
+        int position = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (selected[i]) {
+                int start = i == 0 ? 0 : ends[i - 1];
+                wrapper.skip(start - position);
+                readField(fields[i], wrapper, instance, reuse);
+                position = ends[i];
+            }
+        }
+        wrapper.skip(ends[fields.length - 1] - position);
+    }
+
+    private void readCompact(
+            InputStreamWrapper wrapper,
+            T instance,
+            boolean[] selected,
+            boolean reuse) throws IOException {
+        byte[] bitmap = bitmapLength == 0 ? null : wrapper.readBytes(bitmapLength);
+        int bit = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (nullable[i] && isSet(bitmap, bit++)) {
+                if (selected[i]) {
+                    fields[i].setNull(instance);
+                }
+                continue;
+            }
+            if (selected[i]) {
+                readField(compactFields[i], wrapper, instance, reuse);
+            } else {
+                compactFields[i].skip(wrapper);
+            }
+        }
+    }
+
+    private static void readField(
+            FieldCodec field,
+            InputStreamWrapper wrapper,
+            Object instance,
+            boolean reuse) throws IOException {
+        if (reuse) {
+            field.readInto(wrapper, instance);
+        } else {
+            field.read(wrapper, instance);
+        }
+    }
+
+    private void writeDefault(OutputStreamWrapper wrapper, T value) throws IOException {
+        for (FieldCodec writer : fields) {
+            writer.write(wrapper, value);
+        }
+    }
+
+    private void writeCompact(OutputStreamWrapper wrapper, T value) throws IOException {
+        byte[] bitmap = null;
+        if (bitmapLength > 0) {
+            bitmap = new byte[bitmapLength];
+            int bit = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (nullable[i]) {
+                    if (fields[i].isNull(value)) {
+                        bitmap[bit >>> 3] |= 0x80 >>> (bit & 7);
+                    }
+                    bit++;
+                }
+            }
+            wrapper.writeBytes(bitmap);
+        }
+        int bit = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (nullable[i] && isSet(bitmap, bit++)) {
+                continue;
+            }
+            compactFields[i].write(wrapper, value);
+        }
+    }
+
+    private static boolean isSet(byte[] bitmap, int bit) {
+        return (bitmap[bit >>> 3] & (0x80 >>> (bit & 7))) != 0;
+    }
+
+    private int sizeOfDefault(T value) throws IOException {
+        int size = 0;
+        for (FieldCodec writer : fields) {
+            int fieldSize = writer.sizeOf(value);
+            if (fieldSize < 0) {
+                return -1;
+            }
+            size += fieldSize;
+        }
+        return size;
+    }
+
+    private int sizeOfCompact(T value) throws IOException {
+        int size = bitmapLength;
+        for (int i = 0; i < fields.length; i++) {
+            if (nullable[i] && fields[i].isNull(value)) {
+                continue;
+            }
+            int fieldSize = compactFields[i].sizeOf(value);
+            if (fieldSize < 0) {
+                return -1;
+            }
+            size += fieldSize;
+        }
+        return size;
+    }
+
+    private int[] endOffsets(T value) throws IOException {
+        int[] ends = new int[fields.length];
+        int end = 0;
+        for (int i = 0; i < fields.length; i++) {
+            int fieldSize = fields[i].sizeOf(value);
+            if (fieldSize < 0) {
+                throw new IOException("Unknown size for the field " + names[i] + ", required by the indexed layout.");
+            }
+            end += fieldSize;
+            ends[i] = end;
+        }
+        return ends;
+    }
+
+    @SuppressWarnings("unchecked")
+    T newInstance() throws IOException {
+        try {
+            return (T) creator.build();
+        } catch (Exception e) {
+            //Really should not be possible
+            throw new IOException("Could not create a new instance of " + tClass.getSimpleName(), e);
+        }
+    }
+
+    private final class Projection implements Codec<T> {
+        private final boolean[] selected;
+
+        private Projection(boolean[] selected) {
+            this.selected = selected;
+        }
+
+        @Override
+        public T read(InputStreamWrapper wrapper) throws IOException {
+            byte marker = wrapper.read1();
+            if (marker == NULL) {
+                return null;
+            }
+            Layout encoding = layoutOf(marker);
+            T instance = newInstance();
+            readFields(wrapper, instance, encoding, selected, false);
+            return instance;
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            ObjectCodec.this.skip(wrapper);
+        }
+
+        @Override
+        public void write(OutputStreamWrapper wrapper, T value) throws IOException {
+            ObjectCodec.this.write(wrapper, value);
+        }
+
+        @Override
+        public int sizeOf(T value) throws IOException {
+            return ObjectCodec.this.sizeOf(value);
+        }
+
+        @Override
+        public byte[] reservedBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public boolean writes(Class clazz) {
+            return false;
+        }
+    }
+
+    /**
+     * The fields without marker nor offset table, using the compact layout if this codec uses it
+     */
+    private final class Body implements Codec<T> {
+        private final Layout encoding = layout == Layout.COMPACT ? Layout.COMPACT : Layout.DEFAULT;
+
+        @Override
+        public T read(InputStreamWrapper wrapper) throws IOException {
+            T instance = newInstance();
+            readFields(wrapper, instance, encoding, allFields, false);
+            return instance;
+        }
+
+        @Override
+        public T readInto(InputStreamWrapper wrapper, T target) throws IOException {
+            T instance = target == null ? newInstance() : target;
+            readFields(wrapper, instance, encoding, allFields, target != null);
+            return instance;
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            readFields(wrapper, null, encoding, noField, false);
+        }
+
+        @Override
+        public void write(OutputStreamWrapper wrapper, T value) throws IOException {
+            if (encoding == Layout.COMPACT) {
+                writeCompact(wrapper, value);
+            } else {
+                writeDefault(wrapper, value);
+            }
+        }
+
+        @Override
+        public int sizeOf(T value) throws IOException {
+            return encoding == Layout.COMPACT ? sizeOfCompact(value) : sizeOfDefault(value);
+        }
+
+        @Override
+        public byte[] reservedBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public boolean writes(Class clazz) {
+            return false;
+        }
+    }
+
+    private final class OrderedKey implements Codec<T> {
+        private final int[] indexes;
+        private final OrderedCodec<Object>[] keyCodecs;
+
+        private OrderedKey(int[] indexes, OrderedCodec<Object>[] keyCodecs) {
+            this.indexes = indexes;
+            this.keyCodecs = keyCodecs;
+        }
+
+        @Override
+        public T read(InputStreamWrapper wrapper) throws IOException {
+            byte presence = wrapper.read1();
+            if (presence == 0) {
+                return null;
+            }
+            if (presence != 1) {
+                throw new IOException("Could not deserialize as an ordered " + tClass.getSimpleName());
+            }
+            T instance = newInstance();
+            for (int i = 0; i < indexes.length; i++) {
+                fields[indexes[i]].set(instance, keyCodecs[i].read(wrapper));
+            }
+            return instance;
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            if (wrapper.read1() == 0) {
+                return;
+            }
+            for (OrderedCodec<Object> keyCodec : keyCodecs) {
+                keyCodec.skip(wrapper);
+            }
+        }
+
+        @Override
+        public void write(OutputStreamWrapper wrapper, T value) throws IOException {
+            if (value == null) {
+                wrapper.writeByte((byte) 0);
+                return;
+            }
+            wrapper.writeByte((byte) 1);
+            for (int i = 0; i < indexes.length; i++) {
+                keyCodecs[i].write(wrapper, fields[indexes[i]].get(value));
+            }
+        }
+
+        @Override
+        public int sizeOf(T value) throws IOException {
+            int size = 1;
+            if (value != null) {
+                for (int i = 0; i < indexes.length; i++) {
+                    size += keyCodecs[i].sizeOf(fields[indexes[i]].get(value));
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public byte[] reservedBytes() {
+            return new byte[0];
+        }
+
+        @Override
+        public boolean writes(Class clazz) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.stream.ByteBufferInputStream;
+import sebastien.callier.serialization.stream.FastInputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Flyweight over an object written by an indexed {@link ObjectCodec}.
+ * Fields are decoded on demand using the offset table, the view can be pointed
+ * to other data without allocating.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ObjectView {
+    private final byte indexedByte;
+    private final Codec[] codecs;
+    private final String[] names;
+    private final FastInputStream input = new FastInputStream(new byte[0]);
+    private final InputStreamWrapper wrapper = new InputStreamWrapper(input);
+    private final ByteBufferInputStream bufferInput = new ByteBufferInputStream(null);
+    private final InputStreamWrapper bufferWrapper = new InputStreamWrapper(bufferInput);
+
+    /**
+     * The wrapped array, null when wrapping a buffer without array
+     */
+    private byte[] data;
+    /**
+     * The wrapped buffer, only used when data is null
+     */
+    private ByteBuffer buffer;
+    /**
+     * A duplicate of the wrapped buffer, narrowed to the field being read
+     */
+    private ByteBuffer field;
+    private int tableStart;
+    private int fieldsStart;
+
+    ObjectView(
+            byte indexedByte,
+            Codec[] codecs,
+            String[] names) {
+        this.indexedByte = indexedByte;
+        this.codecs = codecs;
+        this.names = names;
+    }
+
+    /**
+     * @param data   the serialized data
+     * @param offset the position of the object in data
+     * @return this view
+     * @throws IOException if there is no indexed object at this position
+     */
+    public ObjectView wrap(byte[] data, int offset) throws IOException {
+        return wrap(data, offset, data.length);
+    }
+
+    private ObjectView wrap(byte[] data, int offset, int limit) throws IOException {
+        if (offset < 0 || offset >= limit || data[offset] != indexedByte) {
+            throw new IOException("No indexed object at " + offset);
+        }
+        this.data = data;
+        this.buffer = null;
+        return index(offset, limit);
+    }
+
+    /**
+     * Heap, direct and memory mapped buffers are supported, the buffer is left unchanged.
+     * The fields of buffers without array are read in place.
+     *
+     * @param buffer the serialized data, starting at its position
+     * @return this view
+     * @throws IOException if there is no indexed object at the buffer position
+     */
+    public ObjectView wrap(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return wrap(
+                    buffer.array(),
+                    buffer.arrayOffset() + buffer.position(),
+                    buffer.arrayOffset() + buffer.limit());
+        }
+        int offset = buffer.position();
+        if (offset >= buffer.limit() || buffer.get(offset) != indexedByte) {
+            throw new IOException("No indexed object at " + offset);
+        }
+        this.data = null;
+        this.buffer = buffer;
+        this.field = buffer.duplicate();
+        return index(offset, buffer.limit());
+    }
+
+    /**
+     * @param name the field name
+     * @return the index to use with {@link #get(int)}, or -1 if there is no such field
+     */
+    public int indexOf(String name) {
+        return Arrays.asList(names).indexOf(name);
+    }
+
+    /**
+     * Decodes a single field
+     *
+     * @param index the field index, see {@link #indexOf(String)}
+     * @return the field value, boxed for primitives
+     */
+    public Object get(int index) throws IOException {
+        int start = fieldsStart + end(index - 1);
+        int end = fieldsStart + end(index);
+        if (data != null) {
+            input.wrap(data, start, end - start);
+            return codecs[index].read(wrapper);
+        }
+        field.limit(end);
+        field.position(start);
+        bufferInput.wrap(field);
+        return codecs[index].read(bufferWrapper);
+    }
+
+    public Object get(String name) throws IOException {
+        int index = indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No serialized field called " + name);
+        }
+        return get(index);
+    }
+
+    /**
+     * @return the number of bytes used by the whole object, for instance to forward it untouched
+     */
+    public int length() {
+        return fieldsStart - tableStart + 1 + end(codecs.length - 1);
+    }
+
+    private ObjectView index(int offset, int limit) throws IOException {
+        this.tableStart = offset + 1;
+        this.fieldsStart = tableStart + codecs.length * Integer.BYTES;
+        if (fieldsStart > limit || fieldsStart + end(codecs.length - 1) > limit) {
+            throw new IOException("Truncated indexed object at " + offset);
+        }
+        return this;
+    }
+
+    /**
+     * @param index a field index, -1 for the start of the first field
+     * @return the end of the field relative to the first field
+     */
+    private int end(int index) {
+        if (index < 0) {
+            return 0;
+        }
+        int position = tableStart + index * Integer.BYTES;
+        if (data == null) {
+            //byte by byte so that the byte order of the buffer does not matter
+            return ((buffer.get(position) & 0xFF) << 24) |
+                   ((buffer.get(position + 1) & 0xFF) << 16) |
+                   ((buffer.get(position + 2) & 0xFF) << 8) |
+                   (buffer.get(position + 3) & 0xFF);
+        }
+        return ((data[position] & 0xFF) << 24) |
+               ((data[position + 1] & 0xFF) << 16) |
+               ((data[position + 2] & 0xFF) << 8) |
+               (data[position + 3] & 0xFF);
+    }
+}
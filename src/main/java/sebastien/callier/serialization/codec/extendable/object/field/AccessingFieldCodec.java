@@ -59,9 +59,46 @@ public final class AccessingFieldCodec implements FieldCodec {
         codec.write(wrapper, get.get(instance));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public int sizeOf(Object instance) throws IOException {
+        return codec.sizeOf(get.get(instance));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void read(InputStreamWrapper wrapper, Object instance) throws IOException {
         set.set(instance, codec.read(wrapper));
     }
-}
\ No newline at end of file
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readInto(InputStreamWrapper wrapper, Object instance) throws IOException {
+        set.set(instance, codec.readInto(wrapper, get.get(instance)));
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        codec.skip(wrapper);
+    }
+
+    @Override
+    public Object get(Object instance) {
+        return get.get(instance);
+    }
+
+    @Override
+    public void set(Object instance, Object value) {
+        set.set(instance, value);
+    }
+
+    @Override
+    public boolean isNull(Object instance) throws IOException {
+        return get.get(instance) == null;
+    }
+
+    @Override
+    public void setNull(Object instance) throws IOException {
+        set.set(instance, null);
+    }
+}
@@ -48,6 +48,16 @@ public final class DirectFieldCodec implements FieldCodec {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public int sizeOf(Object instance) throws IOException {
+        try {
+            return codec.sizeOf(field.get(instance));
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unexpected exception.", e);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void read(InputStreamWrapper wrapper, Object instance) throws IOException {
@@ -57,4 +67,55 @@ public final class DirectFieldCodec implements FieldCodec {
             throw new IOException("Unexpected exception.", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readInto(InputStreamWrapper wrapper, Object instance) throws IOException {
+        try {
+            field.set(instance, codec.readInto(wrapper, field.get(instance)));
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unexpected exception.", e);
+        }
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        codec.skip(wrapper);
+    }
+
+    @Override
+    public Object get(Object instance) throws IOException {
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unexpected exception.", e);
+        }
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws IOException {
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unexpected exception.", e);
+        }
+    }
+
+    @Override
+    public boolean isNull(Object instance) throws IOException {
+        try {
+            return field.get(instance) == null;
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unexpected exception.", e);
+        }
+    }
+
+    @Override
+    public void setNull(Object instance) throws IOException {
+        try {
+            field.set(instance, null);
+        } catch (IllegalAccessException e) {
+            throw new IOException("Unexpected exception.", e);
+        }
+    }
+}
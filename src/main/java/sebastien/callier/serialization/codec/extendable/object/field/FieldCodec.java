@@ -20,6 +20,7 @@ import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
 
 import java.io.IOException;
+import java.util.Objects;
 
 /**
  * @author Sebastien Callier
@@ -36,6 +37,13 @@ public interface FieldCodec {
             OutputStreamWrapper wrapper,
             Object instance) throws IOException;
 
+    /**
+     * @param instance the object containing this field
+     * @return the number of bytes {@link #write(OutputStreamWrapper, Object)} would use, or -1 if unknown
+     * @throws IOException
+     */
+    int sizeOf(Object instance) throws IOException;
+
     /**
      * @param wrapper  the input to read from
      * @param instance the instance where to set the field value
@@ -44,4 +52,63 @@ public interface FieldCodec {
     void read(
             InputStreamWrapper wrapper,
             Object instance) throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * Same as {@link #read(InputStreamWrapper, Object)}, reusing the current field value when possible
+     *
+     * @param wrapper  the input to read from
+     * @param instance the instance where to set the field value
+     * @throws IOException
+     */
+    default void readInto(
+            InputStreamWrapper wrapper,
+            Object instance) throws IOException {
+        read(wrapper, instance);
+    }
+
+    /**
+     * @param wrapper the input where to skip the field value
+     * @throws IOException
+     */
+    void skip(InputStreamWrapper wrapper) throws IOException;
+
+    /**
+     * @param instance the object containing this field
+     * @return the field value, boxed for primitive fields
+     * @throws IOException
+     */
+    Object get(Object instance) throws IOException;
+
+    /**
+     * @param instance the instance where to set the field value
+     * @param value    the value to set, boxed for primitive fields
+     * @throws IOException
+     */
+    void set(Object instance, Object value) throws IOException;
+
+    /**
+     * @param first  an object containing this field
+     * @param second another object containing this field
+     * @return true if the field has the same value in both objects, arrays are compared by content
+     * @throws IOException
+     */
+    default boolean hasSameValue(Object first, Object second) throws IOException {
+        return Objects.deepEquals(get(first), get(second));
+    }
+
+    /**
+     * @param instance the object containing this field
+     * @return true if the field value is null, primitive fields are never null
+     * @throws IOException
+     */
+    default boolean isNull(Object instance) throws IOException {
+        return false;
+    }
+
+    /**
+     * @param instance the instance where to set the field value to null, no-op for primitive fields
+     * @throws IOException
+     */
+    default void setNull(Object instance) throws IOException {
+    }
+}
@@ -61,9 +61,35 @@ public class BooleanFieldCodec implements FieldCodec {
         codec.write(wrapper, get.get(instance));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public int sizeOf(Object instance) throws IOException {
+        return codec.sizeOf(get.get(instance));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void read(InputStreamWrapper wrapper, Object instance) throws IOException {
         set.set(instance, (Boolean) codec.read(wrapper));
     }
-}
\ No newline at end of file
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        codec.skip(wrapper);
+    }
+
+    @Override
+    public Object get(Object instance) {
+        return get.get(instance);
+    }
+
+    @Override
+    public void set(Object instance, Object value) {
+        set.set(instance, (Boolean) value);
+    }
+
+    @Override
+    public boolean hasSameValue(Object first, Object second) {
+        return get.get(first) == get.get(second);
+    }
+}
@@ -40,11 +40,21 @@ public final class AnyCodec implements Codec<Object> {
         return codecCache.get(wrapper.peek()).read(wrapper);
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        codecCache.get(wrapper.peek()).skip(wrapper);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Object value) throws IOException {
         codecCache.codecFor(value).write(wrapper, value);
     }
 
+    @Override
+    public int sizeOf(Object value) throws IOException {
+        return codecCache.codecFor(value).sizeOf(value);
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{};
@@ -21,21 +21,29 @@ import sebastien.callier.serialization.codec.CodecCache;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.exceptions.MissingCodecException;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.Queue;
 
 /**
+ * Elements are either framed by a start and an end marker,
+ * or prefixed by their count when size prefixed like in the {@link ListCodec}.
+ * A size prefixed codec reserves 4 extra bytes and is still able to read the framed format.
+ * The size prefixed format avoids looking for the end marker before each element
+ * and allows presizing the decoded collections.
+ *
  * @author Sebastien Callier
  * @since 2017
  */
 public final class CollectionCodec implements Codec<Collection> {
     private final byte start;
     private final byte end;
+    private final byte sized1;
+    private final boolean sizePrefixed;
 
     private final CodecCache codecCache;
+    private final ContainerFactory<Collection> factory;
 
     /**
      * The codec of each of the objects contained in the lists will be required to be present
@@ -43,26 +51,100 @@ public final class CollectionCodec implements Codec<Collection> {
      */
     public CollectionCodec(byte reservedByte,
                            CodecCache codecCache) {
+        this(reservedByte, codecCache, false);
+    }
+
+    /**
+     * The codec of each of the objects contained in the lists will be required to be present
+     * at runtime when read and/or write are called
+     *
+     * @param sizePrefixed true to write the element count instead of start and end markers,
+     *                     decoded collections are then {@link java.util.ArrayList}
+     */
+    public CollectionCodec(byte reservedByte,
+                           CodecCache codecCache,
+                           boolean sizePrefixed) {
+        this(reservedByte, codecCache, sizePrefixed, sizePrefixed ?
+                ContainerFactories.arrayList() :
+                ContainerFactories.linkedList());
+    }
+
+    /**
+     * The codec of each of the objects contained in the lists will be required to be present
+     * at runtime when read and/or write are called
+     *
+     * @param factory creates the decoded collections when no target is given
+     */
+    public CollectionCodec(byte reservedByte,
+                           CodecCache codecCache,
+                           ContainerFactory<? extends Collection> factory) {
+        this(reservedByte, codecCache, false, factory);
+    }
+
+    /**
+     * The codec of each of the objects contained in the lists will be required to be present
+     * at runtime when read and/or write are called
+     *
+     * @param sizePrefixed true to write the element count instead of start and end markers
+     * @param factory      creates the decoded collections when no target is given
+     */
+    @SuppressWarnings("unchecked")
+    public CollectionCodec(byte reservedByte,
+                           CodecCache codecCache,
+                           boolean sizePrefixed,
+                           ContainerFactory<? extends Collection> factory) {
         this.codecCache = codecCache;
         this.start = reservedByte;
         this.end = (byte) (reservedByte + 1);
+        this.sized1 = (byte) (reservedByte + 2);
+        this.sizePrefixed = sizePrefixed;
+        this.factory = (ContainerFactory<Collection>) factory;
     }
 
     @Override
     public Collection read(InputStreamWrapper wrapper) throws IOException {
-        byte marker = wrapper.read1();
-        if (marker == NULL) {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection readInto(InputStreamWrapper wrapper, Collection target) throws IOException {
+        Integer size = readHeader(wrapper);
+        if (size == null) {
             return null;
         }
-        if (marker == start) {
-            Queue<Object> result = new LinkedList<>();
+        Collection<Object> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
+        if (size < 0) {
+            byte marker;
             while ((marker = wrapper.peek()) != end) {
                 result.add(codecCache.get(marker).read(wrapper));
             }
             wrapper.read1();
-            return result;
+        } else {
+            for (int i = 0; i < size; i++) {
+                result.add(codecCache.get(wrapper.peek()).read(wrapper));
+            }
+        }
+        return result == target ? result : factory.complete(result);
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = readHeader(wrapper);
+        if (size == null) {
+            return;
+        }
+        if (size < 0) {
+            byte marker;
+            while ((marker = wrapper.peek()) != end) {
+                codecCache.get(marker).skip(wrapper);
+            }
+            wrapper.read1();
+        } else {
+            for (int i = 0; i < size; i++) {
+                codecCache.get(wrapper.peek()).skip(wrapper);
+            }
         }
-        throw new IOException("Could not deserialize as a collection.");
     }
 
     @Override
@@ -71,15 +153,34 @@ public final class CollectionCodec implements Codec<Collection> {
             wrapper.writeByte(NULL);
             return;
         }
-        wrapper.writeByte(start);
+        writeHeader(wrapper, value.size());
         for (Object element : value) {
             codecCache.codecFor(element).write(wrapper, element);
         }
-        wrapper.writeByte(end);
+        writeFooter(wrapper);
+    }
+
+    @Override
+    public int sizeOf(Collection value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = sizeOfFraming(value.size());
+        for (Object element : value) {
+            int elementSize = codecCache.codecFor(element).sizeOf(element);
+            if (elementSize < 0) {
+                return -1;
+            }
+            size += elementSize;
+        }
+        return size;
     }
 
     @Override
     public byte[] reservedBytes() {
+        if (sizePrefixed) {
+            return new byte[]{start, end, sized1, (byte) (sized1 + 1), (byte) (sized1 + 2), (byte) (sized1 + 3)};
+        }
         return new byte[]{start, end};
     }
 
@@ -88,6 +189,44 @@ public final class CollectionCodec implements Codec<Collection> {
         return Collection.class.isAssignableFrom(clazz);
     }
 
+    /**
+     * @return the number of elements, -1 when framed by markers or null for a null collection
+     */
+    private Integer readHeader(InputStreamWrapper wrapper) throws IOException {
+        if (sizePrefixed) {
+            int marker = wrapper.peek() - sized1;
+            if (marker >= 0 && marker < 4) {
+                return CodecUtils.readSize(wrapper, sized1);
+            }
+        }
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return null;
+        }
+        if (marker == start) {
+            return -1;
+        }
+        throw new IOException("Could not deserialize as a collection.");
+    }
+
+    private void writeHeader(OutputStreamWrapper wrapper, int size) throws IOException {
+        if (sizePrefixed) {
+            CodecUtils.writeSize(wrapper, size, sized1);
+        } else {
+            wrapper.writeByte(start);
+        }
+    }
+
+    private void writeFooter(OutputStreamWrapper wrapper) throws IOException {
+        if (!sizePrefixed) {
+            wrapper.writeByte(end);
+        }
+    }
+
+    private int sizeOfFraming(int size) {
+        return sizePrefixed ? CodecUtils.sizeOfSize(size) : 2;
+    }
+
     /**
      * The returned codec is compatible with the current instance of CollectionCodec
      * it should be somewhat faster than the non typed version when referenced
@@ -97,31 +236,76 @@ public final class CollectionCodec implements Codec<Collection> {
      * @return a typed version of the collection codec
      */
     public <T> Codec<Collection<T>> asTypedCollection(Class<T> tClass) throws MissingCodecException {
-        return new CollectionCodec.Typed<>(codecCache.codecForClass(tClass));
+        return new Typed<>(codecCache.codecForClass(tClass), factory);
+    }
+
+    /**
+     * The returned codec is compatible with the current instance of CollectionCodec
+     * it should be somewhat faster than the non typed version when referenced
+     * during read / write but should not be registered.
+     *
+     * @param tClass  the generic class to deserialize
+     * @param factory creates the decoded collections when no target is given
+     * @return a typed version of the collection codec
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Codec<Collection<T>> asTypedCollection(
+            Class<T> tClass,
+            ContainerFactory<? extends Collection> factory) throws MissingCodecException {
+        return new Typed<>(codecCache.codecForClass(tClass), (ContainerFactory<Collection>) factory);
     }
 
     private final class Typed<T> implements Codec<Collection<T>> {
         private final Codec<T> codec;
+        private final ContainerFactory<Collection> factory;
 
-        private Typed(Codec<T> codec) {
+        private Typed(Codec<T> codec, ContainerFactory<Collection> factory) {
             this.codec = codec;
+            this.factory = factory;
         }
 
         @Override
         public Collection<T> read(InputStreamWrapper wrapper) throws IOException {
-            byte marker = wrapper.read1();
-            if (marker == NULL) {
+            return readInto(wrapper, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Collection<T> readInto(InputStreamWrapper wrapper, Collection<T> target) throws IOException {
+            Integer size = readHeader(wrapper);
+            if (size == null) {
                 return null;
             }
-            if (marker == start) {
-                Queue<T> result = new LinkedList<>();
+            Collection<T> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
+            if (size < 0) {
                 while (wrapper.peek() != end) {
                     result.add(codec.read(wrapper));
                 }
                 wrapper.read1();
-                return result;
+            } else {
+                for (int i = 0; i < size; i++) {
+                    result.add(codec.read(wrapper));
+                }
+            }
+            return result == target ? result : factory.complete(result);
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            Integer size = readHeader(wrapper);
+            if (size == null) {
+                return;
+            }
+            if (size < 0) {
+                while (wrapper.peek() != end) {
+                    codec.skip(wrapper);
+                }
+                wrapper.read1();
+            } else {
+                for (int i = 0; i < size; i++) {
+                    codec.skip(wrapper);
+                }
             }
-            throw new IOException("Could not deserialize as a collection.");
         }
 
         @Override
@@ -130,11 +314,27 @@ public final class CollectionCodec implements Codec<Collection> {
                 wrapper.writeByte(NULL);
                 return;
             }
-            wrapper.writeByte(start);
+            writeHeader(wrapper, value.size());
             for (T element : value) {
                 codec.write(wrapper, element);
             }
-            wrapper.writeByte(end);
+            writeFooter(wrapper);
+        }
+
+        @Override
+        public int sizeOf(Collection<T> value) throws IOException {
+            if (value == null) {
+                return 1;
+            }
+            int size = sizeOfFraming(value.size());
+            for (T element : value) {
+                int elementSize = codec.sizeOf(element);
+                if (elementSize < 0) {
+                    return -1;
+                }
+                size += elementSize;
+            }
+            return size;
         }
 
         @Override
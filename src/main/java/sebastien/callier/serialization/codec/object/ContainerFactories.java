@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Common {@link ContainerFactory} implementations.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ContainerFactories {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private ContainerFactories() {
+    }
+
+    /**
+     * Keeps the insertion order, default of the {@link MapCodec}
+     */
+    public static <K, V> ContainerFactory<Map<K, V>> linkedHashMap() {
+        return size -> new LinkedHashMap<>(hashCapacity(size), 0.75F);
+    }
+
+    public static <K, V> ContainerFactory<Map<K, V>> hashMap() {
+        return size -> new HashMap<>(hashCapacity(size), 0.75F);
+    }
+
+    /**
+     * Presized {@link ConcurrentHashMap}, null keys and values are rejected
+     */
+    public static <K, V> ContainerFactory<Map<K, V>> concurrentHashMap() {
+        return size -> new ConcurrentHashMap<>(hashCapacity(size), 0.75F);
+    }
+
+    /**
+     * Compact unmodifiable maps as created by {@link Map#copyOf(Map)},
+     * null keys and values are rejected and the iteration order is unspecified
+     */
+    public static <K, V> ContainerFactory<Map<K, V>> unmodifiableMap() {
+        return new ContainerFactory<Map<K, V>>() {
+            @Override
+            public Map<K, V> newContainer(int size) {
+                return new HashMap<>(hashCapacity(size), 0.75F);
+            }
+
+            @Override
+            public Map<K, V> complete(Map<K, V> container) {
+                return Map.copyOf(container);
+            }
+        };
+    }
+
+    /**
+     * Keeps the insertion order, default of the {@link SetCodec}
+     */
+    public static <T> ContainerFactory<Set<T>> linkedHashSet() {
+        return size -> new LinkedHashSet<>(hashCapacity(size), 0.75F);
+    }
+
+    public static <T> ContainerFactory<Set<T>> hashSet() {
+        return size -> new HashSet<>(hashCapacity(size), 0.75F);
+    }
+
+    /**
+     * Compact unmodifiable sets as created by {@link Set#copyOf(java.util.Collection)},
+     * null elements are rejected and the iteration order is unspecified
+     */
+    public static <T> ContainerFactory<Set<T>> unmodifiableSet() {
+        return new ContainerFactory<Set<T>>() {
+            @Override
+            public Set<T> newContainer(int size) {
+                return new HashSet<>(hashCapacity(size), 0.75F);
+            }
+
+            @Override
+            public Set<T> complete(Set<T> container) {
+                return Set.copyOf(container);
+            }
+        };
+    }
+
+    /**
+     * Default of the {@link ListCodec}
+     */
+    public static <T> ContainerFactory<List<T>> arrayList() {
+        return size -> new ArrayList<>(size < 0 ? DEFAULT_CAPACITY : size);
+    }
+
+    /**
+     * Default of the {@link CollectionCodec} and {@link QueueCodec}
+     */
+    public static <T> ContainerFactory<LinkedList<T>> linkedList() {
+        return size -> new LinkedList<>();
+    }
+
+    /**
+     * Presized {@link ArrayDeque}, usable as a collection or a queue, null elements are rejected
+     */
+    public static <T> ContainerFactory<ArrayDeque<T>> arrayDeque() {
+        return size -> new ArrayDeque<>(size < 0 ? DEFAULT_CAPACITY : size);
+    }
+
+    /**
+     * Compact unmodifiable lists as created by {@link List#copyOf(java.util.Collection)},
+     * null elements are rejected
+     */
+    public static <T> ContainerFactory<List<T>> unmodifiableList() {
+        return new ContainerFactory<List<T>>() {
+            @Override
+            public List<T> newContainer(int size) {
+                return new ArrayList<>(size < 0 ? DEFAULT_CAPACITY : size);
+            }
+
+            @Override
+            public List<T> complete(List<T> container) {
+                return List.copyOf(container);
+            }
+        };
+    }
+
+    private static int hashCapacity(int size) {
+        return size < 0 ? DEFAULT_CAPACITY : CodecUtils.capacityForKnownSize(size);
+    }
+}
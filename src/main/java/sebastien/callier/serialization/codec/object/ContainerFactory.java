@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+/**
+ * Creates the containers filled when decoding with the {@link MapCodec}, {@link SetCodec},
+ * {@link ListCodec}, {@link CollectionCodec} and {@link QueueCodec} and their typed versions.
+ * Common implementations are available in {@link ContainerFactories}.
+ * <p>
+ * The factory is not used when a reusable target is given to readInto, the target is filled instead,
+ * see {@link sebastien.callier.serialization.utils.CodecUtils#reusable(java.util.Collection)}.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+@FunctionalInterface
+public interface ContainerFactory<C> {
+
+    /**
+     * @param expectedSize the number of elements that will be added, -1 when unknown
+     * @return a new mutable container
+     */
+    C newContainer(int expectedSize);
+
+    /**
+     * Called once all the elements were added to a container created by {@link #newContainer(int)}
+     *
+     * @return the container returned by the codec, the given one by default
+     */
+    default C complete(C container) {
+        return container;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.primitive.DoubleCodec;
+import sebastien.callier.serialization.collection.DoubleList;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Codec for {@link DoubleList} reading and writing doubles without boxing.
+ * The format is the one of a {@link ListCodec} using the same reserved byte
+ * with a {@link DoubleCodec} for the elements, null elements are rejected when reading.
+ * Registering this codec only adds writing support,
+ * {@link #reservedBytes()} is empty as the bytes belong to the compatible codec.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class DoubleListCodec implements Codec<DoubleList> {
+    private final byte size1;
+    private final DoubleCodec codec;
+
+    public DoubleListCodec(byte reservedByte,
+                           DoubleCodec codec) {
+        super();
+        this.size1 = reservedByte;
+        this.codec = codec;
+    }
+
+    @Override
+    public DoubleList read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public DoubleList readInto(InputStreamWrapper wrapper, DoubleList target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        DoubleList result;
+        if (target == null) {
+            result = new DoubleList(size);
+        } else {
+            result = target;
+            result.clear();
+        }
+        result.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            result.add(codec.readDouble(wrapper));
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            codec.skip(wrapper);
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, DoubleList value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, value.size(), size1);
+        for (int i = 0; i < value.size(); i++) {
+            codec.writeDouble(wrapper, value.get(i));
+        }
+    }
+
+    @Override
+    public int sizeOf(DoubleList value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (int i = 0; i < value.size(); i++) {
+            size += codec.sizeOfDouble(value.get(i));
+        }
+        return size;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return DoubleList.class.equals(clazz);
+    }
+}
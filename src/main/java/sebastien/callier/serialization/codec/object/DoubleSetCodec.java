@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.primitive.DoubleCodec;
+import sebastien.callier.serialization.collection.DoubleSet;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Codec for {@link DoubleSet} reading and writing doubles without boxing.
+ * The format is the one of a {@link SetCodec} using the same reserved byte
+ * with a {@link DoubleCodec} for the elements, null elements are rejected when reading.
+ * Registering this codec only adds writing support,
+ * {@link #reservedBytes()} is empty as the bytes belong to the compatible codec.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class DoubleSetCodec implements Codec<DoubleSet> {
+    private final byte size1;
+    private final DoubleCodec codec;
+
+    public DoubleSetCodec(byte reservedByte,
+                          DoubleCodec codec) {
+        super();
+        this.size1 = reservedByte;
+        this.codec = codec;
+    }
+
+    @Override
+    public DoubleSet read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public DoubleSet readInto(InputStreamWrapper wrapper, DoubleSet target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        DoubleSet result;
+        if (target == null) {
+            result = new DoubleSet(size);
+        } else {
+            result = target;
+            result.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            result.add(codec.readDouble(wrapper));
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            codec.skip(wrapper);
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, DoubleSet value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, value.size(), size1);
+        for (int slot = value.nextSlot(-1); slot >= 0; slot = value.nextSlot(slot)) {
+            codec.writeDouble(wrapper, value.elementAt(slot));
+        }
+    }
+
+    @Override
+    public int sizeOf(DoubleSet value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (int slot = value.nextSlot(-1); slot >= 0; slot = value.nextSlot(slot)) {
+            size += codec.sizeOfDouble(value.elementAt(slot));
+        }
+        return size;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return DoubleSet.class.equals(clazz);
+    }
+}
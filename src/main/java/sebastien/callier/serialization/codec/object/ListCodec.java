@@ -24,7 +24,6 @@ import sebastien.callier.serialization.serializer.OutputStreamWrapper;
 import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,6 +33,7 @@ import java.util.List;
 public final class ListCodec implements Codec<List> {
     private final byte size1;
     private final CodecCache codecCache;
+    private final ContainerFactory<List> factory;
 
     /**
      * The codec of each of the objects contained in the lists will be required to be present
@@ -41,21 +41,52 @@ public final class ListCodec implements Codec<List> {
      */
     public ListCodec(byte reservedByte,
                      CodecCache codecCache) {
+        this(reservedByte, codecCache, ContainerFactories.arrayList());
+    }
+
+    /**
+     * The codec of each of the objects contained in the lists will be required to be present
+     * at runtime when read and/or write are called
+     *
+     * @param factory creates the decoded lists when no target is given
+     */
+    @SuppressWarnings("unchecked")
+    public ListCodec(byte reservedByte,
+                     CodecCache codecCache,
+                     ContainerFactory<? extends List> factory) {
         this.size1 = reservedByte;
         this.codecCache = codecCache;
+        this.factory = (ContainerFactory<List>) factory;
     }
 
     @Override
     public List read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List readInto(InputStreamWrapper wrapper, List target) throws IOException {
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        List<Object> result = new ArrayList<>(size);
+        List<Object> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
         for (int i = 0; i < size; i++) {
             result.add(codecCache.get(wrapper.peek()).read(wrapper));
         }
-        return result;
+        return result == target ? result : factory.complete(result);
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            codecCache.get(wrapper.peek()).skip(wrapper);
+        }
     }
 
     @Override
@@ -70,6 +101,22 @@ public final class ListCodec implements Codec<List> {
         }
     }
 
+    @Override
+    public int sizeOf(List value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (Object element : value) {
+            int elementSize = codecCache.codecFor(element).sizeOf(element);
+            if (elementSize < 0) {
+                return -1;
+            }
+            size += elementSize;
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
@@ -89,27 +136,62 @@ public final class ListCodec implements Codec<List> {
      * @return a typed version of the list codec
      */
     public <T> Codec<List<T>> asTypedList(Class<T> tClass) throws MissingCodecException {
-        return new Typed<>(codecCache.codecForClass(tClass));
+        return new Typed<>(codecCache.codecForClass(tClass), factory);
+    }
+
+    /**
+     * The returned codec is compatible with the current instance of ListCodec
+     * it should be somewhat faster than the non typed version when referenced
+     * during read / write but should not be registered.
+     *
+     * @param tClass  the generic class to deserialize
+     * @param factory creates the decoded lists when no target is given
+     * @return a typed version of the list codec
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Codec<List<T>> asTypedList(
+            Class<T> tClass,
+            ContainerFactory<? extends List> factory) throws MissingCodecException {
+        return new Typed<>(codecCache.codecForClass(tClass), (ContainerFactory<List>) factory);
     }
 
     private final class Typed<T> implements Codec<List<T>> {
         private final Codec<T> codec;
+        private final ContainerFactory<List> factory;
 
-        private Typed(Codec<T> codec) {
+        private Typed(Codec<T> codec, ContainerFactory<List> factory) {
             this.codec = codec;
+            this.factory = factory;
         }
 
         @Override
         public List<T> read(InputStreamWrapper wrapper) throws IOException {
+            return readInto(wrapper, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<T> readInto(InputStreamWrapper wrapper, List<T> target) throws IOException {
             Integer size = CodecUtils.readSize(wrapper, size1);
             if (size == null) {
                 return null;
             }
-            List<T> result = new ArrayList<>(size);
+            List<T> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
             for (int i = 0; i < size; i++) {
                 result.add(codec.read(wrapper));
             }
-            return result;
+            return result == target ? result : factory.complete(result);
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            Integer size = CodecUtils.readSize(wrapper, size1);
+            if (size == null) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                codec.skip(wrapper);
+            }
         }
 
         @Override
@@ -124,6 +206,22 @@ public final class ListCodec implements Codec<List> {
             }
         }
 
+        @Override
+        public int sizeOf(List<T> value) throws IOException {
+            if (value == null) {
+                return 1;
+            }
+            int size = CodecUtils.sizeOfSize(value.size());
+            for (T element : value) {
+                int elementSize = codec.sizeOf(element);
+                if (elementSize < 0) {
+                    return -1;
+                }
+                size += elementSize;
+            }
+            return size;
+        }
+
         @Override
         public byte[] reservedBytes() {
             return new byte[0];
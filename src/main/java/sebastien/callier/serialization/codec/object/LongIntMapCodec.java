@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.primitive.IntCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.collection.LongIntMap;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Codec for {@link LongIntMap} reading and writing entries without boxing.
+ * The format is the one of a {@link MapCodec} using the same reserved byte
+ * with a {@link LongCodec} for the keys and a {@link IntCodec} for the values,
+ * null keys or values are rejected when reading.
+ * Registering this codec only adds writing support,
+ * {@link #reservedBytes()} is empty as the bytes belong to the compatible codec.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class LongIntMapCodec implements Codec<LongIntMap> {
+    private final byte size1;
+    private final LongCodec keyCodec;
+    private final IntCodec valueCodec;
+
+    public LongIntMapCodec(byte reservedByte,
+                           LongCodec keyCodec,
+                           IntCodec valueCodec) {
+        super();
+        this.size1 = reservedByte;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public LongIntMap read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public LongIntMap readInto(InputStreamWrapper wrapper, LongIntMap target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        LongIntMap result;
+        if (target == null) {
+            result = new LongIntMap(size);
+        } else {
+            result = target;
+            result.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            long key = keyCodec.readLong(wrapper);
+            result.put(key, valueCodec.readInt(wrapper));
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            keyCodec.skip(wrapper);
+            valueCodec.skip(wrapper);
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, LongIntMap value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, value.size(), size1);
+        for (int slot = value.nextSlot(-1); slot >= 0; slot = value.nextSlot(slot)) {
+            keyCodec.writeLong(wrapper, value.keyAt(slot));
+            valueCodec.writeInt(wrapper, value.valueAt(slot));
+        }
+    }
+
+    @Override
+    public int sizeOf(LongIntMap value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (int slot = value.nextSlot(-1); slot >= 0; slot = value.nextSlot(slot)) {
+            size += keyCodec.sizeOfLong(value.keyAt(slot)) + valueCodec.sizeOfInt(value.valueAt(slot));
+        }
+        return size;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return LongIntMap.class.equals(clazz);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.collection.LongObjectMap;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+
+import java.io.IOException;
+
+/**
+ * Codec for {@link LongObjectMap} reading and writing keys without boxing.
+ * The format is the one of a {@link MapCodec} using the same reserved byte
+ * with a {@link LongCodec} for the keys and the given codec for the values,
+ * null keys are rejected when reading.
+ * Registering this codec only adds writing support,
+ * {@link #reservedBytes()} is empty as the bytes belong to the compatible codec.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class LongObjectMapCodec<V> implements Codec<LongObjectMap<V>> {
+    private final byte size1;
+    private final LongCodec keyCodec;
+    private final Codec<V> valueCodec;
+
+    public LongObjectMapCodec(byte reservedByte,
+                              LongCodec keyCodec,
+                              Codec<V> valueCodec) {
+        super();
+        this.size1 = reservedByte;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public LongObjectMap<V> read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public LongObjectMap<V> readInto(InputStreamWrapper wrapper, LongObjectMap<V> target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        LongObjectMap<V> result;
+        if (target == null) {
+            result = new LongObjectMap<>(size);
+        } else {
+            result = target;
+            result.clear();
+        }
+        for (int i = 0; i < size; i++) {
+            long key = keyCodec.readLong(wrapper);
+            result.put(key, valueCodec.read(wrapper));
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            keyCodec.skip(wrapper);
+            valueCodec.skip(wrapper);
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, LongObjectMap<V> value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, value.size(), size1);
+        for (int slot = value.nextSlot(-1); slot >= 0; slot = value.nextSlot(slot)) {
+            keyCodec.writeLong(wrapper, value.keyAt(slot));
+            valueCodec.write(wrapper, value.valueAt(slot));
+        }
+    }
+
+    @Override
+    public int sizeOf(LongObjectMap<V> value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (int slot = value.nextSlot(-1); slot >= 0; slot = value.nextSlot(slot)) {
+            int valueSize = valueCodec.sizeOf(value.valueAt(slot));
+            if (valueSize < 0) {
+                return -1;
+            }
+            size += keyCodec.sizeOfLong(value.keyAt(slot)) + valueSize;
+        }
+        return size;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return LongObjectMap.class.equals(clazz);
+    }
+}
@@ -24,7 +24,6 @@ import sebastien.callier.serialization.serializer.OutputStreamWrapper;
 import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +35,7 @@ public final class MapCodec implements Codec<Map> {
     private final byte size1;
 
     private final CodecCache codecCache;
+    private final ContainerFactory<Map> factory;
 
     /**
      * The codec of each of the objects contained in the map will be required to be present
@@ -43,22 +43,54 @@ public final class MapCodec implements Codec<Map> {
      */
     public MapCodec(byte reservedByte,
                     CodecCache codecCache) {
+        this(reservedByte, codecCache, ContainerFactories.linkedHashMap());
+    }
+
+    /**
+     * The codec of each of the objects contained in the map will be required to be present
+     * at runtime when read and/or write are called
+     *
+     * @param factory creates the decoded maps when no target is given
+     */
+    @SuppressWarnings("unchecked")
+    public MapCodec(byte reservedByte,
+                    CodecCache codecCache,
+                    ContainerFactory<? extends Map> factory) {
         this.size1 = reservedByte;
         this.codecCache = codecCache;
+        this.factory = (ContainerFactory<Map>) factory;
     }
 
     @Override
     public Map read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map readInto(InputStreamWrapper wrapper, Map target) throws IOException {
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        Map<Object, Object> result = new LinkedHashMap<>(CodecUtils.capacityForKnownSize(size), 0.75F);
+        Map<Object, Object> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
         for (int i = 0; i < size; i++) {
             result.put(codecCache.get(wrapper.peek()).read(wrapper),
                        codecCache.get(wrapper.peek()).read(wrapper));
         }
-        return result;
+        return result == target ? result : factory.complete(result);
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            codecCache.get(wrapper.peek()).skip(wrapper);
+            codecCache.get(wrapper.peek()).skip(wrapper);
+        }
     }
 
     @Override
@@ -77,6 +109,24 @@ public final class MapCodec implements Codec<Map> {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public int sizeOf(Map value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (Map.Entry<Object, Object> entry : (Set<Map.Entry<Object, Object>>) value.entrySet()) {
+            int keySize = codecCache.codecFor(entry.getKey()).sizeOf(entry.getKey());
+            int valueSize = codecCache.codecFor(entry.getValue()).sizeOf(entry.getValue());
+            if (keySize < 0 || valueSize < 0) {
+                return -1;
+            }
+            size += keySize + valueSize;
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
@@ -96,7 +146,7 @@ public final class MapCodec implements Codec<Map> {
      * @return a typed version of the map codec
      */
     public <K> Codec<Map<K, Object>> withTypedKeys(Class<K> keyClass) throws MissingCodecException {
-        return (Codec) new Typed<>(codecCache.codecForClass(keyClass), codecCache.getAnyCodec());
+        return (Codec) new Typed<>(codecCache.codecForClass(keyClass), codecCache.getAnyCodec(), factory);
     }
 
     /**
@@ -108,7 +158,7 @@ public final class MapCodec implements Codec<Map> {
      * @return a typed version of the map codec
      */
     public <V> Codec<Map<Object, V>> withTypedValues(Class<V> valueClass) throws MissingCodecException {
-        return (Codec) new Typed<>(codecCache.getAnyCodec(), codecCache.codecForClass(valueClass));
+        return (Codec) new Typed<>(codecCache.getAnyCodec(), codecCache.codecForClass(valueClass), factory);
     }
 
     /**
@@ -121,31 +171,105 @@ public final class MapCodec implements Codec<Map> {
      * @return a typed version of the map codec
      */
     public <K, V> Codec<Map<K, V>> asTypedMap(Class<K> keyClass, Class<V> valueClass) throws MissingCodecException {
-        return (Codec) new Typed<>(codecCache.codecForClass(keyClass), codecCache.codecForClass(valueClass));
+        return (Codec) new Typed<>(codecCache.codecForClass(keyClass), codecCache.codecForClass(valueClass), factory);
+    }
+
+    /**
+     * The returned codec is compatible with the current instance of MapCodec
+     * it should be somewhat faster than the non typed version when referenced
+     * during read / write but should not be registered.
+     *
+     * @param keyClass   the generic class of the keys to deserialize
+     * @param valueClass the generic class of the values to deserialize
+     * @param factory    creates the decoded maps when no target is given
+     * @return a typed version of the map codec
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Codec<Map<K, V>> asTypedMap(
+            Class<K> keyClass,
+            Class<V> valueClass,
+            ContainerFactory<? extends Map> factory) throws MissingCodecException {
+        return (Codec) new Typed<>(
+                codecCache.codecForClass(keyClass),
+                codecCache.codecForClass(valueClass),
+                (ContainerFactory<Map>) factory);
+    }
+
+    /**
+     * The returned codec writes full maps compatible with the current instance of MapCodec,
+     * and deltas between two versions of a map.
+     *
+     * @return a delta codec using the codecs registered for the keys and values found at runtime
+     */
+    @SuppressWarnings("unchecked")
+    public MapDeltaCodec<Object, Object> deltas() {
+        return new MapDeltaCodec<>(
+                (Codec) this,
+                (Codec) codecCache.getAnyCodec(),
+                (Codec) codecCache.getAnyCodec());
+    }
+
+    /**
+     * The returned codec writes full maps compatible with the current instance of MapCodec,
+     * and deltas between two versions of a map.
+     *
+     * @param keyClass   the generic class of the keys
+     * @param valueClass the generic class of the values
+     * @return a typed delta codec
+     */
+    public <K, V> MapDeltaCodec<K, V> asTypedDeltas(
+            Class<K> keyClass,
+            Class<V> valueClass) throws MissingCodecException {
+        return new MapDeltaCodec<>(
+                asTypedMap(keyClass, valueClass),
+                codecCache.codecForClass(keyClass),
+                codecCache.codecForClass(valueClass));
     }
 
     private final class Typed<K, V> implements Codec<Map<K, V>> {
         private final Codec<K> keyCodec;
         private final Codec<V> valueCodec;
 
+        private final ContainerFactory<Map> factory;
+
         private Typed(
                 Codec<K> keyCodec,
-                Codec<V> valueCodec) {
+                Codec<V> valueCodec,
+                ContainerFactory<Map> factory) {
             this.keyCodec = keyCodec;
             this.valueCodec = valueCodec;
+            this.factory = factory;
         }
 
         @Override
         public Map<K, V> read(InputStreamWrapper wrapper) throws IOException {
+            return readInto(wrapper, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<K, V> readInto(InputStreamWrapper wrapper, Map<K, V> target) throws IOException {
             Integer size = CodecUtils.readSize(wrapper, size1);
             if (size == null) {
                 return null;
             }
-            Map<K, V> result = new LinkedHashMap<>(CodecUtils.capacityForKnownSize(size), 0.75F);
+            Map<K, V> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
             for (int i = 0; i < size; i++) {
                 result.put(keyCodec.read(wrapper), valueCodec.read(wrapper));
             }
-            return result;
+            return result == target ? result : factory.complete(result);
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            Integer size = CodecUtils.readSize(wrapper, size1);
+            if (size == null) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                keyCodec.skip(wrapper);
+                valueCodec.skip(wrapper);
+            }
         }
 
         @Override
@@ -162,6 +286,23 @@ public final class MapCodec implements Codec<Map> {
             }
         }
 
+        @Override
+        public int sizeOf(Map<K, V> value) throws IOException {
+            if (value == null) {
+                return 1;
+            }
+            int size = CodecUtils.sizeOfSize(value.size());
+            for (Map.Entry<K, V> entry : value.entrySet()) {
+                int keySize = keyCodec.sizeOf(entry.getKey());
+                int valueSize = valueCodec.sizeOf(entry.getValue());
+                if (keySize < 0 || valueSize < 0) {
+                    return -1;
+                }
+                size += keySize + valueSize;
+            }
+            return size;
+        }
+
         @Override
         public byte[] reservedBytes() {
             return new byte[0];
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.DeltaCodec;
+import sebastien.callier.serialization.collection.ChangeTrackingMap;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes the entries put and the keys removed between two versions of a map,
+ * full versions use the format of the {@link MapCodec} it was created from.
+ * A delta starts with a header byte: null, full map, or changes followed by the number of puts,
+ * the put entries, the number of removals and the removed keys.
+ * Since it can not tell its maps from the ones of the {@link MapCodec}, it will never be picked automatically.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class MapDeltaCodec<K, V> implements DeltaCodec<Map<K, V>> {
+    private static final byte FULL = 0;
+    private static final byte CHANGES = 1;
+
+    private final Codec<Map<K, V>> mapCodec;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+
+    MapDeltaCodec(
+            Codec<Map<K, V>> mapCodec,
+            Codec<K> keyCodec,
+            Codec<V> valueCodec) {
+        super();
+        this.mapCodec = mapCodec;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public Map<K, V> read(InputStreamWrapper wrapper) throws IOException {
+        return mapCodec.read(wrapper);
+    }
+
+    @Override
+    public Map<K, V> readInto(InputStreamWrapper wrapper, Map<K, V> target) throws IOException {
+        return mapCodec.readInto(wrapper, target);
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        mapCodec.skip(wrapper);
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, Map<K, V> value) throws IOException {
+        mapCodec.write(wrapper, value);
+    }
+
+    @Override
+    public int sizeOf(Map<K, V> value) throws IOException {
+        return mapCodec.sizeOf(value);
+    }
+
+    /**
+     * Compares the two maps entry by entry, values with {@link Objects#deepEquals}.
+     * When current is a {@link ChangeTrackingMap} and previous is the same instance,
+     * only the changes recorded since its last checkpoint are written, see {@link #writeChanges}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void writeDelta(OutputStreamWrapper wrapper, Map<K, V> previous, Map<K, V> current) throws IOException {
+        if (current == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        if (previous == null) {
+            wrapper.writeByte(FULL);
+            mapCodec.write(wrapper, current);
+            return;
+        }
+        if (previous == current && current instanceof ChangeTrackingMap) {
+            writeChanges(wrapper, (ChangeTrackingMap<K, V>) current);
+            return;
+        }
+        Map<K, V> puts = new LinkedHashMap<>();
+        for (Map.Entry<K, V> entry : current.entrySet()) {
+            V old = previous.get(entry.getKey());
+            if (!Objects.deepEquals(old, entry.getValue()) ||
+                    (old == null && !previous.containsKey(entry.getKey()))) {
+                puts.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Set<K> removals = new HashSet<>();
+        for (K key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                removals.add(key);
+            }
+        }
+        writeChanges(wrapper, puts, removals);
+    }
+
+    /**
+     * Writes the changes recorded since the last checkpoint of the map, the caller is responsible
+     * for calling {@link ChangeTrackingMap#checkpoint()} once the delta is stored.
+     *
+     * @param wrapper the output to write
+     * @param map     the map recording its changes
+     * @throws IOException
+     */
+    public void writeChanges(OutputStreamWrapper wrapper, ChangeTrackingMap<K, V> map) throws IOException {
+        wrapper.writeByte(CHANGES);
+        wrapper.writeVarInt(map.changedKeys().size());
+        for (K key : map.changedKeys()) {
+            keyCodec.write(wrapper, key);
+            valueCodec.write(wrapper, map.get(key));
+        }
+        writeRemovals(wrapper, map.removedKeys());
+    }
+
+    private void writeChanges(OutputStreamWrapper wrapper, Map<K, V> puts, Set<K> removals) throws IOException {
+        wrapper.writeByte(CHANGES);
+        wrapper.writeVarInt(puts.size());
+        for (Map.Entry<K, V> entry : puts.entrySet()) {
+            keyCodec.write(wrapper, entry.getKey());
+            valueCodec.write(wrapper, entry.getValue());
+        }
+        writeRemovals(wrapper, removals);
+    }
+
+    private void writeRemovals(OutputStreamWrapper wrapper, Set<K> removals) throws IOException {
+        wrapper.writeVarInt(removals.size());
+        for (K key : removals) {
+            keyCodec.write(wrapper, key);
+        }
+    }
+
+    /**
+     * The changes are applied onto previous, which must be a mutable map
+     */
+    @Override
+    public Map<K, V> readDelta(InputStreamWrapper wrapper, Map<K, V> previous) throws IOException {
+        byte header = wrapper.read1();
+        switch (header) {
+            case NULL:
+                return null;
+            case FULL:
+                return mapCodec.readInto(wrapper, previous);
+            case CHANGES:
+                if (previous == null) {
+                    throw new IOException("Missing previous version to apply the map delta.");
+                }
+                int puts = readCount(wrapper);
+                for (int i = 0; i < puts; i++) {
+                    previous.put(keyCodec.read(wrapper), valueCodec.read(wrapper));
+                }
+                int removals = readCount(wrapper);
+                for (int i = 0; i < removals; i++) {
+                    previous.remove(keyCodec.read(wrapper));
+                }
+                return previous;
+            default:
+                throw new IOException("Invalid map delta header " + header);
+        }
+    }
+
+    @Override
+    public void skipDelta(InputStreamWrapper wrapper) throws IOException {
+        byte header = wrapper.read1();
+        switch (header) {
+            case NULL:
+                return;
+            case FULL:
+                mapCodec.skip(wrapper);
+                return;
+            case CHANGES:
+                int puts = readCount(wrapper);
+                for (int i = 0; i < puts; i++) {
+                    keyCodec.skip(wrapper);
+                    valueCodec.skip(wrapper);
+                }
+                int removals = readCount(wrapper);
+                for (int i = 0; i < removals; i++) {
+                    keyCodec.skip(wrapper);
+                }
+                return;
+            default:
+                throw new IOException("Invalid map delta header " + header);
+        }
+    }
+
+    /**
+     * Merges consecutive deltas into a single one without needing the version they apply to.
+     * If one of them is a full map, the result is the full map with the later changes applied,
+     * it can be used as a new base.
+     *
+     * @param input  the deltas to merge
+     * @param count  the number of deltas
+     * @param output where to write the merged delta
+     * @throws IOException if the deltas are invalid
+     */
+    public void compact(InputStreamWrapper input, int count, OutputStreamWrapper output) throws IOException {
+        Map<K, V> puts = new LinkedHashMap<>();
+        Set<K> removals = new HashSet<>();
+        boolean full = false;
+        boolean isNull = false;
+        for (int delta = 0; delta < count; delta++) {
+            byte header = input.read1();
+            switch (header) {
+                case NULL:
+                    puts.clear();
+                    removals.clear();
+                    full = true;
+                    isNull = true;
+                    break;
+                case FULL:
+                    puts.clear();
+                    removals.clear();
+                    //the map codec may create unmodifiable maps
+                    puts.putAll(mapCodec.read(input));
+                    full = true;
+                    isNull = false;
+                    break;
+                case CHANGES:
+                    if (isNull) {
+                        throw new IOException("Missing previous version to apply the map delta.");
+                    }
+                    int putCount = readCount(input);
+                    for (int i = 0; i < putCount; i++) {
+                        K key = keyCodec.read(input);
+                        puts.put(key, valueCodec.read(input));
+                        removals.remove(key);
+                    }
+                    int removalCount = readCount(input);
+                    for (int i = 0; i < removalCount; i++) {
+                        K key = keyCodec.read(input);
+                        puts.remove(key);
+                        if (!full) {
+                            removals.add(key);
+                        }
+                    }
+                    break;
+                default:
+                    throw new IOException("Invalid map delta header " + header);
+            }
+        }
+        if (isNull) {
+            output.writeByte(NULL);
+        } else if (full) {
+            output.writeByte(FULL);
+            mapCodec.write(output, puts);
+        } else {
+            writeChanges(output, puts, removals);
+        }
+    }
+
+    private static int readCount(InputStreamWrapper wrapper) throws IOException {
+        int count = wrapper.readVarInt();
+        if (count < 0) {
+            throw new IOException("Invalid map delta count " + count);
+        }
+        return count;
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+}
@@ -44,6 +44,11 @@ public final class NullCodec implements Codec<Object> {
         wrapper.writeByte(NULL);
     }
 
+    @Override
+    public int sizeOf(Object value) {
+        return 1;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{NULL};
@@ -24,7 +24,6 @@ import sebastien.callier.serialization.serializer.OutputStreamWrapper;
 import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -35,6 +34,7 @@ public final class SetCodec implements Codec<Set> {
     private final byte size1;
 
     private final CodecCache codecCache;
+    private final ContainerFactory<Set> factory;
 
     /**
      * The codec of each of the objects contained in the set will be required to be present
@@ -42,21 +42,52 @@ public final class SetCodec implements Codec<Set> {
      */
     public SetCodec(byte reservedByte,
                      CodecCache codecCache) {
+        this(reservedByte, codecCache, ContainerFactories.linkedHashSet());
+    }
+
+    /**
+     * The codec of each of the objects contained in the set will be required to be present
+     * at runtime when read and/or write are called
+     *
+     * @param factory creates the decoded sets when no target is given
+     */
+    @SuppressWarnings("unchecked")
+    public SetCodec(byte reservedByte,
+                     CodecCache codecCache,
+                     ContainerFactory<? extends Set> factory) {
         this.size1 = reservedByte;
         this.codecCache = codecCache;
+        this.factory = (ContainerFactory<Set>) factory;
     }
 
     @Override
     public Set read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set readInto(InputStreamWrapper wrapper, Set target) throws IOException {
         Integer size = CodecUtils.readSize(wrapper, size1);
         if (size == null) {
             return null;
         }
-        Set<Object> result = new LinkedHashSet<>(CodecUtils.capacityForKnownSize(size));
+        Set<Object> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
         for (int i = 0; i < size; i++) {
             result.add(codecCache.get(wrapper.peek()).read(wrapper));
         }
-        return result;
+        return result == target ? result : factory.complete(result);
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            codecCache.get(wrapper.peek()).skip(wrapper);
+        }
     }
 
     @Override
@@ -71,6 +102,22 @@ public final class SetCodec implements Codec<Set> {
         }
     }
 
+    @Override
+    public int sizeOf(Set value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        int size = CodecUtils.sizeOfSize(value.size());
+        for (Object element : value) {
+            int elementSize = codecCache.codecFor(element).sizeOf(element);
+            if (elementSize < 0) {
+                return -1;
+            }
+            size += elementSize;
+        }
+        return size;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
@@ -90,27 +137,62 @@ public final class SetCodec implements Codec<Set> {
      * @return a typed version of the set codec
      */
     public <T> Codec<Set<T>> asTypedSet(Class<T> tClass) throws MissingCodecException {
-        return new SetCodec.Typed<>(codecCache.codecForClass(tClass));
+        return new Typed<>(codecCache.codecForClass(tClass), factory);
+    }
+
+    /**
+     * The returned codec is compatible with the current instance of SetCodec
+     * it should be somewhat faster than the non typed version when referenced
+     * during read / write but should not be registered.
+     *
+     * @param tClass  the generic class to deserialize
+     * @param factory creates the decoded sets when no target is given
+     * @return a typed version of the set codec
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Codec<Set<T>> asTypedSet(
+            Class<T> tClass,
+            ContainerFactory<? extends Set> factory) throws MissingCodecException {
+        return new Typed<>(codecCache.codecForClass(tClass), (ContainerFactory<Set>) factory);
     }
 
     private final class Typed<T> implements Codec<Set<T>> {
         private final Codec<T> codec;
+        private final ContainerFactory<Set> factory;
 
-        private Typed(Codec<T> codec) {
+        private Typed(Codec<T> codec, ContainerFactory<Set> factory) {
             this.codec = codec;
+            this.factory = factory;
         }
 
         @Override
         public Set<T> read(InputStreamWrapper wrapper) throws IOException {
+            return readInto(wrapper, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Set<T> readInto(InputStreamWrapper wrapper, Set<T> target) throws IOException {
             Integer size = CodecUtils.readSize(wrapper, size1);
             if (size == null) {
                 return null;
             }
-            Set<T> result = new LinkedHashSet<>(CodecUtils.capacityForKnownSize(size));
+            Set<T> result = CodecUtils.reusable(target) ? target : factory.newContainer(size);
             for (int i = 0; i < size; i++) {
                 result.add(codec.read(wrapper));
             }
-            return result;
+            return result == target ? result : factory.complete(result);
+        }
+
+        @Override
+        public void skip(InputStreamWrapper wrapper) throws IOException {
+            Integer size = CodecUtils.readSize(wrapper, size1);
+            if (size == null) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                codec.skip(wrapper);
+            }
         }
 
         @Override
@@ -125,6 +207,22 @@ public final class SetCodec implements Codec<Set> {
             }
         }
 
+        @Override
+        public int sizeOf(Set<T> value) throws IOException {
+            if (value == null) {
+                return 1;
+            }
+            int size = CodecUtils.sizeOfSize(value.size());
+            for (T element : value) {
+                int elementSize = codec.sizeOf(element);
+                if (elementSize < 0) {
+                    return -1;
+                }
+                size += elementSize;
+            }
+            return size;
+        }
+
         @Override
         public byte[] reservedBytes() {
             return new byte[0];
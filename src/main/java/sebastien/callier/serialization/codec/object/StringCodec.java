@@ -60,6 +60,21 @@ public final class StringCodec implements Codec<String> {
         return new String(wrapper.readBytes(size), StandardCharsets.UTF_8);
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size;
+        byte read = wrapper.peek();
+        if (read >= optimizedFrom && read < size1) {
+            size = read - optimizedFrom;
+            wrapper.read1();
+        } else {
+            size = CodecUtils.readSize(wrapper, size1);
+        }
+        if (size != null) {
+            wrapper.skip(size);
+        }
+    }
+
     @Override
     public void write(
             OutputStreamWrapper wrapper,
@@ -80,6 +95,18 @@ public final class StringCodec implements Codec<String> {
         }
     }
 
+    @Override
+    public int sizeOf(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = CodecUtils.utf8Length(value);
+        if (length < size1 - optimizedFrom) {
+            return 1 + length;
+        }
+        return CodecUtils.sizeOfSize(length) + length;
+    }
+
     @Override
     public byte[] reservedBytes() {
         int size = size1 - optimizedFrom + 4;
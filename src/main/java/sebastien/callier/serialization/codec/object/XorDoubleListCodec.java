@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.BitReader;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.BitWriter;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
+import sebastien.callier.serialization.utils.XorDoubleDecoder;
+import sebastien.callier.serialization.utils.XorDoubleEncoder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same encoding as {@link sebastien.callier.serialization.codec.array.XorDoubleArrayCodec} for lists of doubles.
+ * The lists can not contain null elements.
+ * Since it can not tell a list of doubles from any other list, it will never be picked automatically
+ * for writing but can be registered to be found when reading.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class XorDoubleListCodec implements Codec<List<Double>> {
+    private final byte size1;
+
+    public XorDoubleListCodec(byte reservedByte) {
+        super();
+        size1 = reservedByte;
+    }
+
+    @Override
+    public List<Double> read(InputStreamWrapper wrapper) throws IOException {
+        return readInto(wrapper, null);
+    }
+
+    @Override
+    public List<Double> readInto(InputStreamWrapper wrapper, List<Double> target) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return null;
+        }
+        List<Double> result = CodecUtils.reusable(target) ? target : new ArrayList<>(size);
+        XorDoubleDecoder decoder = new XorDoubleDecoder(new BitReader(wrapper));
+        for (int i = 0; i < size; i++) {
+            result.add(decoder.read());
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        Integer size = CodecUtils.readSize(wrapper, size1);
+        if (size == null) {
+            return;
+        }
+        XorDoubleDecoder decoder = new XorDoubleDecoder(new BitReader(wrapper));
+        for (int i = 0; i < size; i++) {
+            decoder.read();
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, List<Double> value) throws IOException {
+        if (value == null) {
+            wrapper.writeByte(NULL);
+            return;
+        }
+        CodecUtils.writeSize(wrapper, value.size(), size1);
+        BitWriter writer = new BitWriter(wrapper);
+        XorDoubleEncoder encoder = new XorDoubleEncoder(writer);
+        for (Double element : value) {
+            if (element == null) {
+                throw new IOException("Null elements are not supported by " + getClass().getSimpleName());
+            }
+            encoder.write(element);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public int sizeOf(List<Double> value) throws IOException {
+        if (value == null) {
+            return 1;
+        }
+        XorDoubleEncoder encoder = new XorDoubleEncoder();
+        for (Double element : value) {
+            if (element == null) {
+                throw new IOException("Null elements are not supported by " + getClass().getSimpleName());
+            }
+            encoder.write(element);
+        }
+        return CodecUtils.sizeOfSize(value.size()) + (int) ((encoder.bitCount() + 7) >>> 3);
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[]{size1, (byte) (size1 + 1), (byte) (size1 + 2), (byte) (size1 + 3)};
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+}
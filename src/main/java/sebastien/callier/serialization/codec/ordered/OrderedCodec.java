@@ -0,0 +1,354 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.ordered;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Order preserving encodings: comparing the bytes of two encoded values with
+ * {@link Arrays#compareUnsigned(byte[], byte[])} gives the same result as comparing the values.
+ * Encoded values can be concatenated to build composite keys, see
+ * {@link sebastien.callier.serialization.codec.extendable.object.ObjectCodec#orderedKey()}.
+ * <ul>
+ * <li>Integral values use their fixed width, big endian, with the sign bit flipped.</li>
+ * <li>Floating point values use their bits, all flipped for negative values and only the sign bit otherwise:
+ * -0.0 sorts before 0.0 and NaN after positive infinity, as {@link Double#compare(double, double)}.</li>
+ * <li>Strings are their UTF-8 bytes, 0 being escaped as 0x00 0xFF, followed by 0x00 0x00.
+ * They sort by code point, which only differs from {@link String#compareTo(String)} for supplementary characters.
+ * Unpaired surrogates are not supported.</li>
+ * <li>Enums use their ordinal on 1 byte, 2 bytes for enums with more than 256 constants.</li>
+ * </ul>
+ * Boxed types, strings and enums start with 0x00 for null and 0x01 otherwise, so null sorts first.
+ * These codecs have no marker, they will never be picked automatically.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class OrderedCodec<T> implements Codec<T> {
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+    private static final byte ESCAPE = 0;
+    private static final byte ESCAPED_ZERO = (byte) 0xFF;
+    private static final byte END = 0;
+
+    private enum Kind {BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, ENUM}
+
+    private final Kind kind;
+    private final boolean nullable;
+    private final Object[] constants;
+
+    private OrderedCodec(Kind kind, boolean nullable, Object[] constants) {
+        super();
+        this.kind = kind;
+        this.nullable = nullable;
+        this.constants = constants;
+    }
+
+    public static OrderedCodec<Boolean> booleans() {
+        return new OrderedCodec<>(Kind.BOOLEAN, true, null);
+    }
+
+    public static OrderedCodec<Byte> bytes() {
+        return new OrderedCodec<>(Kind.BYTE, true, null);
+    }
+
+    public static OrderedCodec<Character> chars() {
+        return new OrderedCodec<>(Kind.CHAR, true, null);
+    }
+
+    public static OrderedCodec<Short> shorts() {
+        return new OrderedCodec<>(Kind.SHORT, true, null);
+    }
+
+    public static OrderedCodec<Integer> ints() {
+        return new OrderedCodec<>(Kind.INT, true, null);
+    }
+
+    public static OrderedCodec<Long> longs() {
+        return new OrderedCodec<>(Kind.LONG, true, null);
+    }
+
+    public static OrderedCodec<Float> floats() {
+        return new OrderedCodec<>(Kind.FLOAT, true, null);
+    }
+
+    public static OrderedCodec<Double> doubles() {
+        return new OrderedCodec<>(Kind.DOUBLE, true, null);
+    }
+
+    public static OrderedCodec<String> strings() {
+        return new OrderedCodec<>(Kind.STRING, true, null);
+    }
+
+    public static <E extends Enum<E>> OrderedCodec<E> enums(Class<E> enumClass) {
+        return new OrderedCodec<>(Kind.ENUM, true, enumClass.getEnumConstants());
+    }
+
+    /**
+     * Primitive types are not nullable and have no leading byte
+     *
+     * @param type the declared type of a field
+     * @return the ordered codec for this type, or null if it is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public static OrderedCodec<Object> forType(Class<?> type) {
+        boolean nullable = !type.isPrimitive();
+        if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+            return new OrderedCodec<>(Kind.BOOLEAN, nullable, null);
+        } else if (byte.class.equals(type) || Byte.class.equals(type)) {
+            return new OrderedCodec<>(Kind.BYTE, nullable, null);
+        } else if (char.class.equals(type) || Character.class.equals(type)) {
+            return new OrderedCodec<>(Kind.CHAR, nullable, null);
+        } else if (short.class.equals(type) || Short.class.equals(type)) {
+            return new OrderedCodec<>(Kind.SHORT, nullable, null);
+        } else if (int.class.equals(type) || Integer.class.equals(type)) {
+            return new OrderedCodec<>(Kind.INT, nullable, null);
+        } else if (long.class.equals(type) || Long.class.equals(type)) {
+            return new OrderedCodec<>(Kind.LONG, nullable, null);
+        } else if (float.class.equals(type) || Float.class.equals(type)) {
+            return new OrderedCodec<>(Kind.FLOAT, nullable, null);
+        } else if (double.class.equals(type) || Double.class.equals(type)) {
+            return new OrderedCodec<>(Kind.DOUBLE, nullable, null);
+        } else if (String.class.equals(type)) {
+            return new OrderedCodec<>(Kind.STRING, true, null);
+        } else if (type.isEnum()) {
+            return new OrderedCodec<>(Kind.ENUM, true, type.getEnumConstants());
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(InputStreamWrapper wrapper) throws IOException {
+        if (nullable && readPresence(wrapper) == ABSENT) {
+            return null;
+        }
+        switch (kind) {
+            case BOOLEAN:
+                byte bool = wrapper.read1();
+                if (bool != 0 && bool != 1) {
+                    throw new IOException("Could not deserialize as an ordered boolean.");
+                }
+                return (T) Boolean.valueOf(bool == 1);
+            case BYTE:
+                return (T) Byte.valueOf((byte) (wrapper.read1() ^ 0x80));
+            case CHAR:
+                return (T) Character.valueOf((char) wrapper.read2());
+            case SHORT:
+                return (T) Short.valueOf((short) (wrapper.read2() ^ 0x8000));
+            case INT:
+                return (T) Integer.valueOf(wrapper.read4() ^ Integer.MIN_VALUE);
+            case LONG:
+                return (T) Long.valueOf(wrapper.read8() ^ Long.MIN_VALUE);
+            case FLOAT:
+                int intBits = wrapper.read4();
+                return (T) Float.valueOf(Float.intBitsToFloat(intBits < 0 ? intBits ^ Integer.MIN_VALUE : ~intBits));
+            case DOUBLE:
+                long longBits = wrapper.read8();
+                return (T) Double.valueOf(Double.longBitsToDouble(
+                        longBits < 0 ? longBits ^ Long.MIN_VALUE : ~longBits));
+            case STRING:
+                return (T) readString(wrapper);
+            default:
+                int ordinal = constants.length > 256 ? wrapper.read2() & 0xFFFF : wrapper.read1() & 0xFF;
+                if (ordinal >= constants.length) {
+                    throw new IOException("Invalid ordinal " + ordinal + " for " +
+                                                  constants.getClass().getComponentType().getSimpleName());
+                }
+                return (T) constants[ordinal];
+        }
+    }
+
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        if (nullable && readPresence(wrapper) == ABSENT) {
+            return;
+        }
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                wrapper.skip(1);
+                return;
+            case CHAR:
+            case SHORT:
+                wrapper.skip(2);
+                return;
+            case INT:
+            case FLOAT:
+                wrapper.skip(4);
+                return;
+            case LONG:
+            case DOUBLE:
+                wrapper.skip(8);
+                return;
+            case STRING:
+                while (wrapper.read1() != ESCAPE || wrapper.read1() != END) {
+                    //skipping
+                }
+                return;
+            default:
+                wrapper.skip(constants.length > 256 ? 2 : 1);
+        }
+    }
+
+    @Override
+    public void write(OutputStreamWrapper wrapper, T value) throws IOException {
+        if (nullable) {
+            if (value == null) {
+                wrapper.writeByte(ABSENT);
+                return;
+            }
+            wrapper.writeByte(PRESENT);
+        }
+        switch (kind) {
+            case BOOLEAN:
+                wrapper.writeByte((Boolean) value ? (byte) 1 : (byte) 0);
+                return;
+            case BYTE:
+                wrapper.writeByte((byte) ((Byte) value ^ 0x80));
+                return;
+            case CHAR:
+                write2(wrapper, (Character) value);
+                return;
+            case SHORT:
+                write2(wrapper, (Short) value ^ 0x8000);
+                return;
+            case INT:
+                wrapper.write4((Integer) value ^ Integer.MIN_VALUE);
+                return;
+            case LONG:
+                wrapper.write8((Long) value ^ Long.MIN_VALUE);
+                return;
+            case FLOAT:
+                int intBits = Float.floatToIntBits((Float) value);
+                wrapper.write4(intBits < 0 ? ~intBits : intBits ^ Integer.MIN_VALUE);
+                return;
+            case DOUBLE:
+                long longBits = Double.doubleToLongBits((Double) value);
+                wrapper.write8(longBits < 0 ? ~longBits : longBits ^ Long.MIN_VALUE);
+                return;
+            case STRING:
+                writeString(wrapper, (String) value);
+                return;
+            default:
+                int ordinal = ((Enum<?>) value).ordinal();
+                if (constants.length > 256) {
+                    write2(wrapper, ordinal);
+                } else {
+                    wrapper.writeByte((byte) ordinal);
+                }
+        }
+    }
+
+    @Override
+    public int sizeOf(T value) {
+        int presence = nullable ? 1 : 0;
+        if (value == null) {
+            return presence;
+        }
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                return presence + 1;
+            case CHAR:
+            case SHORT:
+                return presence + 2;
+            case INT:
+            case FLOAT:
+                return presence + 4;
+            case LONG:
+            case DOUBLE:
+                return presence + 8;
+            case STRING:
+                byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+                int size = presence + utf8.length + 2;
+                for (byte b : utf8) {
+                    if (b == 0) {
+                        size++;
+                    }
+                }
+                return size;
+            default:
+                return presence + (constants.length > 256 ? 2 : 1);
+        }
+    }
+
+    @Override
+    public byte[] reservedBytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public boolean writes(Class clazz) {
+        return false;
+    }
+
+    private static byte readPresence(InputStreamWrapper wrapper) throws IOException {
+        byte presence = wrapper.read1();
+        if (presence != ABSENT && presence != PRESENT) {
+            throw new IOException("Could not deserialize an ordered value, invalid presence byte " + presence);
+        }
+        return presence;
+    }
+
+    private static void write2(OutputStreamWrapper wrapper, int value) throws IOException {
+        wrapper.writeByte((byte) (value >>> 8));
+        wrapper.writeByte((byte) value);
+    }
+
+    private static void writeString(OutputStreamWrapper wrapper, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        for (int i = 0; i < utf8.length; i++) {
+            if (utf8[i] == 0) {
+                wrapper.writeBytes(Arrays.copyOfRange(utf8, start, i + 1));
+                wrapper.writeByte(ESCAPED_ZERO);
+                start = i + 1;
+            }
+        }
+        wrapper.writeBytes(start == 0 ? utf8 : Arrays.copyOfRange(utf8, start, utf8.length));
+        wrapper.writeByte(ESCAPE);
+        wrapper.writeByte(END);
+    }
+
+    private static String readString(InputStreamWrapper wrapper) throws IOException {
+        byte[] utf8 = new byte[16];
+        int length = 0;
+        while (true) {
+            byte b = wrapper.read1();
+            if (b == ESCAPE) {
+                byte escaped = wrapper.read1();
+                if (escaped == END) {
+                    return new String(utf8, 0, length, StandardCharsets.UTF_8);
+                }
+                if (escaped != ESCAPED_ZERO) {
+                    throw new IOException("Could not deserialize as an ordered string.");
+                }
+            }
+            if (length == utf8.length) {
+                utf8 = Arrays.copyOf(utf8, length << 1);
+            }
+            utf8[length++] = b;
+        }
+    }
+}
@@ -52,6 +52,14 @@ public final class BooleanCodec implements Codec<Boolean> {
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker != NULL && marker != trueByte && marker != falseByte) {
+            throw new IOException("Could not deserialize as a boolean.");
+        }
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Boolean value) throws IOException {
         if (value == null) {
@@ -61,6 +69,11 @@ public final class BooleanCodec implements Codec<Boolean> {
         wrapper.writeByte(value ? trueByte : falseByte);
     }
 
+    @Override
+    public int sizeOf(Boolean value) {
+        return 1;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{trueByte, falseByte};
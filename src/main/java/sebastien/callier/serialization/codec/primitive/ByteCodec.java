@@ -48,6 +48,19 @@ public final class ByteCodec implements Codec<Byte> {
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        int index = marker - byteByte;
+        if (index < 0 || index >= 1) {
+            throw new IOException("Could not deserialize as a byte.");
+        }
+        wrapper.skip(1);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Byte value) throws IOException {
         if (value == null) {
@@ -57,6 +70,11 @@ public final class ByteCodec implements Codec<Byte> {
         wrapper.writeByteAnd1(byteByte, value);
     }
 
+    @Override
+    public int sizeOf(Byte value) {
+        return value == null ? 1 : 2;
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{byteByte};
@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.primitive;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 
@@ -56,6 +57,19 @@ public final class CharCodec implements Codec<Character> {
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        int index = marker - size1;
+        if (index < 0 || index >= 3) {
+            throw new IOException("Could not deserialize as a short.");
+        }
+        wrapper.skip(index + 1);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Character value) throws IOException {
         if (value == null) {
@@ -73,6 +87,11 @@ public final class CharCodec implements Codec<Character> {
         }
     }
 
+    @Override
+    public int sizeOf(Character value) {
+        return value == null ? 1 : 1 + CodecUtils.signedByteLength(value);
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, size2, size3};
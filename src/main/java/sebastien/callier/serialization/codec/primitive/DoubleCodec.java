@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.primitive;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 
@@ -35,9 +36,26 @@ public final class DoubleCodec implements Codec<Double> {
     private final byte size6;
     private final byte size7;
     private final byte size8;
+    private final byte reversed1;
+    private final boolean byteReversed;
 
     public DoubleCodec(byte reservedByte) {
+        this(reservedByte, false);
+    }
+
+    /**
+     * In byte reversed mode the raw bits are written least significant byte first so the trailing zero
+     * bytes of the mantissa are trimmed instead of the leading ones: round numbers and values
+     * with few decimals usually need 2 to 4 bytes instead of 9.
+     * A byte reversed codec reserves 8 extra bytes and is still able to read the default encoding.
+     *
+     * @param byteReversed true to write the doubles in byte reversed mode
+     */
+    public DoubleCodec(
+            byte reservedByte,
+            boolean byteReversed) {
         super();
+        this.byteReversed = byteReversed;
         size1 = reservedByte;
         size2 = (byte) (reservedByte + 1);
         size3 = (byte) (reservedByte + 2);
@@ -46,6 +64,7 @@ public final class DoubleCodec implements Codec<Double> {
         size6 = (byte) (reservedByte + 5);
         size7 = (byte) (reservedByte + 6);
         size8 = (byte) (reservedByte + 7);
+        reversed1 = (byte) (reservedByte + 8);
     }
 
     @Override
@@ -54,7 +73,28 @@ public final class DoubleCodec implements Codec<Double> {
         if (marker == NULL) {
             return null;
         }
-        switch (marker - size1) {
+        return decode(marker, wrapper);
+    }
+
+    /**
+     * Reads a non null value without boxing
+     *
+     * @throws IOException if the value is null or invalid
+     */
+    public double readDouble(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            throw new IOException("Unexpected null double.");
+        }
+        return decode(marker, wrapper);
+    }
+
+    private double decode(byte marker, InputStreamWrapper wrapper) throws IOException {
+        int index = marker - size1;
+        if (index >= 8 && !byteReversed) {
+            throw new IOException("Could not deserialize as a double.");
+        }
+        switch (index) {
             case 0:
                 return Double.longBitsToDouble((long) wrapper.read1());
             case 1:
@@ -71,17 +111,57 @@ public final class DoubleCodec implements Codec<Double> {
                 return Double.longBitsToDouble(wrapper.read7());
             case 7:
                 return Double.longBitsToDouble(wrapper.read8());
+            case 8:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read1() & 0xFFL));
+            case 9:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read2() & 0xFFFFL));
+            case 10:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read3() & 0xFFFFFFL));
+            case 11:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read4() & 0xFFFFFFFFL));
+            case 12:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read5() & 0xFFFFFFFFFFL));
+            case 13:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read6() & 0xFFFFFFFFFFFFL));
+            case 14:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read7() & 0xFFFFFFFFFFFFFFL));
+            case 15:
+                return Double.longBitsToDouble(Long.reverseBytes(wrapper.read8()));
             default:
                 throw new IOException("Could not deserialize as a double.");
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        int index = marker - size1;
+        if (index < 0 || index >= (byteReversed ? 16 : 8)) {
+            throw new IOException("Could not deserialize as a double.");
+        }
+        wrapper.skip((index & 7) + 1);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Double dValue) throws IOException {
         if (dValue == null) {
             wrapper.writeByte(NULL);
             return;
         }
+        writeDouble(wrapper, dValue);
+    }
+
+    /**
+     * Writes a value without boxing
+     */
+    public void writeDouble(OutputStreamWrapper wrapper, double dValue) throws IOException {
+        if (byteReversed) {
+            writeReversed(wrapper, Long.reverseBytes(Double.doubleToRawLongBits(dValue)));
+            return;
+        }
         long value = Double.doubleToRawLongBits(dValue);
         if (value < -2147483648) {
             if (value < -549755813888L) {
@@ -134,8 +214,61 @@ public final class DoubleCodec implements Codec<Double> {
         }
     }
 
+    /**
+     * Writes the byte reversed bits as an unsigned value, trimming the leading zero bytes
+     */
+    private void writeReversed(OutputStreamWrapper wrapper, long value) throws IOException {
+        switch ((71 - Long.numberOfLeadingZeros(value)) >>> 3) {
+            case 0:
+            case 1:
+                wrapper.writeByteAnd1(reversed1, (byte) (value & 0xFF));
+                break;
+            case 2:
+                wrapper.writeByteAnd2((byte) (reversed1 + 1), (int) value);
+                break;
+            case 3:
+                wrapper.writeByteAnd3((byte) (reversed1 + 2), (int) value);
+                break;
+            case 4:
+                wrapper.writeByteAnd4((byte) (reversed1 + 3), (int) value);
+                break;
+            case 5:
+                wrapper.writeByteAnd5((byte) (reversed1 + 4), value);
+                break;
+            case 6:
+                wrapper.writeByteAnd6((byte) (reversed1 + 5), value);
+                break;
+            case 7:
+                wrapper.writeByteAnd7((byte) (reversed1 + 6), value);
+                break;
+            default:
+                wrapper.writeByteAnd8((byte) (reversed1 + 7), value);
+        }
+    }
+
+    @Override
+    public int sizeOf(Double value) {
+        return value == null ? 1 : sizeOfDouble(value);
+    }
+
+    /**
+     * @return the number of bytes used by {@link #writeDouble(OutputStreamWrapper, double)}
+     */
+    public int sizeOfDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        if (byteReversed) {
+            return 1 + Math.max(1, (71 - Long.numberOfLeadingZeros(Long.reverseBytes(bits))) >>> 3);
+        }
+        return 1 + CodecUtils.signedByteLength(bits);
+    }
+
     @Override
     public byte[] reservedBytes() {
+        if (byteReversed) {
+            return new byte[]{size1, size2, size3, size4, size5, size6, size7, size8,
+                              reversed1, (byte) (reversed1 + 1), (byte) (reversed1 + 2), (byte) (reversed1 + 3),
+                              (byte) (reversed1 + 4), (byte) (reversed1 + 5), (byte) (reversed1 + 6), (byte) (reversed1 + 7)};
+        }
         return new byte[]{size1, size2, size3, size4, size5, size6, size7, size8};
     }
 
@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.primitive;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 
@@ -31,13 +32,31 @@ public final class FloatCodec implements Codec<Float> {
     private final byte size2;
     private final byte size3;
     private final byte size4;
+    private final byte reversed1;
+    private final boolean byteReversed;
 
     public FloatCodec(byte reservedByte) {
+        this(reservedByte, false);
+    }
+
+    /**
+     * In byte reversed mode the raw bits are written least significant byte first so the trailing zero
+     * bytes of the mantissa are trimmed instead of the leading ones: round numbers and values
+     * with few decimals usually need 2 or 3 bytes instead of 5.
+     * A byte reversed codec reserves 4 extra bytes and is still able to read the default encoding.
+     *
+     * @param byteReversed true to write the floats in byte reversed mode
+     */
+    public FloatCodec(
+            byte reservedByte,
+            boolean byteReversed) {
         super();
+        this.byteReversed = byteReversed;
         size1 = reservedByte;
         size2 = (byte) (reservedByte + 1);
         size3 = (byte) (reservedByte + 2);
         size4 = (byte) (reservedByte + 3);
+        reversed1 = (byte) (reservedByte + 4);
     }
 
     @Override
@@ -46,7 +65,11 @@ public final class FloatCodec implements Codec<Float> {
         if (marker == NULL) {
             return null;
         }
-        switch (marker - size1) {
+        int index = marker - size1;
+        if (index >= 4 && !byteReversed) {
+            throw new IOException("Could not deserialize as a float.");
+        }
+        switch (index) {
             case 0:
                 return Float.intBitsToFloat((int) wrapper.read1());
             case 1:
@@ -55,17 +78,42 @@ public final class FloatCodec implements Codec<Float> {
                 return Float.intBitsToFloat(wrapper.read3());
             case 3:
                 return Float.intBitsToFloat(wrapper.read4());
+            case 4:
+                return Float.intBitsToFloat(Integer.reverseBytes(wrapper.read1() & 0xFF));
+            case 5:
+                return Float.intBitsToFloat(Integer.reverseBytes(wrapper.read2() & 0xFFFF));
+            case 6:
+                return Float.intBitsToFloat(Integer.reverseBytes(wrapper.read3() & 0xFFFFFF));
+            case 7:
+                return Float.intBitsToFloat(Integer.reverseBytes(wrapper.read4()));
             default:
                 throw new IOException("Could not deserialize as a float.");
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        int index = marker - size1;
+        if (index < 0 || index >= (byteReversed ? 8 : 4)) {
+            throw new IOException("Could not deserialize as a float.");
+        }
+        wrapper.skip((index & 3) + 1);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Float fValue) throws IOException {
         if (fValue == null) {
             wrapper.writeByte(NULL);
             return;
         }
+        if (byteReversed) {
+            writeReversed(wrapper, Integer.reverseBytes(Float.floatToRawIntBits(fValue)));
+            return;
+        }
         int value = Float.floatToRawIntBits(fValue);
         if (value < -128) {
             if (value < -32768) {
@@ -90,8 +138,44 @@ public final class FloatCodec implements Codec<Float> {
         }
     }
 
+    /**
+     * Writes the byte reversed bits as an unsigned value, trimming the leading zero bytes
+     */
+    private void writeReversed(OutputStreamWrapper wrapper, int value) throws IOException {
+        switch ((39 - Integer.numberOfLeadingZeros(value)) >>> 3) {
+            case 0:
+            case 1:
+                wrapper.writeByteAnd1(reversed1, (byte) (value & 0xFF));
+                break;
+            case 2:
+                wrapper.writeByteAnd2((byte) (reversed1 + 1), value);
+                break;
+            case 3:
+                wrapper.writeByteAnd3((byte) (reversed1 + 2), value);
+                break;
+            default:
+                wrapper.writeByteAnd4((byte) (reversed1 + 3), value);
+        }
+    }
+
+    @Override
+    public int sizeOf(Float value) {
+        if (value == null) {
+            return 1;
+        }
+        int bits = Float.floatToRawIntBits(value);
+        if (byteReversed) {
+            return 1 + Math.max(1, (39 - Integer.numberOfLeadingZeros(Integer.reverseBytes(bits))) >>> 3);
+        }
+        return 1 + CodecUtils.signedByteLength(bits);
+    }
+
     @Override
     public byte[] reservedBytes() {
+        if (byteReversed) {
+            return new byte[]{size1, size2, size3, size4,
+                              reversed1, (byte) (reversed1 + 1), (byte) (reversed1 + 2), (byte) (reversed1 + 3)};
+        }
         return new byte[]{size1, size2, size3, size4};
     }
 
@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.primitive;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 
@@ -46,6 +47,23 @@ public final class IntCodec implements Codec<Integer> {
         if (marker == NULL) {
             return null;
         }
+        return decode(marker, wrapper);
+    }
+
+    /**
+     * Reads a non null value without boxing
+     *
+     * @throws IOException if the value is null or invalid
+     */
+    public int readInt(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            throw new IOException("Unexpected null int.");
+        }
+        return decode(marker, wrapper);
+    }
+
+    private int decode(byte marker, InputStreamWrapper wrapper) throws IOException {
         switch (marker - size1) {
             case 0:
                 return (int) wrapper.read1();
@@ -60,12 +78,32 @@ public final class IntCodec implements Codec<Integer> {
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        int index = marker - size1;
+        if (index < 0 || index >= 4) {
+            throw new IOException("Could not deserialize as an int.");
+        }
+        wrapper.skip(index + 1);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Integer value) throws IOException {
         if (value == null) {
             wrapper.writeByte(NULL);
             return;
         }
+        writeInt(wrapper, value);
+    }
+
+    /**
+     * Writes a value without boxing
+     */
+    public void writeInt(OutputStreamWrapper wrapper, int value) throws IOException {
         if (value < -128) {
             if (value < -32768) {
                 if (value < -8388608) {
@@ -89,6 +127,18 @@ public final class IntCodec implements Codec<Integer> {
         }
     }
 
+    @Override
+    public int sizeOf(Integer value) {
+        return value == null ? 1 : sizeOfInt(value);
+    }
+
+    /**
+     * @return the number of bytes used by {@link #writeInt(OutputStreamWrapper, int)}
+     */
+    public int sizeOfInt(int value) {
+        return 1 + CodecUtils.signedByteLength(value);
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, size2, size3, size4};
@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.primitive;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.utils.CodecUtils;
 
 import java.io.IOException;
 
@@ -54,6 +55,23 @@ public final class LongCodec implements Codec<Long> {
         if (marker == NULL) {
             return null;
         }
+        return decode(marker, wrapper);
+    }
+
+    /**
+     * Reads a non null value without boxing
+     *
+     * @throws IOException if the value is null or invalid
+     */
+    public long readLong(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            throw new IOException("Unexpected null long.");
+        }
+        return decode(marker, wrapper);
+    }
+
+    private long decode(byte marker, InputStreamWrapper wrapper) throws IOException {
         switch (marker - size1) {
             case 0:
                 return (long) wrapper.read1();
@@ -76,12 +94,32 @@ public final class LongCodec implements Codec<Long> {
         }
     }
 
+    @Override
+    public void skip(InputStreamWrapper wrapper) throws IOException {
+        byte marker = wrapper.read1();
+        if (marker == NULL) {
+            return;
+        }
+        int index = marker - size1;
+        if (index < 0 || index >= 8) {
+            throw new IOException("Could not deserialize as a long.");
+        }
+        wrapper.skip(index + 1);
+    }
+
     @Override
     public void write(OutputStreamWrapper wrapper, Long value) throws IOException {
         if (value == null) {
             wrapper.writeByte(NULL);
             return;
         }
+        writeLong(wrapper, value);
+    }
+
+    /**
+     * Writes a value without boxing
+     */
+    public void writeLong(OutputStreamWrapper wrapper, long value) throws IOException {
         if (value < -2147483648) {
             if (value < -549755813888L) {
                 if (value < -140737488355328L) {
@@ -100,12 +138,12 @@ public final class LongCodec implements Codec<Long> {
             if (value < -128) {
                 if (value < -32768) {
                     if (value < -8388608) {
-                        wrapper.writeByteAnd4(size4, value.intValue());
+                        wrapper.writeByteAnd4(size4, (int) value);
                     } else {
-                        wrapper.writeByteAnd3(size3, value.intValue());
+                        wrapper.writeByteAnd3(size3, (int) value);
                     }
                 } else {
-                    wrapper.writeByteAnd2(size2, value.intValue());
+                    wrapper.writeByteAnd2(size2, (int) value);
                 }
             } else {
                 wrapper.writeByteAnd1(size1, (byte) (value & 0xFF));
@@ -113,12 +151,12 @@ public final class LongCodec implements Codec<Long> {
         } else if (value < 2147483648L) {
             if (value < 8388608) {
                 if (value < 32768) {
-                    wrapper.writeByteAnd2(size2, value.intValue());
+                    wrapper.writeByteAnd2(size2, (int) value);
                 } else {
-                    wrapper.writeByteAnd3(size3, value.intValue());
+                    wrapper.writeByteAnd3(size3, (int) value);
                 }
             } else {
-                wrapper.writeByteAnd4(size4, value.intValue());
+                wrapper.writeByteAnd4(size4, (int) value);
             }
         } else if (value < 140737488355328L) {
             if (value < 549755813888L) {
@@ -133,6 +171,18 @@ public final class LongCodec implements Codec<Long> {
         }
     }
 
+    @Override
+    public int sizeOf(Long value) {
+        return value == null ? 1 : sizeOfLong(value);
+    }
+
+    /**
+     * @return the number of bytes used by {@link #writeLong(OutputStreamWrapper, long)}
+     */
+    public int sizeOfLong(long value) {
+        return 1 + CodecUtils.signedByteLength(value);
+    }
+
     @Override
     public byte[] reservedBytes() {
         return new byte[]{size1, size2, size3, size4, size5, size6, size7, size8};
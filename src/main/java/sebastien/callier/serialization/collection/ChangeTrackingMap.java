@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map recording the keys put and removed since the last checkpoint,
+ * including the changes made through its views and entries.
+ * Values mutated in place are not detected, they have to be put again.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ChangeTrackingMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> delegate;
+    private final Set<K> changed = new HashSet<>();
+    private final Set<K> removed = new HashSet<>();
+    private final Set<Entry<K, V>> entries = new Entries();
+
+    /**
+     * @param delegate the map holding the values, its current content is the checkpointed state
+     */
+    public ChangeTrackingMap(Map<K, V> delegate) {
+        super();
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return delegate.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        trackPut(key);
+        return delegate.put(key, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (!delegate.containsKey(key)) {
+            return null;
+        }
+        trackRemoval((K) key);
+        return delegate.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (K key : delegate.keySet()) {
+            trackRemoval(key);
+        }
+        delegate.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entries;
+    }
+
+    /**
+     * @return the keys put since the last checkpoint and still present, read only
+     */
+    public Set<K> changedKeys() {
+        return Collections.unmodifiableSet(changed);
+    }
+
+    /**
+     * @return the keys removed since the last checkpoint and not put again, read only
+     */
+    public Set<K> removedKeys() {
+        return Collections.unmodifiableSet(removed);
+    }
+
+    public boolean hasChanges() {
+        return !changed.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * Forgets the changes, to call once they are stored
+     */
+    public void checkpoint() {
+        changed.clear();
+        removed.clear();
+    }
+
+    private void trackPut(K key) {
+        changed.add(key);
+        removed.remove(key);
+    }
+
+    private void trackRemoval(K key) {
+        changed.remove(key);
+        removed.add(key);
+    }
+
+    private final class Entries extends AbstractSet<Entry<K, V>> {
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Entry<K, V>> iterator = delegate.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                /**
+                 * Copied before removing, a TreeMap moves the successor in the removed entry
+                 */
+                private K lastKey;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    Entry<K, V> next = iterator.next();
+                    lastKey = next.getKey();
+                    return new TrackedEntry(next);
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    trackRemoval(lastKey);
+                }
+            };
+        }
+    }
+
+    private final class TrackedEntry implements Entry<K, V> {
+        private final Entry<K, V> entry;
+
+        private TrackedEntry(Entry<K, V> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public K getKey() {
+            return entry.getKey();
+        }
+
+        @Override
+        public V getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public V setValue(V value) {
+            trackPut(entry.getKey());
+            return entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+/**
+ * Set of doubles without boxing, backed by a {@link LongSet} of their bits:
+ * like {@link Double#equals(Object)} NaN is equal to itself and 0.0 differs from -0.0.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class DoubleSet {
+    private final LongSet set;
+
+    public DoubleSet() {
+        this(0);
+    }
+
+    public DoubleSet(int expectedSize) {
+        set = new LongSet(expectedSize);
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(double value) {
+        return set.add(Double.doubleToLongBits(value));
+    }
+
+    public boolean contains(double value) {
+        return set.contains(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(double value) {
+        return set.remove(Double.doubleToLongBits(value));
+    }
+
+    public int size() {
+        return set.size();
+    }
+
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+
+    public void clear() {
+        set.clear();
+    }
+
+    /**
+     * @see LongHashTable#nextSlot(int)
+     */
+    public int nextSlot(int slot) {
+        return set.nextSlot(slot);
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    public double elementAt(int slot) {
+        return Double.longBitsToDouble(set.elementAt(slot));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DoubleSet && ((DoubleSet) o).set.equals(set);
+    }
+
+    @Override
+    public int hashCode() {
+        return set.hashCode();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+/**
+ * Set of ints without boxing, backed by a {@link LongSet}.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class IntSet {
+    private final LongSet set;
+
+    public IntSet() {
+        this(0);
+    }
+
+    public IntSet(int expectedSize) {
+        set = new LongSet(expectedSize);
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        return set.add(value);
+    }
+
+    public boolean contains(int value) {
+        return set.contains(value);
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        return set.remove(value);
+    }
+
+    public int size() {
+        return set.size();
+    }
+
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+
+    public void clear() {
+        set.clear();
+    }
+
+    /**
+     * @see LongHashTable#nextSlot(int)
+     */
+    public int nextSlot(int slot) {
+        return set.nextSlot(slot);
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    public int elementAt(int slot) {
+        return (int) set.elementAt(slot);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IntSet && ((IntSet) o).set.equals(set);
+    }
+
+    @Override
+    public int hashCode() {
+        return set.hashCode();
+    }
+}
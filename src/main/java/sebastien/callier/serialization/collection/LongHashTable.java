@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table of long keys with linear probing, base of the primitive maps and sets.
+ * The key 0 marks the free slots so it is stored in an extra slot at the end of the table.
+ * Subclasses store their values in arrays of the same length as the keys.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+abstract class LongHashTable {
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private boolean hasZero;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongHashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative expected size " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity * 3L / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Allocates the values, length is the capacity + 1
+     */
+    abstract void allocateValues(int length);
+
+    /**
+     * Allocates new values during a rehash, the previous ones must be kept until {@link #endRehash()}
+     */
+    abstract void startRehash(int length);
+
+    abstract void moveFromPrevious(int previousSlot, int slot);
+
+    abstract void endRehash();
+
+    /**
+     * Moves a value inside the current table, used when removing
+     */
+    abstract void moveValue(int from, int to);
+
+    /**
+     * Clears the value of a freed slot, to release references
+     */
+    abstract void clearValue(int slot);
+
+    /**
+     * Clears all the values, to release references
+     */
+    abstract void clearValues();
+
+    public final int size() {
+        return size;
+    }
+
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the entries, keeping the allocated capacity
+     */
+    public final void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, 0L);
+            clearValues();
+            size = 0;
+            hasZero = false;
+        }
+    }
+
+    /**
+     * Iterates over the occupied slots:
+     * {@code for (int slot = table.nextSlot(-1); slot >= 0; slot = table.nextSlot(slot))}
+     *
+     * @param slot the previous slot, -1 to start
+     * @return the next occupied slot, or -1 when done
+     */
+    public final int nextSlot(int slot) {
+        int capacity = mask + 1;
+        for (int i = slot + 1; i < capacity; i++) {
+            if (keys[i] != 0) {
+                return i;
+            }
+        }
+        return hasZero && slot < capacity ? capacity : -1;
+    }
+
+    final long key(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * @return the slot of the key or -1
+     */
+    final int slotOf(long key) {
+        if (key == 0) {
+            return hasZero ? mask + 1 : -1;
+        }
+        int slot = hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the slot of the key if already present, or -(slot + 1) if it has been inserted
+     */
+    final int insert(long key) {
+        if (size >= resizeAt && mask + 1 < MAX_CAPACITY) {
+            rehash((mask + 1) << 1);
+        }
+        if (key == 0) {
+            if (hasZero) {
+                return mask + 1;
+            }
+            hasZero = true;
+            size++;
+            return -(mask + 2);
+        }
+        int slot = hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size - (hasZero ? 1 : 0) >= mask) {
+            throw new IllegalStateException("The table is full.");
+        }
+        keys[slot] = key;
+        size++;
+        return -(slot + 1);
+    }
+
+    /**
+     * Frees the slot, shifting back the following keys of the probe sequence
+     */
+    final void removeAt(int slot) {
+        size--;
+        if (slot == mask + 1) {
+            hasZero = false;
+            clearValue(slot);
+            return;
+        }
+        int gap = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            long key = keys[i];
+            if (key == 0) {
+                break;
+            }
+            int ideal = hash(key) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = key;
+                moveValue(i, gap);
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        clearValue(gap);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity + 1];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 3L / 4);
+        allocateValues(capacity + 1);
+    }
+
+    private void rehash(int capacity) {
+        long[] previousKeys = keys;
+        int previousCapacity = mask + 1;
+        keys = new long[capacity + 1];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 3L / 4);
+        startRehash(capacity + 1);
+        for (int i = 0; i < previousCapacity; i++) {
+            long key = previousKeys[i];
+            if (key != 0) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                moveFromPrevious(i, slot);
+            }
+        }
+        if (hasZero) {
+            moveFromPrevious(previousCapacity, capacity);
+        }
+        endRehash();
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+/**
+ * Map of long keys to int values without boxing, see {@link LongHashTable}.
+ * Missing keys are reported with the value 0 by {@link #get(long)}.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class LongIntMap extends LongHashTable {
+    private int[] values;
+    private int[] previousValues;
+
+    public LongIntMap() {
+        this(0);
+    }
+
+    public LongIntMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * @return the previous value, or 0 if there was none
+     */
+    public int put(long key, int value) {
+        int slot = insert(key);
+        if (slot < 0) {
+            values[-slot - 1] = value;
+            return 0;
+        }
+        int previous = values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * @return the value, or 0 if the key is missing
+     */
+    public int get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(long key, int defaultValue) {
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the removed value, or 0 if the key was missing
+     */
+    public int remove(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return 0;
+        }
+        int previous = values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    public long keyAt(int slot) {
+        return key(slot);
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    void allocateValues(int length) {
+        values = new int[length];
+    }
+
+    @Override
+    void startRehash(int length) {
+        previousValues = values;
+        values = new int[length];
+    }
+
+    @Override
+    void moveFromPrevious(int previousSlot, int slot) {
+        values[slot] = previousValues[previousSlot];
+    }
+
+    @Override
+    void endRehash() {
+        previousValues = null;
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        //nothing to release
+    }
+
+    @Override
+    void clearValues() {
+        //nothing to release
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LongIntMap)) {
+            return false;
+        }
+        LongIntMap other = (LongIntMap) o;
+        if (other.size() != size()) {
+            return false;
+        }
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot)) {
+            int otherSlot = other.slotOf(key(slot));
+            if (otherSlot < 0 || other.values[otherSlot] != values[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot)) {
+            hash += Long.hashCode(key(slot)) ^ Integer.hashCode(values[slot]);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Map of long keys to objects without boxing the keys, see {@link LongHashTable}.
+ * Missing keys are reported with null by {@link #get(long)}.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class LongObjectMap<V> extends LongHashTable {
+    private Object[] values;
+    private Object[] previousValues;
+
+    public LongObjectMap() {
+        this(0);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * @return the previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int slot = insert(key);
+        if (slot < 0) {
+            values[-slot - 1] = value;
+            return null;
+        }
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * @return the value, or null if the key is missing
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the removed value, or null if the key was missing
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    public long keyAt(int slot) {
+        return key(slot);
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    @Override
+    void allocateValues(int length) {
+        values = new Object[length];
+    }
+
+    @Override
+    void startRehash(int length) {
+        previousValues = values;
+        values = new Object[length];
+    }
+
+    @Override
+    void moveFromPrevious(int previousSlot, int slot) {
+        values[slot] = previousValues[previousSlot];
+    }
+
+    @Override
+    void endRehash() {
+        previousValues = null;
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = null;
+    }
+
+    @Override
+    void clearValues() {
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LongObjectMap)) {
+            return false;
+        }
+        LongObjectMap other = (LongObjectMap) o;
+        if (other.size() != size()) {
+            return false;
+        }
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot)) {
+            int otherSlot = other.slotOf(key(slot));
+            if (otherSlot < 0 || !Objects.equals(other.values[otherSlot], values[slot])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot)) {
+            hash += Long.hashCode(key(slot)) ^ Objects.hashCode(values[slot]);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+/**
+ * Set of longs without boxing, see {@link LongHashTable}.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class LongSet extends LongHashTable {
+    public LongSet() {
+        this(0);
+    }
+
+    public LongSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(long value) {
+        return insert(value) < 0;
+    }
+
+    public boolean contains(long value) {
+        return slotOf(value) >= 0;
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(long value) {
+        int slot = slotOf(value);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * @param slot an occupied slot, see {@link #nextSlot(int)}
+     */
+    public long elementAt(int slot) {
+        return key(slot);
+    }
+
+    @Override
+    void allocateValues(int length) {
+        //no values
+    }
+
+    @Override
+    void startRehash(int length) {
+        //no values
+    }
+
+    @Override
+    void moveFromPrevious(int previousSlot, int slot) {
+        //no values
+    }
+
+    @Override
+    void endRehash() {
+        //no values
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        //no values
+    }
+
+    @Override
+    void clearValue(int slot) {
+        //no values
+    }
+
+    @Override
+    void clearValues() {
+        //no values
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LongSet)) {
+            return false;
+        }
+        LongSet other = (LongSet) o;
+        if (other.size() != size()) {
+            return false;
+        }
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot)) {
+            if (!other.contains(key(slot))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot)) {
+            hash += Long.hashCode(key(slot));
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.compression;
+
+import java.io.IOException;
+
+/**
+ * Dependency free compression of serialized data, cut in independent blocks
+ * compressed with the LZ4 block format.
+ * <p>
+ * Frame layout: the total uncompressed length on 4 bytes followed by the blocks.
+ * Each block starts with its length on 4 bytes, negative when the block is stored
+ * uncompressed because compressing did not make it smaller.
+ * All the blocks but the last one hold {@link #BLOCK_SIZE} uncompressed bytes.
+ * <p>
+ * Blocks do not reference each other, so they can be produced and consumed one at a time.
+ * Instances keep a hash table between calls and are not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class BlockCompressor {
+    public static final int BLOCK_SIZE = 1 << 16;
+    private static final int HEADER_SIZE = 4;
+    /**
+     * Upper bound of the LZ4 compression ratio, longer lengths denote corrupted frames
+     */
+    private static final int MAX_RATIO = 256;
+
+    private final Lz4 lz4 = new Lz4();
+
+    /**
+     * @return the size required in the destination array to compress data of the given length
+     */
+    public static int maxCompressedLength(int length) {
+        int blocks = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int blockOverhead = HEADER_SIZE + Lz4.maxCompressedLength(BLOCK_SIZE) - BLOCK_SIZE;
+        return HEADER_SIZE + length + blocks * blockOverhead;
+    }
+
+    /**
+     * @param dst with at least {@link #maxCompressedLength(int)} bytes available from dstOffset
+     * @return the number of bytes written in dst
+     */
+    public int compress(
+            byte[] src,
+            int srcOffset,
+            int length,
+            byte[] dst,
+            int dstOffset) {
+        writeInt(dst, dstOffset, length);
+        int d = dstOffset + HEADER_SIZE;
+        int end = srcOffset + length;
+        for (int s = srcOffset; s < end; s += BLOCK_SIZE) {
+            int blockLength = Math.min(BLOCK_SIZE, end - s);
+            int compressed = lz4.compress(src, s, blockLength, dst, d + HEADER_SIZE);
+            if (compressed < blockLength) {
+                writeInt(dst, d, compressed);
+                d += HEADER_SIZE + compressed;
+            } else {
+                writeInt(dst, d, -blockLength);
+                System.arraycopy(src, s, dst, d + HEADER_SIZE, blockLength);
+                d += HEADER_SIZE + blockLength;
+            }
+        }
+        return d - dstOffset;
+    }
+
+    /**
+     * @return the length of the data once decompressed
+     */
+    public static int decompressedLength(
+            byte[] src,
+            int srcOffset,
+            int length) throws IOException {
+        if (length < HEADER_SIZE) {
+            throw new IOException("Truncated compressed frame.");
+        }
+        int decompressed = readInt(src, srcOffset);
+        if (decompressed < 0 || decompressed > (long) length * MAX_RATIO) {
+            throw new IOException("Invalid compressed frame length " + decompressed + ".");
+        }
+        return decompressed;
+    }
+
+    /**
+     * @param dst with at least {@link #decompressedLength(byte[], int, int)} bytes available from dstOffset
+     * @return the number of bytes written in dst
+     */
+    public static int decompress(
+            byte[] src,
+            int srcOffset,
+            int length,
+            byte[] dst,
+            int dstOffset) throws IOException {
+        int decompressed = decompressedLength(src, srcOffset, length);
+        int s = srcOffset + HEADER_SIZE;
+        int end = srcOffset + length;
+        int d = dstOffset;
+        int dstEnd = dstOffset + decompressed;
+        while (d < dstEnd) {
+            if (end - s < HEADER_SIZE) {
+                throw new IOException("Truncated compressed frame.");
+            }
+            int blockLength = Math.min(BLOCK_SIZE, dstEnd - d);
+            int stored = readInt(src, s);
+            s += HEADER_SIZE;
+            if (stored < 0) {
+                if (-stored != blockLength || blockLength > end - s) {
+                    throw new IOException("Invalid stored block length " + -stored + ".");
+                }
+                System.arraycopy(src, s, dst, d, blockLength);
+                s += blockLength;
+            } else {
+                if (stored > end - s) {
+                    throw new IOException("Truncated compressed frame.");
+                }
+                Lz4.decompress(src, s, stored, dst, d, blockLength);
+                s += stored;
+            }
+            d += blockLength;
+        }
+        if (s != end) {
+            throw new IOException("Unexpected data after the compressed frame.");
+        }
+        return decompressed;
+    }
+
+    private static void writeInt(byte[] dst, int offset, int value) {
+        dst[offset] = (byte) (value >>> 24);
+        dst[offset + 1] = (byte) (value >>> 16);
+        dst[offset + 2] = (byte) (value >>> 8);
+        dst[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] src, int offset) {
+        return (src[offset] & 0xFF) << 24 |
+               (src[offset + 1] & 0xFF) << 16 |
+               (src[offset + 2] & 0xFF) << 8 |
+               (src[offset + 3] & 0xFF);
+    }
+}
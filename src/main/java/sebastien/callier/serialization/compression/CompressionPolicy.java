@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.compression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides for each message whether compressing it is worth the CPU:
+ * <ul>
+ * <li>messages smaller than a threshold are never compressed,</li>
+ * <li>messages whose sampled bytes look random, like already compressed blobs, are skipped,</li>
+ * <li>message types whose running compression ratio is too low are skipped,
+ * one message out of probeInterval is still compressed to follow changes in the data.</li>
+ * </ul>
+ * Frames written under a policy start with a header byte, {@link #RAW} or {@link #COMPRESSED}.
+ * Thread safe, the statistics are shared by all the serializers using the policy.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class CompressionPolicy {
+    public static final byte RAW = 0;
+    public static final byte COMPRESSED = 1;
+
+    private static final int SAMPLE_SIZE = 4096;
+    private static final int SAMPLE_WINDOWS = 16;
+    private static final double LOG_2 = Math.log(2);
+
+    private final int minSize;
+    private final double maxEntropy;
+    private final double minRatio;
+    private final int probeInterval;
+    private final Map<Class, Ratio> ratios = new ConcurrentHashMap<>();
+    private final Ratio untyped = new Ratio();
+
+    /**
+     * 512 bytes minimum, up to 7.5 bits of entropy per byte, at least 10% smaller,
+     * probing one message out of 64 otherwise
+     */
+    public CompressionPolicy() {
+        this(512, 7.5, 1.1, 64);
+    }
+
+    /**
+     * @param minSize       the size under which messages are never compressed
+     * @param maxEntropy    the sampled entropy, in bits per byte, above which messages are not compressed
+     * @param minRatio      the running ratio (uncompressed / compressed) under which a type is not compressed
+     * @param probeInterval one message out of probeInterval is compressed even when the ratio is too low
+     */
+    public CompressionPolicy(
+            int minSize,
+            double maxEntropy,
+            double minRatio,
+            int probeInterval) {
+        this.minSize = minSize;
+        this.maxEntropy = maxEntropy;
+        this.minRatio = minRatio;
+        this.probeInterval = probeInterval;
+    }
+
+    /**
+     * @param type the type of the message, null when unknown
+     */
+    public boolean shouldCompress(
+            Class type,
+            byte[] data,
+            int offset,
+            int length) {
+        if (length < minSize) {
+            return false;
+        }
+        if (!ratioFor(type).accepts(minRatio, probeInterval)) {
+            return false;
+        }
+        return sampledEntropy(data, offset, length) <= maxEntropy;
+    }
+
+    /**
+     * Records the outcome of a compression decided by {@link #shouldCompress(Class, byte[], int, int)}
+     *
+     * @param type the type of the message, null when unknown
+     */
+    public void record(
+            Class type,
+            int length,
+            int compressedLength) {
+        ratioFor(type).record((double) length / compressedLength);
+    }
+
+    /**
+     * @return the running compression ratio of the type, NaN before the first compression
+     */
+    public double ratio(Class type) {
+        return ratioFor(type).value();
+    }
+
+    /**
+     * Order 0 entropy of up to {@value #SAMPLE_SIZE} bytes sampled in evenly spaced windows
+     *
+     * @return the number of bits per byte, from 0 to 8
+     */
+    public static double sampledEntropy(
+            byte[] data,
+            int offset,
+            int length) {
+        int[] counts = new int[256];
+        int sampled;
+        if (length <= SAMPLE_SIZE) {
+            for (int i = offset; i < offset + length; i++) {
+                counts[data[i] & 0xFF]++;
+            }
+            sampled = length;
+        } else {
+            int window = SAMPLE_SIZE / SAMPLE_WINDOWS;
+            int stride = (length - window) / (SAMPLE_WINDOWS - 1);
+            for (int w = 0; w < SAMPLE_WINDOWS; w++) {
+                int start = offset + w * stride;
+                for (int i = start; i < start + window; i++) {
+                    counts[data[i] & 0xFF]++;
+                }
+            }
+            sampled = SAMPLE_SIZE;
+        }
+        if (sampled == 0) {
+            return 0;
+        }
+        double entropy = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                double probability = (double) count / sampled;
+                entropy -= probability * Math.log(probability);
+            }
+        }
+        return entropy / LOG_2;
+    }
+
+    private Ratio ratioFor(Class type) {
+        return type == null ? untyped : ratios.computeIfAbsent(type, clazz -> new Ratio());
+    }
+
+    /**
+     * Exponentially weighted average of the achieved ratios
+     */
+    private static final class Ratio {
+        private double value = Double.NaN;
+        private int skipped;
+
+        synchronized boolean accepts(double minRatio, int probeInterval) {
+            if (Double.isNaN(value) || value >= minRatio) {
+                return true;
+            }
+            if (++skipped >= probeInterval) {
+                skipped = 0;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void record(double ratio) {
+            value = Double.isNaN(value) ? ratio : value + (ratio - value) / 8;
+        }
+
+        synchronized double value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pure java implementation of the LZ4 block format:
+ * greedy matching through a hash table of the previous 4 bytes sequences,
+ * no entropy coding, which keeps both directions close to memory copy speed.
+ * <p>
+ * The hash table is kept between calls, entries of previous calls are invalidated
+ * by moving the base of the stored positions instead of clearing the table.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+final class Lz4 {
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_LOG = 14;
+    private static final int SKIP_TRIGGER = 6;
+
+    private final int[] table = new int[1 << HASH_LOG];
+    private int nextBase = 1;
+
+    /**
+     * @return the maximum size of a compressed block of the given length
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * @param dst with at least {@link #maxCompressedLength(int)} bytes available from dstOffset
+     * @return the number of bytes written in dst
+     */
+    int compress(
+            byte[] src,
+            int srcOffset,
+            int length,
+            byte[] dst,
+            int dstOffset) {
+        int srcEnd = srcOffset + length;
+        int matchLimit = srcEnd - LAST_LITERALS;
+        int mfLimit = srcEnd - MF_LIMIT;
+        int d = dstOffset;
+        int anchor = srcOffset;
+        if (length > MF_LIMIT) {
+            int base = base(length);
+            int s = srcOffset;
+            while (s < mfLimit) {
+                int sequence = readInt(src, s);
+                int hash = hash(sequence);
+                int entry = table[hash];
+                table[hash] = base + s - srcOffset;
+                if (entry >= base) {
+                    int ref = entry - base + srcOffset;
+                    if (s - ref <= MAX_OFFSET && readInt(src, ref) == sequence) {
+                        while (s > anchor && ref > srcOffset && src[s - 1] == src[ref - 1]) {
+                            s--;
+                            ref--;
+                        }
+                        int matchLength = MIN_MATCH;
+                        while (s + matchLength < matchLimit && src[s + matchLength] == src[ref + matchLength]) {
+                            matchLength++;
+                        }
+                        d = writeSequence(src, anchor, s - anchor, s - ref, matchLength, dst, d);
+                        s += matchLength;
+                        anchor = s;
+                        if (s < mfLimit) {
+                            table[hash(readInt(src, s - 2))] = base + s - 2 - srcOffset;
+                        }
+                        continue;
+                    }
+                }
+                s += 1 + ((s - anchor) >>> SKIP_TRIGGER);
+            }
+        }
+        return writeLastLiterals(src, anchor, srcEnd - anchor, dst, d) - dstOffset;
+    }
+
+    /**
+     * @return the number of bytes written in dst, always equal to dstLength
+     * @throws IOException if the data is malformed or does not decompress to exactly dstLength bytes
+     */
+    static int decompress(
+            byte[] src,
+            int srcOffset,
+            int length,
+            byte[] dst,
+            int dstOffset,
+            int dstLength) throws IOException {
+        int s = srcOffset;
+        int srcEnd = srcOffset + length;
+        int d = dstOffset;
+        int dstEnd = dstOffset + dstLength;
+        try {
+            while (s < srcEnd) {
+                int token = src[s++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int read;
+                    do {
+                        read = src[s++] & 0xFF;
+                        literals += read;
+                    } while (read == 255);
+                }
+                if (literals > srcEnd - s || literals > dstEnd - d) {
+                    throw new IOException("Malformed LZ4 block: literals out of bounds.");
+                }
+                System.arraycopy(src, s, dst, d, literals);
+                s += literals;
+                d += literals;
+                if (s == srcEnd) {
+                    break;
+                }
+
+                int offset = (src[s++] & 0xFF) | (src[s++] & 0xFF) << 8;
+                int matchLength = token & 0x0F;
+                if (matchLength == 15) {
+                    int read;
+                    do {
+                        read = src[s++] & 0xFF;
+                        matchLength += read;
+                    } while (read == 255);
+                }
+                matchLength += MIN_MATCH;
+                int ref = d - offset;
+                if (offset == 0 || ref < dstOffset || matchLength > dstEnd - d) {
+                    throw new IOException("Malformed LZ4 block: match out of bounds.");
+                }
+                if (offset >= matchLength) {
+                    System.arraycopy(dst, ref, dst, d, matchLength);
+                    d += matchLength;
+                } else {
+                    //overlapping match, repeats the last offset bytes
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[d++] = dst[ref++];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Malformed LZ4 block: truncated data.", e);
+        }
+        if (d != dstEnd) {
+            throw new IOException("Malformed LZ4 block: " + (d - dstOffset) +
+                                  " bytes decompressed instead of " + dstLength + ".");
+        }
+        return dstLength;
+    }
+
+    private int base(int length) {
+        if (nextBase > Integer.MAX_VALUE - length - 1) {
+            Arrays.fill(table, 0);
+            nextBase = 1;
+        }
+        int base = nextBase;
+        nextBase += length + 1;
+        return base;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static int readInt(byte[] src, int offset) {
+        return (src[offset] & 0xFF) |
+               (src[offset + 1] & 0xFF) << 8 |
+               (src[offset + 2] & 0xFF) << 16 |
+               (src[offset + 3] & 0xFF) << 24;
+    }
+
+    private static int writeSequence(
+            byte[] src,
+            int literalOffset,
+            int literals,
+            int offset,
+            int matchLength,
+            byte[] dst,
+            int d) {
+        int tokenIndex = d++;
+        int token;
+        if (literals >= 15) {
+            token = 15 << 4;
+            d = writeLength(literals - 15, dst, d);
+        } else {
+            token = literals << 4;
+        }
+        System.arraycopy(src, literalOffset, dst, d, literals);
+        d += literals;
+        dst[d++] = (byte) offset;
+        dst[d++] = (byte) (offset >>> 8);
+        int extra = matchLength - MIN_MATCH;
+        if (extra >= 15) {
+            token |= 15;
+            d = writeLength(extra - 15, dst, d);
+        } else {
+            token |= extra;
+        }
+        dst[tokenIndex] = (byte) token;
+        return d;
+    }
+
+    private static int writeLastLiterals(
+            byte[] src,
+            int literalOffset,
+            int literals,
+            byte[] dst,
+            int d) {
+        if (literals >= 15) {
+            dst[d++] = (byte) (15 << 4);
+            d = writeLength(literals - 15, dst, d);
+        } else {
+            dst[d++] = (byte) (literals << 4);
+        }
+        System.arraycopy(src, literalOffset, dst, d, literals);
+        return d + literals;
+    }
+
+    private static int writeLength(int length, byte[] dst, int d) {
+        while (length >= 255) {
+            dst[d++] = (byte) 255;
+            length -= 255;
+        }
+        dst[d++] = (byte) length;
+        return d;
+    }
+}
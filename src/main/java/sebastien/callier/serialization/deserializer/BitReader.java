@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.deserializer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+
+/**
+ * Reads individual bits written by a BitWriter from an {@link InputStreamWrapper}, most significant bit first.
+ * Bytes are only consumed when needed so the wrapper is left right after the last byte used.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class BitReader {
+    private final InputStreamWrapper wrapper;
+
+    private int buffer;
+    private int count;
+
+    public BitReader(InputStreamWrapper wrapper) {
+        this.wrapper = wrapper;
+    }
+
+    /**
+     * @return the next bit
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public boolean readBit() throws IOException {
+        if (count == 0) {
+            buffer = wrapper.read1() & 0xFF;
+            count = 8;
+        }
+        return ((buffer >>> --count) & 1) != 0;
+    }
+
+    /**
+     * @param length the number of bits to read, from 0 to 64
+     * @return the bits read, in the least significant bits
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public long readBits(int length) throws IOException {
+        long result = 0;
+        while (length > 0) {
+            if (count == 0) {
+                buffer = wrapper.read1() & 0xFF;
+                count = 8;
+            }
+            int chunk = Math.min(count, length);
+            count -= chunk;
+            length -= chunk;
+            result = (result << chunk) | ((buffer >>> count) & ((1 << chunk) - 1));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.deserializer;
+
+import sebastien.callier.serialization.compression.BlockCompressor;
+import sebastien.callier.serialization.compression.CompressionPolicy;
+import sebastien.callier.serialization.stream.FastInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decompresses its data on first access, so a corrupted frame is reported
+ * by the first read instead of when the {@link Deserializer} is created.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+final class DecompressingInputStream extends InputStream {
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+    private final boolean adaptive;
+    private FastInputStream input;
+
+    /**
+     * @param adaptive whether the data starts with the header byte of a {@link CompressionPolicy}
+     */
+    DecompressingInputStream(
+            byte[] data,
+            int offset,
+            int length,
+            boolean adaptive) {
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Decompresses the data if not already done
+     */
+    FastInputStream input() throws IOException {
+        if (input == null) {
+            input = adaptive ? adaptive() : decompressed(offset, length);
+        }
+        return input;
+    }
+
+    private FastInputStream adaptive() throws IOException {
+        if (length < 1) {
+            throw new IOException("Missing compression header.");
+        }
+        switch (data[offset]) {
+            case CompressionPolicy.RAW:
+                return new FastInputStream(data, offset + 1, length - 1);
+            case CompressionPolicy.COMPRESSED:
+                return decompressed(offset + 1, length - 1);
+            default:
+                throw new IOException("Invalid compression header " + data[offset] + ".");
+        }
+    }
+
+    private FastInputStream decompressed(int offset, int length) throws IOException {
+        byte[] decompressed = new byte[BlockCompressor.decompressedLength(data, offset, length)];
+        BlockCompressor.decompress(data, offset, length, decompressed, 0);
+        return new FastInputStream(decompressed);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return input().read();
+    }
+
+    @Override
+    public int read(
+            byte[] data,
+            int offset,
+            int length) throws IOException {
+        return input().read(data, offset, length);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) {
+        //once created, the stream is marked at its start
+        if (input != null) {
+            input.mark(readAheadLimit);
+        }
+    }
+
+    @Override
+    public void reset() throws IOException {
+        input().reset();
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return input().skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return input().available();
+    }
+
+    @Override
+    public void close() {
+        //nothing to do
+    }
+}
@@ -18,10 +18,17 @@ package sebastien.callier.serialization.deserializer;
 
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.DeltaCodec;
+import sebastien.callier.serialization.compression.BlockCompressor;
+import sebastien.callier.serialization.compression.CompressionPolicy;
+import sebastien.callier.serialization.stream.ByteBufferInputStream;
 import sebastien.callier.serialization.stream.FastInputStream;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 
 /**
  * @author Sebastien Callier
@@ -29,10 +36,10 @@ import java.io.IOException;
  */
 public class Deserializer implements Closeable {
     private final InputStreamWrapper wrapper;
-    private final FastInputStream input;
+    private final InputStream input;
     private final CodecCache codecCache;
 
-    private Deserializer(CodecCache codecCache, FastInputStream input) {
+    private Deserializer(CodecCache codecCache, InputStream input) {
         this.codecCache = codecCache;
         this.input = input;
         this.wrapper = new InputStreamWrapper(input);
@@ -52,6 +59,56 @@ public class Deserializer implements Closeable {
         return new Deserializer(codecCache, new FastInputStream(data));
     }
 
+    /**
+     * @param data read from its position to its limit without copying, such as a memory mapped file.
+     *             The buffer itself is not modified.
+     */
+    public static Deserializer newInstance(
+            CodecCache codecCache,
+            ByteBuffer data) {
+        return new Deserializer(codecCache, new ByteBufferInputStream(data.slice()));
+    }
+
+    /**
+     * @param data data compressed by a {@link BlockCompressor},
+     *             see {@link sebastien.callier.serialization.serializer.Serializer#compressOnClose()}
+     */
+    public static Deserializer newDecompressingInstance(
+            CodecCache codecCache,
+            byte[] data,
+            int offset,
+            int length) throws IOException {
+        DecompressingInputStream input = new DecompressingInputStream(data, offset, length, false);
+        input.input();
+        return new Deserializer(codecCache, input);
+    }
+
+    /**
+     * @param data data starting with the header byte of a {@link CompressionPolicy},
+     *             see {@link sebastien.callier.serialization.serializer.Serializer#compressAdaptively}
+     */
+    public static Deserializer newAdaptiveInstance(
+            CodecCache codecCache,
+            byte[] data,
+            int offset,
+            int length) throws IOException {
+        DecompressingInputStream input = new DecompressingInputStream(data, offset, length, true);
+        input.input();
+        return new Deserializer(codecCache, input);
+    }
+
+    /**
+     * Decompression errors are reported by the first read
+     */
+    static Deserializer newLazyDecompressingInstance(
+            CodecCache codecCache,
+            byte[] data,
+            int offset,
+            int length,
+            boolean adaptive) {
+        return new Deserializer(codecCache, new DecompressingInputStream(data, offset, length, adaptive));
+    }
+
     public Object read() throws IOException {
         return codecCache.get(wrapper.peek()).read(wrapper);
     }
@@ -60,8 +117,51 @@ public class Deserializer implements Closeable {
         return codec.read(wrapper);
     }
 
+    /**
+     * @param codec  the codec to use
+     * @param target the instance to reuse when possible, see {@link Codec#readInto}
+     * @return the value read
+     */
+    public <T> T readInto(Codec<T> codec, T target) throws IOException {
+        return codec.readInto(wrapper, target);
+    }
+
+    /**
+     * @param codec    the codec which wrote the delta
+     * @param previous the version the delta was computed from
+     * @return the new version, see {@link DeltaCodec#readDelta}
+     */
+    public <T> T readDelta(DeltaCodec<T> codec, T previous) throws IOException {
+        return codec.readDelta(wrapper, previous);
+    }
+
+    /**
+     * Moves past the next value without materializing it
+     */
+    public void skip() throws IOException {
+        codecCache.get(wrapper.peek()).skip(wrapper);
+    }
+
+    public void skip(Codec<?> codec) throws IOException {
+        codec.skip(wrapper);
+    }
+
+    public void skipDelta(DeltaCodec<?> codec) throws IOException {
+        codec.skipDelta(wrapper);
+    }
+
+    /**
+     * Decompresses the data first when needed, like the reads
+     *
+     * @return the number of bytes left to read
+     * @throws UncheckedIOException if the compressed data is invalid
+     */
     public int available() {
-        return input.available();
+        try {
+            return input.available();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
@@ -18,22 +18,67 @@ package sebastien.callier.serialization.deserializer;
 
 import sebastien.callier.serialization.codec.CodecCache;
 
+import java.io.IOException;
+
 /**
  * @author Sebastien Callier
  * @since 2017
  */
 public class DeserializerFactory {
     private final CodecCache codecCache;
+    private final boolean compressed;
+    private final boolean adaptive;
 
     public DeserializerFactory(CodecCache codecCache) {
+        this(codecCache, false, false);
+    }
+
+    private DeserializerFactory(
+            CodecCache codecCache,
+            boolean compressed,
+            boolean adaptive) {
         super();
         this.codecCache = codecCache;
+        this.compressed = compressed;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * @return a factory sharing the configuration of this one
+     * but reading data compressed by the serializers of a compressing
+     * {@link sebastien.callier.serialization.serializer.SerializerFactory}
+     */
+    public DeserializerFactory withCompression() {
+        return new DeserializerFactory(codecCache, true, false);
+    }
+
+    /**
+     * @return a factory sharing the configuration of this one
+     * but reading the data written by the serializers of a
+     * {@link sebastien.callier.serialization.serializer.SerializerFactory} with adaptive compression,
+     * compressed or not
+     */
+    public DeserializerFactory withAdaptiveCompression() {
+        return new DeserializerFactory(codecCache, false, true);
     }
 
+    /**
+     * With compression, the data is decompressed on the first read
+     * which reports an invalid frame as an {@link IOException},
+     * or by {@link Deserializer#available()} as an {@link java.io.UncheckedIOException}.
+     */
     public Deserializer newDeserializer(
             byte[] data,
             int offset,
             int length) {
+        if (adaptive || compressed) {
+            return Deserializer.newLazyDecompressingInstance(
+                    codecCache,
+                    data,
+                    offset,
+                    length,
+                    adaptive);
+        }
         return Deserializer.newInstance(
                 codecCache,
                 data,
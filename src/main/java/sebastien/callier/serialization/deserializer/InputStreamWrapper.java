@@ -19,13 +19,26 @@ package sebastien.callier.serialization.deserializer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 
 /**
  * @author Sebastien Callier
  * @since 2017
  */
 public final class InputStreamWrapper {
+    private final static int BULK_SIZE = 8192;
+
     private final byte[] cached = new byte[8];
+    /**
+     * Lazily allocated, only used by the bulk array reads
+     */
+    private ByteBuffer bulk;
 
     private final InputStream input;
 
@@ -177,6 +190,77 @@ public final class InputStreamWrapper {
         return cached[0];
     }
 
+    /**
+     * Reads a zig-zag encoded variable length integer
+     *
+     * @return the integer read
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException              if the encoding is longer than 5 bytes
+     */
+    public int readVarInt() throws IOException {
+        int zigZag = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte read = read1();
+            zigZag |= (read & 0x7F) << shift;
+            if (read >= 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Could not deserialize as a variable length integer.");
+    }
+
+    /**
+     * Reads a zig-zag encoded variable length long
+     *
+     * @return the long read
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException              if the encoding is longer than 10 bytes
+     */
+    public long readVarLong() throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte read = read1();
+            zigZag |= (long) (read & 0x7F) << shift;
+            if (read >= 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Could not deserialize as a variable length long.");
+    }
+
+    /**
+     * Skips length bytes of the input stream
+     *
+     * @param length the number of bytes to skip
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void skip(int length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = input.skip(remaining);
+            if (skipped <= 0) {
+                throw new BufferUnderflowException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Skips a variable length integer or long without decoding it
+     *
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void skipVar() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            if ((read1() & 0x80) == 0) {
+                return;
+            }
+        }
+        throw new IOException("Could not skip a variable length number.");
+    }
+
     /**
      * Peeks 1 byte from the input stream, it will be available for the next read.
      *
@@ -208,4 +292,144 @@ public final class InputStreamWrapper {
         }
         return data;
     }
+
+    /**
+     * Fills the array with the next bytes of the input stream
+     *
+     * @param data the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readBytes(byte[] data) throws IOException {
+        if (data.length > 0) {
+            readFully(data, data.length);
+        }
+    }
+
+    /**
+     * Reads shorts written with a fixed width of Short.BYTES bytes each, in bulk, until the array is full.
+     *
+     * @param values the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readShorts(short[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        ShortBuffer view = buffer.asShortBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            readFully(buffer.array(), length * Short.BYTES);
+            view.clear();
+            view.get(values, from, length);
+        }
+    }
+
+    /**
+     * Reads chars written with a fixed width of Character.BYTES bytes each, in bulk, until the array is full.
+     *
+     * @param values the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readChars(char[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        CharBuffer view = buffer.asCharBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            readFully(buffer.array(), length * Character.BYTES);
+            view.clear();
+            view.get(values, from, length);
+        }
+    }
+
+    /**
+     * Reads ints written with a fixed width of Integer.BYTES bytes each, in bulk, until the array is full.
+     *
+     * @param values the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readInts(int[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        IntBuffer view = buffer.asIntBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            readFully(buffer.array(), length * Integer.BYTES);
+            view.clear();
+            view.get(values, from, length);
+        }
+    }
+
+    /**
+     * Reads longs written with a fixed width of Long.BYTES bytes each, in bulk, until the array is full.
+     *
+     * @param values the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readLongs(long[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        LongBuffer view = buffer.asLongBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            readFully(buffer.array(), length * Long.BYTES);
+            view.clear();
+            view.get(values, from, length);
+        }
+    }
+
+    /**
+     * Reads floats written with a fixed width of Float.BYTES bytes each, in bulk, until the array is full.
+     *
+     * @param values the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readFloats(float[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        FloatBuffer view = buffer.asFloatBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            readFully(buffer.array(), length * Float.BYTES);
+            view.clear();
+            view.get(values, from, length);
+        }
+    }
+
+    /**
+     * Reads doubles written with a fixed width of Double.BYTES bytes each, in bulk, until the array is full.
+     *
+     * @param values the array to fill
+     * @throws BufferUnderflowException in case there are not enough bytes available
+     * @throws IOException
+     */
+    public void readDoubles(double[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        DoubleBuffer view = buffer.asDoubleBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            readFully(buffer.array(), length * Double.BYTES);
+            view.clear();
+            view.get(values, from, length);
+        }
+    }
+
+    private void readFully(byte[] data, int length) throws IOException {
+        if (input.read(data, 0, length) != length) {
+            throw new BufferUnderflowException();
+        }
+    }
+
+    private ByteBuffer bulkBuffer() {
+        if (bulk == null) {
+            bulk = ByteBuffer.allocate(BULK_SIZE);
+        }
+        return bulk;
+    }
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.file;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.collection.IntList;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.exceptions.CodecGenerationException;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.stream.FastInputStream;
+import sebastien.callier.serialization.stream.FastOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts a file of records written back to back by the same codec, without holding more than one run in memory.
+ * <p>
+ * The input is read sequentially in runs of a bounded number of bytes. The records of a run are found with
+ * {@link Codec#skip(InputStreamWrapper)}, their keys are encoded with an order preserving codec
+ * (see {@link sebastien.callier.serialization.codec.ordered.OrderedCodec}), then the run is sorted by comparing
+ * the key bytes and spilled to a temporary file next to its keys. The runs are finally merged,
+ * at most {@link #MAX_MERGED_RUNS} at a time, copying the raw record bytes to the output: records are never
+ * decoded entirely and keys are never decoded at all.
+ * <p>
+ * The sort is stable. A run grows beyond its size only to fit a record larger than it.
+ * Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class ExternalSorter<T> {
+    static final int MAX_MERGED_RUNS = 64;
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    private final Codec<T> recordCodec;
+    private final Codec<T> keyReader;
+    private final Codec<T> keyCodec;
+    private final int runBytes;
+    private final Path tempDirectory;
+
+    /**
+     * @param recordCodec   the codec that wrote the records, used to find their boundaries
+     * @param keyReader     decodes the record as much as needed by the key codec, typically a projection
+     * @param keyCodec      writes a binary comparable key for a record read by the key reader
+     * @param runBytes      the number of bytes of records sorted in memory at once
+     * @param tempDirectory where to write the sorted runs, they are deleted once merged
+     */
+    public ExternalSorter(
+            Codec<T> recordCodec,
+            Codec<T> keyReader,
+            Codec<T> keyCodec,
+            int runBytes,
+            Path tempDirectory) {
+        super();
+        if (runBytes <= 0) {
+            throw new IllegalArgumentException("Invalid run size " + runBytes);
+        }
+        this.recordCodec = recordCodec;
+        this.keyReader = keyReader;
+        this.keyCodec = keyCodec;
+        this.runBytes = runBytes;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts records whose own bytes are binary comparable, as written by an ordered codec
+     */
+    public static <T> ExternalSorter<T> byRecord(
+            Codec<T> orderedCodec,
+            int runBytes,
+            Path tempDirectory) {
+        return new ExternalSorter<>(orderedCodec, null, null, runBytes, tempDirectory);
+    }
+
+    /**
+     * Sorts objects by some of their fields, only these fields are decoded to build the keys.
+     *
+     * @param keyFields the key fields by decreasing significance
+     * @throws CodecGenerationException if a key field does not exist or has no ordered encoding
+     */
+    public static <T> ExternalSorter<T> byFields(
+            ObjectCodec<T> codec,
+            int runBytes,
+            Path tempDirectory,
+            String... keyFields) throws CodecGenerationException {
+        if (keyFields.length == 0) {
+            throw new CodecGenerationException("At least one key field is required", null);
+        }
+        return new ExternalSorter<>(
+                codec,
+                codec.projection(keyFields),
+                codec.orderedKey(keyFields),
+                runBytes,
+                tempDirectory);
+    }
+
+    /**
+     * @param input  the records to sort
+     * @param output where to write the sorted records, replaced if it exists
+     * @return the number of records sorted
+     * @throws IOException if the records could not be read, or the files written
+     */
+    public long sort(Path input, Path output) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try {
+            List<Run> runs = new ArrayList<>();
+            long count = spill(input, runs, files);
+            while (runs.size() > MAX_MERGED_RUNS) {
+                //merging consecutive runs keeps the sort stable
+                List<Run> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += MAX_MERGED_RUNS) {
+                    Run run = newRun(files);
+                    try (OutputStreamWrapper wrapper = newWrapper(run.path)) {
+                        run.count = merge(runs.subList(i, Math.min(i + MAX_MERGED_RUNS, runs.size())), wrapper, true);
+                    }
+                    merged.add(run);
+                }
+                for (Run run : runs) {
+                    Files.delete(run.path);
+                }
+                runs = merged;
+            }
+            try (OutputStreamWrapper wrapper = newWrapper(output)) {
+                merge(runs, wrapper, false);
+            }
+            return count;
+        } finally {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private long spill(Path input, List<Run> runs, List<Path> files) throws IOException {
+        RunBuffer run = new RunBuffer(runBytes);
+        long count = 0;
+        try (InputStream in = Files.newInputStream(input)) {
+            boolean ended = false;
+            while (!ended || run.length > 0) {
+                while (!ended && run.length < run.buffer.length) {
+                    int read = in.read(run.buffer, run.length, run.buffer.length - run.length);
+                    if (read < 0) {
+                        ended = true;
+                    } else {
+                        run.length += read;
+                    }
+                }
+                if (run.length == 0) {
+                    break;
+                }
+                int consumed = run.parse();
+                if (consumed == 0) {
+                    if (ended) {
+                        throw new IOException("Truncated record at the end of " + input);
+                    }
+                    run.buffer = Arrays.copyOf(run.buffer, run.buffer.length << 1);
+                    continue;
+                }
+                Run spilled = newRun(files);
+                runs.add(spilled);
+                try (OutputStreamWrapper wrapper = newWrapper(spilled.path)) {
+                    run.write(wrapper);
+                }
+                spilled.count = run.starts.size();
+                count += spilled.count;
+                run.compact(consumed);
+            }
+        }
+        return count;
+    }
+
+    private long merge(List<Run> runs, OutputStreamWrapper output, boolean withKeys) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(Math.max(1, runs.size()));
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        long count = 0;
+        try {
+            for (Run run : runs) {
+                RunReader reader = new RunReader(run, readers.size());
+                readers.add(reader);
+                if (reader.next()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunReader head = heads.poll();
+                if (withKeys) {
+                    output.writeVarInt(head.keyLength);
+                    output.writeBytes(head.key, head.keyLength);
+                    output.writeVarInt(head.recordLength);
+                }
+                output.writeBytes(head.record, head.recordLength);
+                count++;
+                if (head.next()) {
+                    heads.add(head);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.input.close();
+            }
+        }
+        return count;
+    }
+
+    private Run newRun(List<Path> files) throws IOException {
+        Path path = Files.createTempFile(tempDirectory, "run", ".sort");
+        files.add(path);
+        return new Run(path);
+    }
+
+    private static OutputStreamWrapper newWrapper(Path path) throws IOException {
+        return new OutputStreamWrapper(new BufferedOutputStream(Files.newOutputStream(path), STREAM_BUFFER_SIZE));
+    }
+
+    private static final class Run {
+        private final Path path;
+        private long count;
+
+        private Run(Path path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * The records of the run being built, with their keys
+     */
+    private final class RunBuffer {
+        private final IntList starts = new IntList();
+        private final IntList keyEnds = new IntList();
+        private final FastInputStream recordInput = new FastInputStream(new byte[0]);
+        private final InputStreamWrapper recordWrapper = new InputStreamWrapper(recordInput);
+        private final FastInputStream keyInput = new FastInputStream(new byte[0]);
+        private final InputStreamWrapper keyWrapper = new InputStreamWrapper(keyInput);
+        private FastOutputStream keys;
+        private byte[] buffer;
+        private int length;
+        private int end;
+
+        private RunBuffer(int runBytes) {
+            buffer = new byte[runBytes];
+        }
+
+        /**
+         * @return the number of bytes of the complete records of the buffer
+         */
+        private int parse() throws IOException {
+            starts.clear();
+            keyEnds.clear();
+            keys = new FastOutputStream();
+            OutputStreamWrapper keyOutput = new OutputStreamWrapper(keys);
+            recordInput.wrap(buffer, 0, length);
+            end = 0;
+            while (end < length) {
+                try {
+                    recordCodec.skip(recordWrapper);
+                } catch (BufferUnderflowException e) {
+                    //the last record continues in the next run
+                    break;
+                }
+                int next = recordInput.getPosition();
+                starts.add(end);
+                if (keyCodec != null) {
+                    keyInput.wrap(buffer, end, next - end);
+                    keyCodec.write(keyOutput, keyReader.read(keyWrapper));
+                    keyEnds.add(keys.getSize());
+                }
+                end = next;
+            }
+            return end;
+        }
+
+        private void write(OutputStreamWrapper output) throws IOException {
+            int[] order = new int[starts.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, new int[order.length], 0, order.length);
+            byte[] keyBytes = keys.getByteArray();
+            for (int index : order) {
+                if (keyCodec != null) {
+                    int keyStart = keyStart(index);
+                    output.writeVarInt(keyEnds.get(index) - keyStart);
+                    output.writeBytes(keyBytes, keyStart, keyEnds.get(index) - keyStart);
+                } else {
+                    output.writeVarInt(0);
+                }
+                int start = starts.get(index);
+                output.writeVarInt(recordEnd(index) - start);
+                output.writeBytes(buffer, start, recordEnd(index) - start);
+            }
+        }
+
+        private void compact(int consumed) {
+            System.arraycopy(buffer, consumed, buffer, 0, length - consumed);
+            length -= consumed;
+        }
+
+        /**
+         * Stable sort of record indexes by key
+         */
+        private void mergeSort(int[] order, int[] work, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            mergeSort(order, work, from, middle);
+            mergeSort(order, work, middle, to);
+            if (compare(order[middle - 1], order[middle]) <= 0) {
+                return;
+            }
+            System.arraycopy(order, from, work, from, to - from);
+            int left = from;
+            int right = middle;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < middle && compare(work[left], work[right]) <= 0)) {
+                    order[i] = work[left++];
+                } else {
+                    order[i] = work[right++];
+                }
+            }
+        }
+
+        private int compare(int first, int second) {
+            if (keyCodec == null) {
+                return Arrays.compareUnsigned(
+                        buffer, starts.get(first), recordEnd(first),
+                        buffer, starts.get(second), recordEnd(second));
+            }
+            byte[] keyBytes = keys.getByteArray();
+            return Arrays.compareUnsigned(
+                    keyBytes, keyStart(first), keyEnds.get(first),
+                    keyBytes, keyStart(second), keyEnds.get(second));
+        }
+
+        private int keyStart(int index) {
+            return index == 0 ? 0 : keyEnds.get(index - 1);
+        }
+
+        private int recordEnd(int index) {
+            return index + 1 == starts.size() ? end : starts.get(index + 1);
+        }
+    }
+
+    /**
+     * Streams the records of a sorted run, the key and record arrays are reused
+     */
+    private final class RunReader implements Comparable<RunReader> {
+        private final InputStream input;
+        private final InputStreamWrapper wrapper;
+        private final int order;
+        private long remaining;
+        private byte[] key = new byte[64];
+        private int keyLength;
+        private byte[] record = new byte[256];
+        private int recordLength;
+
+        private RunReader(Run run, int order) throws IOException {
+            input = new BufferedInputStream(Files.newInputStream(run.path), STREAM_BUFFER_SIZE);
+            wrapper = new InputStreamWrapper(input);
+            this.order = order;
+            remaining = run.count;
+        }
+
+        private boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            keyLength = wrapper.readVarInt();
+            if (key.length < keyLength) {
+                key = new byte[Math.max(keyLength, key.length << 1)];
+            }
+            readFully(key, keyLength);
+            recordLength = wrapper.readVarInt();
+            if (record.length < recordLength) {
+                record = new byte[Math.max(recordLength, record.length << 1)];
+            }
+            readFully(record, recordLength);
+            return true;
+        }
+
+        private void readFully(byte[] data, int length) throws IOException {
+            int read = 0;
+            while (read < length) {
+                int count = input.read(data, read, length - read);
+                if (count < 0) {
+                    throw new IOException("Truncated sorted run");
+                }
+                read += count;
+            }
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            int compared = keyCodec == null ?
+                    Arrays.compareUnsigned(record, 0, recordLength, other.record, 0, other.recordLength) :
+                    Arrays.compareUnsigned(key, 0, keyLength, other.key, 0, other.keyLength);
+            return compared != 0 ? compared : Integer.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.file;
+
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.collection.IntList;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.serializer.Serializer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append only log of serialized records in memory mapped segment files.
+ * <p>
+ * Each record is preceded by its length and its CRC32C checksum, on 4 bytes each.
+ * The segments are files of a fixed size, mapped and allocated when created,
+ * named after the number of their first record. A new segment is started when a record does not fit
+ * in the current one, the previous one being forced to the disk. Appending is a memory copy,
+ * the disk is only reached by {@link #flush()} and when rolling segments.
+ * <p>
+ * Records appended since the last {@link #flush()} may be lost or torn by a crash, since the mapped pages
+ * reach the disk in no particular order. Opening a log checks the records of the last segment
+ * and truncates it after the last valid one. An invalid record in a previous segment is reported.
+ * <p>
+ * The position of every {@code indexInterval}-th record of each segment is kept in a sparse index,
+ * rebuilt by scanning the segments when opening an existing log. Reading a record by number
+ * walks at most {@code indexInterval - 1} frames from the closest indexed record.
+ * The records are read straight from the mapped segments, see {@link Deserializer#newInstance(CodecCache, ByteBuffer)}.
+ * <p>
+ * The mappings are released by the garbage collector. Not thread safe.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class RecordLog implements Closeable {
+    private static final int HEADER_SIZE = 8;
+    private static final String EXTENSION = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32C checksum = new CRC32C();
+    private long size;
+
+    private RecordLog(Path directory, int segmentSize, int indexInterval) {
+        super();
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+    }
+
+    /**
+     * Opens the log of the directory, creating it if it does not exist.
+     *
+     * @param segmentSize   the size of the new segment files, the largest record and its frame must fit
+     * @param indexInterval the number of records between two indexed positions
+     * @throws IOException if the existing segments could not be read, or a segment other than the last one
+     *                     contains an invalid record
+     */
+    public static RecordLog open(Path directory, int segmentSize, int indexInterval) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid segment size " + segmentSize);
+        }
+        if (indexInterval <= 0) {
+            throw new IllegalArgumentException("Invalid index interval " + indexInterval);
+        }
+        Files.createDirectories(directory);
+        RecordLog log = new RecordLog(directory, segmentSize, indexInterval);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        //the names are zero padded record numbers
+        files.sort(null);
+        for (int i = 0; i < files.size(); i++) {
+            log.load(files.get(i), i == files.size() - 1);
+        }
+        return log;
+    }
+
+    /**
+     * @return the record number of the data of this serializer
+     * @throws IOException if the record is empty or larger than a segment, or the segment could not be created
+     */
+    public long append(Serializer serializer) throws IOException {
+        return append(serializer.getByteArray(), 0, serializer.currentSize());
+    }
+
+    /**
+     * @return the record number of these bytes
+     * @throws IOException if the record is empty or larger than a segment, or the segment could not be created
+     */
+    public long append(byte[] data, int offset, int length) throws IOException {
+        if (length <= 0) {
+            throw new IOException("Empty records can not be appended");
+        }
+        if (HEADER_SIZE + length > segmentSize) {
+            throw new IOException("A record of " + length + " bytes does not fit in segments of " + segmentSize + " bytes");
+        }
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.end + HEADER_SIZE + length > segment.buffer.capacity()) {
+            if (segment != null) {
+                segment.buffer.force();
+            }
+            segment = newSegment();
+        }
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(segment.end + HEADER_SIZE);
+        buffer.put(data, offset, length);
+        checksum.reset();
+        checksum.update(data, offset, length);
+        buffer.putInt(segment.end + 4, (int) checksum.getValue());
+        buffer.putInt(segment.end, length);
+        segment.add(length);
+        return size++;
+    }
+
+    /**
+     * @return the number of records
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return a read only view of the record, without copy
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public ByteBuffer record(long number) {
+        if (number < 0 || number >= size) {
+            throw new IndexOutOfBoundsException("Record: " + number + ", size: " + size);
+        }
+        Segment segment = segmentOf(number);
+        int skipped = (int) (number - segment.first);
+        int position = segment.index.get(skipped / indexInterval);
+        for (int i = 0; i < skipped % indexInterval; i++) {
+            position += HEADER_SIZE + segment.buffer.getInt(position);
+        }
+        return segment.slice(position);
+    }
+
+    /**
+     * @return a deserializer reading the record from the mapped segment
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public Deserializer read(long number, CodecCache codecCache) {
+        return Deserializer.newInstance(codecCache, record(number));
+    }
+
+    /**
+     * @param from the number of the first record to read
+     * @return a cursor reading the records sequentially, including the ones appended after its creation
+     */
+    public Cursor cursor(long from) {
+        return new Cursor(from);
+    }
+
+    /**
+     * Forces the last segment to the disk, the previous ones were forced when rolling
+     */
+    public void flush() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        segments.clear();
+        size = 0;
+    }
+
+    /**
+     * Reads the records sequentially without looking up the index
+     */
+    public final class Cursor {
+        private long next;
+        private Segment segment;
+        private int position;
+
+        private Cursor(long next) {
+            this.next = next;
+        }
+
+        /**
+         * @return the number of the record returned by the next call to {@link #next()}
+         */
+        public long position() {
+            return next;
+        }
+
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        /**
+         * @return a read only view of the next record, without copy
+         * @throws IndexOutOfBoundsException if there are no more records
+         */
+        public ByteBuffer next() {
+            if (segment == null || next < segment.first || next >= segment.first + segment.count) {
+                if (segment != null && next == segment.first + segment.count && next < size) {
+                    segment = segments.get(segments.indexOf(segment) + 1);
+                    position = 0;
+                } else {
+                    ByteBuffer record = record(next);
+                    segment = segmentOf(next);
+                    position = record.position() - HEADER_SIZE;
+                }
+            }
+            ByteBuffer record = segment.slice(position);
+            position += HEADER_SIZE + record.remaining();
+            next++;
+            return record;
+        }
+
+        /**
+         * @return a deserializer reading the next record from the mapped segment
+         * @throws IndexOutOfBoundsException if there are no more records
+         */
+        public Deserializer next(CodecCache codecCache) {
+            return Deserializer.newInstance(codecCache, next());
+        }
+    }
+
+    private Segment segmentOf(long number) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).first <= number) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    private Segment newSegment() throws IOException {
+        Path file = directory.resolve(String.format("%020d", size) + EXTENSION);
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            Segment segment = new Segment(size, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            segments.add(segment);
+            return segment;
+        }
+    }
+
+    /**
+     * @param last whether the segment is truncated after its last valid record instead of reporting invalid ones
+     */
+    private void load(Path file, boolean last) throws IOException {
+        long first = Long.parseLong(file.getFileName().toString().replace(EXTENSION, ""));
+        if (first != size) {
+            throw new IOException("Missing records before " + file);
+        }
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            Segment segment = new Segment(first, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            int capacity = segment.buffer.capacity();
+            while (segment.end + HEADER_SIZE <= capacity) {
+                int length = segment.buffer.getInt(segment.end);
+                if (length == 0) {
+                    break;
+                }
+                if (!isValid(segment, length)) {
+                    if (!last) {
+                        throw new IOException("Invalid record at " + segment.end + " of " + file);
+                    }
+                    break;
+                }
+                segment.add(length);
+            }
+            if (last) {
+                //torn data may follow a zero length as well
+                truncate(segment);
+            }
+            segments.add(segment);
+            size += segment.count;
+        }
+    }
+
+    private boolean isValid(Segment segment, int length) {
+        if (length < 0 || length > segment.buffer.capacity() - segment.end - HEADER_SIZE) {
+            return false;
+        }
+        checksum.reset();
+        checksum.update(segment.slice(segment.end));
+        return (int) checksum.getValue() == segment.buffer.getInt(segment.end + 4);
+    }
+
+    /**
+     * Clears the segment after its last valid record so the torn data is never read again
+     */
+    private static void truncate(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(segment.end);
+        byte[] zeros = new byte[Math.min(buffer.remaining(), 4096)];
+        while (buffer.hasRemaining()) {
+            buffer.put(zeros, 0, Math.min(zeros.length, buffer.remaining()));
+        }
+        segment.buffer.force();
+    }
+
+    private final class Segment {
+        private final long first;
+        private final MappedByteBuffer buffer;
+        /**
+         * Positions of the records first + k * indexInterval
+         */
+        private final IntList index = new IntList();
+        private int count;
+        private int end;
+
+        private Segment(long first, MappedByteBuffer buffer) {
+            this.first = first;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Records the frame just written at the end of the segment
+         */
+        private void add(int length) {
+            if (count % indexInterval == 0) {
+                index.add(end);
+            }
+            count++;
+            end += HEADER_SIZE + length;
+        }
+
+        /**
+         * @param position the position of a frame
+         */
+        private ByteBuffer slice(int position) {
+            ByteBuffer record = buffer.asReadOnlyBuffer();
+            record.limit(position + HEADER_SIZE + buffer.getInt(position));
+            record.position(position + HEADER_SIZE);
+            return record;
+        }
+    }
+}
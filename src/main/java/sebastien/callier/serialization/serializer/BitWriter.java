@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.serializer;
+
+import java.io.IOException;
+
+/**
+ * Writes individual bits on top of an {@link OutputStreamWrapper}, most significant bit first.
+ * The pending bits are only written once {@link #flush()} is called, padded with zeros up to the next byte.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class BitWriter {
+    private final byte[] bytes = new byte[256];
+    private final OutputStreamWrapper wrapper;
+
+    private int position;
+    /**
+     * Pending bits, aligned on the most significant bit
+     */
+    private long buffer;
+    private int count;
+
+    public BitWriter(OutputStreamWrapper wrapper) {
+        this.wrapper = wrapper;
+    }
+
+    /**
+     * @param bit the bit to write
+     * @throws IOException
+     */
+    public void writeBit(boolean bit) throws IOException {
+        if (bit) {
+            buffer |= 1L << (63 - count);
+        }
+        if (++count == 64) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes the length least significant bits of value
+     *
+     * @param value  the bits to write
+     * @param length the number of bits, from 0 to 64
+     * @throws IOException
+     */
+    public void writeBits(long value, int length) throws IOException {
+        while (length > 0) {
+            int free = 64 - count;
+            int chunk = Math.min(free, length);
+            long bits = (value >>> (length - chunk)) & mask(chunk);
+            buffer |= bits << (free - chunk);
+            count += chunk;
+            length -= chunk;
+            if (count == 64) {
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Writes all the pending bits to the wrapper, the last byte is padded with zeros.
+     *
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        int pending = (count + 7) >>> 3;
+        for (int i = 0; i < pending; i++) {
+            bytes[position++] = (byte) (buffer >>> (56 - (i << 3)));
+        }
+        buffer = 0;
+        count = 0;
+        wrapper.writeBytes(bytes, position);
+        position = 0;
+    }
+
+    private void drain() throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[position++] = (byte) (buffer >>> shift);
+        }
+        buffer = 0;
+        count = 0;
+        //always keep room for the 8 bytes of the next drain or flush
+        if (position == bytes.length) {
+            wrapper.writeBytes(bytes, position);
+            position = 0;
+        }
+    }
+
+    private static long mask(int length) {
+        return length == 64 ? -1L : (1L << length) - 1;
+    }
+}
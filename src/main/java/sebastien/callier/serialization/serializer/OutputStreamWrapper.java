@@ -19,6 +19,13 @@ package sebastien.callier.serialization.serializer;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 
 /**
  * Wraps output stream to hide byte operators from sensitive eyes.
@@ -27,7 +34,13 @@ import java.io.OutputStream;
  * @since 2017
  */
 public final class OutputStreamWrapper implements Closeable {
-    private final byte[] cached = new byte[9];
+    private final static int BULK_SIZE = 8192;
+
+    private final byte[] cached = new byte[10];
+    /**
+     * Lazily allocated, only used by the bulk array writes
+     */
+    private ByteBuffer bulk;
 
     private final OutputStream out;
 
@@ -53,6 +66,10 @@ public final class OutputStreamWrapper implements Closeable {
         out.write(value, 0, length);
     }
 
+    public void writeBytes(byte[] value, int offset, int length) throws IOException {
+        out.write(value, offset, length);
+    }
+
     /**
      * Writes two bytes in the output stream
      *
@@ -185,6 +202,189 @@ public final class OutputStreamWrapper implements Closeable {
         out.write(cached, 0, 9);
     }
 
+    /**
+     * Writes all the 4 bytes of an integer in the output stream, without leading byte
+     *
+     * @param value the integer
+     * @throws IOException
+     */
+    public void write4(int value) throws IOException {
+        cached[0] = (byte) ((value >>> 24) & 0xFF);
+        cached[1] = (byte) ((value >>> 16) & 0xFF);
+        cached[2] = (byte) ((value >>> 8) & 0xFF);
+        cached[3] = (byte) (value & 0xFF);
+        out.write(cached, 0, 4);
+    }
+
+    /**
+     * Writes all the 8 bytes of a long in the output stream, without leading byte
+     *
+     * @param value the long
+     * @throws IOException
+     */
+    public void write8(long value) throws IOException {
+        cached[0] = (byte) ((value >>> 56) & 0xFF);
+        cached[1] = (byte) ((value >>> 48) & 0xFF);
+        cached[2] = (byte) ((value >>> 40) & 0xFF);
+        cached[3] = (byte) ((value >>> 32) & 0xFF);
+        cached[4] = (byte) ((value >>> 24) & 0xFF);
+        cached[5] = (byte) ((value >>> 16) & 0xFF);
+        cached[6] = (byte) ((value >>> 8) & 0xFF);
+        cached[7] = (byte) (value & 0xFF);
+        out.write(cached, 0, 8);
+    }
+
+    /**
+     * Writes a zig-zag encoded variable length integer: 7 bits per byte, from 1 to 5 bytes.
+     * Values with a small absolute value use fewer bytes.
+     *
+     * @param value the integer
+     * @throws IOException
+     */
+    public void writeVarInt(int value) throws IOException {
+        int zigZag = (value << 1) ^ (value >> 31);
+        int length = 0;
+        while ((zigZag & ~0x7F) != 0) {
+            cached[length++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        cached[length++] = (byte) zigZag;
+        out.write(cached, 0, length);
+    }
+
+    /**
+     * Writes a zig-zag encoded variable length long: 7 bits per byte, from 1 to 10 bytes.
+     * Values with a small absolute value use fewer bytes.
+     *
+     * @param value the long
+     * @throws IOException
+     */
+    public void writeVarLong(long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        int length = 0;
+        while ((zigZag & ~0x7FL) != 0) {
+            cached[length++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        cached[length++] = (byte) zigZag;
+        out.write(cached, 0, length);
+    }
+
+    /**
+     * Writes all the shorts of the array with a fixed width of Short.BYTES bytes each, in bulk.
+     *
+     * @param values the shorts to write
+     * @throws IOException
+     */
+    public void writeShorts(short[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        ShortBuffer view = buffer.asShortBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            view.clear();
+            view.put(values, from, length);
+            out.write(buffer.array(), 0, length * Short.BYTES);
+        }
+    }
+
+    /**
+     * Writes all the chars of the array with a fixed width of Character.BYTES bytes each, in bulk.
+     *
+     * @param values the chars to write
+     * @throws IOException
+     */
+    public void writeChars(char[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        CharBuffer view = buffer.asCharBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            view.clear();
+            view.put(values, from, length);
+            out.write(buffer.array(), 0, length * Character.BYTES);
+        }
+    }
+
+    /**
+     * Writes all the ints of the array with a fixed width of Integer.BYTES bytes each, in bulk.
+     *
+     * @param values the ints to write
+     * @throws IOException
+     */
+    public void writeInts(int[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        IntBuffer view = buffer.asIntBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            view.clear();
+            view.put(values, from, length);
+            out.write(buffer.array(), 0, length * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Writes all the longs of the array with a fixed width of Long.BYTES bytes each, in bulk.
+     *
+     * @param values the longs to write
+     * @throws IOException
+     */
+    public void writeLongs(long[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        LongBuffer view = buffer.asLongBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            view.clear();
+            view.put(values, from, length);
+            out.write(buffer.array(), 0, length * Long.BYTES);
+        }
+    }
+
+    /**
+     * Writes all the floats of the array with a fixed width of Float.BYTES bytes each, in bulk.
+     *
+     * @param values the floats to write
+     * @throws IOException
+     */
+    public void writeFloats(float[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        FloatBuffer view = buffer.asFloatBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            view.clear();
+            view.put(values, from, length);
+            out.write(buffer.array(), 0, length * Float.BYTES);
+        }
+    }
+
+    /**
+     * Writes all the doubles of the array with a fixed width of Double.BYTES bytes each, in bulk.
+     *
+     * @param values the doubles to write
+     * @throws IOException
+     */
+    public void writeDoubles(double[] values) throws IOException {
+        ByteBuffer buffer = bulkBuffer();
+        DoubleBuffer view = buffer.asDoubleBuffer();
+        int chunk = view.capacity();
+        for (int from = 0; from < values.length; from += chunk) {
+            int length = Math.min(chunk, values.length - from);
+            view.clear();
+            view.put(values, from, length);
+            out.write(buffer.array(), 0, length * Double.BYTES);
+        }
+    }
+
+    private ByteBuffer bulkBuffer() {
+        if (bulk == null) {
+            bulk = ByteBuffer.allocate(BULK_SIZE);
+        }
+        return bulk;
+    }
+
     @Override
     public void close() throws IOException {
         out.close();
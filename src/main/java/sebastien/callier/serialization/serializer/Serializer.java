@@ -18,22 +18,40 @@ package sebastien.callier.serialization.serializer;
 
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.DeltaCodec;
+import sebastien.callier.serialization.compression.BlockCompressor;
+import sebastien.callier.serialization.compression.CompressionPolicy;
 import sebastien.callier.serialization.exceptions.MissingCodecException;
 import sebastien.callier.serialization.stream.FastOutputStream;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * @author Sebastien Callier
  * @since 2017
  */
 public class Serializer implements Closeable {
+    private static final ThreadLocal<BlockCompressor> COMPRESSORS = ThreadLocal.withInitial(BlockCompressor::new);
+
     private final OutputStreamWrapper wrapper;
     private final FastOutputStream out;
 
     private final CodecCache codecCache;
+    /**
+     * Only set when created by an adaptive {@link SerializerFactory}
+     */
+    private SizeHistogram histogram;
+    private boolean compressOnClose;
+    private CompressionPolicy policy;
+    private Class messageType;
+    /**
+     * Replaces the content of out once closed when compressing
+     */
+    private byte[] compressed;
+    private int compressedSize;
 
     public Serializer(CodecCache codecCache) {
         this.codecCache = codecCache;
@@ -49,6 +67,48 @@ public class Serializer implements Closeable {
         this.wrapper = new OutputStreamWrapper(out);
     }
 
+    Serializer(
+            CodecCache codecCache,
+            SizeHistogram histogram) {
+        this(codecCache, histogram.estimate());
+        this.histogram = histogram;
+    }
+
+    /**
+     * The data will be compressed with a {@link BlockCompressor} when this serializer is closed,
+     * the accessors return the compressed data from then on.
+     * It can be read back by a {@link sebastien.callier.serialization.deserializer.DeserializerFactory}
+     * with compression enabled.
+     *
+     * @return this serializer
+     */
+    public Serializer compressOnClose() {
+        compressOnClose = true;
+        return this;
+    }
+
+    /**
+     * The data will be prefixed by a header byte and compressed with a {@link BlockCompressor}
+     * when this serializer is closed if the policy decides it is worth it.
+     * It can be read back by a {@link sebastien.callier.serialization.deserializer.DeserializerFactory}
+     * with adaptive compression enabled.
+     *
+     * @param messageType the type used by the policy to track the compression ratios, can be null
+     * @return this serializer
+     * @throws IllegalStateException if some data was already written
+     */
+    public Serializer compressAdaptively(
+            CompressionPolicy policy,
+            Class messageType) {
+        if (out.getSize() != 0) {
+            throw new IllegalStateException("The compression policy must be set before writing.");
+        }
+        this.policy = policy;
+        this.messageType = messageType;
+        out.write(CompressionPolicy.RAW);
+        return this;
+    }
+
     public <T> void append(T value) throws IOException {
         Codec<T> codec = codecCache.codecFor(value);
         if (codec == null) {
@@ -61,9 +121,68 @@ public class Serializer implements Closeable {
         codec.write(wrapper, value);
     }
 
+    /**
+     * Appends only the changes from previous to current, see {@link DeltaCodec#writeDelta}
+     */
+    public <T> void appendDelta(T previous, T current, DeltaCodec<T> codec) throws IOException {
+        codec.writeDelta(wrapper, previous, current);
+    }
+
+    /**
+     * Same as {@link #append(Object)} but the buffer grows once to the exact required size
+     * when the codec is able to compute it (see {@link Codec#sizeOf(Object)}).
+     * For large values, it avoids the successive copies of the buffer doubling its size.
+     */
+    public <T> void appendPresized(T value) throws IOException {
+        Codec<T> codec = codecCache.codecFor(value);
+        if (codec == null) {
+            throw new MissingCodecException(value.getClass());
+        }
+        appendPresized(value, codec);
+    }
+
+    /**
+     * Same as {@link #append(Object, Codec)} but the buffer grows once to the exact required size
+     * when the codec is able to compute it (see {@link Codec#sizeOf(Object)}).
+     * For large values, it avoids the successive copies of the buffer doubling its size.
+     */
+    public <T> void appendPresized(T value, Codec<T> codec) throws IOException {
+        int size = codec.sizeOf(value);
+        if (size > 0) {
+            out.ensureCapacity(out.getSize() + size);
+        }
+        codec.write(wrapper, value);
+    }
+
     @Override
     public void close() throws IOException {
         wrapper.close();
+        if (histogram != null) {
+            histogram.record(out.getSize());
+            histogram = null;
+        }
+        if (policy != null) {
+            compressIfWorthIt();
+        } else if (compressOnClose && compressed == null) {
+            compressed = new byte[BlockCompressor.maxCompressedLength(out.getSize())];
+            compressedSize = COMPRESSORS.get().compress(out.getByteArray(), 0, out.getSize(), compressed, 0);
+        }
+    }
+
+    private void compressIfWorthIt() {
+        byte[] data = out.getByteArray();
+        int length = out.getSize() - 1;
+        if (compressed != null || !policy.shouldCompress(messageType, data, 1, length)) {
+            return;
+        }
+        byte[] frame = new byte[1 + BlockCompressor.maxCompressedLength(length)];
+        int frameSize = 1 + COMPRESSORS.get().compress(data, 1, length, frame, 1);
+        policy.record(messageType, length, frameSize - 1);
+        if (frameSize < out.getSize()) {
+            frame[0] = CompressionPolicy.COMPRESSED;
+            compressed = frame;
+            compressedSize = frameSize;
+        }
     }
 
     /**
@@ -75,7 +194,7 @@ public class Serializer implements Closeable {
      * @return the data written so far
      */
     public byte[] getByteArray() throws IOException {
-        return out.getByteArray();
+        return compressed == null ? out.getByteArray() : compressed;
     }
 
     /**
@@ -85,7 +204,7 @@ public class Serializer implements Closeable {
      * @return the data written so far
      */
     public byte[] asByteArray() throws IOException {
-        return out.asByteArray();
+        return compressed == null ? out.asByteArray() : Arrays.copyOf(compressed, compressedSize);
     }
 
     /**
@@ -95,6 +214,9 @@ public class Serializer implements Closeable {
      * @return the data written so far
      */
     public ByteBuffer asByteBuffer() {
+        if (compressed != null) {
+            return ByteBuffer.wrap(compressed, 0, compressedSize);
+        }
         return ByteBuffer.wrap(out.getByteArray(), 0, out.getSize());
     }
 
@@ -102,6 +224,6 @@ public class Serializer implements Closeable {
      * @return the current size of the serialized data.
      */
     public int currentSize() {
-        return out.getSize();
+        return compressed == null ? out.getSize() : compressedSize;
     }
 }
@@ -17,24 +17,128 @@
 package sebastien.callier.serialization.serializer;
 
 import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.compression.CompressionPolicy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Sebastien Callier
  * @since 2017
  */
 public class SerializerFactory {
+    private final static int INITIAL_SIZE = 64;
+
     private final CodecCache codecCache;
+    private final double percentile;
+    private final int decayInterval;
+    private final SizeHistogram histogram;
+    private final Map<Class, SizeHistogram> histograms;
+    private final boolean compressed;
+    private final CompressionPolicy policy;
 
     public SerializerFactory(CodecCache codecCache) {
         super();
         this.codecCache = codecCache;
+        this.percentile = 0;
+        this.decayInterval = 0;
+        this.histogram = null;
+        this.histograms = null;
+        this.compressed = false;
+        this.policy = null;
+    }
+
+    /**
+     * Adaptive factory: the initial size of the new serializers follows the sizes of the previous ones.
+     * The size of a serializer is recorded when it is closed.
+     * Most messages will fit in their first buffer while the outliers will grow as usual.
+     *
+     * @param percentile    the percentile of the previous sizes to use, between 0 (excluded) and 1
+     * @param decayInterval the number of serializers closed before the weight of the previous sizes is halved
+     */
+    public SerializerFactory(
+            CodecCache codecCache,
+            double percentile,
+            int decayInterval) {
+        super();
+        this.codecCache = codecCache;
+        this.percentile = percentile;
+        this.decayInterval = decayInterval;
+        this.histogram = new SizeHistogram(percentile, decayInterval, INITIAL_SIZE);
+        this.histograms = new ConcurrentHashMap<>();
+        this.compressed = false;
+        this.policy = null;
+    }
+
+    private SerializerFactory(
+            SerializerFactory factory,
+            boolean compressed,
+            CompressionPolicy policy) {
+        super();
+        this.codecCache = factory.codecCache;
+        this.percentile = factory.percentile;
+        this.decayInterval = factory.decayInterval;
+        this.histogram = factory.histogram;
+        this.histograms = factory.histograms;
+        this.compressed = compressed;
+        this.policy = policy;
+    }
+
+    /**
+     * @return a factory sharing the configuration of this one
+     * but creating serializers compressing their data when closed, see {@link Serializer#compressOnClose()}
+     */
+    public SerializerFactory withCompression() {
+        return new SerializerFactory(this, true, null);
+    }
+
+    /**
+     * @return a factory sharing the configuration of this one but creating serializers
+     * compressing their data when the policy decides it is worth it,
+     * see {@link Serializer#compressAdaptively(CompressionPolicy, Class)}.
+     * The root classes given to {@link #newSerializer(Class)} are used as message types.
+     */
+    public SerializerFactory withAdaptiveCompression(CompressionPolicy policy) {
+        return new SerializerFactory(this, false, policy);
     }
 
     public Serializer newSerializer() {
-        return new Serializer(codecCache);
+        if (histogram != null) {
+            return configure(new Serializer(codecCache, histogram));
+        }
+        return configure(new Serializer(codecCache));
     }
 
     public Serializer newSerializer(int initialSize) {
-        return new Serializer(codecCache, initialSize);
+        return configure(new Serializer(codecCache, initialSize));
+    }
+
+    /**
+     * For adaptive factories, the sizes are tracked separately for each root class.
+     * Otherwise same as {@link #newSerializer()}.
+     *
+     * @param rootClass the class of the main object to serialize
+     */
+    public Serializer newSerializer(Class rootClass) {
+        if (histograms != null) {
+            return configure(new Serializer(
+                    codecCache,
+                    histograms.computeIfAbsent(
+                            rootClass,
+                            clazz -> new SizeHistogram(percentile, decayInterval, INITIAL_SIZE))),
+                    rootClass);
+        }
+        return configure(new Serializer(codecCache), rootClass);
+    }
+
+    private Serializer configure(Serializer serializer) {
+        return configure(serializer, null);
+    }
+
+    private Serializer configure(Serializer serializer, Class rootClass) {
+        if (policy != null) {
+            return serializer.compressAdaptively(policy, rootClass);
+        }
+        return compressed ? serializer.compressOnClose() : serializer;
     }
 }
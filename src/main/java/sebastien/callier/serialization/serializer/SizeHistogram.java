@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.serializer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decaying histogram of the serialized sizes, bucketed by power of two.
+ * All the counts are halved every decayInterval recorded sizes so old messages slowly stop mattering.
+ * Thread safe, concurrent updates may be slightly approximate.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+final class SizeHistogram {
+    private final static int BUCKETS = 31;
+    private final static int REFRESH_INTERVAL = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final double percentile;
+    private final int decayInterval;
+
+    private volatile int estimate;
+
+    /**
+     * @param percentile    the percentile of the recorded sizes to estimate, between 0 (excluded) and 1
+     * @param decayInterval the number of sizes to record before halving all the counts
+     * @param initialSize   the estimate until enough sizes have been recorded
+     */
+    SizeHistogram(
+            double percentile,
+            int decayInterval,
+            int initialSize) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("The percentile must be in ]0, 1], got " + percentile);
+        }
+        if (decayInterval < REFRESH_INTERVAL) {
+            throw new IllegalArgumentException("The decay interval must be at least " + REFRESH_INTERVAL);
+        }
+        this.percentile = percentile;
+        this.decayInterval = decayInterval;
+        this.estimate = initialSize;
+    }
+
+    void record(int size) {
+        counts.incrementAndGet(bucket(size));
+        int count = recorded.incrementAndGet();
+        if (count % decayInterval == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long current = counts.get(i);
+                counts.addAndGet(i, -(current >>> 1));
+            }
+        }
+        if (count % REFRESH_INTERVAL == 0) {
+            estimate = computeEstimate();
+        }
+    }
+
+    /**
+     * @return the smallest power of two larger than the chosen percentile of the recorded sizes
+     */
+    int estimate() {
+        return estimate;
+    }
+
+    private int computeEstimate() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += counts.get(i);
+            if (cumulated >= target) {
+                return 1 << i;
+            }
+        }
+        return 1 << (BUCKETS - 1);
+    }
+
+    private static int bucket(int size) {
+        if (size <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(size - 1));
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.store;
+
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.collection.IntList;
+import sebastien.callier.serialization.collection.LongLongMap;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.stream.FastInputStream;
+import sebastien.callier.serialization.stream.FastOutputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores serialized objects outside of the heap, keyed by long ids, and decodes them on demand.
+ * <p>
+ * The records are appended to slabs of a fixed size, either direct buffers or memory mapped files,
+ * preceded by their length on 4 bytes. The heap only holds a {@link LongLongMap} from ids to
+ * the slab and offset of their record, so the garbage collector never scans the stored objects.
+ * Replaced and removed records leave dead space, {@link #compact()} moves the live records of the
+ * sparsest slabs to the last one and recycles them.
+ * <p>
+ * Any number of threads may call {@link #get(long, Codec)}, {@link #contains(long)} and {@link #size()}
+ * concurrently, the other methods must be called by a single writer thread at a time.
+ * The records are encoded and copied outside of the lock, readers only wait while the index is updated.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class OffHeapStore implements Closeable {
+    private static final int HEADER_SIZE = 4;
+    private static final ThreadLocal<Reader> READERS = ThreadLocal.withInitial(Reader::new);
+
+    private final int slabSize;
+    /**
+     * Where the slab files are mapped, null for direct buffers
+     */
+    private final Path directory;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongMap index;
+    /**
+     * Indexed by the slab part of the locations, null for the recycled slabs
+     */
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final IntList liveBytes = new IntList();
+    private final ArrayDeque<ByteBuffer> recycled = new ArrayDeque<>();
+    private final List<Path> files = new ArrayList<>();
+
+    private final FastOutputStream out = new FastOutputStream();
+    private final OutputStreamWrapper wrapper = new OutputStreamWrapper(out);
+    private int tail = -1;
+    private int tailPosition;
+    private long deadBytes;
+
+    private OffHeapStore(int slabSize, Path directory, int expectedSize) {
+        super();
+        if (slabSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid slab size " + slabSize);
+        }
+        this.slabSize = slabSize;
+        this.directory = directory;
+        index = new LongLongMap(expectedSize);
+    }
+
+    /**
+     * @param slabSize     the size of the direct buffers holding the records, the largest record must fit
+     * @param expectedSize the expected number of ids
+     */
+    public static OffHeapStore direct(int slabSize, int expectedSize) {
+        return new OffHeapStore(slabSize, null, expectedSize);
+    }
+
+    /**
+     * Same as {@link #direct(int, int)}, the slabs being files of the directory mapped in memory.
+     * The files are only a backing for the memory, they are deleted by {@link #close()}.
+     */
+    public static OffHeapStore mapped(Path directory, int slabSize, int expectedSize) {
+        return new OffHeapStore(slabSize, directory, expectedSize);
+    }
+
+    /**
+     * Replaces the previous record of this id if any
+     *
+     * @throws IOException if the value could not be serialized or does not fit in a slab
+     */
+    public <T> void put(long id, T value, Codec<T> codec) throws IOException {
+        out.reset();
+        codec.write(wrapper, value);
+        long location = append(ByteBuffer.wrap(out.getByteArray(), 0, out.getSize()));
+        long previous = index.getOrDefault(id, -1);
+        lock.writeLock().lock();
+        try {
+            index.put(id, location);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (previous >= 0) {
+            release(previous);
+        }
+    }
+
+    /**
+     * @return the decoded value, or null if the id is missing
+     * @throws IOException if the record could not be decoded by this codec
+     */
+    public <T> T get(long id, Codec<T> codec) throws IOException {
+        Reader reader = READERS.get();
+        int length;
+        lock.readLock().lock();
+        try {
+            long location = index.getOrDefault(id, -1);
+            if (location < 0) {
+                return null;
+            }
+            ByteBuffer slab = slabs.get(slabOf(location)).duplicate();
+            int offset = offsetOf(location);
+            length = slab.getInt(offset);
+            if (reader.bytes.length < length) {
+                reader.bytes = new byte[Math.max(length, reader.bytes.length << 1)];
+            }
+            slab.position(offset + HEADER_SIZE);
+            slab.get(reader.bytes, 0, length);
+        } finally {
+            lock.readLock().unlock();
+        }
+        reader.input.wrap(reader.bytes, 0, length);
+        return codec.read(reader.wrapper);
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if the id was present
+     */
+    public boolean remove(long id) {
+        long location = index.getOrDefault(id, -1);
+        if (location < 0) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        release(location);
+        return true;
+    }
+
+    /**
+     * @return the number of bytes of the slabs in use, including dead space
+     */
+    public long allocatedBytes() {
+        return (long) (slabs.size() - recycled.size()) * slabSize;
+    }
+
+    /**
+     * @return the number of bytes of replaced or removed records not yet compacted
+     */
+    public long deadBytes() {
+        return deadBytes;
+    }
+
+    /**
+     * Moves the live records of the slabs at most half full, except the last one, to the last slab
+     * and recycles them. Readers keep reading the previous copies until the index is updated.
+     *
+     * @return the number of slabs recycled
+     * @throws IOException if the slabs could not be allocated
+     */
+    public int compact() throws IOException {
+        boolean[] sparse = new boolean[slabs.size()];
+        int count = 0;
+        for (int i = 0; i < sparse.length; i++) {
+            if (i != tail && slabs.get(i) != null && liveBytes.get(i) <= slabSize / 2) {
+                sparse[i] = true;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        LongLongMap moved = new LongLongMap();
+        for (int slot = index.nextSlot(-1); slot >= 0; slot = index.nextSlot(slot)) {
+            long location = index.valueAt(slot);
+            int slab = slabOf(location);
+            if (slab < sparse.length && sparse[slab]) {
+                ByteBuffer record = slabs.get(slab).duplicate();
+                int offset = offsetOf(location);
+                record.limit(offset + HEADER_SIZE + record.getInt(offset));
+                record.position(offset + HEADER_SIZE);
+                moved.put(index.keyAt(slot), append(record));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (int slot = moved.nextSlot(-1); slot >= 0; slot = moved.nextSlot(slot)) {
+                index.put(moved.keyAt(slot), moved.valueAt(slot));
+            }
+            for (int i = 0; i < sparse.length; i++) {
+                if (sparse[i]) {
+                    recycled.add(slabs.set(i, null));
+                    deadBytes -= slabSize - liveBytes.set(i, 0);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return count;
+    }
+
+    /**
+     * Removes all the records and deletes the slab files
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            slabs.clear();
+            liveBytes.clear();
+            recycled.clear();
+            tail = -1;
+            deadBytes = 0;
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            files.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the record to the last slab, allocating a new one when it is full
+     *
+     * @param record the bytes to copy, from its position to its limit
+     * @return the location of the record
+     */
+    private long append(ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        int required = HEADER_SIZE + length;
+        if (required > slabSize) {
+            throw new IOException("A record of " + length + " bytes does not fit in slabs of " + slabSize + " bytes");
+        }
+        if (tail < 0 || tailPosition + required > slabSize) {
+            newTail();
+        }
+        ByteBuffer slab = slabs.get(tail).duplicate();
+        slab.putInt(tailPosition, length);
+        slab.position(tailPosition + HEADER_SIZE);
+        slab.put(record);
+        long location = ((long) tail << 32) | tailPosition;
+        tailPosition += required;
+        liveBytes.set(tail, liveBytes.get(tail) + required);
+        return location;
+    }
+
+    private void newTail() throws IOException {
+        if (tail >= 0) {
+            //the end of the previous slab will never be used
+            deadBytes += slabSize - tailPosition;
+        }
+        ByteBuffer slab = recycled.isEmpty() ? allocate() : recycled.poll();
+        lock.writeLock().lock();
+        try {
+            tail = slabs.indexOf(null);
+            if (tail < 0) {
+                tail = slabs.size();
+                slabs.add(slab);
+                liveBytes.add(0);
+            } else {
+                slabs.set(tail, slab);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        tailPosition = 0;
+    }
+
+    private ByteBuffer allocate() throws IOException {
+        if (directory == null) {
+            return ByteBuffer.allocateDirect(slabSize);
+        }
+        Path file = Files.createTempFile(directory, "slab", ".bin");
+        files.add(file);
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            //the mapping stays valid once the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, slabSize);
+        }
+    }
+
+    private void release(long location) {
+        int slab = slabOf(location);
+        int size = HEADER_SIZE + slabs.get(slab).getInt(offsetOf(location));
+        liveBytes.set(slab, liveBytes.get(slab) - size);
+        deadBytes += size;
+    }
+
+    private static int slabOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    private static final class Reader {
+        private final FastInputStream input = new FastInputStream(new byte[0]);
+        private final InputStreamWrapper wrapper = new InputStreamWrapper(input);
+        private byte[] bytes = new byte[256];
+    }
+}
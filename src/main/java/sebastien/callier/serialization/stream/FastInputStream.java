@@ -47,6 +47,20 @@ public final class FastInputStream extends InputStream {
         this.byteCount = Math.min(offset + length, bytes.length);
     }
 
+    /**
+     * Points this stream to new data without allocating
+     */
+    public void wrap(
+            byte bytes[],
+            int offset,
+            int length) {
+        this.bytes = bytes;
+        this.byteOffset = offset;
+        this.position = offset;
+        this.mark = offset;
+        this.byteCount = Math.min(offset + length, bytes.length);
+    }
+
     @Override
     public int read() {
         return (position < byteCount) ? (bytes[position++] & 0xFF) : -1;
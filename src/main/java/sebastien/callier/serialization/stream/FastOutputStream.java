@@ -86,6 +86,25 @@ public final class FastOutputStream extends OutputStream {
         //nothing to do
     }
 
+    /**
+     * Discards the data written so far, keeping the backing array
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Grows the backing array to exactly capacity bytes if it is smaller.
+     * Unlike the automatic growth, the array is not doubled.
+     *
+     * @param capacity minimum size of the backing array
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, capacity);
+        }
+    }
+
     /**
      * Grows the backing array to at least requiredSize.
      *
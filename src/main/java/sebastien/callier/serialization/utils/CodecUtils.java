@@ -21,6 +21,8 @@ import sebastien.callier.serialization.deserializer.InputStreamWrapper;
 import sebastien.callier.serialization.serializer.OutputStreamWrapper;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author Sebastien Callier
@@ -80,6 +82,107 @@ public final class CodecUtils {
         }
     }
 
+    /**
+     * @param size the size to write
+     * @return the number of bytes used by {@link #writeSize(OutputStreamWrapper, int, byte)}
+     */
+    public static int sizeOfSize(int size) {
+        if (size < 65772) {
+            return size < 256 ? 2 : 3;
+        }
+        return size < 16842988 ? 4 : 5;
+    }
+
+    /**
+     * @param value the value to write
+     * @return the minimum number of bytes (1 to 8) holding the value once sign extended
+     */
+    public static int signedByteLength(long value) {
+        return (72 - Long.numberOfLeadingZeros(value ^ (value >> 63))) >>> 3;
+    }
+
+    /**
+     * @param value the value to write
+     * @return the number of bytes used by {@link OutputStreamWrapper#writeVarLong(long)}
+     */
+    public static int varLongLength(long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        return zigZag == 0 ? 1 : (70 - Long.numberOfLeadingZeros(zigZag)) / 7;
+    }
+
+    /**
+     * @param value the value to write
+     * @return the number of bytes used by {@link OutputStreamWrapper#writeVarInt(int)}
+     */
+    public static int varIntLength(int value) {
+        int zigZag = (value << 1) ^ (value >> 31);
+        return zigZag == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(zigZag)) / 7;
+    }
+
+    /**
+     * Malformed surrogates are counted as the single replacement byte the UTF-8 encoder uses.
+     *
+     * @param value the characters to encode
+     * @return the number of bytes of the UTF-8 encoding
+     */
+    public static int utf8Length(CharSequence value) {
+        int length = value.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) &&
+                       i + 1 < length &&
+                       Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Empties the target of a readInto so that it can be refilled.
+     * Empty targets are not reused: clearing them would not reveal the unmodifiable ones,
+     * such as {@link java.util.Collections#emptyList()}, which only fail once filled.
+     *
+     * @param collection the collection to reuse, may be null
+     * @return true if the collection was emptied and can be refilled
+     */
+    public static boolean reusable(Collection<?> collection) {
+        if (collection == null || collection.isEmpty()) {
+            return false;
+        }
+        try {
+            collection.clear();
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Same as {@link #reusable(Collection)} for maps
+     */
+    public static boolean reusable(Map<?, ?> map) {
+        if (map == null || map.isEmpty()) {
+            return false;
+        }
+        try {
+            map.clear();
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
     public static int capacityForKnownSize(int size) {
         if (size < 3) {
             return size + 1;
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.utils;
+
+import sebastien.callier.serialization.deserializer.BitReader;
+
+import java.io.IOException;
+
+/**
+ * Reads the doubles written by a {@link XorDoubleEncoder}
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class XorDoubleDecoder {
+    private final BitReader reader;
+
+    private boolean first = true;
+    private long previous;
+    private int leading;
+    private int trailing;
+
+    public XorDoubleDecoder(BitReader reader) {
+        this.reader = reader;
+    }
+
+    public double read() throws IOException {
+        if (first) {
+            first = false;
+            previous = reader.readBits(64);
+        } else if (reader.readBit()) {
+            if (reader.readBit()) {
+                leading = (int) reader.readBits(5);
+                int meaningful = (int) reader.readBits(6);
+                trailing = 64 - leading - (meaningful == 0 ? 64 : meaningful);
+                if (trailing < 0) {
+                    throw new IOException("Could not deserialize as a xor compressed double.");
+                }
+            }
+            previous ^= reader.readBits(64 - leading - trailing) << trailing;
+        }
+        return Double.longBitsToDouble(previous);
+    }
+}
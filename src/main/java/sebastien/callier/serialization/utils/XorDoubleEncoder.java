@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.utils;
+
+import sebastien.callier.serialization.serializer.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * Time series compression of doubles as described in the Gorilla paper (Facebook, 2015).
+ * Each value is XOR-ed with the previous one and only the meaningful bits of the result are written:
+ * <ul>
+ * <li>'0' if the value did not change</li>
+ * <li>'10' followed by the meaningful bits if they fit in the previous leading/trailing zeros window</li>
+ * <li>'11' followed by 5 bits of leading zeros, 6 bits of meaningful length and the meaningful bits otherwise</li>
+ * </ul>
+ * The first value is written on 64 bits.
+ * Without a writer the encoder only counts the bits it would write.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public final class XorDoubleEncoder {
+    private final BitWriter writer;
+
+    private boolean first = true;
+    private long previous;
+    private int previousLeading = Integer.MAX_VALUE;
+    private int previousTrailing;
+    private long bitCount;
+
+    public XorDoubleEncoder() {
+        this(null);
+    }
+
+    public XorDoubleEncoder(BitWriter writer) {
+        this.writer = writer;
+    }
+
+    public void write(double value) throws IOException {
+        long bits = Double.doubleToRawLongBits(value);
+        if (first) {
+            first = false;
+            previous = bits;
+            writeBits(bits, 64);
+            return;
+        }
+        long xor = bits ^ previous;
+        previous = bits;
+        if (xor == 0) {
+            writeBit(false);
+            return;
+        }
+        writeBit(true);
+        //only 5 bits to store it
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (leading >= previousLeading && trailing >= previousTrailing) {
+            writeBit(false);
+            writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            writeBit(true);
+            writeBits(leading, 5);
+            //64 is written as 0, a meaningful length of 0 is not possible
+            writeBits(meaningful, 6);
+            writeBits(xor >>> trailing, meaningful);
+            previousLeading = leading;
+            previousTrailing = trailing;
+        }
+    }
+
+    /**
+     * @return the number of bits written so far
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    private void writeBit(boolean bit) throws IOException {
+        bitCount++;
+        if (writer != null) {
+            writer.writeBit(bit);
+        }
+    }
+
+    private void writeBits(long value, int length) throws IOException {
+        bitCount += length;
+        if (writer != null) {
+            writer.writeBits(value, length);
+        }
+    }
+}
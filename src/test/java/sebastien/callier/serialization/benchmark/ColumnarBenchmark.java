@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.extendable.object.ColumnPredicate;
+import sebastien.callier.serialization.codec.extendable.object.ColumnarCodec;
+import sebastien.callier.serialization.codec.extendable.object.ColumnarCodecTest;
+import sebastien.callier.serialization.codec.extendable.object.FinalNested;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.codec.extendable.object.Trade;
+import sebastien.callier.serialization.codec.object.ListCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.*;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class ColumnarBenchmark {
+    @SuppressWarnings("unused")
+    private volatile Object result;
+
+    @Test
+    @Ignore("Benchmark")
+    public void tradeBatches() throws Exception {
+        CodecCache cache = new CodecCache();
+        cache.register(new BooleanCodec(cache.nextFreeMarker()));
+        cache.register(new CharCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new FloatCodec(cache.nextFreeMarker()));
+        cache.register(new IntCodec(cache.nextFreeMarker()));
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 8));
+        cache.register(new ObjectCodec<>(cache.nextFreeMarker(), FinalNested.class, cache));
+        ObjectCodec<Trade> tradeCodec = new ObjectCodec<>(cache.nextFreeMarker(), Trade.class, cache);
+        cache.register(tradeCodec);
+        ColumnarCodec<Trade> columnar = tradeCodec.columnar(cache.nextFreeMarker());
+        cache.register(columnar);
+        ListCodec rows = new ListCodec(cache.nextFreeMarker(), cache);
+        cache.register(rows);
+
+        List<Trade> trades = ColumnarCodecTest.trades(10_000, new Random(42));
+        SerializerFactory serializerFactory = new SerializerFactory(cache);
+        DeserializerFactory deserializerFactory = new DeserializerFactory(cache);
+
+        Codec<List<Trade>> filtered = columnar.filtered(
+                ColumnPredicate.equalTo("symbol", "AAPL"),
+                ColumnPredicate.greaterThan("quantity", 800));
+
+        int loops = 4;
+        while (loops-- > 0) {
+            run("row by row", rows, rows, trades, serializerFactory, deserializerFactory);
+            run("columnar", columnar, columnar, trades, serializerFactory, deserializerFactory);
+            run("columns only", columnar, columnar.columns(), trades, serializerFactory, deserializerFactory);
+            run("filtered", columnar, filtered, trades, serializerFactory, deserializerFactory);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(
+            String name,
+            Codec writer,
+            Codec reader,
+            List<Trade> trades,
+            SerializerFactory serializerFactory,
+            DeserializerFactory deserializerFactory) throws Exception {
+        int iterations = 100;
+        Serializer serializer = null;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < iterations; i++) {
+            serializer = serializerFactory.newSerializer();
+            serializer.append(trades, writer);
+            serializer.close();
+        }
+        long written = System.currentTimeMillis();
+        for (int i = 0; i < iterations; i++) {
+            try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                    serializer.getByteArray(),
+                    0,
+                    serializer.currentSize())) {
+                result = deserializer.read(reader);
+            }
+        }
+        long end = System.currentTimeMillis();
+        System.out.println(name + ": " + serializer.currentSize() + " bytes, written in " + (written - start) +
+                                   " ms, read in " + (end - written) + " ms.");
+    }
+}
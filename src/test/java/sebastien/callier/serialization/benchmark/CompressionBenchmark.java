@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.codec.object.MapCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.DoubleCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.compression.BlockCompressor;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Throughput and ratio of the {@link BlockCompressor} against {@link Deflater} on codec output.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class CompressionBenchmark {
+    @SuppressWarnings("unused")
+    private volatile int sink;
+
+    @Test
+    @Ignore("Benchmark")
+    public void codecOutput() throws Exception {
+        CodecCache cache = new CodecCache();
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 16));
+        cache.register(new MapCodec(cache.nextFreeMarker(), cache));
+        ObjectCodec<WideObject> codec = new ObjectCodec<>(cache.nextFreeMarker(), WideObject.class, cache);
+        cache.register(codec);
+        SerializerFactory serializerFactory = new SerializerFactory(cache);
+
+        Random random = new Random(42);
+        Serializer objects = serializerFactory.newSerializer();
+        for (int i = 0; i < 2_000; i++) {
+            objects.append(randomObject(random), codec);
+        }
+        objects.close();
+
+        Map<Long, String> map = new HashMap<>();
+        for (long i = 0; i < 200_000; i++) {
+            map.put(i * 7, "status-" + random.nextInt(50));
+        }
+        Serializer snapshot = serializerFactory.newSerializer();
+        snapshot.append(map);
+        snapshot.close();
+
+        int loops = 4;
+        while (loops-- > 0) {
+            run("wide objects", objects.getByteArray(), objects.currentSize());
+            run("map snapshot", snapshot.getByteArray(), snapshot.currentSize());
+        }
+    }
+
+    private static WideObject randomObject(Random random) throws Exception {
+        WideObject object = new WideObject();
+        for (Method method : WideObject.class.getMethods()) {
+            if (!method.getName().startsWith("set")) {
+                continue;
+            }
+            Class<?> type = method.getParameterTypes()[0];
+            if (long.class.equals(type)) {
+                method.invoke(object, (long) random.nextInt(1_000));
+            } else if (double.class.equals(type)) {
+                method.invoke(object, random.nextInt(100) / 4d);
+            } else {
+                method.invoke(object, "label-" + random.nextInt(20));
+            }
+        }
+        return object;
+    }
+
+    private void run(String name, byte[] data, int length) throws DataFormatException, IOException {
+        int iterations = 50;
+        BlockCompressor compressor = new BlockCompressor();
+        byte[] compressed = new byte[BlockCompressor.maxCompressedLength(length)];
+        byte[] decompressed = new byte[length];
+
+        int size = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            size = compressor.compress(data, 0, length, compressed, 0);
+        }
+        long compression = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = BlockCompressor.decompress(compressed, 0, size, decompressed, 0);
+        }
+        long decompression = System.nanoTime() - start;
+        print(name + " lz4", length, size, iterations, compression, decompression);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        Inflater inflater = new Inflater();
+        byte[] deflated = new byte[length + 1024];
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            deflater.reset();
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            size = deflater.deflate(deflated);
+        }
+        compression = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            inflater.reset();
+            inflater.setInput(deflated, 0, size);
+            sink = inflater.inflate(decompressed);
+        }
+        decompression = System.nanoTime() - start;
+        print(name + " deflate", length, size, iterations, compression, decompression);
+        deflater.end();
+        inflater.end();
+    }
+
+    private static void print(
+            String name,
+            int length,
+            int size,
+            int iterations,
+            long compressionNanos,
+            long decompressionNanos) {
+        double megaBytes = (double) length * iterations / (1024 * 1024);
+        System.out.printf(
+                "%s: ratio %.2f, compression %.0f MB/s, decompression %.0f MB/s%n",
+                name,
+                (double) length / size,
+                megaBytes / (compressionNanos / 1e9),
+                megaBytes / (decompressionNanos / 1e9));
+    }
+}
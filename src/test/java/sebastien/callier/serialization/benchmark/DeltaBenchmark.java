@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.DoubleCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class DeltaBenchmark {
+
+    @Test
+    @Ignore("Benchmark")
+    public void wideObjectUpdates() throws Exception {
+        CodecCache cache = new CodecCache();
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 16));
+        ObjectCodec<WideObject> codec = new ObjectCodec<>(cache.nextFreeMarker(), WideObject.class, cache);
+        cache.register(codec);
+
+        Random random = new Random(42);
+        WideObject previous = randomObject(random);
+        WideObject current = randomObject(random);
+        copy(previous, current);
+        current.setField000(random.nextLong());
+        current.setField050(random.nextDouble());
+        SerializerFactory serializerFactory = new SerializerFactory(cache);
+
+        int loops = 4;
+        while (loops-- > 0) {
+            int count = 100_000;
+            long start = System.currentTimeMillis();
+            Serializer full = serializerFactory.newSerializer();
+            for (int i = 0; i < count; i++) {
+                full.append(current, codec);
+            }
+            full.close();
+            long middle = System.currentTimeMillis();
+            Serializer delta = serializerFactory.newSerializer();
+            for (int i = 0; i < count; i++) {
+                delta.appendDelta(previous, current, codec);
+            }
+            delta.close();
+            long end = System.currentTimeMillis();
+            System.out.println("full: " + full.currentSize() / count + " bytes in " + (middle - start) + " ms, " +
+                                       "delta: " + delta.currentSize() / count + " bytes in " + (end - middle) + " ms.");
+        }
+    }
+
+    private static WideObject randomObject(Random random) throws Exception {
+        WideObject object = new WideObject();
+        for (Method method : WideObject.class.getMethods()) {
+            if (!method.getName().startsWith("set")) {
+                continue;
+            }
+            Class<?> type = method.getParameterTypes()[0];
+            if (long.class.equals(type)) {
+                method.invoke(object, random.nextLong());
+            } else if (double.class.equals(type)) {
+                method.invoke(object, random.nextDouble());
+            } else {
+                method.invoke(object, Long.toHexString(random.nextLong()));
+            }
+        }
+        return object;
+    }
+
+    private static void copy(WideObject from, WideObject to) throws Exception {
+        for (Method method : WideObject.class.getMethods()) {
+            if (method.getName().startsWith("set")) {
+                method.invoke(to, WideObject.class.getMethod("get" + method.getName().substring(3)).invoke(from));
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.array.DeltaLongArrayCodec;
+import sebastien.callier.serialization.codec.array.LongArrayCodec;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class LongArrayBenchmark {
+    @SuppressWarnings("unused")
+    private volatile long[] array;
+
+    @Test
+    @Ignore("Benchmark")
+    public void longArrays() throws IOException {
+        CodecCache cache = new CodecCache();
+        LongArrayCodec compact = new LongArrayCodec(cache.nextFreeMarker());
+        cache.register(compact);
+        LongArrayCodec fixed = new LongArrayCodec(cache.nextFreeMarker(), true);
+        cache.register(fixed);
+        DeltaLongArrayCodec delta = new DeltaLongArrayCodec(cache.nextFreeMarker());
+        cache.register(delta);
+
+        Random random = new Random(42);
+        //timestamps in ms, one event every 0 to 50 ms
+        long[] monotonic = new long[100_000];
+        long timestamp = 1_500_000_000_000L;
+        for (int i = 0; i < monotonic.length; i++) {
+            timestamp += random.nextInt(50);
+            monotonic[i] = timestamp;
+        }
+        long[] randomData = new long[100_000];
+        for (int i = 0; i < randomData.length; i++) {
+            randomData[i] = random.nextLong();
+        }
+
+        SerializerFactory serializerFactory = new SerializerFactory(cache);
+        DeserializerFactory deserializerFactory = new DeserializerFactory(cache);
+
+        int loops = 4;
+        while (loops-- > 0) {
+            run("compact monotonic", monotonic, compact, serializerFactory, deserializerFactory);
+            run("fixed monotonic", monotonic, fixed, serializerFactory, deserializerFactory);
+            run("delta monotonic", monotonic, delta, serializerFactory, deserializerFactory);
+            run("compact random", randomData, compact, serializerFactory, deserializerFactory);
+            run("fixed random", randomData, fixed, serializerFactory, deserializerFactory);
+            run("delta random", randomData, delta, serializerFactory, deserializerFactory);
+        }
+    }
+
+    private void run(
+            String name,
+            long[] data,
+            Codec<long[]> codec,
+            SerializerFactory serializerFactory,
+            DeserializerFactory deserializerFactory) throws IOException {
+        int iterations = 200;
+        int size = 0;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < iterations; i++) {
+            Serializer serializer = serializerFactory.newSerializer();
+            serializer.append(data, codec);
+            serializer.close();
+            size = serializer.currentSize();
+
+            try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                    serializer.getByteArray(),
+                    0,
+                    serializer.currentSize())) {
+                array = deserializer.read(codec);
+            }
+        }
+        long end = System.currentTimeMillis();
+        System.out.println(name + " done in " + (end - start) + " ms, " + size + " bytes.");
+    }
+}
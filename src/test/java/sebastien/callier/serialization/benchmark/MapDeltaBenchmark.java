@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.object.MapCodec;
+import sebastien.callier.serialization.codec.object.MapDeltaCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.collection.ChangeTrackingMap;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class MapDeltaBenchmark {
+
+    @Test
+    @Ignore("Benchmark")
+    public void checkpoints() throws Exception {
+        CodecCache cache = new CodecCache();
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        MapCodec mapCodec = new MapCodec(cache.nextFreeMarker(), cache);
+        cache.register(mapCodec);
+        MapDeltaCodec<Long, Long> deltas = mapCodec.asTypedDeltas(Long.class, Long.class);
+        SerializerFactory serializerFactory = new SerializerFactory(cache);
+
+        int size = 1_000_000;
+        ChangeTrackingMap<Long, Long> map = new ChangeTrackingMap<>(new HashMap<>());
+        for (long i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+        map.checkpoint();
+
+        Random random = new Random(42);
+        int loops = 4;
+        while (loops-- > 0) {
+            for (int i = 0; i < size / 1000; i++) {
+                long key = random.nextInt(size);
+                if (random.nextBoolean()) {
+                    map.put(key, random.nextLong());
+                } else {
+                    map.remove(key);
+                }
+            }
+            long start = System.currentTimeMillis();
+            Serializer full = serializerFactory.newSerializer();
+            full.append(map, deltas);
+            full.close();
+            long middle = System.currentTimeMillis();
+            Serializer delta = serializerFactory.newSerializer();
+            delta.appendDelta(map, map, deltas);
+            delta.close();
+            map.checkpoint();
+            long end = System.currentTimeMillis();
+            System.out.println("full: " + full.currentSize() + " bytes in " + (middle - start) + " ms, " +
+                                       "delta: " + delta.currentSize() + " bytes in " + (end - middle) + " ms.");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.DoubleCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class ProjectionBenchmark {
+    @SuppressWarnings("unused")
+    private volatile WideObject object;
+
+    @Test
+    @Ignore("Benchmark")
+    public void wideObjects() throws Exception {
+        CodecCache cache = new CodecCache();
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 16));
+        ObjectCodec<WideObject> full = new ObjectCodec<>(cache.nextFreeMarker(), WideObject.class, cache);
+        cache.register(full);
+        Codec<WideObject> projection = full.projection("field000", "field050", "field100");
+
+        Random random = new Random(42);
+        SerializerFactory serializerFactory = new SerializerFactory(cache);
+        Serializer serializer = serializerFactory.newSerializer();
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            serializer.append(randomObject(random), full);
+        }
+        serializer.close();
+        DeserializerFactory deserializerFactory = new DeserializerFactory(cache);
+
+        int loops = 4;
+        while (loops-- > 0) {
+            run("full", full, count, serializer, deserializerFactory);
+            run("3 fields projection", projection, count, serializer, deserializerFactory);
+        }
+    }
+
+    private static WideObject randomObject(Random random) throws Exception {
+        WideObject object = new WideObject();
+        for (Method method : WideObject.class.getMethods()) {
+            if (!method.getName().startsWith("set")) {
+                continue;
+            }
+            Class<?> type = method.getParameterTypes()[0];
+            if (long.class.equals(type)) {
+                method.invoke(object, random.nextLong());
+            } else if (double.class.equals(type)) {
+                method.invoke(object, random.nextDouble());
+            } else {
+                method.invoke(object, Long.toHexString(random.nextLong()));
+            }
+        }
+        return object;
+    }
+
+    private void run(
+            String name,
+            Codec<WideObject> codec,
+            int count,
+            Serializer serializer,
+            DeserializerFactory deserializerFactory) throws Exception {
+        int iterations = 200;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < iterations; i++) {
+            try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                    serializer.getByteArray(),
+                    0,
+                    serializer.currentSize())) {
+                for (int j = 0; j < count; j++) {
+                    object = deserializer.read(codec);
+                }
+            }
+        }
+        long end = System.currentTimeMillis();
+        System.out.println(name + " done in " + (end - start) + " ms.");
+    }
+}
@@ -0,0 +1,1107 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.benchmark;
+
+/**
+ * A wide record, 120 fields.
+ *
+ * @author Sebastien Callier
+ * @since 2018
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class WideObject {
+    private long field000;
+    private String field001;
+    private double field002;
+    private long field003;
+    private String field004;
+    private double field005;
+    private long field006;
+    private String field007;
+    private double field008;
+    private long field009;
+    private String field010;
+    private double field011;
+    private long field012;
+    private String field013;
+    private double field014;
+    private long field015;
+    private String field016;
+    private double field017;
+    private long field018;
+    private String field019;
+    private double field020;
+    private long field021;
+    private String field022;
+    private double field023;
+    private long field024;
+    private String field025;
+    private double field026;
+    private long field027;
+    private String field028;
+    private double field029;
+    private long field030;
+    private String field031;
+    private double field032;
+    private long field033;
+    private String field034;
+    private double field035;
+    private long field036;
+    private String field037;
+    private double field038;
+    private long field039;
+    private String field040;
+    private double field041;
+    private long field042;
+    private String field043;
+    private double field044;
+    private long field045;
+    private String field046;
+    private double field047;
+    private long field048;
+    private String field049;
+    private double field050;
+    private long field051;
+    private String field052;
+    private double field053;
+    private long field054;
+    private String field055;
+    private double field056;
+    private long field057;
+    private String field058;
+    private double field059;
+    private long field060;
+    private String field061;
+    private double field062;
+    private long field063;
+    private String field064;
+    private double field065;
+    private long field066;
+    private String field067;
+    private double field068;
+    private long field069;
+    private String field070;
+    private double field071;
+    private long field072;
+    private String field073;
+    private double field074;
+    private long field075;
+    private String field076;
+    private double field077;
+    private long field078;
+    private String field079;
+    private double field080;
+    private long field081;
+    private String field082;
+    private double field083;
+    private long field084;
+    private String field085;
+    private double field086;
+    private long field087;
+    private String field088;
+    private double field089;
+    private long field090;
+    private String field091;
+    private double field092;
+    private long field093;
+    private String field094;
+    private double field095;
+    private long field096;
+    private String field097;
+    private double field098;
+    private long field099;
+    private String field100;
+    private double field101;
+    private long field102;
+    private String field103;
+    private double field104;
+    private long field105;
+    private String field106;
+    private double field107;
+    private long field108;
+    private String field109;
+    private double field110;
+    private long field111;
+    private String field112;
+    private double field113;
+    private long field114;
+    private String field115;
+    private double field116;
+    private long field117;
+    private String field118;
+    private double field119;
+
+    public long getField000() {
+        return field000;
+    }
+
+    public void setField000(long field000) {
+        this.field000 = field000;
+    }
+
+    public String getField001() {
+        return field001;
+    }
+
+    public void setField001(String field001) {
+        this.field001 = field001;
+    }
+
+    public double getField002() {
+        return field002;
+    }
+
+    public void setField002(double field002) {
+        this.field002 = field002;
+    }
+
+    public long getField003() {
+        return field003;
+    }
+
+    public void setField003(long field003) {
+        this.field003 = field003;
+    }
+
+    public String getField004() {
+        return field004;
+    }
+
+    public void setField004(String field004) {
+        this.field004 = field004;
+    }
+
+    public double getField005() {
+        return field005;
+    }
+
+    public void setField005(double field005) {
+        this.field005 = field005;
+    }
+
+    public long getField006() {
+        return field006;
+    }
+
+    public void setField006(long field006) {
+        this.field006 = field006;
+    }
+
+    public String getField007() {
+        return field007;
+    }
+
+    public void setField007(String field007) {
+        this.field007 = field007;
+    }
+
+    public double getField008() {
+        return field008;
+    }
+
+    public void setField008(double field008) {
+        this.field008 = field008;
+    }
+
+    public long getField009() {
+        return field009;
+    }
+
+    public void setField009(long field009) {
+        this.field009 = field009;
+    }
+
+    public String getField010() {
+        return field010;
+    }
+
+    public void setField010(String field010) {
+        this.field010 = field010;
+    }
+
+    public double getField011() {
+        return field011;
+    }
+
+    public void setField011(double field011) {
+        this.field011 = field011;
+    }
+
+    public long getField012() {
+        return field012;
+    }
+
+    public void setField012(long field012) {
+        this.field012 = field012;
+    }
+
+    public String getField013() {
+        return field013;
+    }
+
+    public void setField013(String field013) {
+        this.field013 = field013;
+    }
+
+    public double getField014() {
+        return field014;
+    }
+
+    public void setField014(double field014) {
+        this.field014 = field014;
+    }
+
+    public long getField015() {
+        return field015;
+    }
+
+    public void setField015(long field015) {
+        this.field015 = field015;
+    }
+
+    public String getField016() {
+        return field016;
+    }
+
+    public void setField016(String field016) {
+        this.field016 = field016;
+    }
+
+    public double getField017() {
+        return field017;
+    }
+
+    public void setField017(double field017) {
+        this.field017 = field017;
+    }
+
+    public long getField018() {
+        return field018;
+    }
+
+    public void setField018(long field018) {
+        this.field018 = field018;
+    }
+
+    public String getField019() {
+        return field019;
+    }
+
+    public void setField019(String field019) {
+        this.field019 = field019;
+    }
+
+    public double getField020() {
+        return field020;
+    }
+
+    public void setField020(double field020) {
+        this.field020 = field020;
+    }
+
+    public long getField021() {
+        return field021;
+    }
+
+    public void setField021(long field021) {
+        this.field021 = field021;
+    }
+
+    public String getField022() {
+        return field022;
+    }
+
+    public void setField022(String field022) {
+        this.field022 = field022;
+    }
+
+    public double getField023() {
+        return field023;
+    }
+
+    public void setField023(double field023) {
+        this.field023 = field023;
+    }
+
+    public long getField024() {
+        return field024;
+    }
+
+    public void setField024(long field024) {
+        this.field024 = field024;
+    }
+
+    public String getField025() {
+        return field025;
+    }
+
+    public void setField025(String field025) {
+        this.field025 = field025;
+    }
+
+    public double getField026() {
+        return field026;
+    }
+
+    public void setField026(double field026) {
+        this.field026 = field026;
+    }
+
+    public long getField027() {
+        return field027;
+    }
+
+    public void setField027(long field027) {
+        this.field027 = field027;
+    }
+
+    public String getField028() {
+        return field028;
+    }
+
+    public void setField028(String field028) {
+        this.field028 = field028;
+    }
+
+    public double getField029() {
+        return field029;
+    }
+
+    public void setField029(double field029) {
+        this.field029 = field029;
+    }
+
+    public long getField030() {
+        return field030;
+    }
+
+    public void setField030(long field030) {
+        this.field030 = field030;
+    }
+
+    public String getField031() {
+        return field031;
+    }
+
+    public void setField031(String field031) {
+        this.field031 = field031;
+    }
+
+    public double getField032() {
+        return field032;
+    }
+
+    public void setField032(double field032) {
+        this.field032 = field032;
+    }
+
+    public long getField033() {
+        return field033;
+    }
+
+    public void setField033(long field033) {
+        this.field033 = field033;
+    }
+
+    public String getField034() {
+        return field034;
+    }
+
+    public void setField034(String field034) {
+        this.field034 = field034;
+    }
+
+    public double getField035() {
+        return field035;
+    }
+
+    public void setField035(double field035) {
+        this.field035 = field035;
+    }
+
+    public long getField036() {
+        return field036;
+    }
+
+    public void setField036(long field036) {
+        this.field036 = field036;
+    }
+
+    public String getField037() {
+        return field037;
+    }
+
+    public void setField037(String field037) {
+        this.field037 = field037;
+    }
+
+    public double getField038() {
+        return field038;
+    }
+
+    public void setField038(double field038) {
+        this.field038 = field038;
+    }
+
+    public long getField039() {
+        return field039;
+    }
+
+    public void setField039(long field039) {
+        this.field039 = field039;
+    }
+
+    public String getField040() {
+        return field040;
+    }
+
+    public void setField040(String field040) {
+        this.field040 = field040;
+    }
+
+    public double getField041() {
+        return field041;
+    }
+
+    public void setField041(double field041) {
+        this.field041 = field041;
+    }
+
+    public long getField042() {
+        return field042;
+    }
+
+    public void setField042(long field042) {
+        this.field042 = field042;
+    }
+
+    public String getField043() {
+        return field043;
+    }
+
+    public void setField043(String field043) {
+        this.field043 = field043;
+    }
+
+    public double getField044() {
+        return field044;
+    }
+
+    public void setField044(double field044) {
+        this.field044 = field044;
+    }
+
+    public long getField045() {
+        return field045;
+    }
+
+    public void setField045(long field045) {
+        this.field045 = field045;
+    }
+
+    public String getField046() {
+        return field046;
+    }
+
+    public void setField046(String field046) {
+        this.field046 = field046;
+    }
+
+    public double getField047() {
+        return field047;
+    }
+
+    public void setField047(double field047) {
+        this.field047 = field047;
+    }
+
+    public long getField048() {
+        return field048;
+    }
+
+    public void setField048(long field048) {
+        this.field048 = field048;
+    }
+
+    public String getField049() {
+        return field049;
+    }
+
+    public void setField049(String field049) {
+        this.field049 = field049;
+    }
+
+    public double getField050() {
+        return field050;
+    }
+
+    public void setField050(double field050) {
+        this.field050 = field050;
+    }
+
+    public long getField051() {
+        return field051;
+    }
+
+    public void setField051(long field051) {
+        this.field051 = field051;
+    }
+
+    public String getField052() {
+        return field052;
+    }
+
+    public void setField052(String field052) {
+        this.field052 = field052;
+    }
+
+    public double getField053() {
+        return field053;
+    }
+
+    public void setField053(double field053) {
+        this.field053 = field053;
+    }
+
+    public long getField054() {
+        return field054;
+    }
+
+    public void setField054(long field054) {
+        this.field054 = field054;
+    }
+
+    public String getField055() {
+        return field055;
+    }
+
+    public void setField055(String field055) {
+        this.field055 = field055;
+    }
+
+    public double getField056() {
+        return field056;
+    }
+
+    public void setField056(double field056) {
+        this.field056 = field056;
+    }
+
+    public long getField057() {
+        return field057;
+    }
+
+    public void setField057(long field057) {
+        this.field057 = field057;
+    }
+
+    public String getField058() {
+        return field058;
+    }
+
+    public void setField058(String field058) {
+        this.field058 = field058;
+    }
+
+    public double getField059() {
+        return field059;
+    }
+
+    public void setField059(double field059) {
+        this.field059 = field059;
+    }
+
+    public long getField060() {
+        return field060;
+    }
+
+    public void setField060(long field060) {
+        this.field060 = field060;
+    }
+
+    public String getField061() {
+        return field061;
+    }
+
+    public void setField061(String field061) {
+        this.field061 = field061;
+    }
+
+    public double getField062() {
+        return field062;
+    }
+
+    public void setField062(double field062) {
+        this.field062 = field062;
+    }
+
+    public long getField063() {
+        return field063;
+    }
+
+    public void setField063(long field063) {
+        this.field063 = field063;
+    }
+
+    public String getField064() {
+        return field064;
+    }
+
+    public void setField064(String field064) {
+        this.field064 = field064;
+    }
+
+    public double getField065() {
+        return field065;
+    }
+
+    public void setField065(double field065) {
+        this.field065 = field065;
+    }
+
+    public long getField066() {
+        return field066;
+    }
+
+    public void setField066(long field066) {
+        this.field066 = field066;
+    }
+
+    public String getField067() {
+        return field067;
+    }
+
+    public void setField067(String field067) {
+        this.field067 = field067;
+    }
+
+    public double getField068() {
+        return field068;
+    }
+
+    public void setField068(double field068) {
+        this.field068 = field068;
+    }
+
+    public long getField069() {
+        return field069;
+    }
+
+    public void setField069(long field069) {
+        this.field069 = field069;
+    }
+
+    public String getField070() {
+        return field070;
+    }
+
+    public void setField070(String field070) {
+        this.field070 = field070;
+    }
+
+    public double getField071() {
+        return field071;
+    }
+
+    public void setField071(double field071) {
+        this.field071 = field071;
+    }
+
+    public long getField072() {
+        return field072;
+    }
+
+    public void setField072(long field072) {
+        this.field072 = field072;
+    }
+
+    public String getField073() {
+        return field073;
+    }
+
+    public void setField073(String field073) {
+        this.field073 = field073;
+    }
+
+    public double getField074() {
+        return field074;
+    }
+
+    public void setField074(double field074) {
+        this.field074 = field074;
+    }
+
+    public long getField075() {
+        return field075;
+    }
+
+    public void setField075(long field075) {
+        this.field075 = field075;
+    }
+
+    public String getField076() {
+        return field076;
+    }
+
+    public void setField076(String field076) {
+        this.field076 = field076;
+    }
+
+    public double getField077() {
+        return field077;
+    }
+
+    public void setField077(double field077) {
+        this.field077 = field077;
+    }
+
+    public long getField078() {
+        return field078;
+    }
+
+    public void setField078(long field078) {
+        this.field078 = field078;
+    }
+
+    public String getField079() {
+        return field079;
+    }
+
+    public void setField079(String field079) {
+        this.field079 = field079;
+    }
+
+    public double getField080() {
+        return field080;
+    }
+
+    public void setField080(double field080) {
+        this.field080 = field080;
+    }
+
+    public long getField081() {
+        return field081;
+    }
+
+    public void setField081(long field081) {
+        this.field081 = field081;
+    }
+
+    public String getField082() {
+        return field082;
+    }
+
+    public void setField082(String field082) {
+        this.field082 = field082;
+    }
+
+    public double getField083() {
+        return field083;
+    }
+
+    public void setField083(double field083) {
+        this.field083 = field083;
+    }
+
+    public long getField084() {
+        return field084;
+    }
+
+    public void setField084(long field084) {
+        this.field084 = field084;
+    }
+
+    public String getField085() {
+        return field085;
+    }
+
+    public void setField085(String field085) {
+        this.field085 = field085;
+    }
+
+    public double getField086() {
+        return field086;
+    }
+
+    public void setField086(double field086) {
+        this.field086 = field086;
+    }
+
+    public long getField087() {
+        return field087;
+    }
+
+    public void setField087(long field087) {
+        this.field087 = field087;
+    }
+
+    public String getField088() {
+        return field088;
+    }
+
+    public void setField088(String field088) {
+        this.field088 = field088;
+    }
+
+    public double getField089() {
+        return field089;
+    }
+
+    public void setField089(double field089) {
+        this.field089 = field089;
+    }
+
+    public long getField090() {
+        return field090;
+    }
+
+    public void setField090(long field090) {
+        this.field090 = field090;
+    }
+
+    public String getField091() {
+        return field091;
+    }
+
+    public void setField091(String field091) {
+        this.field091 = field091;
+    }
+
+    public double getField092() {
+        return field092;
+    }
+
+    public void setField092(double field092) {
+        this.field092 = field092;
+    }
+
+    public long getField093() {
+        return field093;
+    }
+
+    public void setField093(long field093) {
+        this.field093 = field093;
+    }
+
+    public String getField094() {
+        return field094;
+    }
+
+    public void setField094(String field094) {
+        this.field094 = field094;
+    }
+
+    public double getField095() {
+        return field095;
+    }
+
+    public void setField095(double field095) {
+        this.field095 = field095;
+    }
+
+    public long getField096() {
+        return field096;
+    }
+
+    public void setField096(long field096) {
+        this.field096 = field096;
+    }
+
+    public String getField097() {
+        return field097;
+    }
+
+    public void setField097(String field097) {
+        this.field097 = field097;
+    }
+
+    public double getField098() {
+        return field098;
+    }
+
+    public void setField098(double field098) {
+        this.field098 = field098;
+    }
+
+    public long getField099() {
+        return field099;
+    }
+
+    public void setField099(long field099) {
+        this.field099 = field099;
+    }
+
+    public String getField100() {
+        return field100;
+    }
+
+    public void setField100(String field100) {
+        this.field100 = field100;
+    }
+
+    public double getField101() {
+        return field101;
+    }
+
+    public void setField101(double field101) {
+        this.field101 = field101;
+    }
+
+    public long getField102() {
+        return field102;
+    }
+
+    public void setField102(long field102) {
+        this.field102 = field102;
+    }
+
+    public String getField103() {
+        return field103;
+    }
+
+    public void setField103(String field103) {
+        this.field103 = field103;
+    }
+
+    public double getField104() {
+        return field104;
+    }
+
+    public void setField104(double field104) {
+        this.field104 = field104;
+    }
+
+    public long getField105() {
+        return field105;
+    }
+
+    public void setField105(long field105) {
+        this.field105 = field105;
+    }
+
+    public String getField106() {
+        return field106;
+    }
+
+    public void setField106(String field106) {
+        this.field106 = field106;
+    }
+
+    public double getField107() {
+        return field107;
+    }
+
+    public void setField107(double field107) {
+        this.field107 = field107;
+    }
+
+    public long getField108() {
+        return field108;
+    }
+
+    public void setField108(long field108) {
+        this.field108 = field108;
+    }
+
+    public String getField109() {
+        return field109;
+    }
+
+    public void setField109(String field109) {
+        this.field109 = field109;
+    }
+
+    public double getField110() {
+        return field110;
+    }
+
+    public void setField110(double field110) {
+        this.field110 = field110;
+    }
+
+    public long getField111() {
+        return field111;
+    }
+
+    public void setField111(long field111) {
+        this.field111 = field111;
+    }
+
+    public String getField112() {
+        return field112;
+    }
+
+    public void setField112(String field112) {
+        this.field112 = field112;
+    }
+
+    public double getField113() {
+        return field113;
+    }
+
+    public void setField113(double field113) {
+        this.field113 = field113;
+    }
+
+    public long getField114() {
+        return field114;
+    }
+
+    public void setField114(long field114) {
+        this.field114 = field114;
+    }
+
+    public String getField115() {
+        return field115;
+    }
+
+    public void setField115(String field115) {
+        this.field115 = field115;
+    }
+
+    public double getField116() {
+        return field116;
+    }
+
+    public void setField116(double field116) {
+        this.field116 = field116;
+    }
+
+    public long getField117() {
+        return field117;
+    }
+
+    public void setField117(long field117) {
+        this.field117 = field117;
+    }
+
+    public String getField118() {
+        return field118;
+    }
+
+    public void setField118(String field118) {
+        this.field118 = field118;
+    }
+
+    public double getField119() {
+        return field119;
+    }
+
+    public void setField119(double field119) {
+        this.field119 = field119;
+    }
+}
@@ -88,6 +88,7 @@ public class BooleanArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -97,5 +98,14 @@ public class BooleanArrayCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 }
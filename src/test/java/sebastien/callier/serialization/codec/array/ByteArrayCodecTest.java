@@ -87,6 +87,7 @@ public class ByteArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -96,5 +97,14 @@ public class ByteArrayCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 }
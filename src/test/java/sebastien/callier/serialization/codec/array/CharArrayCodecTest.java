@@ -41,6 +41,8 @@ public class CharArrayCodecTest {
 
     private static final CharArrayCodec codec = new CharArrayCodec((byte) 0);
     private static final CharArrayCodec invalidCodec = new CharArrayCodec((byte) 50);
+    private static final CharArrayCodec fixedCodec = new CharArrayCodec((byte) 10, true);
+    private static final CharArrayCodec compatibleCodec = new CharArrayCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -49,6 +51,7 @@ public class CharArrayCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(fixedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -67,6 +70,24 @@ public class CharArrayCodecTest {
         }
     }
 
+    @Test
+    public void fixedWidthCharArray() throws IOException {
+        testFixedWidthCharArray(null);
+        testFixedWidthCharArray(new char[]{});
+        for (int i = 1; i < 200; i++) {
+            char[] b = new char[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = (char) random.nextInt(256);
+            }
+            testFixedWidthCharArray(b);
+        }
+        char[] b = new char[10_000];
+        for (int j = 0; j < b.length; j++) {
+            b[j] = (char) random.nextInt(256);
+        }
+        testFixedWidthCharArray(b);
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -89,6 +110,7 @@ public class CharArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -98,5 +120,41 @@ public class CharArrayCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testFixedWidthCharArray(char[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, fixedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(fixedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the fixed width codec is still able to read the compact encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
-}
\ No newline at end of file
+}
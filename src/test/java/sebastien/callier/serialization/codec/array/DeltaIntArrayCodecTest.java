@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.array;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class DeltaIntArrayCodecTest {
+    private static final Random random = new Random(new SecureRandom().nextLong());
+
+    private static final DeltaIntArrayCodec codec = new DeltaIntArrayCodec((byte) 0);
+    private static final DeltaIntArrayCodec invalidCodec = new DeltaIntArrayCodec((byte) 50);
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() {
+        CodecCache cache = new CodecCache();
+        cache.register(codec);
+        serializerFactory = new SerializerFactory(cache);
+        deserializerFactory = new DeserializerFactory(cache);
+    }
+
+    @Test
+    public void randomIntArray() throws IOException {
+        testIntArray(null);
+        testIntArray(new int[]{});
+        testIntArray(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, Integer.MIN_VALUE});
+        for (int i = 1; i < 200; i++) {
+            int[] b = new int[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = random.nextInt();
+            }
+            testIntArray(b);
+        }
+    }
+
+    @Test
+    public void monotonicIntArray() throws IOException {
+        int[] b = new int[10_000];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = 1_000_000 + i * 10 + random.nextInt(5);
+        }
+        int size = testIntArray(b);
+        //deltas are below 2^13 so they fit in 2 bytes
+        assertThat(size, lessThan(2 * 2 * b.length + 32));
+    }
+
+    @Test
+    public void testInvalidData() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(new int[0], invalidCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    private int testIntArray(int[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, codec);
+        serializer.append(value);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            assertThat(deserializer.read(codec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+        return serializer.currentSize();
+    }
+}
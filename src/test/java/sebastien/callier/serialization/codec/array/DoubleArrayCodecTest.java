@@ -42,6 +42,8 @@ public class DoubleArrayCodecTest {
 
     private static final DoubleArrayCodec codec = new DoubleArrayCodec((byte) 0);
     private static final DoubleArrayCodec invalidCodec = new DoubleArrayCodec((byte) 50);
+    private static final DoubleArrayCodec fixedCodec = new DoubleArrayCodec((byte) 10, true);
+    private static final DoubleArrayCodec compatibleCodec = new DoubleArrayCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -50,6 +52,7 @@ public class DoubleArrayCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(fixedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -67,6 +70,24 @@ public class DoubleArrayCodecTest {
         }
     }
 
+    @Test
+    public void fixedWidthDoubleArray() throws IOException {
+        testFixedWidthDoubleArray(null);
+        testFixedWidthDoubleArray(new double[]{});
+        for (int i = 1; i < 200; i++) {
+            double[] b = new double[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = random.nextDouble();
+            }
+            testFixedWidthDoubleArray(b);
+        }
+        double[] b = new double[10_000];
+        for (int j = 0; j < b.length; j++) {
+            b[j] = random.nextDouble();
+        }
+        testFixedWidthDoubleArray(b);
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -89,6 +110,7 @@ public class DoubleArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -98,5 +120,41 @@ public class DoubleArrayCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testFixedWidthDoubleArray(double[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, fixedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(fixedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the fixed width codec is still able to read the compact encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 }
@@ -42,6 +42,8 @@ public class FloatArrayCodecTest {
 
     private static final FloatArrayCodec codec = new FloatArrayCodec((byte) 0);
     private static final FloatArrayCodec invalidCodec = new FloatArrayCodec((byte) 50);
+    private static final FloatArrayCodec fixedCodec = new FloatArrayCodec((byte) 10, true);
+    private static final FloatArrayCodec compatibleCodec = new FloatArrayCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -50,6 +52,7 @@ public class FloatArrayCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(fixedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -67,6 +70,24 @@ public class FloatArrayCodecTest {
         }
     }
 
+    @Test
+    public void fixedWidthFloatArray() throws IOException {
+        testFixedWidthFloatArray(null);
+        testFixedWidthFloatArray(new float[]{});
+        for (int i = 1; i < 200; i++) {
+            float[] b = new float[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = random.nextFloat();
+            }
+            testFixedWidthFloatArray(b);
+        }
+        float[] b = new float[10_000];
+        for (int j = 0; j < b.length; j++) {
+            b[j] = random.nextFloat();
+        }
+        testFixedWidthFloatArray(b);
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -89,6 +110,7 @@ public class FloatArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -98,5 +120,41 @@ public class FloatArrayCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testFixedWidthFloatArray(float[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, fixedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(fixedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the fixed width codec is still able to read the compact encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
-}
\ No newline at end of file
+}
@@ -42,6 +42,8 @@ public class IntArrayCodecTest {
 
     private static final IntArrayCodec codec = new IntArrayCodec((byte) 0);
     private static final IntArrayCodec invalidCodec = new IntArrayCodec((byte) 50);
+    private static final IntArrayCodec fixedCodec = new IntArrayCodec((byte) 10, true);
+    private static final IntArrayCodec compatibleCodec = new IntArrayCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -50,6 +52,7 @@ public class IntArrayCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(fixedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -67,6 +70,24 @@ public class IntArrayCodecTest {
         }
     }
 
+    @Test
+    public void fixedWidthIntArray() throws IOException {
+        testFixedWidthIntArray(null);
+        testFixedWidthIntArray(new int[]{});
+        for (int i = 1; i < 200; i++) {
+            int[] b = new int[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = random.nextInt();
+            }
+            testFixedWidthIntArray(b);
+        }
+        int[] b = new int[10_000];
+        for (int j = 0; j < b.length; j++) {
+            b[j] = random.nextInt();
+        }
+        testFixedWidthIntArray(b);
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -89,6 +110,7 @@ public class IntArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -98,5 +120,63 @@ public class IntArrayCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testFixedWidthIntArray(int[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, fixedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(fixedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the fixed width codec is still able to read the compact encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void readIntoReusesSameLength() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(new int[]{1, 2, 3}, codec);
+        serializer.append(new int[]{4, 5, 6}, fixedCodec);
+        serializer.append(new int[]{7, 8, 9}, codec);
+        serializer.close();
+
+        int[] target = new int[3];
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(codec, target) == target, is(true));
+            assertThat(target, is(new int[]{1, 2, 3}));
+            assertThat(deserializer.readInto(fixedCodec, target) == target, is(true));
+            assertThat(target, is(new int[]{4, 5, 6}));
+            int[] other = deserializer.readInto(codec, new int[2]);
+            assertThat(other, is(new int[]{7, 8, 9}));
+        }
     }
-}
\ No newline at end of file
+}
@@ -42,6 +42,8 @@ public class LongArrayCodecTest {
 
     private static final LongArrayCodec codec = new LongArrayCodec((byte) 0);
     private static final LongArrayCodec invalidCodec = new LongArrayCodec((byte) 50);
+    private static final LongArrayCodec fixedCodec = new LongArrayCodec((byte) 10, true);
+    private static final LongArrayCodec compatibleCodec = new LongArrayCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -50,6 +52,7 @@ public class LongArrayCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(fixedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -67,6 +70,24 @@ public class LongArrayCodecTest {
         }
     }
 
+    @Test
+    public void fixedWidthLongArray() throws IOException {
+        testFixedWidthLongArray(null);
+        testFixedWidthLongArray(new long[]{});
+        for (int i = 1; i < 200; i++) {
+            long[] b = new long[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = random.nextLong();
+            }
+            testFixedWidthLongArray(b);
+        }
+        long[] b = new long[10_000];
+        for (int j = 0; j < b.length; j++) {
+            b[j] = random.nextLong();
+        }
+        testFixedWidthLongArray(b);
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -89,6 +110,7 @@ public class LongArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -98,5 +120,41 @@ public class LongArrayCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testFixedWidthLongArray(long[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, fixedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(fixedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the fixed width codec is still able to read the compact encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
-}
\ No newline at end of file
+}
@@ -68,6 +68,15 @@ public class ShortArrayCodecTest {
         }
     }
 
+    @Test
+    public void largeShortArray() throws IOException {
+        short[] b = new short[10_000];
+        for (int j = 0; j < b.length; j++) {
+            b[j] = (short) random.nextInt();
+        }
+        testShortArray(b);
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -90,6 +99,7 @@ public class ShortArrayCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -99,5 +109,14 @@ public class ShortArrayCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.array;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class XorDoubleArrayCodecTest {
+    private static final Random random = new Random(new SecureRandom().nextLong());
+
+    private static final XorDoubleArrayCodec codec = new XorDoubleArrayCodec((byte) 0);
+    private static final XorDoubleArrayCodec invalidCodec = new XorDoubleArrayCodec((byte) 50);
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() {
+        CodecCache cache = new CodecCache();
+        cache.register(codec);
+        serializerFactory = new SerializerFactory(cache);
+        deserializerFactory = new DeserializerFactory(cache);
+    }
+
+    @Test
+    public void randomDoubleArray() throws IOException {
+        testDoubleArray(null);
+        testDoubleArray(new double[]{});
+        testDoubleArray(new double[]{Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                                     Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1.0, 1.0, 1.0});
+        for (int i = 1; i < 200; i++) {
+            double[] b = new double[i];
+            for (int j = 0; j < i; j++) {
+                b[j] = random.nextBoolean() ? random.nextDouble() : Double.longBitsToDouble(random.nextLong());
+            }
+            testDoubleArray(b);
+        }
+    }
+
+    @Test
+    public void slowlyChangingDoubleArray() throws IOException {
+        double[] b = new double[10_000];
+        double value = 100;
+        for (int i = 0; i < b.length; i++) {
+            if (random.nextInt(4) == 0) {
+                value += random.nextInt(21) - 10;
+            }
+            b[i] = value;
+        }
+        int size = testDoubleArray(b);
+        //DoubleArrayCodec would need 9 bytes per element
+        assertThat(size, lessThan(3 * b.length));
+    }
+
+    @Test
+    public void testInvalidData() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(new double[0], invalidCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    private int testDoubleArray(double[] value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, codec);
+        serializer.append(value);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            assertThat(deserializer.read(codec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+        return serializer.currentSize();
+    }
+}
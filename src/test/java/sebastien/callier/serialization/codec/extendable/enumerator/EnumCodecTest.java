@@ -38,6 +38,7 @@ public class EnumCodecTest {
     private static final CodecCache cache = new CodecCache();
     private static final EnumCodec<BasicEnum> codec = new EnumCodec<>((byte) 0, BasicEnum.class);
     private static final EnumCodec<BasicEnum> invalidCodec = new EnumCodec<>((byte) 50, BasicEnum.class);
+    private static final EnumCodec<HugeEnum> hugeCodec = new EnumCodec<>((byte) 1, HugeEnum.class, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -45,23 +46,67 @@ public class EnumCodecTest {
     @BeforeClass
     public static void prepare() {
         cache.register(codec);
+        cache.register(hugeCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
 
-    @Test(expected = IllegalArgumentException.class)
-    public void validatesSize() {
-        new EnumCodec<>((byte) 0, HugeEnum.class);
+    @Test
+    public void testHugeEnumWriteRead() throws IOException {
+        testEnum(null, hugeCodec);
+        for (HugeEnum value : HugeEnum.values()) {
+            testEnum(value, hugeCodec);
+        }
+        assertThat(hugeCodec.sizeOf(HugeEnum.value000), is(2));
+        assertThat(hugeCodec.sizeOf(HugeEnum.value256), is(3));
     }
 
     @Test
     public void testEnumWriteRead() throws IOException {
-        testBasicEnum(null);
+        testEnum(null, codec);
         for (BasicEnum value : BasicEnum.values()) {
-            testBasicEnum(value);
+            testEnum(value, codec);
+        }
+    }
+
+    @Test
+    public void testEnumGrowth() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(BasicEnum.value255, codec);
+        serializer.close();
+
+        //the same marker after the enum gained constants
+        EnumCodec<HugeEnum> grown = new EnumCodec<>((byte) 0, HugeEnum.class, true);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(grown), is(HugeEnum.value255));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void testDefaultRejectsVarOrdinals() throws IOException {
+        //a variable ordinal as written by a codec reserving the next byte
+        byte[] data = {1, 4};
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(data, 0, data.length)) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+        EnumCodec<BasicEnum> varCodec = new EnumCodec<>((byte) 0, BasicEnum.class, true);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(data, 0, data.length)) {
+            assertThat(deserializer.read(varCodec), is(BasicEnum.value002));
         }
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testHugeEnumNeedsVarOrdinals() {
+        new EnumCodec<>((byte) 0, HugeEnum.class);
+    }
+
     @Test
     public void testInvalidTypedData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -79,11 +124,12 @@ public class EnumCodecTest {
         }
     }
 
-    private void testBasicEnum(BasicEnum value) throws IOException {
+    private <E extends Enum<E>> void testEnum(E value, EnumCodec<E> codec) throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -93,5 +139,14 @@ public class EnumCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.enumerator;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.util.EnumMap;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class EnumMapCodecTest {
+    private static final CodecCache cache = new CodecCache();
+    private static final StringCodec stringCodec = new StringCodec((byte) -60, 0);
+    private static final EnumMapCodec<BasicEnum, String> codec =
+            new EnumMapCodec<>((byte) 0, BasicEnum.class, stringCodec);
+    private static final EnumMapCodec<HugeEnum, String> hugeCodec =
+            new EnumMapCodec<>((byte) 1, HugeEnum.class, stringCodec);
+    private static final EnumMapCodec<BasicEnum, String> invalidCodec =
+            new EnumMapCodec<>((byte) 50, BasicEnum.class, stringCodec);
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() {
+        cache.register(codec);
+        cache.register(hugeCodec);
+        cache.register(stringCodec);
+        serializerFactory = new SerializerFactory(cache);
+        deserializerFactory = new DeserializerFactory(cache);
+    }
+
+    @Test
+    public void testEnumGrowth() throws IOException {
+        EnumMap<BasicEnum, String> map = new EnumMap<>(BasicEnum.class);
+        map.put(BasicEnum.value001, "one");
+        map.put(BasicEnum.value255, null);
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(map, codec);
+        serializer.append(map, codec);
+        serializer.close();
+
+        //the same marker after the enum gained constants
+        EnumMapCodec<HugeEnum, String> grown = new EnumMapCodec<>((byte) 0, HugeEnum.class, stringCodec);
+        EnumMap<HugeEnum, String> expected = new EnumMap<>(HugeEnum.class);
+        expected.put(HugeEnum.value001, "one");
+        expected.put(HugeEnum.value255, null);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip(grown);
+            assertThat(deserializer.read(grown), is(expected));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void testEnumMapWriteRead() throws IOException {
+        testEnumMap(null, codec);
+        EnumMap<BasicEnum, String> map = new EnumMap<>(BasicEnum.class);
+        testEnumMap(map, codec);
+        for (BasicEnum value : BasicEnum.values()) {
+            if (value.ordinal() % 3 != 1) {
+                map.put(value, value.ordinal() % 4 == 0 ? null : value.name());
+                testEnumMap(map, codec);
+            }
+        }
+    }
+
+    @Test
+    public void testHugeEnumMapWriteRead() throws IOException {
+        EnumMap<HugeEnum, String> map = new EnumMap<>(HugeEnum.class);
+        for (HugeEnum value : HugeEnum.values()) {
+            if (value.ordinal() % 5 == 0 || value.ordinal() > 250) {
+                map.put(value, value.name());
+            }
+        }
+        testEnumMap(map, hugeCodec);
+    }
+
+    @Test
+    public void testInvalidData() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(new EnumMap<>(BasicEnum.class), invalidCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    private <E extends Enum<E>> void testEnumMap(
+            EnumMap<E, String> value,
+            EnumMapCodec<E, String> codec) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, codec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            if (value == null) {
+                assertThat(deserializer.read(), nullValue());
+                assertThat(deserializer.read(codec), nullValue());
+            } else {
+                assertThat(deserializer.read(), is(value));
+                assertThat(deserializer.read(codec), is(value));
+            }
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+}
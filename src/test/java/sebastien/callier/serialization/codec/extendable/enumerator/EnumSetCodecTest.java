@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.enumerator;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class EnumSetCodecTest {
+    private static final CodecCache cache = new CodecCache();
+    private static final EnumSetCodec<BasicEnum> codec = new EnumSetCodec<>((byte) 0, BasicEnum.class);
+    private static final EnumSetCodec<HugeEnum> hugeCodec = new EnumSetCodec<>((byte) 1, HugeEnum.class);
+    private static final EnumSetCodec<BasicEnum> invalidCodec = new EnumSetCodec<>((byte) 50, BasicEnum.class);
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() {
+        cache.register(codec);
+        cache.register(hugeCodec);
+        serializerFactory = new SerializerFactory(cache);
+        deserializerFactory = new DeserializerFactory(cache);
+    }
+
+    @Test
+    public void testEnumSetWriteRead() throws IOException {
+        testEnumSet(null, codec);
+        EnumSet<BasicEnum> set = EnumSet.noneOf(BasicEnum.class);
+        testEnumSet(set, codec);
+        for (BasicEnum value : BasicEnum.values()) {
+            if (value.ordinal() % 3 != 1) {
+                set.add(value);
+                testEnumSet(set, codec);
+            }
+        }
+        testEnumSet(EnumSet.allOf(BasicEnum.class), codec);
+        assertThat(codec.sizeOf(set), is(2 + (BasicEnum.values().length + 7) / 8));
+    }
+
+    @Test
+    public void testHugeEnumSetWriteRead() throws IOException {
+        EnumSet<HugeEnum> set = EnumSet.noneOf(HugeEnum.class);
+        for (HugeEnum value : HugeEnum.values()) {
+            if (value.ordinal() % 7 == 0 || value.ordinal() > 250) {
+                set.add(value);
+            }
+        }
+        testEnumSet(set, hugeCodec);
+        testEnumSet(EnumSet.allOf(HugeEnum.class), hugeCodec);
+    }
+
+    @Test
+    public void testEnumGrowth() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(EnumSet.of(BasicEnum.value000, BasicEnum.value255), codec);
+        serializer.append(EnumSet.of(HugeEnum.value003), hugeCodec);
+        serializer.append(EnumSet.of(HugeEnum.value256), hugeCodec);
+        serializer.close();
+
+        //the same markers after the enums gained or lost constants
+        EnumSetCodec<HugeEnum> grown = new EnumSetCodec<>((byte) 0, HugeEnum.class);
+        EnumSetCodec<BasicEnum> shrunk = new EnumSetCodec<>((byte) 1, BasicEnum.class);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(grown), is(EnumSet.of(HugeEnum.value000, HugeEnum.value255)));
+            assertThat(deserializer.read(shrunk), is(EnumSet.of(BasicEnum.value003)));
+            deserializer.read(shrunk);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testReadInto() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(EnumSet.of(BasicEnum.value001), codec);
+        serializer.close();
+
+        EnumSet<BasicEnum> target = EnumSet.of(BasicEnum.value002);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(codec, target), sameInstance(target));
+        }
+        assertThat(target, is(EnumSet.of(BasicEnum.value001)));
+    }
+
+    @Test
+    public void testInvalidData() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(EnumSet.of(BasicEnum.value001), invalidCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    private <E extends Enum<E>> void testEnumSet(EnumSet<E> value, EnumSetCodec<E> codec) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, codec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            if (value == null) {
+                assertThat(deserializer.read(), nullValue());
+                assertThat(deserializer.read(codec), nullValue());
+            } else {
+                assertThat(deserializer.read(), is(value));
+                assertThat(deserializer.read(codec), is(value));
+            }
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+}
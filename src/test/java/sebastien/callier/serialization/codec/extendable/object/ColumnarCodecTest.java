@@ -0,0 +1,317 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.object.ListCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.*;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.exceptions.CodecGenerationException;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class ColumnarCodecTest {
+    private static CodecCache cache;
+    private static ObjectCodec<Trade> tradeCodec;
+    private static ColumnarCodec<Trade> columnar;
+    private static ListCodec listCodec;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        cache = new CodecCache();
+        cache.register(new BooleanCodec(cache.nextFreeMarker()));
+        cache.register(new CharCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new FloatCodec(cache.nextFreeMarker()));
+        cache.register(new IntCodec(cache.nextFreeMarker()));
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 8));
+        cache.register(new ObjectCodec<>(cache.nextFreeMarker(), FinalNested.class, cache));
+        tradeCodec = new ObjectCodec<>(cache.nextFreeMarker(), Trade.class, cache);
+        cache.register(tradeCodec);
+        columnar = tradeCodec.columnar(cache.nextFreeMarker());
+        cache.register(columnar);
+        listCodec = new ListCodec(cache.nextFreeMarker(), cache);
+        cache.register(listCodec);
+    }
+
+    @Test
+    public void writeRead() throws IOException {
+        testList(trades(1000, new Random(42)));
+        testList(trades(1, new Random(43)));
+        testList(Collections.emptyList());
+        testList(null);
+    }
+
+    @Test
+    public void defaultValues() throws IOException {
+        testList(Arrays.asList(new Trade(), new Trade(), new Trade()));
+    }
+
+    @Test
+    public void extremeValues() throws IOException {
+        Trade min = new Trade();
+        min.setTimestamp(Long.MIN_VALUE);
+        min.setQuantity(Integer.MIN_VALUE);
+        min.setSide(Character.MIN_VALUE);
+        min.setPrice(Double.NaN);
+        min.setFee(Float.NEGATIVE_INFINITY);
+        min.setLot(Integer.MIN_VALUE);
+        Trade max = new Trade();
+        max.setTimestamp(Long.MAX_VALUE);
+        max.setQuantity(Integer.MAX_VALUE);
+        max.setSide(Character.MAX_VALUE);
+        max.setPrice(-0.0D);
+        max.setFee(Float.MAX_VALUE);
+        max.setLot(Integer.MAX_VALUE);
+        testList(Arrays.asList(min, max, min, max));
+    }
+
+    @Test
+    public void readsAnyList() throws IOException {
+        testList(new LinkedList<>(trades(50, new Random(44))));
+    }
+
+    @Test
+    public void exposesColumns() throws IOException {
+        List<Trade> trades = trades(100, new Random(45));
+        trades.get(3).setLot(null);
+        Serializer serializer = new SerializerFactory(cache).newSerializer();
+        serializer.append(trades, columnar);
+        serializer.close();
+
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            ColumnBatch<Trade> batch = deserializer.read(columnar.columns());
+            assertThat(batch.size(), is(100));
+            long[] timestamps = batch.longs("timestamp");
+            long[] quantities = batch.longs("quantity");
+            double[] prices = batch.doubles("price");
+            double[] fees = batch.doubles("fee");
+            boolean[] buys = batch.booleans("buy");
+            Object[] symbols = batch.objects("symbol");
+            Object[] nested = batch.objects("nested");
+            for (int i = 0; i < trades.size(); i++) {
+                Trade trade = trades.get(i);
+                assertThat(timestamps[i], is(trade.getTimestamp()));
+                assertThat(quantities[i], is((long) trade.getQuantity()));
+                assertThat(prices[i], is(trade.getPrice()));
+                assertThat(fees[i], is((double) trade.getFee()));
+                assertThat(buys[i], is(trade.isBuy()));
+                assertThat(symbols[i], is(trade.getSymbol()));
+                assertThat(nested[i], is(trade.getNested()));
+                assertThat(batch.isNull("lot", i), is(trade.getLot() == null));
+                assertThat(batch.get(i), is(trade));
+            }
+            assertThat(batch.toList(), is(trades));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWrongColumnType() throws IOException {
+        Serializer serializer = new SerializerFactory(cache).newSerializer();
+        serializer.append(trades(3, new Random(46)), columnar);
+        serializer.close();
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            deserializer.read(columnar.columns()).longs("price");
+        }
+    }
+
+    @Test
+    public void smallerThanRowByRow() throws IOException {
+        List<Trade> trades = trades(10_000, new Random(47));
+        Serializer rows = new SerializerFactory(cache).newSerializer();
+        rows.append(trades, listCodec);
+        rows.close();
+        Serializer columns = new SerializerFactory(cache).newSerializer();
+        columns.append(trades, columnar);
+        columns.close();
+        assertThat(columns.currentSize() < rows.currentSize() / 2, is(true));
+    }
+
+    @Test
+    public void rejectsNullElements() throws IOException {
+        Serializer serializer = new SerializerFactory(cache).newSerializer();
+        try {
+            serializer.append(Arrays.asList(new Trade(), null), columnar);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void filtered() throws IOException, CodecGenerationException {
+        List<Trade> trades = trades(1000, new Random(48));
+        testFilter(trades, t -> "AAPL".equals(t.getSymbol()) && t.getQuantity() > 500,
+                   ColumnPredicate.equalTo("symbol", "AAPL"),
+                   ColumnPredicate.greaterThan("quantity", 500));
+        testFilter(trades, t -> "IBM".equals(t.getSymbol()) || "MSFT".equals(t.getSymbol()),
+                   ColumnPredicate.in("symbol", "IBM", "MSFT", "NONE"));
+        testFilter(trades, t -> t.getPrice() >= 99.5D && t.getPrice() <= 100.5D,
+                   ColumnPredicate.between("price", 99.5D, 100.5D));
+        testFilter(trades, t -> t.getLot() == null,
+                   ColumnPredicate.equalTo("lot", null));
+        testFilter(trades, t -> t.getLot() != null && t.getLot() < 300,
+                   ColumnPredicate.lessThan("lot", 300));
+        testFilter(trades, t -> t.isBuy() && t.getSide() == 'B' && t.getFee() < 5F,
+                   ColumnPredicate.equalTo("buy", true),
+                   ColumnPredicate.equalTo("side", 'B'),
+                   ColumnPredicate.lessThan("fee", 5D));
+        testFilter(trades, t -> t.getQuantity() == 7 || t.getQuantity() == 8,
+                   ColumnPredicate.in("quantity", 7, 8L, (short) 9000));
+        testFilter(trades, t -> false,
+                   ColumnPredicate.equalTo("symbol", "NONE"),
+                   ColumnPredicate.greaterThan("quantity", 500));
+        testFilter(trades, t -> false,
+                   ColumnPredicate.greaterThan("timestamp", Long.MAX_VALUE));
+        testFilter(trades, t -> true);
+    }
+
+    @Test
+    public void integralBoundsOnFloatingPointFields() throws IOException, CodecGenerationException {
+        List<Trade> trades = trades(1000, new Random(49));
+        double[] prices = {4.5D, 5D, 5.5D, 6D};
+        for (int i = 0; i < prices.length; i++) {
+            trades.get(i).setPrice(prices[i]);
+        }
+        testFilter(trades, t -> t.getPrice() > 5D,
+                   ColumnPredicate.greaterThan("price", 5L));
+        testFilter(trades, t -> t.getPrice() < 6D,
+                   ColumnPredicate.lessThan("price", 6L));
+        testFilter(trades, t -> t.getFee() > 5F && t.getFee() < 6F,
+                   ColumnPredicate.greaterThan("fee", 5L),
+                   ColumnPredicate.lessThan("fee", 6L));
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void filterRejectsUnknownField() throws CodecGenerationException {
+        columnar.filtered(ColumnPredicate.equalTo("unknown", 1));
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void filterRejectsObjectFields() throws CodecGenerationException {
+        columnar.filtered(ColumnPredicate.equalTo("nested", new FinalNested()));
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void filterRejectsRangeOnStrings() throws CodecGenerationException {
+        columnar.filtered(ColumnPredicate.between("symbol", 0L, 1L));
+    }
+
+    private static void testFilter(
+            List<Trade> trades,
+            Predicate<Trade> expected,
+            ColumnPredicate... predicates) throws IOException, CodecGenerationException {
+        Serializer serializer = new SerializerFactory(cache).newSerializer();
+        serializer.append(trades, columnar);
+        serializer.append(42L);
+        serializer.append(null, columnar);
+        serializer.close();
+
+        Codec<List<Trade>> filtered = columnar.filtered(predicates);
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            assertThat(deserializer.read(filtered),
+                       is(trades.stream().filter(expected).collect(Collectors.toList())));
+            assertThat(deserializer.read(), is(42L));
+            assertThat(deserializer.read(filtered), is((List<Trade>) null));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private static void testList(List<Trade> trades) throws IOException {
+        Serializer serializer = new SerializerFactory(cache).newSerializer();
+        serializer.append(trades, columnar);
+        serializer.append(42L);
+        serializer.append(trades, columnar);
+        serializer.append(43L);
+        serializer.close();
+
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            assertThat(deserializer.read(columnar), is(trades));
+            assertThat(deserializer.read(), is(42L));
+            deserializer.skip(columnar);
+            assertThat(deserializer.read(), is(43L));
+            assertThat(deserializer.available(), is(0));
+        }
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            assertThat(deserializer.read(), is(trades));
+        }
+    }
+
+    private static Deserializer newDeserializer(Serializer serializer) throws IOException {
+        return new DeserializerFactory(cache).newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize());
+    }
+
+    public static List<Trade> trades(int count, Random random) {
+        String[] symbols = {"AAPL", "MSFT", "GOOG", "AMZN", "IBM"};
+        List<Trade> trades = new ArrayList<>(count);
+        long timestamp = 1_500_000_000_000L;
+        double price = 100D;
+        for (int i = 0; i < count; i++) {
+            Trade trade = new Trade();
+            trade.setBuy(random.nextBoolean());
+            trade.setFlagged(random.nextInt(4) == 0 ? null : random.nextBoolean());
+            trade.setSide(random.nextBoolean() ? 'B' : 'S');
+            trade.setLot(random.nextInt(3) == 0 ? null : 100 * random.nextInt(10));
+            if (random.nextInt(10) == 0) {
+                FinalNested nested = new FinalNested();
+                nested.setX(random.nextInt());
+                nested.setLabel("label" + random.nextInt(3));
+                trade.setNested(nested);
+            }
+            if (random.nextBoolean()) {
+                price += (random.nextInt(11) - 5) / 100D;
+            }
+            trade.setPrice(price);
+            trade.setFee(random.nextInt(100) / 4F);
+            trade.setQuantity(random.nextInt(1000));
+            trade.setLimit(random.nextBoolean() ? null : trade.getPrice() + random.nextInt(100) / 100D);
+            trade.setSymbol(symbols[random.nextInt(symbols.length)]);
+            trade.setComment(random.nextInt(20) == 0 ? Long.toHexString(random.nextLong()) : null);
+            timestamp += random.nextInt(1000);
+            trade.setTimestamp(timestamp);
+            trades.add(trade);
+        }
+        return trades;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import java.util.Objects;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CompactObject {
+    private int count;
+    private long id;
+    private double price;
+    private Long boxed;
+    private String name;
+    private FinalNested nested;
+    private PrimitiveObject primitives;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public Long getBoxed() {
+        return boxed;
+    }
+
+    public void setBoxed(Long boxed) {
+        this.boxed = boxed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public FinalNested getNested() {
+        return nested;
+    }
+
+    public void setNested(FinalNested nested) {
+        this.nested = nested;
+    }
+
+    public PrimitiveObject getPrimitives() {
+        return primitives;
+    }
+
+    public void setPrimitives(PrimitiveObject primitives) {
+        this.primitives = primitives;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CompactObject)) {
+            return false;
+        }
+        CompactObject other = (CompactObject) o;
+        return other.count == count &&
+                other.id == id &&
+                other.price == price &&
+                Objects.equals(other.boxed, boxed) &&
+                Objects.equals(other.name, name) &&
+                Objects.equals(other.nested, nested) &&
+                Objects.equals(other.primitives, primitives);
+    }
+
+    @Override
+    public int hashCode() {
+        //PrimitiveObject does not define its hash code
+        return Objects.hash(count, id, price, boxed, name, nested);
+    }
+}
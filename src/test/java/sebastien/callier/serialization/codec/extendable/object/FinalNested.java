@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import java.util.Objects;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class FinalNested {
+    private int x;
+    private String label;
+
+    public int getX() {
+        return x;
+    }
+
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof FinalNested)) {
+            return false;
+        }
+        FinalNested other = (FinalNested) o;
+        return other.x == x && Objects.equals(other.label, label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, label);
+    }
+}
@@ -22,6 +22,7 @@ import org.junit.Test;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.codec.CodecCache;
 import sebastien.callier.serialization.codec.array.*;
+import sebastien.callier.serialization.codec.object.StringCodec;
 import sebastien.callier.serialization.codec.primitive.*;
 import sebastien.callier.serialization.deserializer.Deserializer;
 import sebastien.callier.serialization.deserializer.DeserializerFactory;
@@ -31,6 +32,8 @@ import sebastien.callier.serialization.serializer.Serializer;
 import sebastien.callier.serialization.serializer.SerializerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -220,6 +223,7 @@ public class PrimitiveObjectCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -229,6 +233,15 @@ public class PrimitiveObjectCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 
     @Test
@@ -253,6 +266,375 @@ public class PrimitiveObjectCodecTest {
         }
     }
 
+    @Test
+    public void projectionReadsSelectedFields() throws IOException, CodecGenerationException {
+        ObjectCodec<PrimitiveObject> codec = new ObjectCodec<>(
+                (byte) 121,
+                PrimitiveObject.class,
+                cache);
+        Codec<PrimitiveObject> projection = codec.projection("cha", "lon");
+
+        PrimitiveObject object = new PrimitiveObject();
+        object.setBool(true);
+        object.setByt((byte) 123);
+        object.setCha('c');
+        object.setDoubl(5.6D);
+        object.setFloa(1.5F);
+        object.setIn(123);
+        object.setLon(1234L);
+        object.setShor((short) 12);
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(object, projection);
+        serializer.append(null, projection);
+        serializer.append(42L);
+        serializer.close();
+
+        PrimitiveObject expected = new PrimitiveObject();
+        expected.setCha('c');
+        expected.setLon(1234L);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(projection), is(expected));
+            assertThat(deserializer.read(projection), is((PrimitiveObject) null));
+            assertThat(deserializer.read(), is(42L));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void projectionRejectsUnknownField() throws MissingCodecException, CodecGenerationException {
+        new ObjectCodec<>((byte) 122, PrimitiveObject.class, cache).projection("unknown");
+    }
+
+    @Test
+    public void indexedLayout() throws IOException, CodecGenerationException {
+        ObjectCodec<PrimitiveObject> indexed = new ObjectCodec<>(
+                (byte) 123,
+                PrimitiveObject.class,
+                cache,
+                ObjectCodec.Layout.INDEXED);
+        ObjectCodec<PrimitiveObject> plain = new ObjectCodec<>(
+                (byte) 123,
+                PrimitiveObject.class,
+                cache);
+        PrimitiveObject object = primitiveObject();
+        assertThat(indexed.sizeOf(object), is(plain.sizeOf(object) + 8 * Integer.BYTES));
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(object, indexed);
+        serializer.append(null, indexed);
+        serializer.append(object, plain);
+        serializer.append(42L);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(indexed.sizeOf(object) + 1 + plain.sizeOf(object) + 2));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(indexed), is(object));
+            assertThat(deserializer.read(indexed), is((PrimitiveObject) null));
+            assertThat(deserializer.read(indexed), is(object));
+            assertThat(deserializer.read(), is(42L));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip(indexed);
+            deserializer.skip(indexed);
+            deserializer.skip(indexed);
+            assertThat(deserializer.read(), is(42L));
+        }
+
+        PrimitiveObject expected = new PrimitiveObject();
+        expected.setCha('c');
+        expected.setLon(1234L);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Codec<PrimitiveObject> projection = indexed.projection("cha", "lon");
+            assertThat(deserializer.read(projection), is(expected));
+            assertThat(deserializer.read(projection), is((PrimitiveObject) null));
+            assertThat(deserializer.read(projection), is(expected));
+            assertThat(deserializer.read(), is(42L));
+        }
+    }
+
+    @Test
+    public void indexedView() throws IOException, CodecGenerationException {
+        ObjectCodec<PrimitiveObject> codec = new ObjectCodec<>(
+                (byte) 123,
+                PrimitiveObject.class,
+                cache,
+                ObjectCodec.Layout.INDEXED);
+        ObjectView view = codec.view();
+        PrimitiveObject object = primitiveObject();
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(42L);
+        serializer.append(object, codec);
+        serializer.close();
+        byte[] data = serializer.getByteArray();
+
+        view.wrap(data, 2);
+        assertThat(view.get("lon"), is(1234L));
+        assertThat(view.get(view.indexOf("cha")), is('c'));
+        assertThat(view.get("bool"), is(true));
+        assertThat(view.get("shor"), is((short) 12));
+        assertThat(view.length(), is(codec.sizeOf(object)));
+        assertThat(view.indexOf("unknown"), is(-1));
+
+        object.setLon(-5L);
+        serializer = serializerFactory.newSerializer();
+        serializer.append(object, codec);
+        serializer.close();
+        view.wrap(serializer.asByteBuffer());
+        assertThat(view.get("lon"), is(-5L));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(serializer.currentSize() + 3);
+        direct.put(new byte[3]).put(serializer.asByteBuffer()).flip().position(3);
+        direct.order(ByteOrder.LITTLE_ENDIAN);
+        view.wrap(direct);
+        assertThat(view.get("lon"), is(-5L));
+        assertThat(view.get("shor"), is((short) 12));
+        assertThat(view.get("lon"), is(-5L));
+        assertThat(view.length(), is(codec.sizeOf(object)));
+        assertThat(direct.position(), is(3));
+
+        try {
+            view.wrap(data, 0);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+
+        ByteBuffer bounded = ByteBuffer.wrap(new byte[serializer.currentSize() + 16]);
+        bounded.put(serializer.asByteBuffer()).flip().limit(serializer.currentSize() - 1);
+        try {
+            view.wrap(bounded.slice());
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void compactLayout() throws IOException, CodecGenerationException {
+        CodecCache compactCache = new CodecCache();
+        compactCache.register(new BooleanCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new ByteCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new CharCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new DoubleCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new FloatCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new IntCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new LongCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new ShortCodec(compactCache.nextFreeMarker()));
+        compactCache.register(new StringCodec(compactCache.nextFreeMarker(), 8));
+        compactCache.register(new ObjectCodec<>(compactCache.nextFreeMarker(), FinalNested.class, compactCache));
+        compactCache.register(new ObjectCodec<>(compactCache.nextFreeMarker(), PrimitiveObject.class, compactCache));
+        ObjectCodec<CompactObject> plain = new ObjectCodec<>(
+                compactCache.nextFreeMarker(),
+                CompactObject.class,
+                compactCache);
+        ObjectCodec<CompactObject> compact = new ObjectCodec<>(
+                plain.reservedBytes()[0],
+                CompactObject.class,
+                compactCache,
+                ObjectCodec.Layout.COMPACT);
+
+        CompactObject full = new CompactObject();
+        full.setCount(-3);
+        full.setId(1_500_000_000_000L);
+        full.setPrice(12.5D);
+        full.setBoxed(7L);
+        full.setName("name");
+        FinalNested nested = new FinalNested();
+        nested.setX(300);
+        nested.setLabel("label");
+        full.setNested(nested);
+        full.setPrimitives(primitiveObject());
+        CompactObject empty = new CompactObject();
+        empty.setId(42L);
+
+        assertThat(compact.sizeOf(full) < plain.sizeOf(full), is(true));
+
+        Serializer serializer = new SerializerFactory(compactCache).newSerializer();
+        serializer.append(full, compact);
+        serializer.append(empty, compact);
+        serializer.append(null, compact);
+        serializer.append(full, plain);
+        serializer.close();
+        assertThat(serializer.currentSize(),
+                   is(compact.sizeOf(full) + compact.sizeOf(empty) + 1 + plain.sizeOf(full)));
+
+        DeserializerFactory compactDeserializers = new DeserializerFactory(compactCache);
+        try (Deserializer deserializer = compactDeserializers.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(compact), is(full));
+            assertThat(deserializer.read(compact), is(empty));
+            assertThat(deserializer.read(compact), is((CompactObject) null));
+            assertThat(deserializer.read(compact), is(full));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = compactDeserializers.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip(compact);
+            deserializer.skip(compact);
+            deserializer.skip(compact);
+            deserializer.skip(compact);
+            assertThat(deserializer.available(), is(0));
+        }
+
+        CompactObject expected = new CompactObject();
+        expected.setName("name");
+        expected.setNested(nested);
+        try (Deserializer deserializer = compactDeserializers.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Codec<CompactObject> projection = compact.projection("name", "nested");
+            assertThat(deserializer.read(projection), is(expected));
+            assertThat(deserializer.read(projection), is(new CompactObject()));
+        }
+    }
+
+    @Test
+    public void readIntoReusesInstance() throws IOException, CodecGenerationException {
+        ObjectCodec<PrimitiveArrayObject> codec = new ObjectCodec<>(
+                (byte) 125,
+                PrimitiveArrayObject.class,
+                cache);
+        PrimitiveArrayObject object = new PrimitiveArrayObject();
+        object.setIn(new int[]{1, 2});
+        object.setLon(new long[]{3L});
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(object, codec);
+        serializer.close();
+
+        PrimitiveArrayObject target = new PrimitiveArrayObject();
+        int[] ints = new int[2];
+        target.setIn(ints);
+        target.setShor(new short[]{5});
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(codec, target) == target, is(true));
+            assertThat(target, is(object));
+            assertThat(target.getIn() == ints, is(true));
+        }
+    }
+
+    @Test
+    public void deltaWritesChangedFields() throws IOException, CodecGenerationException {
+        ObjectCodec<PrimitiveObject> codec = new ObjectCodec<>((byte) 125, PrimitiveObject.class, cache);
+        PrimitiveObject previous = primitiveObject();
+        PrimitiveObject current = primitiveObject();
+        current.setLon(-1L);
+        current.setDoubl(-0.0D);
+        PrimitiveObject unchanged = primitiveObject();
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.appendDelta(previous, current, codec);
+        int deltaSize = serializer.currentSize();
+        serializer.appendDelta(previous, unchanged, codec);
+        assertThat(serializer.currentSize(), is(deltaSize + 2));
+        serializer.appendDelta(null, current, codec);
+        serializer.appendDelta(previous, null, codec);
+        serializer.close();
+        assertThat(deltaSize < codec.sizeOf(current), is(true));
+        assertThat(serializer.currentSize(), is(deltaSize + 2 + 1 + codec.sizeOf(current) + 1));
+
+        PrimitiveObject target = primitiveObject();
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readDelta(codec, target) == target, is(true));
+            assertThat(target, is(current));
+            assertThat(deserializer.readDelta(codec, primitiveObject()), is(unchanged));
+            assertThat(deserializer.readDelta(codec, null), is(current));
+            assertThat(deserializer.readDelta(codec, target), is((PrimitiveObject) null));
+            assertThat(deserializer.available(), is(0));
+        }
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skipDelta(codec);
+            deserializer.skipDelta(codec);
+            deserializer.skipDelta(codec);
+            deserializer.skipDelta(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.readDelta(codec, null);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void deltaComparesArrayContents() throws IOException, CodecGenerationException {
+        ObjectCodec<PrimitiveArrayObject> codec = new ObjectCodec<>(
+                (byte) 125,
+                PrimitiveArrayObject.class,
+                cache);
+        PrimitiveArrayObject previous = new PrimitiveArrayObject();
+        previous.setIn(new int[]{1, 2});
+        previous.setLon(new long[]{3L});
+        PrimitiveArrayObject current = new PrimitiveArrayObject();
+        current.setIn(new int[]{1, 2});
+        current.setLon(new long[]{4L});
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.appendDelta(previous, current, codec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            int[] ints = previous.getIn();
+            assertThat(deserializer.readDelta(codec, previous), is(current));
+            assertThat(previous.getIn() == ints, is(true));
+        }
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void viewRequiresIndexedLayout() throws MissingCodecException, CodecGenerationException {
+        new ObjectCodec<>((byte) 122, PrimitiveObject.class, cache).view();
+    }
+
+    private static PrimitiveObject primitiveObject() {
+        PrimitiveObject object = new PrimitiveObject();
+        object.setBool(true);
+        object.setByt((byte) 123);
+        object.setCha('c');
+        object.setDoubl(5.6D);
+        object.setFloa(1.5F);
+        object.setIn(123);
+        object.setLon(1234L);
+        object.setShor((short) 12);
+        return object;
+    }
+
     @Test(expected = CodecGenerationException.class)
     public void rejectFieldWithIdenticalName() throws MissingCodecException, CodecGenerationException {
         new ObjectCodec<>((byte) 122, DirtyPractice2.class, cache);
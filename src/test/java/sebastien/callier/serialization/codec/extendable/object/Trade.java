@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.extendable.object;
+
+import java.util.Objects;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class Trade {
+    private boolean buy;
+    private Boolean flagged;
+    private char side;
+    private Integer lot;
+    private FinalNested nested;
+    private double price;
+    private float fee;
+    private int quantity;
+    private Double limit;
+    private String symbol;
+    private String comment;
+    private long timestamp;
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    public void setBuy(boolean buy) {
+        this.buy = buy;
+    }
+
+    public Boolean getFlagged() {
+        return flagged;
+    }
+
+    public void setFlagged(Boolean flagged) {
+        this.flagged = flagged;
+    }
+
+    public char getSide() {
+        return side;
+    }
+
+    public void setSide(char side) {
+        this.side = side;
+    }
+
+    public Integer getLot() {
+        return lot;
+    }
+
+    public void setLot(Integer lot) {
+        this.lot = lot;
+    }
+
+    public FinalNested getNested() {
+        return nested;
+    }
+
+    public void setNested(FinalNested nested) {
+        this.nested = nested;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public float getFee() {
+        return fee;
+    }
+
+    public void setFee(float fee) {
+        this.fee = fee;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Double getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Double limit) {
+        this.limit = limit;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Trade)) {
+            return false;
+        }
+        Trade other = (Trade) o;
+        return other.buy == buy &&
+                Objects.equals(other.flagged, flagged) &&
+                other.side == side &&
+                Objects.equals(other.lot, lot) &&
+                Objects.equals(other.nested, nested) &&
+                Double.compare(other.price, price) == 0 &&
+                Float.compare(other.fee, fee) == 0 &&
+                other.quantity == quantity &&
+                Objects.equals(other.limit, limit) &&
+                Objects.equals(other.symbol, symbol) &&
+                Objects.equals(other.comment, comment) &&
+                other.timestamp == timestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(buy, flagged, side, lot, nested, price, fee, quantity, limit, symbol, comment, timestamp);
+    }
+}
@@ -94,6 +94,7 @@ public class CollectionCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -108,6 +109,15 @@ public class CollectionCodecTest {
             }
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 
     @Test
@@ -153,4 +163,77 @@ public class CollectionCodecTest {
             assertThat(deserializer.available(), is(0));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSizePrefixed() throws IOException, MissingCodecException {
+        CodecCache sizedCache = new CodecCache();
+        CollectionCodec sized = new CollectionCodec((byte) 0, sizedCache, true);
+        sizedCache.register(sized);
+        sizedCache.register(new LongCodec((byte) -50));
+        Codec<Collection<Long>> sizedTyped = sized.asTypedCollection(Long.class);
+        SerializerFactory sizedSerializerFactory = new SerializerFactory(sizedCache);
+        DeserializerFactory sizedDeserializerFactory = new DeserializerFactory(sizedCache);
+
+        Collection<Long> value = new LinkedList<>();
+        for (long i = 0; i < 300; i++) {
+            value.add(i);
+        }
+        value.add(null);
+        Serializer serializer = sizedSerializerFactory.newSerializer();
+        serializer.append(value);
+        serializer.append(value, sizedTyped);
+        serializer.append(null, sizedTyped);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(2 * sized.sizeOf(value) + 1));
+
+        try (Deserializer deserializer = sizedDeserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Collection read = deserializer.read(sized);
+            assertThat(read.getClass() == ArrayList.class, is(true));
+            assertThat(read.toArray(), is(value.toArray()));
+            assertThat(new LinkedList<>(deserializer.read(sizedTyped)), is(value));
+            assertThat(deserializer.read(sizedTyped), nullValue());
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = sizedDeserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(sizedTyped);
+            deserializer.skip(sizedTyped);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void sizePrefixedReadsFramedFormat() throws IOException, MissingCodecException {
+        CodecCache sizedCache = new CodecCache();
+        CollectionCodec sized = new CollectionCodec((byte) 0, sizedCache, true);
+        sizedCache.register(sized);
+        sizedCache.register(new LongCodec((byte) -50));
+        DeserializerFactory sizedDeserializerFactory = new DeserializerFactory(sizedCache);
+
+        Collection<Long> value = new LinkedList<>();
+        for (long i = 0; i < 10; i++) {
+            value.add(i);
+        }
+        value.add(null);
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value);
+        serializer.append(value, typed);
+        serializer.close();
+
+        try (Deserializer deserializer = sizedDeserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(sized).toArray(), is(value.toArray()));
+            assertThat(deserializer.read(sized).toArray(), is(value.toArray()));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+}
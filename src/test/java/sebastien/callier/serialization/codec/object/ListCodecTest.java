@@ -19,6 +19,7 @@ package sebastien.callier.serialization.codec.object;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import static org.hamcrest.CoreMatchers.nullValue;
 import sebastien.callier.serialization.codec.Codec;
 import sebastien.callier.serialization.codec.CodecCache;
 import sebastien.callier.serialization.codec.primitive.LongCodec;
@@ -29,6 +30,8 @@ import sebastien.callier.serialization.serializer.Serializer;
 import sebastien.callier.serialization.serializer.SerializerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -90,6 +93,7 @@ public class ListCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -99,6 +103,15 @@ public class ListCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 
     @Test
@@ -144,4 +157,46 @@ public class ListCodecTest {
             assertThat(deserializer.available(), is(0));
         }
     }
+
+    @Test
+    public void readIntoReusesList() throws IOException {
+        List<Long> value = Arrays.asList(1L, 2L, 3L);
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, typed);
+        serializer.append(null, typed);
+        serializer.close();
+
+        List<Long> target = new ArrayList<>(Collections.singletonList(9L));
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(typed, target) == target, is(true));
+            assertThat(target, is(value));
+            assertThat(deserializer.readInto(typed, target), nullValue());
+        }
+    }
+
+    @Test
+    public void readIntoImmutableTarget() throws IOException {
+        List<Long> value = Arrays.asList(1L, 2L, 3L);
+        Serializer serializer = serializerFactory.newSerializer();
+        for (int i = 0; i < 4; i++) {
+            serializer.append(value, typed);
+        }
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(typed, List.of(5L)), is(value));
+            assertThat(deserializer.readInto(typed, Collections.emptyList()), is(value));
+            assertThat(deserializer.readInto(typed, Arrays.asList(5L, 6L)), is(value));
+            //mutable but empty, can not be told apart from the unmodifiable ones
+            List<Long> empty = new ArrayList<>();
+            assertThat(deserializer.readInto(typed, empty), is(value));
+            assertThat(empty.isEmpty(), is(true));
+        }
+    }
 }
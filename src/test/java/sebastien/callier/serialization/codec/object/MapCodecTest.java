@@ -29,6 +29,7 @@ import sebastien.callier.serialization.serializer.Serializer;
 import sebastien.callier.serialization.serializer.SerializerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -97,6 +98,7 @@ public class MapCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -106,6 +108,15 @@ public class MapCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 
 
@@ -171,6 +182,7 @@ public class MapCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -180,5 +192,93 @@ public class MapCodecTest {
             assertThat(deserializer.read(typedKey), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(typedKey);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void readIntoReusesMap() throws IOException {
+        Map<Long, String> value = new LinkedHashMap<>();
+        value.put(1L, "one");
+        value.put(2L, "two");
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, typedMap);
+        serializer.close();
+
+        Map<Long, String> target = new HashMap<>();
+        target.put(9L, "nine");
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(typedMap, target) == target, is(true));
+            assertThat(target, is(value));
+        }
+    }
+
+    @Test
+    public void testContainerFactory() throws IOException {
+        Map<Long, String> value = new LinkedHashMap<>();
+        value.put(1L, "one");
+        value.put(2L, "two");
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, typedMap);
+        serializer.append(value, typedMap);
+        serializer.close();
+
+        MapCodec hashCodec = new MapCodec((byte) 0, cache, ContainerFactories.hashMap());
+        Codec<Map<Long, String>> unmodifiable = codec.asTypedMap(
+                Long.class,
+                String.class,
+                ContainerFactories.unmodifiableMap());
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Map read = deserializer.read(hashCodec);
+            assertThat(read.getClass() == HashMap.class, is(true));
+            assertThat(read, is(value));
+
+            Map<Long, String> readOnly = deserializer.read(unmodifiable);
+            assertThat(readOnly, is(value));
+            try {
+                readOnly.put(3L, "three");
+                Assert.fail("missing exception");
+            } catch (UnsupportedOperationException e) {
+                //expected
+            }
+        }
+    }
+
+    @Test
+    public void readIntoImmutableTarget() throws IOException {
+        Map<Long, String> value = new LinkedHashMap<>();
+        value.put(1L, "one");
+        value.put(2L, "two");
+        Serializer serializer = serializerFactory.newSerializer();
+        for (int i = 0; i < 4; i++) {
+            serializer.append(value, typedMap);
+        }
+        serializer.close();
+
+        MapCodec unmodifiable = new MapCodec((byte) 0, cache, ContainerFactories.unmodifiableMap());
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Map readOnly = deserializer.read(unmodifiable);
+            Map read = deserializer.readInto(unmodifiable, readOnly);
+            assertThat(read == readOnly, is(false));
+            assertThat(read, is(value));
+            assertThat(deserializer.readInto(typedMap, Collections.emptyMap()), is(value));
+            assertThat(deserializer.readInto(typedMap, Map.of()), is(value));
+        }
     }
 }
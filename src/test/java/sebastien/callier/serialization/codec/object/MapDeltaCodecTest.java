@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.collection.ChangeTrackingMap;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.exceptions.MissingCodecException;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+import sebastien.callier.serialization.stream.FastInputStream;
+import sebastien.callier.serialization.stream.FastOutputStream;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class MapDeltaCodecTest {
+    private static final CodecCache cache = new CodecCache();
+    private static final MapCodec codec = new MapCodec((byte) 0, cache);
+    private static MapDeltaCodec<Object, Object> deltas;
+    private static MapDeltaCodec<Long, String> typedDeltas;
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() throws MissingCodecException {
+        cache.register(codec);
+        cache.register(new LongCodec((byte) -50));
+        cache.register(new StringCodec((byte) -60, 0));
+        deltas = codec.deltas();
+        typedDeltas = codec.asTypedDeltas(Long.class, String.class);
+
+        serializerFactory = new SerializerFactory(cache);
+        deserializerFactory = new DeserializerFactory(cache);
+    }
+
+    @Test
+    public void testSnapshotDiff() throws IOException {
+        Map<Long, String> previous = map(1000);
+        Map<Long, String> current = new HashMap<>(previous);
+        current.put(3L, "changed");
+        current.put(5000L, "added");
+        current.put(5001L, null);
+        current.remove(7L);
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.appendDelta(previous, current, typedDeltas);
+        int deltaSize = serializer.currentSize();
+        serializer.appendDelta(null, current, typedDeltas);
+        serializer.appendDelta(current, null, typedDeltas);
+        serializer.appendDelta(current, current, typedDeltas);
+        serializer.close();
+        assertThat(deltaSize < typedDeltas.sizeOf(current) / 50, is(true));
+
+        Map<Long, String> target = new HashMap<>(previous);
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            assertThat(deserializer.readDelta(typedDeltas, target) == target, is(true));
+            assertThat(target, is(current));
+            assertThat(deserializer.readDelta(typedDeltas, null), is(current));
+            assertThat(deserializer.readDelta(typedDeltas, target), is((Map<Long, String>) null));
+            assertThat(deserializer.readDelta(typedDeltas, target), is(current));
+            assertThat(deserializer.available(), is(0));
+        }
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            deserializer.skipDelta(typedDeltas);
+            deserializer.skipDelta(typedDeltas);
+            deserializer.skipDelta(typedDeltas);
+            deserializer.skipDelta(typedDeltas);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void testTrackedChanges() throws IOException {
+        ChangeTrackingMap<Object, Object> map = new ChangeTrackingMap<>(new HashMap<>(map(100)));
+        Map<Object, Object> replica = new HashMap<>(map);
+
+        map.put(1L, "one");
+        map.remove(2L);
+        map.put(200L, "new");
+        map.remove(200L);
+        map.put(2L, "back");
+        map.keySet().remove(3L);
+
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.appendDelta(replica, map, deltas);
+        int diffSize = serializer.currentSize();
+        serializer.appendDelta(map, map, deltas);
+        serializer.close();
+        // the tracked delta also removes 200L (3 bytes), added and removed since the checkpoint
+        assertThat(serializer.currentSize(), is(2 * diffSize + 3));
+        map.checkpoint();
+        assertThat(map.hasChanges(), is(false));
+
+        Map<Object, Object> other = new HashMap<>(replica);
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            assertThat(deserializer.readDelta(deltas, replica), is(map));
+            assertThat(deserializer.readDelta(deltas, other), is(map));
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        ChangeTrackingMap<Object, Object> map = new ChangeTrackingMap<>(new HashMap<>());
+        FastOutputStream log = new FastOutputStream();
+        OutputStreamWrapper wrapper = new OutputStreamWrapper(log);
+        Map<Object, Object> base = new HashMap<>(map(10));
+        map.putAll(base);
+        map.checkpoint();
+        deltas.writeDelta(wrapper, null, base);
+        for (long i = 0; i < 5; i++) {
+            map.put(i * 3, "update" + i);
+            map.remove(i * 3 + 1);
+            map.put(100 + i, "added" + i);
+            deltas.writeChanges(wrapper, map);
+            map.checkpoint();
+        }
+
+        assertThat(compact(log, 0, 6, new HashMap<>()), is(map));
+
+        Map<Object, Object> afterBase = new HashMap<>(base);
+        assertThat(compact(log, 1, 5, afterBase), is(map));
+    }
+
+    @Test
+    public void testMissingPrevious() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.appendDelta(map(3), map(4), typedDeltas);
+        serializer.close();
+
+        try (Deserializer deserializer = newDeserializer(serializer)) {
+            deserializer.readDelta(typedDeltas, null);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    /**
+     * Merges count deltas starting from the skipped-th one of the log and applies the result to target
+     */
+    private static Map<Object, Object> compact(
+            FastOutputStream log,
+            int skipped,
+            int count,
+            Map<Object, Object> target) throws IOException {
+        InputStreamWrapper input = new InputStreamWrapper(new FastInputStream(log.getByteArray(), 0, log.getSize()));
+        for (int i = 0; i < skipped; i++) {
+            deltas.skipDelta(input);
+        }
+        FastOutputStream merged = new FastOutputStream();
+        deltas.compact(input, count, new OutputStreamWrapper(merged));
+        InputStreamWrapper mergedInput = new InputStreamWrapper(
+                new FastInputStream(merged.getByteArray(), 0, merged.getSize()));
+        return deltas.readDelta(mergedInput, target);
+    }
+
+    private static Map<Long, String> map(int size) {
+        Map<Long, String> map = new HashMap<>();
+        for (long i = 0; i < size; i++) {
+            map.put(i, "value" + i);
+        }
+        return map;
+    }
+
+    private Deserializer newDeserializer(Serializer serializer) throws IOException {
+        return deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize());
+    }
+}
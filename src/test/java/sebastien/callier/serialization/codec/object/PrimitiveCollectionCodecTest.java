@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.object;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.primitive.DoubleCodec;
+import sebastien.callier.serialization.codec.primitive.IntCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.collection.DoubleList;
+import sebastien.callier.serialization.collection.IntSet;
+import sebastien.callier.serialization.collection.LongIntMap;
+import sebastien.callier.serialization.collection.LongList;
+import sebastien.callier.serialization.collection.LongLongMap;
+import sebastien.callier.serialization.collection.LongObjectMap;
+import sebastien.callier.serialization.collection.LongSet;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.exceptions.MissingCodecException;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class PrimitiveCollectionCodecTest {
+    private static final CodecCache cache = new CodecCache();
+    private static final ListCodec listCodec = new ListCodec((byte) 0, cache);
+    private static final SetCodec setCodec = new SetCodec((byte) 4, cache);
+    private static final MapCodec mapCodec = new MapCodec((byte) 8, cache);
+    private static final LongCodec longCodec = new LongCodec((byte) -50);
+    private static final IntCodec intCodec = new IntCodec((byte) -30);
+    private static final DoubleCodec doubleCodec = new DoubleCodec((byte) -100);
+    private static final StringCodec stringCodec = new StringCodec((byte) -60, 0);
+    private static final LongListCodec longListCodec = new LongListCodec((byte) 0, longCodec);
+    private static final DoubleListCodec doubleListCodec = new DoubleListCodec((byte) 0, doubleCodec);
+    private static final LongSetCodec longSetCodec = new LongSetCodec((byte) 4, longCodec);
+    private static final IntSetCodec intSetCodec = new IntSetCodec((byte) 4, intCodec);
+    private static final LongLongMapCodec longLongMapCodec = new LongLongMapCodec((byte) 8, longCodec, longCodec);
+    private static final LongIntMapCodec longIntMapCodec = new LongIntMapCodec((byte) 8, longCodec, intCodec);
+    private static final LongObjectMapCodec<String> longObjectMapCodec =
+            new LongObjectMapCodec<>((byte) 8, longCodec, stringCodec);
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() throws MissingCodecException {
+        cache.register(listCodec);
+        cache.register(setCodec);
+        cache.register(mapCodec);
+        cache.register(longCodec);
+        cache.register(intCodec);
+        cache.register(doubleCodec);
+        cache.register(stringCodec);
+        cache.register(longListCodec);
+        cache.register(doubleListCodec);
+        cache.register(longSetCodec);
+        cache.register(longLongMapCodec);
+
+        serializerFactory = new SerializerFactory(cache);
+        deserializerFactory = new DeserializerFactory(cache);
+    }
+
+    @Test
+    public void testListWriteRead() throws IOException {
+        testCodec(null, longListCodec);
+        LongList longs = new LongList();
+        DoubleList doubles = new DoubleList();
+        List<Object> expectedLongs = new ArrayList<>();
+        List<Object> expectedDoubles = new ArrayList<>();
+        for (long i = -250; i < 250; i++) {
+            longs.add(i * i * i * i);
+            doubles.add(i / 3d);
+            expectedLongs.add(i * i * i * i);
+            expectedDoubles.add(i / 3d);
+        }
+        testCodec(longs, longListCodec);
+        testCodec(doubles, doubleListCodec);
+        testCompatibility(longs, longListCodec, expectedLongs);
+        testCompatibility(doubles, doubleListCodec, expectedDoubles);
+    }
+
+    @Test
+    public void testSetWriteRead() throws IOException {
+        LongSet longs = new LongSet();
+        IntSet ints = new IntSet();
+        for (int i = -250; i < 250; i++) {
+            longs.add(i * 1_000_003L);
+            ints.add(i * 7);
+        }
+        testCodec(new LongSet(), longSetCodec);
+        testCodec(longs, longSetCodec);
+        testCodec(ints, intSetCodec);
+
+        HashSet<Object> expected = new HashSet<>();
+        for (int slot = longs.nextSlot(-1); slot >= 0; slot = longs.nextSlot(slot)) {
+            expected.add(longs.elementAt(slot));
+        }
+        testCompatibility(longs, longSetCodec, expected);
+    }
+
+    @Test
+    public void testMapWriteRead() throws IOException {
+        LongLongMap longs = new LongLongMap();
+        LongIntMap ints = new LongIntMap();
+        LongObjectMap<String> strings = new LongObjectMap<>();
+        Map<Object, Object> expected = new HashMap<>();
+        for (long i = 0; i < 500; i++) {
+            longs.put(i, -i);
+            ints.put(-i, (int) i);
+            strings.put(i << 20, "value" + i);
+            expected.put(i, -i);
+        }
+        strings.put(-1, null);
+        testCodec(longs, longLongMapCodec);
+        testCodec(ints, longIntMapCodec);
+        testCodec(strings, longObjectMapCodec);
+        testCompatibility(longs, longLongMapCodec, expected);
+    }
+
+    @Test
+    public void testReadInto() throws IOException {
+        LongLongMap map = new LongLongMap();
+        map.put(1, 2);
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(map, longLongMapCodec);
+        serializer.close();
+
+        LongLongMap target = new LongLongMap();
+        target.put(3, 4);
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.readInto(longLongMapCodec, target), sameInstance(target));
+        }
+        assertThat(target, is(map));
+    }
+
+    @Test
+    public void testNullElement() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(Arrays.asList(1L, null), listCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(longListCodec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    private <T> void testCodec(T value, Codec<T> codec) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            if (value == null) {
+                assertThat(deserializer.read(codec), nullValue());
+            } else {
+                assertThat(deserializer.read(codec), is(value));
+            }
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    /**
+     * Writes with the primitive codec, reads back with the generic codecs
+     * then writes the result with the generic codecs and reads it with the primitive codec
+     */
+    private <T> void testCompatibility(T value, Codec<T> codec, Object expected) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value);
+        serializer.append(value, codec);
+        serializer.close();
+
+        Object generic;
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            generic = deserializer.read();
+            assertThat(generic, is(expected));
+            assertThat(deserializer.read(), is(expected));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        serializer = serializerFactory.newSerializer();
+        serializer.append(generic);
+        serializer.close();
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(codec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+}
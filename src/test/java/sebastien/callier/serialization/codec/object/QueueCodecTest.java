@@ -30,6 +30,7 @@ import sebastien.callier.serialization.serializer.Serializer;
 import sebastien.callier.serialization.serializer.SerializerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -93,6 +94,7 @@ public class QueueCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -107,6 +109,15 @@ public class QueueCodecTest {
             }
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 
     @Test
@@ -152,4 +163,98 @@ public class QueueCodecTest {
             assertThat(deserializer.available(), is(0));
         }
     }
+
+    @Test
+    public void testContainerFactory() throws IOException {
+        Queue<Long> value = new LinkedList<>();
+        for (long i = 0; i < 50; i++) {
+            value.add(i);
+        }
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, typed);
+        serializer.close();
+
+        Codec<Queue<Long>> deque = codec.asTypedQueue(Long.class, ContainerFactories.arrayDeque());
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Queue<Long> read = deserializer.read(deque);
+            assertThat(read.getClass() == ArrayDeque.class, is(true));
+            assertThat(new LinkedList<>(read), is(value));
+        }
+    }
+
+    @Test
+    public void testSizePrefixed() throws IOException, MissingCodecException {
+        CodecCache sizedCache = new CodecCache();
+        QueueCodec sized = new QueueCodec((byte) 0, sizedCache, true);
+        sizedCache.register(sized);
+        sizedCache.register(new LongCodec((byte) -50));
+        Codec<Queue<Long>> sizedTyped = sized.asTypedQueue(Long.class);
+        SerializerFactory sizedSerializerFactory = new SerializerFactory(sizedCache);
+        DeserializerFactory sizedDeserializerFactory = new DeserializerFactory(sizedCache);
+
+        Queue<Long> value = new LinkedList<>();
+        for (long i = 0; i < 300; i++) {
+            value.add(i);
+        }
+        value.add(null);
+        Serializer serializer = sizedSerializerFactory.newSerializer();
+        serializer.append(value);
+        serializer.append(value, sizedTyped);
+        serializer.append(null, sizedTyped);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(2 * sized.sizeOf(value) + 1));
+
+        try (Deserializer deserializer = sizedDeserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            Queue read = deserializer.read(sized);
+            assertThat(read.getClass() == LinkedList.class, is(true));
+            assertThat(read.toArray(), is(value.toArray()));
+            assertThat(new LinkedList<>(deserializer.read(sizedTyped)), is(value));
+            assertThat(deserializer.read(sizedTyped), nullValue());
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = sizedDeserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(sizedTyped);
+            deserializer.skip(sizedTyped);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void sizePrefixedReadsFramedFormat() throws IOException, MissingCodecException {
+        CodecCache sizedCache = new CodecCache();
+        QueueCodec sized = new QueueCodec((byte) 0, sizedCache, true);
+        sizedCache.register(sized);
+        sizedCache.register(new LongCodec((byte) -50));
+        DeserializerFactory sizedDeserializerFactory = new DeserializerFactory(sizedCache);
+
+        Queue<Long> value = new LinkedList<>();
+        for (long i = 0; i < 10; i++) {
+            value.add(i);
+        }
+        value.add(null);
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value);
+        serializer.append(value, typed);
+        serializer.close();
+
+        try (Deserializer deserializer = sizedDeserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(sized).toArray(), is(value.toArray()));
+            assertThat(deserializer.read(sized).toArray(), is(value.toArray()));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.codec.ordered;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.extendable.enumerator.BasicEnum;
+import sebastien.callier.serialization.codec.extendable.enumerator.HugeEnum;
+import sebastien.callier.serialization.codec.extendable.object.FinalNested;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.codec.extendable.object.Trade;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.*;
+import sebastien.callier.serialization.deserializer.InputStreamWrapper;
+import sebastien.callier.serialization.exceptions.CodecGenerationException;
+import sebastien.callier.serialization.exceptions.MissingCodecException;
+import sebastien.callier.serialization.serializer.OutputStreamWrapper;
+import sebastien.callier.serialization.stream.FastInputStream;
+import sebastien.callier.serialization.stream.FastOutputStream;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class OrderedCodecTest {
+    private static final CodecCache cache = new CodecCache();
+    private static ObjectCodec<Trade> tradeCodec;
+
+    @BeforeClass
+    public static void prepare() throws CodecGenerationException, MissingCodecException {
+        cache.register(new BooleanCodec(cache.nextFreeMarker()));
+        cache.register(new CharCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new FloatCodec(cache.nextFreeMarker()));
+        cache.register(new IntCodec(cache.nextFreeMarker()));
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 8));
+        cache.register(new ObjectCodec<>(cache.nextFreeMarker(), FinalNested.class, cache));
+        tradeCodec = new ObjectCodec<>(cache.nextFreeMarker(), Trade.class, cache);
+    }
+
+    @Test
+    public void integralOrder() throws IOException {
+        checkOrder(OrderedCodec.bytes(),
+                   null, Byte.MIN_VALUE, (byte) -1, (byte) 0, (byte) 1, Byte.MAX_VALUE);
+        checkOrder(OrderedCodec.shorts(),
+                   null, Short.MIN_VALUE, (short) -300, (short) -1, (short) 0, (short) 255, Short.MAX_VALUE);
+        checkOrder(OrderedCodec.ints(),
+                   null, Integer.MIN_VALUE, -70000, -1, 0, 1, 256, 70000, Integer.MAX_VALUE);
+        checkOrder(OrderedCodec.longs(),
+                   null, Long.MIN_VALUE, -1L << 40, -1L, 0L, 1L, 1L << 40, Long.MAX_VALUE);
+        checkOrder(OrderedCodec.chars(),
+                   null, (char) 0, 'A', 'a', (char) 0xFF, (char) 0x100, Character.MAX_VALUE);
+        checkOrder(OrderedCodec.booleans(), null, false, true);
+    }
+
+    @Test
+    public void floatingOrder() throws IOException {
+        checkOrder(OrderedCodec.doubles(),
+                   null, Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -Double.MIN_VALUE, -0.0, 0.0,
+                   Double.MIN_VALUE, 1.0, 1.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN);
+        checkOrder(OrderedCodec.floats(),
+                   null, Float.NEGATIVE_INFINITY, -Float.MAX_VALUE, -1.5f, -Float.MIN_VALUE, -0.0f, 0.0f,
+                   Float.MIN_VALUE, 1.0f, 1.5f, Float.MAX_VALUE, Float.POSITIVE_INFINITY, Float.NaN);
+    }
+
+    @Test
+    public void stringOrder() throws IOException {
+        checkOrder(OrderedCodec.strings(),
+                   null, "", "\0", "\0\0", "\0a", "a", "a\0", "a\0b", "a\1", "ab", "b", "é", "￿");
+    }
+
+    @Test
+    public void enumOrder() throws IOException {
+        checkOrder(OrderedCodec.enums(BasicEnum.class),
+                   null, BasicEnum.value000, BasicEnum.value001, BasicEnum.value099);
+        HugeEnum[] values = HugeEnum.values();
+        checkOrder(OrderedCodec.enums(HugeEnum.class),
+                   null, values[0], values[1], values[255], values[256]);
+    }
+
+    @Test
+    public void randomOrder() throws IOException {
+        Random random = new Random(42);
+        List<Long> longs = new ArrayList<>();
+        List<Double> doubles = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            longs.add(random.nextLong());
+            doubles.add(random.nextGaussian() * 1e6);
+            char[] chars = new char[random.nextInt(6)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) random.nextInt(0xD800);
+            }
+            strings.add(new String(chars));
+        }
+        checkSorting(OrderedCodec.longs(), longs, Comparator.naturalOrder());
+        checkSorting(OrderedCodec.doubles(), doubles, Comparator.naturalOrder());
+        checkSorting(OrderedCodec.strings(), strings, Comparator.naturalOrder());
+    }
+
+    @Test
+    public void compositeKey() throws IOException, CodecGenerationException {
+        Codec<Trade> key = tradeCodec.orderedKey("symbol", "timestamp", "price");
+        List<Trade> trades = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Trade trade = new Trade();
+            trade.setSymbol(random.nextInt(20) == 0 ? null : "S" + random.nextInt(5));
+            trade.setTimestamp(random.nextInt(10) - 5);
+            trade.setPrice(random.nextGaussian());
+            trade.setQuantity(i);
+            trades.add(trade);
+        }
+        trades.add(null);
+        checkSorting(
+                key,
+                trades,
+                Comparator.nullsFirst(Comparator.comparing(Trade::getSymbol, Comparator.nullsFirst(
+                        Comparator.<String>naturalOrder()))
+                                              .thenComparingLong(Trade::getTimestamp)
+                                              .thenComparingDouble(Trade::getPrice)));
+
+        Trade read = decode(key, encode(key, trades.get(0)));
+        assertThat(read.getSymbol(), is(trades.get(0).getSymbol()));
+        assertThat(read.getTimestamp(), is(trades.get(0).getTimestamp()));
+        assertThat(read.getPrice(), is(trades.get(0).getPrice()));
+        assertThat(read.getQuantity(), is(0));
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void keyWithoutOrderedEncoding() throws CodecGenerationException {
+        tradeCodec.orderedKey();
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void keyWithUnknownField() throws CodecGenerationException {
+        tradeCodec.orderedKey("symbol", "unknown");
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidPresence() throws IOException {
+        decode(OrderedCodec.ints(), new byte[]{2, 0, 0, 0, 0});
+    }
+
+    @SafeVarargs
+    private static <T> void checkOrder(Codec<T> codec, T... ascending) throws IOException {
+        for (int i = 0; i < ascending.length; i++) {
+            byte[] bytes = encode(codec, ascending[i]);
+            assertThat(bytes.length, is(codec.sizeOf(ascending[i])));
+            assertThat(decode(codec, bytes), is(ascending[i]));
+            if (i > 0) {
+                assertThat(Arrays.compareUnsigned(encode(codec, ascending[i - 1]), bytes) < 0, is(true));
+            }
+        }
+    }
+
+    private static <T> void checkSorting(
+            Codec<T> codec,
+            List<T> values,
+            Comparator<T> comparator) throws IOException {
+        List<byte[]> keys = new ArrayList<>();
+        for (T value : values) {
+            keys.add(encode(codec, value));
+        }
+        keys.sort(Arrays::compareUnsigned);
+        List<T> expected = new ArrayList<>(values);
+        expected.sort(comparator);
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(comparator.compare(decode(codec, keys.get(i)), expected.get(i)), is(0));
+        }
+    }
+
+    private static <T> byte[] encode(Codec<T> codec, T value) throws IOException {
+        FastOutputStream output = new FastOutputStream();
+        try (OutputStreamWrapper wrapper = new OutputStreamWrapper(output)) {
+            codec.write(wrapper, value);
+        }
+        return Arrays.copyOf(output.getByteArray(), output.getSize());
+    }
+
+    private static <T> T decode(Codec<T> codec, byte[] bytes) throws IOException {
+        FastOutputStream output = new FastOutputStream();
+        try (OutputStreamWrapper wrapper = new OutputStreamWrapper(output)) {
+            codec.write(wrapper, null);
+            wrapper.writeBytes(bytes);
+        }
+        InputStreamWrapper wrapper = new InputStreamWrapper(
+                new FastInputStream(output.getByteArray(), 0, output.getSize()));
+        codec.skip(wrapper);
+        codec.skip(wrapper);
+        wrapper = new InputStreamWrapper(new FastInputStream(output.getByteArray(), 0, output.getSize()));
+        assertThat(codec.read(wrapper) == null, is(true));
+        return codec.read(wrapper);
+    }
+}
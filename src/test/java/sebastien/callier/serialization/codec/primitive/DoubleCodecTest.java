@@ -38,6 +38,8 @@ import static org.hamcrest.core.Is.is;
 public class DoubleCodecTest {
     private static final DoubleCodec codec = new DoubleCodec((byte) 0);
     private static final DoubleCodec invalidCodec = new DoubleCodec((byte) 50);
+    private static final DoubleCodec reversedCodec = new DoubleCodec((byte) 20, true);
+    private static final DoubleCodec compatibleCodec = new DoubleCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -46,6 +48,7 @@ public class DoubleCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(reversedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -71,6 +74,64 @@ public class DoubleCodecTest {
         }
     }
 
+    @Test
+    public void testByteReversed() throws IOException {
+        testReversedDouble(null);
+        testReversedDouble(Double.POSITIVE_INFINITY);
+        testReversedDouble(Double.NEGATIVE_INFINITY);
+        testReversedDouble(Double.MAX_VALUE);
+        testReversedDouble(Double.MIN_VALUE);
+        testReversedDouble(Double.NaN);
+        testReversedDouble(-0D);
+
+        for (long value = 1; value > 0; value *= 2) {
+            testReversedDouble(Double.longBitsToDouble(value - 1));
+            testReversedDouble(Double.longBitsToDouble(value));
+            testReversedDouble(Double.longBitsToDouble(value + 1));
+        }
+        for (long value = -1; value < 0; value *= 2) {
+            testReversedDouble(Double.longBitsToDouble(value - 1));
+            testReversedDouble(Double.longBitsToDouble(value));
+            testReversedDouble(Double.longBitsToDouble(value + 1));
+        }
+    }
+
+    @Test
+    public void testByteReversedSize() throws IOException {
+        for (double value : new double[]{0D, 1D, 0.5D, -2D, 100.25D, 1024D}) {
+            Serializer serializer = serializerFactory.newSerializer();
+            serializer.append(value, reversedCodec);
+            serializer.close();
+            assertThat(serializer.currentSize() <= 4, is(true));
+        }
+    }
+
+    @Test
+    public void testDefaultRejectsByteReversed() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(1D, compatibleCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -93,6 +154,7 @@ public class DoubleCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -102,5 +164,41 @@ public class DoubleCodecTest {
             MatcherAssert.assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testReversedDouble(Double value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, reversedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(reversedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the byte reversed codec is still able to read the default encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
-}
\ No newline at end of file
+}
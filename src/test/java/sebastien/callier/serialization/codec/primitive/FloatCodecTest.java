@@ -37,6 +37,8 @@ import static org.hamcrest.core.Is.is;
 public class FloatCodecTest {
     private static final FloatCodec codec = new FloatCodec((byte) 0);
     private static final FloatCodec invalidCodec = new FloatCodec((byte) 50);
+    private static final FloatCodec reversedCodec = new FloatCodec((byte) 20, true);
+    private static final FloatCodec compatibleCodec = new FloatCodec((byte) 0, true);
 
     private static SerializerFactory serializerFactory;
     private static DeserializerFactory deserializerFactory;
@@ -45,6 +47,7 @@ public class FloatCodecTest {
     public static void prepare() {
         CodecCache cache = new CodecCache();
         cache.register(codec);
+        cache.register(reversedCodec);
         serializerFactory = new SerializerFactory(cache);
         deserializerFactory = new DeserializerFactory(cache);
     }
@@ -70,6 +73,64 @@ public class FloatCodecTest {
         }
     }
 
+    @Test
+    public void testByteReversed() throws IOException {
+        testReversedFloat(null);
+        testReversedFloat(Float.POSITIVE_INFINITY);
+        testReversedFloat(Float.NEGATIVE_INFINITY);
+        testReversedFloat(Float.MAX_VALUE);
+        testReversedFloat(Float.MIN_VALUE);
+        testReversedFloat(Float.NaN);
+        testReversedFloat(-0F);
+
+        for (int value = 1; value > 0; value *= 2) {
+            testReversedFloat(Float.intBitsToFloat(value - 1));
+            testReversedFloat(Float.intBitsToFloat(value));
+            testReversedFloat(Float.intBitsToFloat(value + 1));
+        }
+        for (int value = -1; value < 0; value *= 2) {
+            testReversedFloat(Float.intBitsToFloat(value - 1));
+            testReversedFloat(Float.intBitsToFloat(value));
+            testReversedFloat(Float.intBitsToFloat(value + 1));
+        }
+    }
+
+    @Test
+    public void testByteReversedSize() throws IOException {
+        for (float value : new float[]{0F, 1F, 0.5F, -2F, 1024F, 3.75F}) {
+            Serializer serializer = serializerFactory.newSerializer();
+            serializer.append(value, reversedCodec);
+            serializer.close();
+            assertThat(serializer.currentSize() <= 3, is(true));
+        }
+    }
+
+    @Test
+    public void testDefaultRejectsByteReversed() throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(1F, compatibleCodec);
+        serializer.close();
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.read(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip(codec);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
     @Test
     public void testInvalidData() throws IOException {
         Serializer serializer = serializerFactory.newSerializer();
@@ -91,6 +152,7 @@ public class FloatCodecTest {
         serializer.append(value, codec);
         serializer.append(value);
         serializer.close();
+        assertThat(serializer.currentSize(), is(2 * codec.sizeOf(value)));
 
         try (Deserializer deserializer = deserializerFactory.newDeserializer(
                 serializer.getByteArray(),
@@ -100,5 +162,41 @@ public class FloatCodecTest {
             assertThat(deserializer.read(codec), is(value));
             assertThat(deserializer.available(), is(0));
         }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(codec);
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    private void testReversedFloat(Float value) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(value, reversedCodec);
+        serializer.append(value, codec);
+        serializer.close();
+        assertThat(serializer.currentSize(), is(reversedCodec.sizeOf(value) + codec.sizeOf(value)));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            //the byte reversed codec is still able to read the default encoding
+            assertThat(deserializer.read(compatibleCodec), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            deserializer.skip();
+            deserializer.skip(compatibleCodec);
+            assertThat(deserializer.available(), is(0));
+        }
     }
 }
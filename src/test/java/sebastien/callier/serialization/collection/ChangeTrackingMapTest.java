@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class ChangeTrackingMapTest {
+
+    @Test
+    public void tracksPutsAndRemovals() {
+        ChangeTrackingMap<String, Integer> map = tracked();
+        assertThat(map.hasChanges(), is(false));
+        map.put("a", 10);
+        map.put("z", 26);
+        map.remove("b");
+        map.remove("missing");
+        assertThat(map.changedKeys(), is(Set.of("a", "z")));
+        assertThat(map.removedKeys(), is(Set.of("b")));
+
+        map.put("b", 20);
+        map.remove("z");
+        assertThat(map.changedKeys(), is(Set.of("a", "b")));
+        assertThat(map.removedKeys(), is(Set.of("z")));
+        assertThat(map, is(Map.of("a", 10, "b", 20, "c", 3)));
+
+        map.checkpoint();
+        assertThat(map.hasChanges(), is(false));
+        assertThat(map.changedKeys().isEmpty(), is(true));
+        assertThat(map.removedKeys().isEmpty(), is(true));
+    }
+
+    @Test
+    public void tracksViews() {
+        ChangeTrackingMap<String, Integer> map = tracked();
+        map.keySet().remove("a");
+        map.values().remove(2);
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() * 10);
+        }
+        assertThat(map.changedKeys(), is(Set.of("c")));
+        assertThat(map.removedKeys(), is(Set.of("a", "b")));
+        assertThat(map, is(Map.of("c", 30)));
+
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+        assertThat(map.changedKeys().isEmpty(), is(true));
+        assertThat(map.removedKeys(), is(Set.of("a", "b", "c")));
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    @Test
+    public void tracksIteratorRemovalOnTreeMap() {
+        Map<Integer, String> tree = new TreeMap<>();
+        for (int i = 0; i <= 6; i++) {
+            tree.put(i, "v" + i);
+        }
+        ChangeTrackingMap<Integer, String> map = new ChangeTrackingMap<>(tree);
+        Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() == 3) {
+                iterator.remove();
+            }
+        }
+        assertThat(map.removedKeys(), is(Set.of(3)));
+        assertThat(map.containsKey(3), is(false));
+        assertThat(map.size(), is(6));
+    }
+
+    @Test
+    public void tracksDefaultMethods() {
+        ChangeTrackingMap<String, Integer> map = tracked();
+        map.merge("a", 1, Integer::sum);
+        map.computeIfAbsent("d", key -> 4);
+        map.computeIfPresent("b", (key, value) -> null);
+        map.replaceAll((key, value) -> key.equals("c") ? 33 : value);
+        assertThat(map.changedKeys(), is(Set.of("a", "c", "d")));
+        assertThat(map.removedKeys(), is(Set.of("b")));
+        assertThat(map, is(Map.of("a", 2, "c", 33, "d", 4)));
+    }
+
+    @Test
+    public void clearRemovesEverything() {
+        ChangeTrackingMap<String, Integer> map = tracked();
+        map.put("d", 4);
+        map.clear();
+        assertThat(map.changedKeys().isEmpty(), is(true));
+        assertThat(map.removedKeys(), is(Set.of("a", "b", "c", "d")));
+        assertThat(map, is(Collections.emptyMap()));
+    }
+
+    private static ChangeTrackingMap<String, Integer> tracked() {
+        return new ChangeTrackingMap<>(new HashMap<>(Map.of("a", 1, "b", 2, "c", 3)));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class LongHashTableTest {
+
+    @Test
+    public void testLongLongMapAgainstHashMap() {
+        Random random = new Random(42);
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                Long removed = expected.remove(key);
+                assertThat(map.remove(key), is(removed == null ? 0L : removed));
+            } else {
+                Long previous = expected.put(key, (long) i);
+                assertThat(map.put(key, i), is(previous == null ? 0L : previous));
+            }
+        }
+        assertThat(map.size(), is(expected.size()));
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertThat(map.containsKey(entry.getKey()), is(true));
+            assertThat(map.get(entry.getKey()), is(entry.getValue()));
+        }
+        Map<Long, Long> iterated = new HashMap<>();
+        for (int slot = map.nextSlot(-1); slot >= 0; slot = map.nextSlot(slot)) {
+            iterated.put(map.keyAt(slot), map.valueAt(slot));
+        }
+        assertThat(iterated, is(expected));
+    }
+
+    @Test
+    public void testZeroKey() {
+        LongIntMap map = new LongIntMap();
+        assertThat(map.containsKey(0), is(false));
+        assertThat(map.getOrDefault(0, -1), is(-1));
+        map.put(0, 5);
+        assertThat(map.get(0), is(5));
+        assertThat(map.size(), is(1));
+        assertThat(map.remove(0), is(5));
+        assertThat(map.isEmpty(), is(true));
+        assertThat(map.nextSlot(-1), is(-1));
+    }
+
+    @Test
+    public void testLongObjectMap() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long i = -500; i < 500; i++) {
+            map.put(i * 31, Long.toString(i));
+        }
+        for (long i = -500; i < 500; i++) {
+            assertThat(map.get(i * 31), is(Long.toString(i)));
+        }
+        assertThat(map.get(1), nullValue());
+
+        LongObjectMap<String> other = new LongObjectMap<>(1_000);
+        for (long i = 499; i >= -500; i--) {
+            other.put(i * 31, Long.toString(i));
+        }
+        assertThat(other, is(map));
+        assertThat(other.hashCode(), is(map.hashCode()));
+
+        map.clear();
+        assertThat(map.size(), is(0));
+        assertThat(map.get(31), nullValue());
+    }
+
+    @Test
+    public void testSets() {
+        Random random = new Random(7);
+        LongSet longs = new LongSet();
+        IntSet ints = new IntSet();
+        DoubleSet doubles = new DoubleSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            long value = random.nextInt(1_000);
+            if (random.nextBoolean()) {
+                boolean added = expected.add(value);
+                assertThat(longs.add(value), is(added));
+                assertThat(ints.add((int) value), is(added));
+                assertThat(doubles.add(value), is(added));
+            } else {
+                boolean removed = expected.remove(value);
+                assertThat(longs.remove(value), is(removed));
+                assertThat(ints.remove((int) value), is(removed));
+                assertThat(doubles.remove(value), is(removed));
+            }
+        }
+        assertThat(longs.size(), is(expected.size()));
+        assertThat(ints.size(), is(expected.size()));
+        assertThat(doubles.size(), is(expected.size()));
+        for (Long value : expected) {
+            assertThat(longs.contains(value), is(true));
+            assertThat(ints.contains(value.intValue()), is(true));
+            assertThat(doubles.contains(value), is(true));
+        }
+
+        assertThat(doubles.add(Double.NaN), is(true));
+        assertThat(doubles.contains(Double.NaN), is(true));
+        doubles.add(0.0);
+        assertThat(doubles.contains(-0.0), is(false));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.collection;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class PrimitiveListTest {
+
+    @Test
+    public void testLists() {
+        IntList ints = new IntList(0);
+        LongList longs = new LongList(1);
+        DoubleList doubles = new DoubleList();
+        for (int i = 0; i < 1_000; i++) {
+            ints.add(i);
+            longs.add(i * 10L);
+            doubles.add(i / 2d);
+        }
+        assertThat(ints.size(), is(1_000));
+        assertThat(longs.size(), is(1_000));
+        assertThat(doubles.size(), is(1_000));
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(ints.get(i), is(i));
+            assertThat(longs.get(i), is(i * 10L));
+            assertThat(doubles.get(i), is(i / 2d));
+        }
+        assertThat(ints.set(3, -3), is(3));
+        assertThat(ints.toArray().length, is(1_000));
+        assertThat(ints.toArray()[3], is(-3));
+
+        LongList copy = new LongList();
+        for (long value : longs.toArray()) {
+            copy.add(value);
+        }
+        assertThat(copy, is(longs));
+        assertThat(copy.hashCode(), is(longs.hashCode()));
+
+        doubles.clear();
+        assertThat(doubles.isEmpty(), is(true));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        LongList list = new LongList();
+        list.ensureCapacity(10);
+        list.get(0);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.compression;
+
+import org.junit.Assert;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.object.MapCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class BlockCompressorTest {
+    private final BlockCompressor compressor = new BlockCompressor();
+
+    @Test
+    public void testSmallInputs() throws IOException {
+        Random random = new Random(1);
+        for (int length = 0; length < 100; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            testRoundTrip(data);
+            Arrays.fill(data, (byte) 7);
+            testRoundTrip(data);
+        }
+    }
+
+    @Test
+    public void testRandomData() throws IOException {
+        byte[] data = new byte[3 * BlockCompressor.BLOCK_SIZE + 17];
+        new Random(2).nextBytes(data);
+        //incompressible data is stored as is
+        assertThat(testRoundTrip(data), is(data.length + 4 * 5));
+    }
+
+    @Test
+    public void testCompressibleData() throws IOException {
+        Random random = new Random(3);
+        byte[] data = new byte[5 * BlockCompressor.BLOCK_SIZE / 2];
+        String[] words = {"serialization ", "codec ", "marker ", "value ", "12345 "};
+        int position = 0;
+        while (position < data.length) {
+            byte[] word = words[random.nextInt(words.length)].getBytes();
+            int length = Math.min(word.length, data.length - position);
+            System.arraycopy(word, 0, data, position, length);
+            position += length;
+        }
+        assertThat(testRoundTrip(data), lessThan(data.length / 3));
+
+        byte[] runs = new byte[BlockCompressor.BLOCK_SIZE + 1000];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = (byte) (i / 300);
+        }
+        assertThat(testRoundTrip(runs), lessThan(runs.length / 20));
+    }
+
+    @Test
+    public void testMalformedData() throws IOException {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 10);
+        }
+        byte[] compressed = new byte[BlockCompressor.maxCompressedLength(data.length)];
+        int size = compressor.compress(data, 0, data.length, compressed, 0);
+
+        expectFailure(compressed, size - 1);
+        expectFailure(compressed, 3);
+        byte[] corrupted = Arrays.copyOf(compressed, size);
+        corrupted[3]++;
+        expectFailure(corrupted, size);
+    }
+
+    @Test
+    public void testSerializers() throws IOException {
+        CodecCache cache = new CodecCache();
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 0));
+        cache.register(new MapCodec(cache.nextFreeMarker(), cache));
+        SerializerFactory serializerFactory = new SerializerFactory(cache).withCompression();
+        DeserializerFactory deserializerFactory = new DeserializerFactory(cache).withCompression();
+
+        Map<Long, String> map = new HashMap<>();
+        for (long i = 0; i < 10_000; i++) {
+            map.put(i, "value " + (i % 100));
+        }
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(map);
+        int uncompressed = serializer.currentSize();
+        serializer.close();
+        assertThat(serializer.currentSize(), lessThan(uncompressed * 3 / 4));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(map));
+            assertThat(deserializer.available(), is(0));
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                3)) {
+            deserializer.read();
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                3)) {
+            deserializer.available();
+            Assert.fail("missing exception");
+        } catch (UncheckedIOException e) {
+            //expected
+        }
+    }
+
+    private void expectFailure(byte[] compressed, int size) {
+        try {
+            byte[] result = new byte[BlockCompressor.decompressedLength(compressed, 0, size)];
+            BlockCompressor.decompress(compressed, 0, size, result, 0);
+            Assert.fail("missing exception");
+        } catch (IOException e) {
+            //expected
+        }
+    }
+
+    private int testRoundTrip(byte[] data) throws IOException {
+        byte[] compressed = new byte[BlockCompressor.maxCompressedLength(data.length) + 3];
+        int size = compressor.compress(data, 0, data.length, compressed, 3);
+        assertThat(BlockCompressor.decompressedLength(compressed, 3, size), is(data.length));
+
+        byte[] result = new byte[data.length + 2];
+        assertThat(BlockCompressor.decompress(compressed, 3, size, result, 2), is(data.length));
+        assertThat(Arrays.copyOfRange(result, 2, result.length), is(data));
+        return size;
+    }
+}
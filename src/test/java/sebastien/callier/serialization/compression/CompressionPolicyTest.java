@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.compression;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.array.ByteArrayCodec;
+import sebastien.callier.serialization.codec.object.ListCodec;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.deserializer.DeserializerFactory;
+import sebastien.callier.serialization.serializer.Serializer;
+import sebastien.callier.serialization.serializer.SerializerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class CompressionPolicyTest {
+    private static final CodecCache cache = new CodecCache();
+
+    private static SerializerFactory serializerFactory;
+    private static DeserializerFactory deserializerFactory;
+
+    @BeforeClass
+    public static void prepare() {
+        cache.register(new StringCodec(cache.nextFreeMarker(), 0));
+        cache.register(new ByteArrayCodec(cache.nextFreeMarker()));
+        cache.register(new ListCodec(cache.nextFreeMarker(), cache));
+        serializerFactory = new SerializerFactory(cache).withAdaptiveCompression(new CompressionPolicy());
+        deserializerFactory = new DeserializerFactory(cache).withAdaptiveCompression();
+    }
+
+    @Test
+    public void testSmallMessage() throws IOException {
+        Serializer serializer = testMessage("small", CompressionPolicy.RAW);
+        assertThat(serializer.currentSize(), is(1 + 7));
+    }
+
+    @Test
+    public void testCompressibleMessage() throws IOException {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add("repeated value " + (i % 10));
+        }
+        Serializer serializer = testMessage(list, CompressionPolicy.COMPRESSED);
+        assertThat(serializer.currentSize(), lessThan(list.size() * 5));
+    }
+
+    @Test
+    public void testIncompressibleMessage() throws IOException {
+        byte[] blob = new byte[10_000];
+        new Random(1).nextBytes(blob);
+        Serializer serializer = serializerFactory.newSerializer();
+        serializer.append(blob);
+        serializer.close();
+        assertThat(serializer.getByteArray()[0], is(CompressionPolicy.RAW));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(Arrays.equals((byte[]) deserializer.read(), blob), is(true));
+            assertThat(deserializer.available(), is(0));
+        }
+    }
+
+    @Test
+    public void testRatioTracking() {
+        CompressionPolicy policy = new CompressionPolicy(0, 8, 2, 4);
+        byte[] data = new byte[100];
+        assertThat(policy.shouldCompress(String.class, data, 0, data.length), is(true));
+        policy.record(String.class, 100, 90);
+        assertThat(policy.ratio(String.class), closeTo(100 / 90d, 1e-9));
+
+        //other types are tracked separately
+        assertThat(policy.shouldCompress(Integer.class, data, 0, data.length), is(true));
+        //poor ratio, only one message out of 4 is probed
+        assertThat(policy.shouldCompress(String.class, data, 0, data.length), is(false));
+        assertThat(policy.shouldCompress(String.class, data, 0, data.length), is(false));
+        assertThat(policy.shouldCompress(String.class, data, 0, data.length), is(false));
+        assertThat(policy.shouldCompress(String.class, data, 0, data.length), is(true));
+
+        for (int i = 0; i < 50; i++) {
+            policy.record(String.class, 100, 10);
+        }
+        assertThat(policy.ratio(String.class), greaterThan(2d));
+        assertThat(policy.shouldCompress(String.class, data, 0, data.length), is(true));
+    }
+
+    @Test
+    public void testSampledEntropy() {
+        byte[] data = new byte[100_000];
+        assertThat(CompressionPolicy.sampledEntropy(data, 0, data.length), is(0d));
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 4);
+        }
+        assertThat(CompressionPolicy.sampledEntropy(data, 0, data.length), closeTo(2, 0.01));
+        new Random(2).nextBytes(data);
+        assertThat(CompressionPolicy.sampledEntropy(data, 0, data.length), greaterThan(7.9));
+        assertThat(CompressionPolicy.sampledEntropy(data, 10, 1000), greaterThan(7.5));
+    }
+
+    private Serializer testMessage(Object value, byte header) throws IOException {
+        Serializer serializer = serializerFactory.newSerializer(value.getClass());
+        serializer.append(value);
+        serializer.close();
+        assertThat(serializer.getByteArray()[0], is(header));
+
+        try (Deserializer deserializer = deserializerFactory.newDeserializer(
+                serializer.getByteArray(),
+                0,
+                serializer.currentSize())) {
+            assertThat(deserializer.read(), is(value));
+            assertThat(deserializer.available(), is(0));
+        }
+        return serializer;
+    }
+}
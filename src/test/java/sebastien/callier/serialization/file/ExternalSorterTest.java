@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.file;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sebastien.callier.serialization.codec.Codec;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.extendable.object.ColumnarCodecTest;
+import sebastien.callier.serialization.codec.extendable.object.FinalNested;
+import sebastien.callier.serialization.codec.extendable.object.ObjectCodec;
+import sebastien.callier.serialization.codec.extendable.object.Trade;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.ordered.OrderedCodec;
+import sebastien.callier.serialization.codec.primitive.*;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.exceptions.CodecGenerationException;
+import sebastien.callier.serialization.exceptions.MissingCodecException;
+import sebastien.callier.serialization.serializer.Serializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class ExternalSorterTest {
+    private static final CodecCache cache = new CodecCache();
+    private static ObjectCodec<Trade> tradeCodec;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void prepare() throws CodecGenerationException, MissingCodecException {
+        cache.register(new BooleanCodec(cache.nextFreeMarker()));
+        cache.register(new CharCodec(cache.nextFreeMarker()));
+        cache.register(new DoubleCodec(cache.nextFreeMarker()));
+        cache.register(new FloatCodec(cache.nextFreeMarker()));
+        cache.register(new IntCodec(cache.nextFreeMarker()));
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 8));
+        cache.register(new ObjectCodec<>(cache.nextFreeMarker(), FinalNested.class, cache));
+        tradeCodec = new ObjectCodec<>(cache.nextFreeMarker(), Trade.class, cache);
+        cache.register(tradeCodec);
+    }
+
+    @Test
+    public void sortByFields() throws IOException, CodecGenerationException {
+        List<Trade> trades = ColumnarCodecTest.trades(5000, new Random(3));
+        trades.add(null);
+        Path output = sort(ExternalSorter.byFields(tradeCodec, 4096, folder.getRoot().toPath(), "symbol", "quantity"),
+                           tradeCodec,
+                           trades);
+        trades.sort(Comparator.nullsFirst(Comparator.comparing(Trade::getSymbol)
+                                                  .thenComparingInt(Trade::getQuantity)));
+        assertThat(read(output, tradeCodec), is(trades));
+    }
+
+    @Test
+    public void sortInManyPasses() throws IOException, CodecGenerationException {
+        //at least MAX_MERGED_RUNS * MAX_MERGED_RUNS runs of one record each
+        List<Trade> trades = ColumnarCodecTest.trades(
+                ExternalSorter.MAX_MERGED_RUNS * ExternalSorter.MAX_MERGED_RUNS + 10, new Random(5));
+        Path output = sort(ExternalSorter.byFields(tradeCodec, 1, folder.getRoot().toPath(), "price"),
+                           tradeCodec,
+                           trades);
+        trades.sort(Comparator.comparingDouble(Trade::getPrice));
+        assertThat(read(output, tradeCodec), is(trades));
+    }
+
+    @Test
+    public void sortByRecord() throws IOException {
+        Random random = new Random(7);
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            values.add(random.nextInt(10) == 0 ? null : random.nextLong());
+        }
+        Codec<Long> codec = OrderedCodec.longs();
+        Path output = sort(ExternalSorter.byRecord(codec, 1000, folder.getRoot().toPath()), codec, values);
+        values.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        assertThat(read(output, codec), is(values));
+    }
+
+    @Test
+    public void sortEmptyFile() throws IOException {
+        Codec<Long> codec = OrderedCodec.longs();
+        Path output = sort(ExternalSorter.byRecord(codec, 1000, folder.getRoot().toPath()),
+                           codec,
+                           Collections.emptyList());
+        assertThat(Files.size(output), is(0L));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedRecord() throws IOException {
+        Path input = folder.newFile().toPath();
+        Files.write(input, new byte[]{1, 0, 0});
+        ExternalSorter.byRecord(OrderedCodec.ints(), 1000, folder.getRoot().toPath())
+                .sort(input, folder.newFile().toPath());
+    }
+
+    @Test(expected = CodecGenerationException.class)
+    public void noKeyField() throws CodecGenerationException {
+        ExternalSorter.byFields(tradeCodec, 1000, folder.getRoot().toPath());
+    }
+
+    private <T> Path sort(ExternalSorter<T> sorter, Codec<T> codec, List<T> records) throws IOException {
+        Serializer serializer = new Serializer(cache);
+        for (T record : records) {
+            serializer.append(record, codec);
+        }
+        serializer.close();
+        Path input = folder.newFile().toPath();
+        Files.write(input, serializer.asByteArray());
+        Path output = folder.newFile().toPath();
+        assertThat(sorter.sort(input, output), is((long) records.size()));
+        //only the input and output remain
+        try (java.util.stream.Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            assertThat(files.count(), is(2L));
+        }
+        return output;
+    }
+
+    private static <T> List<T> read(Path output, Codec<T> codec) throws IOException {
+        Deserializer deserializer = Deserializer.newInstance(cache, Files.readAllBytes(output));
+        List<T> records = new ArrayList<>();
+        while (deserializer.available() > 0) {
+            records.add(deserializer.read(codec));
+        }
+        return records;
+    }
+}
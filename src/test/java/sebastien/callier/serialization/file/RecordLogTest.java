@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.file;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.object.StringCodec;
+import sebastien.callier.serialization.codec.primitive.LongCodec;
+import sebastien.callier.serialization.deserializer.Deserializer;
+import sebastien.callier.serialization.serializer.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class RecordLogTest {
+    private static final CodecCache cache = new CodecCache();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void prepare() {
+        cache.register(new LongCodec(cache.nextFreeMarker()));
+        cache.register(new StringCodec(cache.nextFreeMarker(), 0));
+    }
+
+    @Test
+    public void appendAndRead() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (RecordLog log = RecordLog.open(directory, 1024, 16)) {
+            for (long i = 0; i < 1000; i++) {
+                assertThat(log.append(serialize(i)), is(i));
+            }
+            assertThat(log.size(), is(1000L));
+            //segments were rolled
+            assertThat(Files.list(directory).count() > 10, is(true));
+            checkRecords(log);
+        }
+    }
+
+    @Test
+    public void reopen() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (RecordLog log = RecordLog.open(directory, 1024, 16)) {
+            for (long i = 0; i < 500; i++) {
+                log.append(serialize(i));
+            }
+        }
+        try (RecordLog log = RecordLog.open(directory, 1024, 7)) {
+            assertThat(log.size(), is(500L));
+            for (long i = 500; i < 1000; i++) {
+                assertThat(log.append(serialize(i)), is(i));
+            }
+            checkRecords(log);
+        }
+        try (RecordLog log = RecordLog.open(directory, 4096, 1)) {
+            checkRecords(log);
+        }
+    }
+
+    @Test
+    public void tornRecordIsTruncated() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        int position;
+        try (RecordLog log = RecordLog.open(directory, 1024, 16)) {
+            for (long i = 0; i < 100; i++) {
+                log.append(serialize(i));
+            }
+            position = log.record(99).position();
+        }
+        corrupt(lastSegment(directory), position + 1);
+        try (RecordLog log = RecordLog.open(directory, 1024, 16)) {
+            assertThat(log.size(), is(99L));
+            checkRecords(log);
+            assertThat(log.append(serialize(99)), is(99L));
+        }
+        try (RecordLog log = RecordLog.open(directory, 1024, 16)) {
+            assertThat(log.size(), is(100L));
+            checkRecords(log);
+        }
+    }
+
+    @Test
+    public void staleRecordsAfterZeroLengthAreCleared() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        byte[] payload = new byte[80];
+        Arrays.fill(payload, (byte) 7);
+        try (RecordLog log = RecordLog.open(directory, 100, 16)) {
+            for (int i = 0; i < 3; i++) {
+                log.append(payload, 0, 10);
+            }
+        }
+        //the length of the second record never reached the disk
+        Path segment = lastSegment(directory);
+        byte[] data = Files.readAllBytes(segment);
+        Arrays.fill(data, 18, 22, (byte) 0);
+        Files.write(segment, data);
+        try (RecordLog log = RecordLog.open(directory, 100, 16)) {
+            assertThat(log.size(), is(1L));
+            log.append(payload, 0, 5);
+            log.append(payload, 0, 80);
+        }
+        try (RecordLog log = RecordLog.open(directory, 100, 16)) {
+            assertThat(log.size(), is(3L));
+            assertThat(log.record(0).remaining(), is(10));
+            assertThat(log.record(1).remaining(), is(5));
+            assertThat(log.record(2).remaining(), is(80));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidRecordBeforeLastSegment() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (RecordLog log = RecordLog.open(directory, 1024, 16)) {
+            for (long i = 0; i < 100; i++) {
+                log.append(serialize(i));
+            }
+        }
+        Path first;
+        try (Stream<Path> files = Files.list(directory)) {
+            first = files.min(Comparator.naturalOrder()).orElseThrow(IllegalStateException::new);
+        }
+        corrupt(first, 10);
+        RecordLog.open(directory, 1024, 16).close();
+    }
+
+    @Test
+    public void cursorFollowsAppends() throws IOException {
+        try (RecordLog log = RecordLog.open(folder.getRoot().toPath(), 256, 4)) {
+            RecordLog.Cursor cursor = log.cursor(0);
+            assertThat(cursor.hasNext(), is(false));
+            for (long i = 0; i < 200; i++) {
+                log.append(serialize(i));
+                assertThat(cursor.hasNext(), is(true));
+                assertThat(read(cursor.next(cache)), is(i));
+                assertThat(cursor.hasNext(), is(false));
+            }
+            RecordLog.Cursor middle = log.cursor(123);
+            assertThat(middle.position(), is(123L));
+            assertThat(read(middle.next(cache)), is(123L));
+        }
+    }
+
+    @Test
+    public void recordIsReadOnlyView() throws IOException {
+        try (RecordLog log = RecordLog.open(folder.getRoot().toPath(), 1024, 16)) {
+            log.append(new byte[]{1, 2, 3, 4}, 1, 2);
+            ByteBuffer record = log.record(0);
+            assertThat(record.isReadOnly(), is(true));
+            assertThat(record.remaining(), is(2));
+            assertThat(record.get(), is((byte) 2));
+            assertThat(record.get(), is((byte) 3));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void recordLargerThanSegment() throws IOException {
+        try (RecordLog log = RecordLog.open(folder.getRoot().toPath(), 64, 16)) {
+            log.append(new byte[61], 0, 61);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void missingRecord() throws IOException {
+        try (RecordLog log = RecordLog.open(folder.getRoot().toPath(), 64, 16)) {
+            log.append(new byte[1], 0, 1);
+            log.record(1);
+        }
+    }
+
+    private static void checkRecords(RecordLog log) throws IOException {
+        for (long i = 0; i < log.size(); i += 37) {
+            assertThat(read(log.read(i, cache)), is(i));
+        }
+        RecordLog.Cursor cursor = log.cursor(0);
+        for (long i = 0; i < log.size(); i++) {
+            assertThat(read(cursor.next(cache)), is(i));
+        }
+        assertThat(cursor.hasNext(), is(false));
+    }
+
+    private static Path lastSegment(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.max(Comparator.naturalOrder()).orElseThrow(IllegalStateException::new);
+        }
+    }
+
+    private static void corrupt(Path file, int position) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        data[position] ^= 1;
+        Files.write(file, data);
+    }
+
+    private static Serializer serialize(long i) throws IOException {
+        Serializer serializer = new Serializer(cache);
+        serializer.append(i);
+        serializer.append("event " + i + (i % 7 == 0 ? " with a longer payload" : ""));
+        serializer.close();
+        return serializer;
+    }
+
+    private static long read(Deserializer deserializer) throws IOException {
+        long value = (Long) deserializer.read();
+        assertThat(deserializer.read(), is("event " + value + (value % 7 == 0 ? " with a longer payload" : "")));
+        assertThat(deserializer.available(), is(0));
+        return value;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.serializer;
+
+import org.junit.Test;
+import sebastien.callier.serialization.codec.CodecCache;
+import sebastien.callier.serialization.codec.array.ByteArrayCodec;
+
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class SerializerFactoryTest {
+    private static final ByteArrayCodec codec = new ByteArrayCodec((byte) 0);
+
+    @Test
+    public void fixedInitialSize() throws IOException {
+        SerializerFactory factory = new SerializerFactory(cache());
+        serialize(factory.newSerializer(), 1000, 200);
+        assertThat(factory.newSerializer().getByteArray().length, is(64));
+        assertThat(factory.newSerializer(byte[].class).getByteArray().length, is(64));
+        assertThat(factory.newSerializer(10).getByteArray().length, is(10));
+    }
+
+    @Test
+    public void adaptiveInitialSize() throws IOException {
+        SerializerFactory factory = new SerializerFactory(cache(), 0.9, 1024);
+        assertThat(factory.newSerializer().getByteArray().length, is(64));
+        for (int i = 0; i < 200; i++) {
+            serialize(factory.newSerializer(), 995, 1);
+        }
+        assertThat(factory.newSerializer().getByteArray().length, is(1024));
+        //tracked separately
+        assertThat(factory.newSerializer(byte[].class).getByteArray().length, is(64));
+    }
+
+    @Test
+    public void adaptivePerClass() throws IOException {
+        SerializerFactory factory = new SerializerFactory(cache(), 0.9, 1024);
+        for (int i = 0; i < 200; i++) {
+            serialize(factory.newSerializer(byte[].class), 3000, 1);
+            serialize(factory.newSerializer(String.class), 10, 1);
+        }
+        assertThat(factory.newSerializer(byte[].class).getByteArray().length, is(4096));
+        assertThat(factory.newSerializer(String.class).getByteArray().length, is(16));
+        assertThat(factory.newSerializer().getByteArray().length, is(64));
+    }
+
+    @Test
+    public void adaptiveDecay() throws IOException {
+        SerializerFactory factory = new SerializerFactory(cache(), 0.9, 64);
+        for (int i = 0; i < 200; i++) {
+            serialize(factory.newSerializer(), 3000, 1);
+        }
+        assertThat(factory.newSerializer().getByteArray().length, is(4096));
+        for (int i = 0; i < 1000; i++) {
+            serialize(factory.newSerializer(), 100, 1);
+        }
+        assertThat(factory.newSerializer().getByteArray().length, is(128));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPercentile() {
+        new SerializerFactory(cache(), 1.5, 1024);
+    }
+
+    private static CodecCache cache() {
+        CodecCache cache = new CodecCache();
+        cache.register(codec);
+        return cache;
+    }
+
+    private static void serialize(
+            Serializer serializer,
+            int length,
+            int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            serializer.append(new byte[length], codec);
+        }
+        serializer.close();
+    }
+}
@@ -41,6 +41,22 @@ public class SerializerTest {
         }
     }
 
+    @Test
+    public void presizedAppendAllocatesExactly() throws IOException {
+        CodecCache cache = new CodecCache();
+        cache.register(new StringCodec(cache.nextFreeMarker(), 0));
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.append("valueé").append(i);
+        }
+        Serializer serializer = new Serializer(cache);
+        serializer.appendPresized(builder.toString());
+        serializer.close();
+
+        assertThat(serializer.getByteArray().length, is(serializer.currentSize()));
+    }
+
     @Test
     public void outputMethodsReturnSameData() throws IOException {
         CodecCache cache = new CodecCache();
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Sebastien Callier
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package sebastien.callier.serialization.store;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sebastien.callier.serialization.codec.object.StringCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * @author Sebastien Callier
+ * @since 2018
+ */
+public class OffHeapStoreTest {
+    private static final StringCodec codec = new StringCodec((byte) 0, 0);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void putGetRemove() throws IOException {
+        try (OffHeapStore store = OffHeapStore.direct(1024, 0)) {
+            checkStore(store);
+        }
+    }
+
+    @Test
+    public void mappedSlabs() throws IOException {
+        try (OffHeapStore store = OffHeapStore.mapped(folder.getRoot().toPath(), 1024, 0)) {
+            checkStore(store);
+            assertThat(Files.list(folder.getRoot().toPath()).count() > 0, is(true));
+        }
+        assertThat(Files.list(folder.getRoot().toPath()).count(), is(0L));
+    }
+
+    @Test
+    public void compaction() throws IOException {
+        try (OffHeapStore store = OffHeapStore.direct(1024, 0)) {
+            for (long id = 0; id < 1000; id++) {
+                store.put(id, value(id, 0), codec);
+            }
+            long allocated = store.allocatedBytes();
+            for (long id = 0; id < 1000; id++) {
+                if (id % 10 != 0) {
+                    store.remove(id);
+                }
+            }
+            assertThat(store.compact() > 0, is(true));
+            assertThat(store.allocatedBytes() < allocated / 4, is(true));
+            assertThat(store.deadBytes() < 1024, is(true));
+            assertThat(store.size(), is(100));
+            for (long id = 0; id < 1000; id++) {
+                assertThat(store.get(id, codec), is(id % 10 == 0 ? value(id, 0) : null));
+            }
+            for (long id = 1000; id < 1300; id++) {
+                store.put(id, value(id, 0), codec);
+            }
+            assertThat(store.get(1299, codec), is(value(1299, 0)));
+            assertThat(store.compact(), is(0));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void recordLargerThanSlab() throws IOException {
+        try (OffHeapStore store = OffHeapStore.direct(64, 0)) {
+            store.put(1, new String(new char[100]), codec);
+        }
+    }
+
+    @Test
+    public void concurrentReaders() throws Exception {
+        try (OffHeapStore store = OffHeapStore.direct(4096, 0)) {
+            for (long id = 0; id < 200; id++) {
+                store.put(id, value(id, 0), codec);
+            }
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread reader = new Thread(() -> {
+                    try {
+                        for (int n = 0; n < 50000; n++) {
+                            long id = n % 200;
+                            String value = store.get(id, codec);
+                            if (value == null || !value.startsWith(id + "-")) {
+                                throw new AssertionError("Unexpected value " + value + " for " + id);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    }
+                });
+                readers.add(reader);
+                reader.start();
+            }
+            for (int version = 1; version < 100; version++) {
+                for (long id = 0; id < 200; id++) {
+                    store.put(id, value(id, version), codec);
+                }
+                store.compact();
+            }
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            assertThat(failure.get(), nullValue());
+        }
+    }
+
+    private static void checkStore(OffHeapStore store) throws IOException {
+        for (long id = -500; id < 500; id++) {
+            store.put(id, value(id, 0), codec);
+        }
+        store.put(0, null, codec);
+        store.put(7, value(7, 1), codec);
+        assertThat(store.remove(8), is(true));
+        assertThat(store.remove(8), is(false));
+        assertThat(store.size(), is(999));
+        assertThat(store.contains(0), is(true));
+        assertThat(store.get(0, codec), nullValue());
+        assertThat(store.get(7, codec), is(value(7, 1)));
+        assertThat(store.get(8, codec), nullValue());
+        assertThat(store.get(-500, codec), is(value(-500, 0)));
+        assertThat(store.get(499, codec), is(value(499, 0)));
+        assertThat(store.deadBytes() > 0, is(true));
+    }
+
+    private static String value(long id, int version) {
+        return id + "-" + version + "-reference data";
+    }
+}